@@ -0,0 +1,617 @@
+package org.djutils.test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * ArrayAssert has assertions for large primitive arrays, primitive streams and collections, that do not box the elements.
+ * Arrays are compared with Arrays.mismatch, which the JIT compiles to a vectorized comparison, so an identical prefix of
+ * millions of elements is skipped quickly; for doubles, a difference is then checked against an absolute or ULP tolerance,
+ * and the comparison continues with Arrays.mismatch after it. All elements are compared to count the mismatches, but only the
+ * first MAX_REPORTED_MISMATCHES mismatches are reported, each with a window of CONTEXT elements before and after. Streams and
+ * collections are compared element by element in lock step, without collecting them. A way to use the class is, for
+ * instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   ArrayAssert.assertArrayEquals(expectedPositions, simulation.positions(), 1E-9, "positions after 1000 steps");
+ *   ArrayAssert.assertStreamEquals(IntStream.range(0, 1_000_000), ids.stream().mapToInt(Id::value), "ids");
+ * </code>
+ * </pre>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class ArrayAssert
+{
+    /** the maximum number of mismatches that are reported. */
+    public static final int MAX_REPORTED_MISMATCHES = 10;
+
+    /** the number of elements shown before and after a mismatch in an array. */
+    public static final int CONTEXT = 2;
+
+    /** */
+    private ArrayAssert()
+    {
+        // utility class
+    }
+
+    /**
+     * Assert that two int arrays are equal.
+     * @param expected the expected array
+     * @param actual the actual array
+     * @throws AssertionError when the arrays differ
+     */
+    public static void assertArrayEquals(final int[] expected, final int[] actual)
+    {
+        assertArrayEquals(expected, actual, null);
+    }
+
+    /**
+     * Assert that two int arrays are equal.
+     * @param expected the expected array
+     * @param actual the actual array
+     * @param message message to use in the AssertionError when the test fails
+     * @throws AssertionError when the arrays differ
+     */
+    public static void assertArrayEquals(final int[] expected, final int[] actual, final String message)
+    {
+        if (checkNull(expected, actual, message))
+        {
+            int length = Math.min(expected.length, actual.length);
+            check(message, expected.length, actual.length, from ->
+            {
+                int mismatch = Arrays.mismatch(expected, from, length, actual, from, length);
+                return mismatch < 0 ? -1 : from + mismatch;
+            }, (e, i) -> String.valueOf(e ? expected[i] : actual[i]));
+        }
+    }
+
+    /**
+     * Assert that two long arrays are equal.
+     * @param expected the expected array
+     * @param actual the actual array
+     * @throws AssertionError when the arrays differ
+     */
+    public static void assertArrayEquals(final long[] expected, final long[] actual)
+    {
+        assertArrayEquals(expected, actual, null);
+    }
+
+    /**
+     * Assert that two long arrays are equal.
+     * @param expected the expected array
+     * @param actual the actual array
+     * @param message message to use in the AssertionError when the test fails
+     * @throws AssertionError when the arrays differ
+     */
+    public static void assertArrayEquals(final long[] expected, final long[] actual, final String message)
+    {
+        if (checkNull(expected, actual, message))
+        {
+            int length = Math.min(expected.length, actual.length);
+            check(message, expected.length, actual.length, from ->
+            {
+                int mismatch = Arrays.mismatch(expected, from, length, actual, from, length);
+                return mismatch < 0 ? -1 : from + mismatch;
+            }, (e, i) -> String.valueOf(e ? expected[i] : actual[i]));
+        }
+    }
+
+    /**
+     * Assert that two double arrays are equal within an absolute tolerance. NaN is equal to NaN.
+     * @param expected the expected array
+     * @param actual the actual array
+     * @param epsilon the maximum absolute difference of two elements
+     * @throws AssertionError when the arrays differ
+     */
+    public static void assertArrayEquals(final double[] expected, final double[] actual, final double epsilon)
+    {
+        assertArrayEquals(expected, actual, epsilon, null);
+    }
+
+    /**
+     * Assert that two double arrays are equal within an absolute tolerance. NaN is equal to NaN.
+     * @param expected the expected array
+     * @param actual the actual array
+     * @param epsilon the maximum absolute difference of two elements
+     * @param message message to use in the AssertionError when the test fails
+     * @throws AssertionError when the arrays differ
+     */
+    public static void assertArrayEquals(final double[] expected, final double[] actual, final double epsilon,
+            final String message)
+    {
+        if (checkNull(expected, actual, message))
+        {
+            check(message, expected.length, actual.length, from -> nextMismatch(expected, actual, from, epsilon, -1L),
+                    (e, i) -> String.valueOf(e ? expected[i] : actual[i]));
+        }
+    }
+
+    /**
+     * Assert that two double arrays are equal within a number of units in the last place (ULPs). Two elements are equal when
+     * at most maxUlps representable doubles lie between them. NaN is equal to NaN, and 0.0 and -0.0 are 1 ULP apart.
+     * @param expected the expected array
+     * @param actual the actual array
+     * @param maxUlps the maximum distance of two elements in ULPs
+     * @throws AssertionError when the arrays differ
+     */
+    public static void assertArrayEqualsUlps(final double[] expected, final double[] actual, final long maxUlps)
+    {
+        assertArrayEqualsUlps(expected, actual, maxUlps, null);
+    }
+
+    /**
+     * Assert that two double arrays are equal within a number of units in the last place (ULPs). Two elements are equal when
+     * at most maxUlps representable doubles lie between them. NaN is equal to NaN, and 0.0 and -0.0 are 1 ULP apart.
+     * @param expected the expected array
+     * @param actual the actual array
+     * @param maxUlps the maximum distance of two elements in ULPs
+     * @param message message to use in the AssertionError when the test fails
+     * @throws AssertionError when the arrays differ
+     */
+    public static void assertArrayEqualsUlps(final double[] expected, final double[] actual, final long maxUlps,
+            final String message)
+    {
+        if (checkNull(expected, actual, message))
+        {
+            check(message, expected.length, actual.length, from -> nextMismatch(expected, actual, from, 0.0, maxUlps),
+                    (e, i) -> String.valueOf(e ? expected[i] : actual[i]));
+        }
+    }
+
+    /**
+     * Assert that two int streams have the same elements in the same order.
+     * @param expected the expected stream
+     * @param actual the actual stream
+     * @throws AssertionError when the streams differ
+     */
+    public static void assertStreamEquals(final IntStream expected, final IntStream actual)
+    {
+        assertStreamEquals(expected, actual, null);
+    }
+
+    /**
+     * Assert that two int streams have the same elements in the same order.
+     * @param expected the expected stream
+     * @param actual the actual stream
+     * @param message message to use in the AssertionError when the test fails
+     * @throws AssertionError when the streams differ
+     */
+    public static void assertStreamEquals(final IntStream expected, final IntStream actual, final String message)
+    {
+        assertStreamEquals(expected.asLongStream(), actual.asLongStream(), message);
+    }
+
+    /**
+     * Assert that two long streams have the same elements in the same order.
+     * @param expected the expected stream
+     * @param actual the actual stream
+     * @throws AssertionError when the streams differ
+     */
+    public static void assertStreamEquals(final LongStream expected, final LongStream actual)
+    {
+        assertStreamEquals(expected, actual, null);
+    }
+
+    /**
+     * Assert that two long streams have the same elements in the same order.
+     * @param expected the expected stream
+     * @param actual the actual stream
+     * @param message message to use in the AssertionError when the test fails
+     * @throws AssertionError when the streams differ
+     */
+    public static void assertStreamEquals(final LongStream expected, final LongStream actual, final String message)
+    {
+        PrimitiveIterator.OfLong e = expected.iterator();
+        PrimitiveIterator.OfLong a = actual.iterator();
+        Report report = new Report();
+        long index = 0;
+        for (; e.hasNext() && a.hasNext(); index++)
+        {
+            long expectedValue = e.nextLong();
+            long actualValue = a.nextLong();
+            if (expectedValue != actualValue)
+            {
+                report.mismatch(index, expectedValue, actualValue);
+            }
+        }
+        report.check(message, "Streams", index, e.hasNext(), a.hasNext());
+    }
+
+    /**
+     * Assert that two double streams have the same elements in the same order, within an absolute tolerance. NaN is equal to
+     * NaN.
+     * @param expected the expected stream
+     * @param actual the actual stream
+     * @param epsilon the maximum absolute difference of two elements
+     * @throws AssertionError when the streams differ
+     */
+    public static void assertStreamEquals(final DoubleStream expected, final DoubleStream actual, final double epsilon)
+    {
+        assertStreamEquals(expected, actual, epsilon, null);
+    }
+
+    /**
+     * Assert that two double streams have the same elements in the same order, within an absolute tolerance. NaN is equal to
+     * NaN.
+     * @param expected the expected stream
+     * @param actual the actual stream
+     * @param epsilon the maximum absolute difference of two elements
+     * @param message message to use in the AssertionError when the test fails
+     * @throws AssertionError when the streams differ
+     */
+    public static void assertStreamEquals(final DoubleStream expected, final DoubleStream actual, final double epsilon,
+            final String message)
+    {
+        PrimitiveIterator.OfDouble e = expected.iterator();
+        PrimitiveIterator.OfDouble a = actual.iterator();
+        Report report = new Report();
+        long index = 0;
+        for (; e.hasNext() && a.hasNext(); index++)
+        {
+            double expectedValue = e.nextDouble();
+            double actualValue = a.nextDouble();
+            if (!equal(expectedValue, actualValue, epsilon, -1L))
+            {
+                report.mismatch(index, expectedValue, actualValue);
+            }
+        }
+        report.check(message, "Streams", index, e.hasNext(), a.hasNext());
+    }
+
+    /**
+     * Assert that two iterables have equal elements in the same order, iterating over both in lock step. This works for
+     * collections that are too large to copy, and for iterables that produce their elements lazily.
+     * @param expected the expected elements
+     * @param actual the actual elements
+     * @throws AssertionError when the elements differ
+     */
+    public static void assertIterableEquals(final Iterable<?> expected, final Iterable<?> actual)
+    {
+        assertIterableEquals(expected, actual, null);
+    }
+
+    /**
+     * Assert that two iterables have equal elements in the same order, iterating over both in lock step. This works for
+     * collections that are too large to copy, and for iterables that produce their elements lazily.
+     * @param expected the expected elements
+     * @param actual the actual elements
+     * @param message message to use in the AssertionError when the test fails
+     * @throws AssertionError when the elements differ
+     */
+    public static void assertIterableEquals(final Iterable<?> expected, final Iterable<?> actual, final String message)
+    {
+        if (checkNull(expected, actual, message))
+        {
+            Iterator<?> e = expected.iterator();
+            Iterator<?> a = actual.iterator();
+            Report report = new Report();
+            long index = 0;
+            for (; e.hasNext() && a.hasNext(); index++)
+            {
+                Object expectedElement = e.next();
+                Object actualElement = a.next();
+                if (!Objects.equals(expectedElement, actualElement))
+                {
+                    report.mismatch(index, expectedElement, actualElement);
+                }
+            }
+            report.check(message, "Iterables", index, e.hasNext(), a.hasNext());
+        }
+    }
+
+    /**
+     * Return the index of the next element from the given index, in the common length of the arrays, that differs more than
+     * the tolerance. Identical elements are skipped with Arrays.mismatch.
+     * @param expected the expected array
+     * @param actual the actual array
+     * @param from the index to start
+     * @param epsilon the maximum absolute difference of two elements, used when maxUlps &lt; 0
+     * @param maxUlps the maximum distance of two elements in ULPs, or -1 to use epsilon
+     * @return the index of the next mismatch, or -1 when there is no mismatch from the given index
+     */
+    private static int nextMismatch(final double[] expected, final double[] actual, final int from, final double epsilon,
+            final long maxUlps)
+    {
+        int length = Math.min(expected.length, actual.length);
+        int index = from;
+        while (index < length)
+        {
+            int mismatch = Arrays.mismatch(expected, index, length, actual, index, length);
+            if (mismatch < 0)
+            {
+                return -1;
+            }
+            index += mismatch;
+            if (!equal(expected[index], actual[index], epsilon, maxUlps))
+            {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    /**
+     * Return whether two doubles are equal within the tolerance. NaN is equal to NaN.
+     * @param expected the expected value
+     * @param actual the actual value
+     * @param epsilon the maximum absolute difference, used when maxUlps &lt; 0
+     * @param maxUlps the maximum distance in ULPs, or -1 to use epsilon
+     * @return whether the two doubles are equal within the tolerance
+     */
+    static boolean equal(final double expected, final double actual, final double epsilon, final long maxUlps)
+    {
+        if (Double.compare(expected, actual) == 0)
+        {
+            return true;
+        }
+        if (Double.isNaN(expected) || Double.isNaN(actual))
+        {
+            return false;
+        }
+        if (maxUlps < 0)
+        {
+            return Math.abs(expected - actual) <= epsilon;
+        }
+        return ulps(expected, actual) <= maxUlps;
+    }
+
+    /**
+     * Return the number of representable doubles between two doubles, that are not NaN.
+     * @param a the first double
+     * @param b the second double
+     * @return the distance of the two doubles in ULPs, saturated at Long.MAX_VALUE
+     */
+    static long ulps(final double a, final double b)
+    {
+        long ordered1 = ordered(a);
+        long ordered2 = ordered(b);
+        long distance = ordered1 - ordered2;
+        // the signs of the operands differ and the sign of the result differs from the first operand on overflow
+        if (((ordered1 ^ ordered2) & (ordered1 ^ distance)) < 0)
+        {
+            return Long.MAX_VALUE;
+        }
+        return distance < 0 ? -distance : distance;
+    }
+
+    /**
+     * Map the bits of a double on a long, such that the order of the longs is the order of the doubles, and adjacent doubles
+     * map on adjacent longs. 0.0 and -0.0 map on 0 and -1.
+     * @param value the double
+     * @return a long with the same order as the double
+     */
+    private static long ordered(final double value)
+    {
+        long bits = Double.doubleToRawLongBits(value);
+        return bits < 0 ? ~(bits & Long.MAX_VALUE) : bits;
+    }
+
+    /**
+     * Check whether both objects are null, or both not null, and throw an AssertionError when only one of them is null.
+     * @param expected the expected object
+     * @param actual the actual object
+     * @param message message to use in the AssertionError when the test fails
+     * @return whether both objects are not null, so they have to be compared
+     * @throws AssertionError when only one of the objects is null
+     */
+    private static boolean checkNull(final Object expected, final Object actual, final String message)
+    {
+        if (expected == null || actual == null)
+        {
+            if (expected != actual)
+            {
+                throw new AssertionError(message + "; expected " + (expected == null ? "null" : "not null") + ", but got "
+                        + (actual == null ? "null" : "not null"));
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Find all mismatches in two arrays, and throw an AssertionError with a window around the first mismatches when there are
+     * mismatches, or when the lengths differ.
+     * @param message message to use in the AssertionError when the test fails
+     * @param expectedLength the length of the expected array
+     * @param actualLength the length of the actual array
+     * @param next the function that returns the next mismatch in the common length
+     * @param format the function that formats an element of the expected or actual array
+     * @throws AssertionError when the arrays differ
+     */
+    private static void check(final String message, final int expectedLength, final int actualLength, final NextMismatch next,
+            final ElementFormat format)
+    {
+        int first = next.from(0);
+        if (first < 0 && expectedLength == actualLength)
+        {
+            return;
+        }
+        int length = Math.min(expectedLength, actualLength);
+        int[] reported = new int[MAX_REPORTED_MISMATCHES];
+        int count = 0;
+        long total = 0;
+        for (int index = first; index >= 0; index = index + 1 < length ? next.from(index + 1) : -1)
+        {
+            if (count < MAX_REPORTED_MISMATCHES)
+            {
+                reported[count++] = index;
+            }
+            total++;
+        }
+        StringBuilder s = new StringBuilder();
+        s.append(message).append("; Arrays differ in ").append(total).append(" of ").append(length).append(" elements");
+        if (expectedLength != actualLength)
+        {
+            s.append(", and in length: expected ").append(expectedLength).append(", actual ").append(actualLength);
+        }
+        if (count > 0)
+        {
+            s.append("\nfirst mismatches (marked with >) with ").append(CONTEXT).append(" elements of context:");
+        }
+        int shownUntil = -1;
+        for (int r = 0; r < count; r++)
+        {
+            int from = Math.max(Math.max(0, reported[r] - CONTEXT), shownUntil + 1);
+            int to = Math.min(length - 1, reported[r] + CONTEXT);
+            if (from > shownUntil + 1 && shownUntil >= 0)
+            {
+                s.append("\n  ...");
+            }
+            for (int i = from; i <= to; i++)
+            {
+                String expectedElement = format.element(true, i);
+                String actualElement = format.element(false, i);
+                boolean mismatch = Arrays.binarySearch(reported, 0, count, i) >= 0;
+                s.append(mismatch ? "\n> [" : "\n  [").append(i).append("] ");
+                if (mismatch)
+                {
+                    s.append("expected ").append(expectedElement).append(", actual ").append(actualElement);
+                }
+                else
+                {
+                    s.append(expectedElement).append(expectedElement.equals(actualElement) ? "" : " ~ " + actualElement);
+                }
+            }
+            shownUntil = to;
+        }
+        throw new AssertionError(s.toString());
+    }
+
+    /**
+     * NextMismatch returns the next mismatch in two arrays.
+     */
+    @FunctionalInterface
+    private interface NextMismatch
+    {
+        /**
+         * Return the index of the next mismatch from the given index.
+         * @param from the index to start
+         * @return the index of the next mismatch, or -1 when there is none
+         */
+        int from(int from);
+    }
+
+    /**
+     * ElementFormat formats an element of the expected or actual array, only when a report is made.
+     */
+    @FunctionalInterface
+    private interface ElementFormat
+    {
+        /**
+         * Format an element of the expected or actual array.
+         * @param expected whether to format the element of the expected array
+         * @param index the index of the element
+         * @return the formatted element
+         */
+        String element(boolean expected, int index);
+    }
+
+    /**
+     * Report collects the first mismatches of a streamed comparison.
+     */
+    private static final class Report
+    {
+        /** the first mismatches. */
+        private final StringBuilder mismatches = new StringBuilder();
+
+        /** the number of mismatches. */
+        private long count;
+
+        /**
+         * Register a mismatch of two long elements; only the first MAX_REPORTED_MISMATCHES are formatted.
+         * @param index the index of the mismatch
+         * @param expected the expected element
+         * @param actual the actual element
+         */
+        private void mismatch(final long index, final long expected, final long actual)
+        {
+            if (this.count++ < MAX_REPORTED_MISMATCHES)
+            {
+                append(index, String.valueOf(expected), String.valueOf(actual));
+            }
+        }
+
+        /**
+         * Register a mismatch of two double elements; only the first MAX_REPORTED_MISMATCHES are formatted.
+         * @param index the index of the mismatch
+         * @param expected the expected element
+         * @param actual the actual element
+         */
+        private void mismatch(final long index, final double expected, final double actual)
+        {
+            if (this.count++ < MAX_REPORTED_MISMATCHES)
+            {
+                append(index, String.valueOf(expected), String.valueOf(actual));
+            }
+        }
+
+        /**
+         * Register a mismatch of two elements; only the first MAX_REPORTED_MISMATCHES are formatted.
+         * @param index the index of the mismatch
+         * @param expected the expected element
+         * @param actual the actual element
+         */
+        private void mismatch(final long index, final Object expected, final Object actual)
+        {
+            if (this.count++ < MAX_REPORTED_MISMATCHES)
+            {
+                append(index, String.valueOf(expected), String.valueOf(actual));
+            }
+        }
+
+        /**
+         * Append a formatted mismatch to the report.
+         * @param index the index of the mismatch
+         * @param expected the formatted expected element
+         * @param actual the formatted actual element
+         */
+        private void append(final long index, final String expected, final String actual)
+        {
+            this.mismatches.append("\n> [").append(index).append("] expected ").append(expected).append(", actual ")
+                    .append(actual);
+        }
+
+        /**
+         * Throw an AssertionError when there were mismatches, or when one of the sequences has more elements.
+         * @param message message to use in the AssertionError when the test fails
+         * @param kind "Streams" or "Iterables", for the message
+         * @param compared the number of compared elements
+         * @param expectedHasMore whether the expected sequence has more elements
+         * @param actualHasMore whether the actual sequence has more elements
+         * @throws AssertionError when the sequences differ
+         */
+        private void check(final String message, final String kind, final long compared, final boolean expectedHasMore,
+                final boolean actualHasMore)
+        {
+            if (this.count == 0 && !expectedHasMore && !actualHasMore)
+            {
+                return;
+            }
+            StringBuilder s = new StringBuilder();
+            s.append(message).append("; ").append(kind).append(" differ in ").append(this.count).append(" of ").append(compared)
+                    .append(" elements");
+            if (expectedHasMore || actualHasMore)
+            {
+                s.append(", and the ").append(expectedHasMore ? "expected" : "actual").append(" elements continue after ")
+                        .append(compared).append(" elements");
+            }
+            if (this.count > 0)
+            {
+                s.append("\nfirst mismatches:").append(this.mismatches);
+            }
+            throw new AssertionError(s.toString());
+        }
+    }
+}
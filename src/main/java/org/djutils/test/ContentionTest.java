@@ -0,0 +1,489 @@
+package org.djutils.test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.djutils.test.UnitTest.Execution;
+
+/**
+ * ContentionTest carries out several executions concurrently, and measures how much the threads were held up by each other.
+ * While the executions run, the threads are sampled through the ThreadMXBean: deadlocks are detected with
+ * findDeadlockedThreads, and the locks that the threads are blocked on or wait for while another thread owns them are counted.
+ * When an execution finishes, the blocked and waited counts and times of its thread are stored. Optionally, the run is made
+ * under a flight recording with {@link JfrRecorder}, and the jdk.JavaMonitorEnter events give the time spent to enter each
+ * contended monitor. When a deadlock is found, the run fails immediately with the lock graph and the stack traces of the
+ * deadlocked threads, instead of hanging until the timeout. A way to use the class is, for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   ContentionReport report = ContentionTest.run(() -&gt; cache.get(randomKey()), 8, Duration.ofSeconds(10));
+ *   report.check(report.totalBlockedMillis() &lt; 100, "striped cache is contended");
+ * </code>
+ * </pre>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class ContentionTest
+{
+    /** the interval between two samples of the threads, in milliseconds. */
+    public static final long SAMPLE_MILLIS = 2L;
+
+    /** */
+    private ContentionTest()
+    {
+        // utility class
+    }
+
+    /**
+     * Carry out the same execution on a number of threads concurrently, and return the contention between the threads.
+     * @param execution the execution to carry out on each thread
+     * @param threads the number of threads
+     * @param timeout the maximum duration of the run
+     * @return the contention between the threads
+     * @throws AssertionError when an execution throws an exception, when the threads deadlock, or when the run does not finish
+     *             within the timeout
+     * @throws IllegalArgumentException when threads &lt; 1
+     */
+    public static ContentionReport run(final Execution execution, final int threads, final Duration timeout)
+    {
+        if (threads < 1)
+        {
+            throw new IllegalArgumentException("threads < 1");
+        }
+        Execution[] executions = new Execution[threads];
+        Arrays.fill(executions, execution);
+        return run(timeout, false, executions);
+    }
+
+    /**
+     * Carry out the executions concurrently, each on its own thread, and return the contention between the threads.
+     * @param timeout the maximum duration of the run
+     * @param executions the executions to carry out concurrently
+     * @return the contention between the threads
+     * @throws AssertionError when an execution throws an exception, when the threads deadlock, or when the run does not finish
+     *             within the timeout
+     */
+    public static ContentionReport run(final Duration timeout, final Execution... executions)
+    {
+        return run(timeout, false, executions);
+    }
+
+    /**
+     * Carry out the executions concurrently, each on its own thread, and return the contention between the threads. When jfr
+     * is true, the run is made under a flight recording with the "profile" settings, and the report contains the time spent
+     * to enter the contended monitors. Note that these settings only record monitor enters that take longer than 10 ms.
+     * @param timeout the maximum duration of the run
+     * @param jfr whether to make a flight recording for the monitor enter times
+     * @param executions the executions to carry out concurrently
+     * @return the contention between the threads
+     * @throws AssertionError when an execution throws an exception, when the threads deadlock, or when the run does not finish
+     *             within the timeout
+     * @throws IllegalArgumentException when no executions are given
+     */
+    public static ContentionReport run(final Duration timeout, final boolean jfr, final Execution... executions)
+    {
+        if (executions.length == 0)
+        {
+            throw new IllegalArgumentException("no executions");
+        }
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        boolean monitoring = bean.isThreadContentionMonitoringSupported() && bean.isThreadContentionMonitoringEnabled();
+        if (bean.isThreadContentionMonitoringSupported())
+        {
+            bean.setThreadContentionMonitoringEnabled(true);
+        }
+        try
+        {
+            Run run = new Run(executions, timeout);
+            if (jfr)
+            {
+                Map<String, Long> monitorEnterNanos = JfrRecorder.record(run::execute).lockContention();
+                return run.result(monitorEnterNanos);
+            }
+            run.execute();
+            return run.result(Map.of());
+        }
+        finally
+        {
+            if (bean.isThreadContentionMonitoringSupported())
+            {
+                bean.setThreadContentionMonitoringEnabled(monitoring);
+            }
+        }
+    }
+
+    /**
+     * Return a copy of the map, sorted on the values with the largest first.
+     * @param map the map to sort
+     * @return a copy of the map, sorted on the values with the largest first
+     */
+    private static Map<String, Long> sorted(final Map<String, Long> map)
+    {
+        Map<String, Long> result = new LinkedHashMap<>();
+        map.entrySet().stream().sorted(Map.Entry.<String, Long> comparingByValue(Comparator.reverseOrder()))
+                .forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    /**
+     * Run holds the threads of one concurrent run, and the samples that are taken while they run. The outcome of the run is
+     * only turned into an AssertionError after the (optional) flight recording has been closed.
+     */
+    private static final class Run
+    {
+        /** the threads that carry out the executions. */
+        private final Thread[] threads;
+
+        /** the ids of the threads. */
+        private final long[] ids;
+
+        /** the contention of each thread, stored by the thread itself just before it ends. */
+        private final ThreadContention[] contention;
+
+        /** the throwable thrown by each execution, or null. */
+        private final Throwable[] thrown;
+
+        /** the gate that lets all executions start at the same time. */
+        private final CountDownLatch start = new CountDownLatch(1);
+
+        /** the maximum duration of the run. */
+        private final Duration timeout;
+
+        /** the sampled time in nanoseconds that threads waited for each lock that was owned by another thread. */
+        private final Map<String, Long> contendedLocks = new HashMap<>();
+
+        /** the wall time of the run in nanoseconds. */
+        private long wallNanos;
+
+        /** the failure of the run, thrown after the recording has been closed, or null. */
+        private AssertionError failure;
+
+        /**
+         * Create the threads for the executions.
+         * @param executions the executions to carry out concurrently
+         * @param timeout the maximum duration of the run
+         */
+        Run(final Execution[] executions, final Duration timeout)
+        {
+            this.timeout = timeout;
+            this.threads = new Thread[executions.length];
+            this.ids = new long[executions.length];
+            this.contention = new ThreadContention[executions.length];
+            this.thrown = new Throwable[executions.length];
+            for (int i = 0; i < executions.length; i++)
+            {
+                final int index = i;
+                final Execution execution = executions[i];
+                this.threads[i] = new Thread(() -> work(index, execution), "ContentionTest-" + i);
+                this.threads[i].setDaemon(true);
+                this.ids[i] = this.threads[i].getId();
+            }
+        }
+
+        /**
+         * Carry out one execution on the current thread, and store the contention of the thread.
+         * @param index the index of the execution
+         * @param execution the execution
+         */
+        private void work(final int index, final Execution execution)
+        {
+            try
+            {
+                this.start.await();
+                execution.execute();
+            }
+            catch (Throwable cause)
+            {
+                this.thrown[index] = cause;
+            }
+            finally
+            {
+                // the thread info is no longer available after the thread has ended
+                ThreadInfo info = ManagementFactory.getThreadMXBean().getThreadInfo(Thread.currentThread().getId());
+                this.contention[index] = new ThreadContention(Thread.currentThread().getName(), info.getBlockedCount(),
+                        info.getBlockedTime(), info.getWaitedCount(), info.getWaitedTime());
+            }
+        }
+
+        /**
+         * Start the threads, and sample them until they have all ended, the threads deadlock, or the timeout expires.
+         */
+        void execute()
+        {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            for (Thread thread : this.threads)
+            {
+                thread.start();
+            }
+            long begin = System.nanoTime();
+            long deadline = begin + this.timeout.toNanos();
+            this.start.countDown();
+            long previous = begin;
+            while (alive())
+            {
+                long now = System.nanoTime();
+                sample(bean, now - previous);
+                previous = now;
+                long[] deadlocked = bean.findDeadlockedThreads();
+                if (deadlocked != null && Arrays.stream(deadlocked).anyMatch(id -> indexOf(id) >= 0))
+                {
+                    this.failure = new AssertionError("Deadlock detected between the concurrent executions:\n"
+                            + lockGraph(bean, deadlocked) + dumps());
+                    interrupt();
+                    return;
+                }
+                if (now > deadline)
+                {
+                    this.failure = new TimeoutAssertionError(
+                            "Concurrent executions did not finish within " + this.timeout + "\n" + dumps(), this.timeout);
+                    interrupt();
+                    return;
+                }
+                try
+                {
+                    Thread.sleep(SAMPLE_MILLIS);
+                }
+                catch (InterruptedException exception)
+                {
+                    interrupt();
+                    Thread.currentThread().interrupt();
+                    this.failure = new AssertionError("Interrupted while waiting for the concurrent executions", exception);
+                    return;
+                }
+            }
+            this.wallNanos = System.nanoTime() - begin;
+            for (int i = 0; i < this.threads.length; i++)
+            {
+                if (this.thrown[i] != null)
+                {
+                    if (this.failure == null)
+                    {
+                        this.failure = new AssertionError("Execution " + i + " threw an exception", this.thrown[i]);
+                    }
+                    else
+                    {
+                        this.failure.addSuppressed(this.thrown[i]);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Return whether one or more threads are still running.
+         * @return whether one or more threads are still running
+         */
+        private boolean alive()
+        {
+            for (Thread thread : this.threads)
+            {
+                if (thread.isAlive())
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Return the index of the thread with the given id.
+         * @param id the thread id
+         * @return the index of the thread, or -1 when it is not one of the threads of this run
+         */
+        private int indexOf(final long id)
+        {
+            for (int i = 0; i < this.ids.length; i++)
+            {
+                if (this.ids[i] == id)
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Add the elapsed time to each lock that a thread waits for while another thread owns it.
+         * @param bean the thread bean
+         * @param elapsedNanos the time since the previous sample
+         */
+        private void sample(final ThreadMXBean bean, final long elapsedNanos)
+        {
+            for (ThreadInfo info : bean.getThreadInfo(this.ids))
+            {
+                if (info != null && info.getLockName() != null && info.getLockOwnerId() >= 0)
+                {
+                    this.contendedLocks.merge(info.getLockName(), elapsedNanos, Long::sum);
+                }
+            }
+        }
+
+        /**
+         * Return the lock graph of the deadlocked threads, one line per edge.
+         * @param bean the thread bean
+         * @param deadlocked the ids of the deadlocked threads
+         * @return the lock graph of the deadlocked threads
+         */
+        private static String lockGraph(final ThreadMXBean bean, final long[] deadlocked)
+        {
+            StringBuilder graph = new StringBuilder();
+            for (ThreadInfo info : bean.getThreadInfo(deadlocked))
+            {
+                if (info != null)
+                {
+                    graph.append("  \"").append(info.getThreadName()).append("\" waits for ").append(info.getLockName())
+                            .append(" held by \"").append(info.getLockOwnerName()).append("\"\n");
+                }
+            }
+            return graph.toString();
+        }
+
+        /**
+         * Return the thread dumps of the threads that are still alive.
+         * @return the thread dumps of the threads that are still alive
+         */
+        private String dumps()
+        {
+            StringBuilder dumps = new StringBuilder();
+            for (Thread thread : this.threads)
+            {
+                if (thread.isAlive())
+                {
+                    dumps.append(UnitTest.threadDump(thread));
+                }
+            }
+            return dumps.toString();
+        }
+
+        /**
+         * Interrupt the threads that are still alive; deadlocked threads stay alive, but they are daemon threads.
+         */
+        private void interrupt()
+        {
+            for (Thread thread : this.threads)
+            {
+                thread.interrupt();
+            }
+        }
+
+        /**
+         * Return the report of the run, or throw the failure of the run.
+         * @param monitorEnterNanos the time to enter each monitor from the flight recording
+         * @return the report of the run
+         * @throws AssertionError when the run failed
+         */
+        ContentionReport result(final Map<String, Long> monitorEnterNanos)
+        {
+            if (this.failure != null)
+            {
+                throw this.failure;
+            }
+            return new ContentionReport(this.wallNanos, List.of(this.contention), sorted(this.contendedLocks),
+                    monitorEnterNanos);
+        }
+    }
+
+    /**
+     * ThreadContention contains the contention of one thread, as reported by the ThreadMXBean when the execution ended. The
+     * times are -1 when the JVM does not support thread contention monitoring.
+     * @param threadName the name of the thread
+     * @param blockedCount the number of times the thread blocked to enter a monitor
+     * @param blockedMillis the total time the thread was blocked to enter a monitor, in milliseconds
+     * @param waitedCount the number of times the thread waited for a notification or a lock
+     * @param waitedMillis the total time the thread waited for a notification or a lock, in milliseconds
+     */
+    public record ThreadContention(String threadName, long blockedCount, long blockedMillis, long waitedCount,
+            long waitedMillis)
+    {
+    }
+
+    /**
+     * ContentionReport contains the contention between the threads of a concurrent run. The maps are sorted on the value, with
+     * the largest first.
+     * @param wallNanos the wall time of the run in nanoseconds
+     * @param threads the contention of each thread
+     * @param contendedLocks the sampled time in nanoseconds that threads waited for a lock owned by another thread, per lock
+     * @param monitorEnterNanos the time in nanoseconds to enter a monitor, per monitor class and top frame, from the flight
+     *            recording; empty when no recording was made
+     */
+    public record ContentionReport(long wallNanos, List<ThreadContention> threads, Map<String, Long> contendedLocks,
+            Map<String, Long> monitorEnterNanos)
+    {
+        /**
+         * Return the total time that the threads were blocked to enter a monitor, in milliseconds.
+         * @return the total time that the threads were blocked to enter a monitor, in milliseconds
+         */
+        public long totalBlockedMillis()
+        {
+            return this.threads.stream().mapToLong(thread -> Math.max(0L, thread.blockedMillis())).sum();
+        }
+
+        /**
+         * Return the total time that the threads waited for a notification or a lock, in milliseconds.
+         * @return the total time that the threads waited for a notification or a lock, in milliseconds
+         */
+        public long totalWaitedMillis()
+        {
+            return this.threads.stream().mapToLong(thread -> Math.max(0L, thread.waitedMillis())).sum();
+        }
+
+        /**
+         * Return a report of the contention of the run.
+         * @param count the maximum number of locks and monitors to report
+         * @return a report of the contention of the run
+         */
+        public String report(final int count)
+        {
+            StringBuilder report = new StringBuilder();
+            report.append(String.format(Locale.US, "wall time %.1f ms, blocked %d ms, waited %d ms%n", this.wallNanos / 1.0E6,
+                    totalBlockedMillis(), totalWaitedMillis()));
+            for (ThreadContention thread : this.threads)
+            {
+                report.append(String.format(Locale.US, "    %s: blocked %d times, %d ms; waited %d times, %d ms%n",
+                        thread.threadName(), thread.blockedCount(), thread.blockedMillis(), thread.waitedCount(),
+                        thread.waitedMillis()));
+            }
+            report.append("  contended locks (sampled ns):\n");
+            this.contendedLocks.entrySet().stream().limit(count)
+                    .forEach(entry -> report.append("    " + entry.getValue() + "  " + entry.getKey() + "\n"));
+            if (!this.monitorEnterNanos.isEmpty())
+            {
+                report.append("  monitor enter (ns):\n");
+                this.monitorEnterNanos.entrySet().stream().limit(count)
+                        .forEach(entry -> report.append("    " + entry.getValue() + "  " + entry.getKey() + "\n"));
+            }
+            return report.toString();
+        }
+
+        /**
+         * Check a contention condition, and throw an AssertionError with the contention report in the message when the
+         * condition does not hold.
+         * @param condition the condition that should hold
+         * @param message message to use in the AssertionError when the condition does not hold
+         * @throws AssertionError when the condition does not hold
+         */
+        public void check(final boolean condition, final String message)
+        {
+            if (!condition)
+            {
+                throw new AssertionError(message + "\n" + report(JfrRecorder.REPORTED_SITES));
+            }
+        }
+    }
+}
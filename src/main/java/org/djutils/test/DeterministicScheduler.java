@@ -0,0 +1,469 @@
+package org.djutils.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * DeterministicScheduler runs a number of threads on a shared state so that only one of them runs at a time, and a scheduler
+ * decides at each yield point which thread continues. The code under test, or the test code around it, marks the places where
+ * a thread switch may happen with {@link #yieldPoint()}; outside a scheduled run, the method does nothing. Because the choice
+ * at each yield point is the only source of nondeterminism, a schedule is fully described by its choices, and a failing
+ * schedule can be replayed exactly. The schedules can be explored randomly from a seed, or systematically by enumerating all
+ * choices in depth-first order. A way to use the class is, for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   DeterministicScheduler.explore(Counter::new, List.of(c -&gt; c.increment(), c -&gt; c.increment()),
+ *       c -&gt; assertEquals(2, c.get()), 1000, 1L, "lost update");
+ * </code>
+ * </pre>
+ *
+ * where increment() calls DeterministicScheduler.yieldPoint() between reading and writing the value. The threads hand over
+ * a baton with semaphores, so a thread should not block on another thread outside a yield point; when it does, the schedule
+ * fails after a timeout with a description of the schedule so far. The threads that wait at a yield point are then released
+ * with a {@link ScheduleAbortedException}, so their finally blocks can release what the blocked thread waits for.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class DeterministicScheduler
+{
+    /** the maximum time for one schedule, in seconds. */
+    private static final long SCHEDULE_TIMEOUT_SECONDS = 10L;
+
+    /** the schedule and thread index of the current thread, or null when the thread is not scheduled. */
+    private static final ThreadLocal<Slot> CURRENT = new ThreadLocal<>();
+
+    /** */
+    private DeterministicScheduler()
+    {
+        // utility class
+    }
+
+    /**
+     * Mark a point where the scheduler may switch to another thread. The method does nothing when the current thread is not
+     * run by the scheduler.
+     */
+    public static void yieldPoint()
+    {
+        Slot slot = CURRENT.get();
+        if (slot != null)
+        {
+            slot.schedule.yieldPoint(slot.index);
+        }
+    }
+
+    /**
+     * Run the given number of random schedules, and fail with the seed and the choices of the first schedule for which a
+     * thread throws an exception or the check fails. The seed of each schedule is derived from the given seed.
+     * @param setup the supplier of a fresh state for each schedule
+     * @param threads the actions of the threads on the state
+     * @param check the check of the state after all threads have finished
+     * @param schedules the number of schedules
+     * @param seed the seed for the schedules
+     * @param message message to use in the AssertionError when the test fails
+     * @param <S> the type of the state
+     * @throws AssertionError when a schedule fails
+     * @throws IllegalArgumentException when there are no threads, or schedules &lt; 1
+     */
+    public static <S> void explore(final Supplier<S> setup, final List<Action<S>> threads, final Action<S> check,
+            final int schedules, final long seed, final String message)
+    {
+        if (threads.isEmpty() || schedules < 1)
+        {
+            throw new IllegalArgumentException("no threads, or schedules < 1");
+        }
+        for (int i = 0; i < schedules; i++)
+        {
+            long scheduleSeed = PropertyTest.mix(seed, i);
+            Schedule schedule = new Schedule(threads.size(), new SplittableRandom(scheduleSeed), new int[0]);
+            String failure = schedule.run(setup, threads, check);
+            if (failure != null)
+            {
+                throw new AssertionError(message + "; Schedule " + i + " failed: " + failure + "; replay with seed = "
+                        + scheduleSeed + " or choices = " + Arrays.toString(schedule.choices()));
+            }
+        }
+    }
+
+    /**
+     * Run all schedules in depth-first order of the choices, up to a maximum number of schedules, and fail with the choices of
+     * the first schedule for which a thread throws an exception or the check fails.
+     * @param setup the supplier of a fresh state for each schedule
+     * @param threads the actions of the threads on the state
+     * @param check the check of the state after all threads have finished
+     * @param maxSchedules the maximum number of schedules to run
+     * @param message message to use in the AssertionError when the test fails
+     * @param <S> the type of the state
+     * @return the number of schedules that was run; less than maxSchedules when all schedules have been explored
+     * @throws AssertionError when a schedule fails
+     * @throws IllegalArgumentException when there are no threads, or maxSchedules &lt; 1
+     */
+    public static <S> int exploreAll(final Supplier<S> setup, final List<Action<S>> threads, final Action<S> check,
+            final int maxSchedules, final String message)
+    {
+        if (threads.isEmpty() || maxSchedules < 1)
+        {
+            throw new IllegalArgumentException("no threads, or maxSchedules < 1");
+        }
+        int[] prefix = new int[0];
+        for (int i = 0; i < maxSchedules; i++)
+        {
+            Schedule schedule = new Schedule(threads.size(), null, prefix);
+            String failure = schedule.run(setup, threads, check);
+            if (failure != null)
+            {
+                throw new AssertionError(message + "; Schedule " + i + " failed: " + failure + "; replay with choices = "
+                        + Arrays.toString(schedule.choices()));
+            }
+            prefix = schedule.nextPrefix();
+            if (prefix == null)
+            {
+                return i + 1;
+            }
+        }
+        return maxSchedules;
+    }
+
+    /**
+     * Replay the random schedule with the given seed, as reported by a failing exploration.
+     * @param setup the supplier of a fresh state
+     * @param threads the actions of the threads on the state
+     * @param check the check of the state after all threads have finished
+     * @param scheduleSeed the seed of the schedule
+     * @param <S> the type of the state
+     * @throws AssertionError when the schedule fails
+     */
+    public static <S> void replay(final Supplier<S> setup, final List<Action<S>> threads, final Action<S> check,
+            final long scheduleSeed)
+    {
+        Schedule schedule = new Schedule(threads.size(), new SplittableRandom(scheduleSeed), new int[0]);
+        String failure = schedule.run(setup, threads, check);
+        if (failure != null)
+        {
+            throw new AssertionError("Schedule failed: " + failure + "; choices = " + Arrays.toString(schedule.choices()));
+        }
+    }
+
+    /**
+     * Replay the schedule with the given choices, as reported by a failing exploration. After the given choices, the first
+     * runnable thread is chosen at each yield point.
+     * @param setup the supplier of a fresh state
+     * @param threads the actions of the threads on the state
+     * @param check the check of the state after all threads have finished
+     * @param choices the index of the chosen thread among the runnable threads at each yield point
+     * @param <S> the type of the state
+     * @throws AssertionError when the schedule fails
+     */
+    public static <S> void replay(final Supplier<S> setup, final List<Action<S>> threads, final Action<S> check,
+            final int[] choices)
+    {
+        Schedule schedule = new Schedule(threads.size(), null, choices);
+        String failure = schedule.run(setup, threads, check);
+        if (failure != null)
+        {
+            throw new AssertionError("Schedule failed: " + failure + "; choices = " + Arrays.toString(schedule.choices()));
+        }
+    }
+
+    /**
+     * Action is carried out on the shared state of a schedule, by one of the threads or by the check afterwards.
+     * @param <S> the type of the state
+     */
+    @FunctionalInterface
+    public interface Action<S>
+    {
+        /**
+         * Carry out the action.
+         * @param state the shared state
+         * @throws Throwable when the action fails
+         */
+        void run(S state) throws Throwable;
+    }
+
+    /**
+     * ScheduleAbortedException is thrown at a yield point when the schedule has been aborted after a timeout, to end the
+     * threads of the schedule.
+     * <p>
+     * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved.
+     * See for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project
+     * is distributed under a three-clause BSD-style license, which can be found at
+     * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+     * <p>
+     * @author Alexander Verbraeck
+     */
+    public static final class ScheduleAbortedException extends RuntimeException
+    {
+        /** */
+        private static final long serialVersionUID = 20260101L;
+
+        /**
+         * Create the exception.
+         */
+        ScheduleAbortedException()
+        {
+            super("schedule aborted after a timeout");
+        }
+    }
+
+    /**
+     * Slot links a thread to its schedule and its index in the schedule.
+     * @param schedule the schedule
+     * @param index the index of the thread
+     */
+    private record Slot(Schedule schedule, int index)
+    {
+    }
+
+    /**
+     * Schedule runs the threads of one schedule, passing a baton between them. The fields are accessed by the thread that holds
+     * the baton, and the semaphores make the writes of one holder visible to the next. After a timeout, the thread that runs
+     * the schedule reads the choices while a blocked thread may still hold the baton, and the released threads finish while
+     * others may still choose, so the choices, the finished threads and the number of remaining threads are guarded by the
+     * lock of the schedule.
+     */
+    private static final class Schedule
+    {
+        /** the baton of each thread. */
+        private final Semaphore[] batons;
+
+        /** whether each thread has finished. */
+        private final boolean[] finished;
+
+        /** the random generator for the choices, or null to choose the first runnable thread after the prefix. */
+        private final SplittableRandom random;
+
+        /** the choices to make first. */
+        private final int[] prefix;
+
+        /** the choices that were made. */
+        private final List<Integer> choices = new ArrayList<>();
+
+        /** the number of runnable threads at each choice. */
+        private final List<Integer> options = new ArrayList<>();
+
+        /** the throwables of the threads. */
+        private final Throwable[] thrown;
+
+        /** released when all threads have finished. */
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        /** the number of threads that have not finished. */
+        private int remaining;
+
+        /** whether the schedule has been aborted after a timeout. */
+        private volatile boolean aborted = false;
+
+        /**
+         * Create a schedule.
+         * @param threads the number of threads
+         * @param random the random generator for the choices, or null to choose the first runnable thread after the prefix
+         * @param prefix the choices to make first
+         */
+        Schedule(final int threads, final SplittableRandom random, final int[] prefix)
+        {
+            this.batons = new Semaphore[threads];
+            for (int i = 0; i < threads; i++)
+            {
+                this.batons[i] = new Semaphore(0);
+            }
+            this.finished = new boolean[threads];
+            this.thrown = new Throwable[threads];
+            this.random = random;
+            this.prefix = prefix;
+            this.remaining = threads;
+        }
+
+        /**
+         * Run the schedule.
+         * @param setup the supplier of a fresh state
+         * @param actions the actions of the threads on the state
+         * @param check the check of the state after all threads have finished
+         * @param <S> the type of the state
+         * @return a description of the failure, or null when the schedule succeeded
+         */
+        <S> String run(final Supplier<S> setup, final List<Action<S>> actions, final Action<S> check)
+        {
+            S state = setup.get();
+            Thread[] threads = new Thread[actions.size()];
+            for (int i = 0; i < threads.length; i++)
+            {
+                final int index = i;
+                threads[i] = new Thread(() -> work(index, actions.get(index), state), "DeterministicScheduler-" + i);
+                threads[i].setDaemon(true);
+                threads[i].start();
+            }
+            this.batons[choose()].release();
+            try
+            {
+                if (!this.done.await(SCHEDULE_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                {
+                    // release the threads that wait for the baton, so they end with a ScheduleAbortedException
+                    this.aborted = true;
+                    for (int i = 0; i < threads.length; i++)
+                    {
+                        this.batons[i].release();
+                        threads[i].interrupt();
+                    }
+                    return "schedule did not finish within " + SCHEDULE_TIMEOUT_SECONDS
+                            + " s; a thread may block on another thread outside a yield point";
+                }
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+                return "interrupted while waiting for the schedule";
+            }
+            for (int i = 0; i < threads.length; i++)
+            {
+                if (this.thrown[i] != null)
+                {
+                    return "thread " + i + " threw " + this.thrown[i];
+                }
+            }
+            try
+            {
+                check.run(state);
+            }
+            catch (Throwable cause)
+            {
+                return "check failed with " + cause;
+            }
+            return null;
+        }
+
+        /**
+         * Carry out the action of a thread when it gets the baton, and pass the baton on when it has finished.
+         * @param index the index of the thread
+         * @param action the action of the thread
+         * @param state the shared state
+         * @param <S> the type of the state
+         */
+        private <S> void work(final int index, final Action<S> action, final S state)
+        {
+            CURRENT.set(new Slot(this, index));
+            try
+            {
+                this.batons[index].acquire();
+                if (this.aborted)
+                {
+                    // the baton was released to end the thread, not to let it run unscheduled
+                    throw new ScheduleAbortedException();
+                }
+                action.run(state);
+            }
+            catch (Throwable cause)
+            {
+                this.thrown[index] = cause;
+            }
+            finally
+            {
+                CURRENT.remove();
+                synchronized (this)
+                {
+                    this.finished[index] = true;
+                    this.remaining--;
+                    if (this.remaining == 0)
+                    {
+                        this.done.countDown();
+                    }
+                    else if (!this.aborted)
+                    {
+                        this.batons[choose()].release();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Let the scheduler choose the thread that continues, and wait for the baton when it is another thread.
+         * @param index the index of the thread that reached the yield point
+         * @throws ScheduleAbortedException when the schedule has been aborted after a timeout
+         */
+        void yieldPoint(final int index)
+        {
+            if (this.aborted)
+            {
+                throw new ScheduleAbortedException();
+            }
+            int next = choose();
+            if (next != index)
+            {
+                this.batons[next].release();
+                this.batons[index].acquireUninterruptibly();
+                if (this.aborted)
+                {
+                    throw new ScheduleAbortedException();
+                }
+            }
+        }
+
+        /**
+         * Choose the next thread among the runnable threads, and record the choice.
+         * @return the index of the chosen thread
+         */
+        private synchronized int choose()
+        {
+            int[] runnable = new int[this.remaining];
+            int count = 0;
+            for (int i = 0; i < this.finished.length; i++)
+            {
+                if (!this.finished[i])
+                {
+                    runnable[count++] = i;
+                }
+            }
+            int step = this.choices.size();
+            int choice;
+            if (step < this.prefix.length)
+            {
+                choice = Math.min(this.prefix[step], count - 1);
+            }
+            else
+            {
+                choice = this.random == null || count == 1 ? 0 : this.random.nextInt(count);
+            }
+            this.choices.add(choice);
+            this.options.add(count);
+            return runnable[choice];
+        }
+
+        /**
+         * Return the choices that were made.
+         * @return the choices that were made
+         */
+        synchronized int[] choices()
+        {
+            return this.choices.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        /**
+         * Return the prefix of the next schedule in depth-first order: the last choice that has an untried alternative is
+         * replaced by that alternative, and the choices after it are dropped.
+         * @return the prefix of the next schedule, or null when all schedules have been explored
+         */
+        synchronized int[] nextPrefix()
+        {
+            for (int step = this.choices.size() - 1; step >= 0; step--)
+            {
+                if (this.choices.get(step) < this.options.get(step) - 1)
+                {
+                    int[] next = Arrays.copyOf(choices(), step + 1);
+                    next[step]++;
+                    return next;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,480 @@
+package org.djutils.test;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * FixtureCache builds an expensive fixture once, and shares it with later test classes and later forked test JVMs through a
+ * file in target/fixture-cache. A fixture is declared by a key, a builder, and the input files or directories it is built
+ * from. The name of the cache file contains a SHA-256 hash of the key and of the names and contents of the inputs, so a
+ * changed input invalidates the fixture, and the files of older versions of the fixture are removed. The fixture is written
+ * with a Codec to a temporary file that is moved into place atomically, and it is read from a read-only memory-mapped
+ * buffer. The default codec uses Java serialization; a dedicated codec that writes the fields with a DataOutputStream and
+ * reads them with the absolute getters of the buffer is much faster for large fixtures. Within one JVM, the fixture is also
+ * kept in memory, so the same instance is returned to every caller, and the hash of the inputs is only computed again when
+ * the names, sizes or modification times of the input files have changed. Each cache file has its own lock, so one fixture
+ * is built only once in a JVM, while different fixtures are built in parallel. A way to use the class is, for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   private static final Path MODEL = Paths.get("src", "test", "resources", "network.xml");
+ *
+ *   Network network = FixtureCache.get("network", () -&gt; NetworkParser.parse(MODEL), MODEL);
+ * </code>
+ * </pre>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class FixtureCache
+{
+    /** the default directory of the cached fixtures. */
+    public static final Path CACHE_DIRECTORY = Paths.get("target", "fixture-cache");
+
+    /** the number of hexadecimal characters of the hash in the file name. */
+    private static final int HASH_LENGTH = 16;
+
+    /** the fixtures that were built or read in this JVM, per cache file. */
+    private static final Map<Path, Object> FIXTURES = new ConcurrentHashMap<>();
+
+    /** the locks of the cache files, so fixtures in different files are built in parallel, and each file only once. */
+    private static final Map<Path, Object> LOCKS = new ConcurrentHashMap<>();
+
+    /** the hash of the inputs in this JVM, per key and names, sizes and modification times of the input files. */
+    private static final Map<String, String> HASHES = new ConcurrentHashMap<>();
+
+    /** */
+    private FixtureCache()
+    {
+        // utility class
+    }
+
+    /**
+     * Return the fixture with the given key from the cache in target/fixture-cache, using Java serialization, and build and
+     * store it when it is not cached for the current contents of the inputs.
+     * @param key the key of the fixture, which is also used in the file name
+     * @param builder the builder of the fixture
+     * @param inputs the files and directories the fixture is built from
+     * @param <T> the type of the fixture
+     * @return the fixture
+     * @throws IOException when the inputs cannot be read, the fixture cannot be built, or the cache cannot be read or written
+     */
+    public static <T extends Serializable> T get(final String key, final Builder<T> builder, final Path... inputs)
+            throws IOException
+    {
+        return get(key, serializable(), builder, CACHE_DIRECTORY, List.of(inputs));
+    }
+
+    /**
+     * Return the fixture with the given key from the cache in target/fixture-cache, using the given codec, and build and
+     * store it when it is not cached for the current contents of the inputs.
+     * @param key the key of the fixture, which is also used in the file name
+     * @param codec the codec that writes and reads the fixture
+     * @param builder the builder of the fixture
+     * @param inputs the files and directories the fixture is built from
+     * @param <T> the type of the fixture
+     * @return the fixture
+     * @throws IOException when the inputs cannot be read, the fixture cannot be built, or the cache cannot be read or written
+     */
+    public static <T> T get(final String key, final Codec<T> codec, final Builder<T> builder, final Path... inputs)
+            throws IOException
+    {
+        return get(key, codec, builder, CACHE_DIRECTORY, List.of(inputs));
+    }
+
+    /**
+     * Return the fixture with the given key from the cache in the given directory, and build and store it when it is not
+     * cached for the current contents of the inputs. A cache file that cannot be decoded is rebuilt.
+     * @param key the key of the fixture, which is also used in the file name
+     * @param codec the codec that writes and reads the fixture
+     * @param builder the builder of the fixture
+     * @param directory the directory of the cache
+     * @param inputs the files and directories the fixture is built from
+     * @param <T> the type of the fixture
+     * @return the fixture
+     * @throws IOException when the inputs cannot be read, the fixture cannot be built, or the cache cannot be read or written
+     * @throws IllegalArgumentException when the key is empty or contains other characters than letters, digits, '.', '_'
+     *             and '-'
+     * @throws IllegalStateException when the builder returns null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(final String key, final Codec<T> codec, final Builder<T> builder, final Path directory,
+            final List<Path> inputs) throws IOException
+    {
+        if (!key.matches("[A-Za-z0-9._-]+"))
+        {
+            throw new IllegalArgumentException("fixture key " + key + " is empty or has characters other than [A-Za-z0-9._-]");
+        }
+        Path file = directory.resolve(key + "-" + cachedHash(key, inputs) + ".bin").toAbsolutePath().normalize();
+        Object fixture = FIXTURES.get(file);
+        if (fixture != null)
+        {
+            return (T) fixture;
+        }
+        synchronized (LOCKS.computeIfAbsent(file, f -> new Object()))
+        {
+            fixture = FIXTURES.get(file);
+            if (fixture == null)
+            {
+                fixture = read(file, codec);
+                if (fixture == null)
+                {
+                    fixture = build(builder, key);
+                    write(file, key, codec, (T) fixture);
+                }
+                FIXTURES.put(file, fixture);
+            }
+            return (T) fixture;
+        }
+    }
+
+    /**
+     * Return the codec that writes and reads a fixture with Java serialization.
+     * @param <T> the type of the fixture
+     * @return the codec that uses Java serialization
+     */
+    public static <T> Codec<T> serializable()
+    {
+        return new Codec<T>()
+        {
+            @Override
+            public void write(final T fixture, final OutputStream out) throws IOException
+            {
+                ObjectOutputStream objectOut = new ObjectOutputStream(out);
+                objectOut.writeObject(fixture);
+                objectOut.flush();
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T read(final ByteBuffer buffer) throws IOException
+            {
+                try (ObjectInputStream in = new ObjectInputStream(new BufferInputStream(buffer)))
+                {
+                    return (T) in.readObject();
+                }
+                catch (ClassNotFoundException | ClassCastException exception)
+                {
+                    throw new IOException(exception);
+                }
+            }
+        };
+    }
+
+    /**
+     * Return the hash of the key and the inputs, computed again only when the names, sizes or modification times of the input
+     * files have changed since the last call in this JVM.
+     * @param key the key of the fixture
+     * @param inputs the files and directories the fixture is built from
+     * @return the first HASH_LENGTH hexadecimal characters of the hash
+     * @throws IOException when an input cannot be read
+     */
+    private static String cachedHash(final String key, final List<Path> inputs) throws IOException
+    {
+        StringBuilder stamp = new StringBuilder(key);
+        for (Path input : inputs)
+        {
+            stamp.append('\0').append(input.toAbsolutePath());
+            for (Path file : files(input))
+            {
+                stamp.append('\0').append(file).append('\0').append(Files.size(file)).append('\0')
+                        .append(Files.getLastModifiedTime(file));
+            }
+        }
+        String hash = HASHES.get(stamp.toString());
+        if (hash == null)
+        {
+            hash = hash(key, inputs);
+            HASHES.put(stamp.toString(), hash);
+        }
+        return hash;
+    }
+
+    /**
+     * Return the hexadecimal SHA-256 hash of the key and of the relative names and the contents of the input files, where the
+     * files in input directories are hashed in the order of their names.
+     * @param key the key of the fixture
+     * @param inputs the files and directories the fixture is built from
+     * @return the first HASH_LENGTH hexadecimal characters of the hash
+     * @throws IOException when an input cannot be read
+     */
+    static String hash(final String key, final List<Path> inputs) throws IOException
+    {
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException exception)
+        {
+            throw new IOException(exception);
+        }
+        digest.update(key.getBytes(StandardCharsets.UTF_8));
+        for (Path input : inputs)
+        {
+            for (Path file : files(input))
+            {
+                digest.update((byte) 0);
+                digest.update(input.relativize(file).toString().replace('\\', '/').getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+                {
+                    long size = channel.size();
+                    for (long position = 0; position < size; position += Integer.MAX_VALUE)
+                    {
+                        digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position,
+                                Math.min(Integer.MAX_VALUE, size - position)));
+                    }
+                }
+            }
+        }
+        StringBuilder s = new StringBuilder();
+        for (byte b : digest.digest())
+        {
+            s.append(String.format("%02x", b));
+        }
+        return s.substring(0, HASH_LENGTH);
+    }
+
+    /**
+     * Return the files of an input: the input itself when it is a file, or the regular files in it in the order of their names
+     * when it is a directory.
+     * @param input the input file or directory
+     * @return the files of the input
+     * @throws IOException when the directory cannot be read
+     */
+    private static List<Path> files(final Path input) throws IOException
+    {
+        if (!Files.isDirectory(input))
+        {
+            return List.of(input);
+        }
+        try (Stream<Path> walk = Files.walk(input))
+        {
+            return walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Forget the fixtures and the hashes of the inputs that were kept in memory in this JVM, so the next call hashes the inputs
+     * again and reads the fixtures from the cache files.
+     */
+    public static void clearMemory()
+    {
+        FIXTURES.clear();
+        HASHES.clear();
+    }
+
+    /**
+     * Read a fixture from a memory-mapped cache file.
+     * @param file the cache file
+     * @param codec the codec
+     * @param <T> the type of the fixture
+     * @return the fixture, or null when the file does not exist or cannot be decoded
+     * @throws IOException when the file cannot be read
+     */
+    private static <T> T read(final Path file, final Codec<T> codec) throws IOException
+    {
+        if (!Files.isRegularFile(file))
+        {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return codec.read(buffer);
+        }
+        catch (IOException | RuntimeException exception)
+        {
+            // a corrupt or outdated file is rebuilt
+            return null;
+        }
+    }
+
+    /**
+     * Build a fixture.
+     * @param builder the builder
+     * @param key the key of the fixture, for the message
+     * @param <T> the type of the fixture
+     * @return the fixture
+     * @throws IOException when the builder throws a checked exception
+     * @throws IllegalStateException when the builder returns null
+     */
+    private static <T> T build(final Builder<T> builder, final String key) throws IOException
+    {
+        T fixture;
+        try
+        {
+            fixture = builder.build();
+        }
+        catch (IOException | RuntimeException exception)
+        {
+            throw exception;
+        }
+        catch (Exception exception)
+        {
+            throw new IOException("building fixture " + key + " failed", exception);
+        }
+        if (fixture == null)
+        {
+            throw new IllegalStateException("builder of fixture " + key + " returned null");
+        }
+        return fixture;
+    }
+
+    /**
+     * Write a fixture to a temporary file that is moved atomically to the cache file, and delete the cache files of older
+     * versions of the fixture.
+     * @param file the cache file
+     * @param key the key of the fixture
+     * @param codec the codec
+     * @param fixture the fixture
+     * @param <T> the type of the fixture
+     * @throws IOException when the file cannot be written
+     */
+    private static <T> void write(final Path file, final String key, final Codec<T> codec, final T fixture)
+            throws IOException
+    {
+        Path directory = file.getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "fixture", ".tmp");
+        try
+        {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp)))
+            {
+                codec.write(fixture, out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally
+        {
+            Files.deleteIfExists(temp);
+        }
+        List<Path> outdated = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, key + "-*.bin"))
+        {
+            for (Path old : files)
+            {
+                String hash = old.getFileName().toString().substring(key.length() + 1).replace(".bin", "");
+                if (!old.equals(file) && hash.length() == HASH_LENGTH && hash.matches("[0-9a-f]+"))
+                {
+                    outdated.add(old);
+                }
+            }
+        }
+        for (Path old : outdated)
+        {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    /**
+     * Builder builds a fixture.
+     * @param <T> the type of the fixture
+     */
+    @FunctionalInterface
+    public interface Builder<T>
+    {
+        /**
+         * Build the fixture.
+         * @return the fixture
+         * @throws Exception when the fixture cannot be built
+         */
+        T build() throws Exception;
+    }
+
+    /**
+     * Codec writes a fixture to a stream, and reads it from a read-only memory-mapped buffer.
+     * @param <T> the type of the fixture
+     */
+    public interface Codec<T>
+    {
+        /**
+         * Write the fixture.
+         * @param fixture the fixture
+         * @param out the stream to write to, which is buffered
+         * @throws IOException when the fixture cannot be written
+         */
+        void write(T fixture, OutputStream out) throws IOException;
+
+        /**
+         * Read the fixture.
+         * @param buffer the read-only buffer with the bytes that were written, in big-endian order
+         * @return the fixture
+         * @throws IOException when the fixture cannot be decoded
+         */
+        T read(ByteBuffer buffer) throws IOException;
+    }
+
+    /**
+     * BufferInputStream is an InputStream on the remaining bytes of a buffer.
+     */
+    private static final class BufferInputStream extends InputStream
+    {
+        /** the buffer. */
+        private final ByteBuffer buffer;
+
+        /**
+         * Create a stream on the remaining bytes of a buffer.
+         * @param buffer the buffer
+         */
+        private BufferInputStream(final ByteBuffer buffer)
+        {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read()
+        {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length)
+        {
+            if (length == 0)
+            {
+                return 0;
+            }
+            if (!this.buffer.hasRemaining())
+            {
+                return -1;
+            }
+            int count = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available()
+        {
+            return this.buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,829 @@
+package org.djutils.test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * FixtureGenerator writes large fixtures of fixed-width records to memory-mapped files, rather than building them as Java
+ * objects, so hundreds of millions of records do not use the heap or cost GC time. Every value is a deterministic function of
+ * the seed, the record number and the field number, so the records are generated in parallel, any record can be recomputed,
+ * and the same seed always gives the same fixture. The fixtures are cached in target/fixtures, in a file with the hash of the
+ * schema, the seed and the number of records in its name, so later runs and other test JVMs map the existing file. The file
+ * is written to a temporary file that is moved into place atomically. The file is mapped in chunks of at most CHUNK_BYTES
+ * bytes, since a MappedByteBuffer cannot be larger than 2 GB; the values are read with typed getters, primitive streams per
+ * field, or by iterating over the chunks. A way to use the class is, for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   Schema schema = Schema.of(Field.sequence("id"), Field.ofInt("type", 0, 9), Field.ofDouble("price", 1.0, 100.0));
+ *   Fixture orders = FixtureGenerator.generate(schema, 200_000_000L, 42L);
+ *   double total = orders.doubles("price").sum();
+ *   for (Chunk chunk : orders.chunks())
+ *   {
+ *       for (int i = 0; i &lt; chunk.records(); i++)
+ *       {
+ *           index.add(chunk.getLong(i, 0), chunk.getInt(i, 1));
+ *       }
+ *   }
+ * </code>
+ * </pre>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class FixtureGenerator
+{
+    /** the default directory of the cached fixtures. */
+    public static final Path FIXTURE_DIRECTORY = Paths.get("target", "fixtures");
+
+    /** the maximum number of bytes of a memory-mapped chunk. */
+    public static final int CHUNK_BYTES = 1 << 28;
+
+    /** the byte order of the fixture files, which is fixed so the files do not depend on the platform. */
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /** the version of the generation of the values, part of the file name so older fixture files are not reused. */
+    private static final int VERSION = 2;
+
+    /** */
+    private FixtureGenerator()
+    {
+        // utility class
+    }
+
+    /**
+     * Return the fixture with the given schema, number of records and seed from target/fixtures, and generate it when it is
+     * not cached yet.
+     * @param schema the schema of the records
+     * @param records the number of records
+     * @param seed the seed of the values
+     * @return the fixture
+     * @throws IOException when the fixture cannot be written or mapped
+     */
+    public static Fixture generate(final Schema schema, final long records, final long seed) throws IOException
+    {
+        return generate(schema, records, seed, FIXTURE_DIRECTORY, Math.max(1, CHUNK_BYTES / schema.recordSize()));
+    }
+
+    /**
+     * Return the fixture with the given schema, number of records and seed from a directory, and generate it when it is not
+     * cached yet.
+     * @param schema the schema of the records
+     * @param records the number of records
+     * @param seed the seed of the values
+     * @param directory the directory of the cached fixtures
+     * @return the fixture
+     * @throws IOException when the fixture cannot be written or mapped
+     */
+    public static Fixture generate(final Schema schema, final long records, final long seed, final Path directory)
+            throws IOException
+    {
+        return generate(schema, records, seed, directory, Math.max(1, CHUNK_BYTES / schema.recordSize()));
+    }
+
+    /**
+     * Return the fixture from a directory, and generate it when it is not cached yet.
+     * @param schema the schema of the records
+     * @param records the number of records
+     * @param seed the seed of the values
+     * @param directory the directory of the cached fixtures
+     * @param recordsPerChunk the number of records per memory-mapped chunk
+     * @return the fixture
+     * @throws IOException when the fixture cannot be written or mapped
+     * @throws IllegalArgumentException when records &lt; 0 or recordsPerChunk &lt; 1
+     */
+    static Fixture generate(final Schema schema, final long records, final long seed, final Path directory,
+            final int recordsPerChunk) throws IOException
+    {
+        if (records < 0 || recordsPerChunk < 1)
+        {
+            throw new IllegalArgumentException("records < 0 or recordsPerChunk < 1");
+        }
+        Path file = directory.resolve("fixture-" + schema.hash() + "-" + Long.toHexString(seed) + "-" + records + ".bin");
+        long size = records * schema.recordSize();
+        if (!Files.exists(file) || Files.size(file) != size)
+        {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "fixture", ".tmp");
+            try
+            {
+                write(schema, records, seed, temp, recordsPerChunk);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            finally
+            {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return new Fixture(schema, records, seed, file, recordsPerChunk);
+    }
+
+    /**
+     * Write the records to a file, with the chunks generated in parallel.
+     * @param schema the schema of the records
+     * @param records the number of records
+     * @param seed the seed of the values
+     * @param file the file to write
+     * @param recordsPerChunk the number of records per chunk
+     * @throws IOException when the file cannot be written
+     */
+    private static void write(final Schema schema, final long records, final long seed, final Path file,
+            final int recordsPerChunk) throws IOException
+    {
+        int chunks = (int) ((records + recordsPerChunk - 1) / recordsPerChunk);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            // set the size of the file once, rather than letting the parallel mappings grow it
+            long size = records * schema.recordSize();
+            if (size > 0)
+            {
+                channel.write(ByteBuffer.allocate(1), size - 1);
+            }
+            IntStream.range(0, chunks).parallel().forEach(chunk ->
+            {
+                long first = (long) chunk * recordsPerChunk;
+                int count = (int) Math.min(recordsPerChunk, records - first);
+                try
+                {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, first * schema.recordSize(),
+                            (long) count * schema.recordSize());
+                    buffer.order(ORDER);
+                    for (int i = 0; i < count; i++)
+                    {
+                        int base = i * schema.recordSize();
+                        for (int f = 0; f < schema.fields().size(); f++)
+                        {
+                            long bits = schema.fields().get(f).value(seed, first + i, f);
+                            if (schema.fields().get(f).type() == FieldType.INT)
+                            {
+                                buffer.putInt(base + schema.offset(f), (int) bits);
+                            }
+                            else
+                            {
+                                buffer.putLong(base + schema.offset(f), bits);
+                            }
+                        }
+                    }
+                    buffer.force();
+                }
+                catch (IOException exception)
+                {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        }
+        catch (UncheckedIOException exception)
+        {
+            throw exception.getCause();
+        }
+    }
+
+    /**
+     * Return a pseudo-random value for a field of a record, that only depends on the seed, the record number and the field
+     * number.
+     * @param seed the seed
+     * @param record the record number
+     * @param field the field number
+     * @return a pseudo-random value for the field of the record
+     */
+    public static long hash(final long seed, final long record, final int field)
+    {
+        return PropertyTest.mix(PropertyTest.mix(seed, record), field);
+    }
+
+    /**
+     * FieldType is the type of a field, with its width in bytes.
+     */
+    public enum FieldType
+    {
+        /** the record number, as a long. */
+        SEQUENCE(8),
+
+        /** an int. */
+        INT(4),
+
+        /** a long. */
+        LONG(8),
+
+        /** a double. */
+        DOUBLE(8);
+
+        /** the width in bytes. */
+        private final int width;
+
+        /**
+         * Create a field type.
+         * @param width the width in bytes
+         */
+        FieldType(final int width)
+        {
+            this.width = width;
+        }
+
+        /**
+         * Return the width in bytes.
+         * @return the width in bytes
+         */
+        public int width()
+        {
+            return this.width;
+        }
+    }
+
+    /**
+     * Field is a named field of a record, with the inclusive range of its values. For LONG fields without a range, minimum and
+     * maximum are NaN and the values span all longs; the range of a DOUBLE field is half-open.
+     * @param name the name of the field
+     * @param type the type of the field
+     * @param minimum the minimum value
+     * @param maximum the maximum value
+     */
+    public record Field(String name, FieldType type, double minimum, double maximum)
+    {
+        /**
+         * Return a field with the record number.
+         * @param name the name of the field
+         * @return a field with the record number
+         */
+        public static Field sequence(final String name)
+        {
+            return new Field(name, FieldType.SEQUENCE, 0.0, 0.0);
+        }
+
+        /**
+         * Return an int field with values from minimum to maximum, inclusive.
+         * @param name the name of the field
+         * @param minimum the minimum value
+         * @param maximum the maximum value
+         * @return an int field
+         * @throws IllegalArgumentException when minimum &gt; maximum
+         */
+        public static Field ofInt(final String name, final int minimum, final int maximum)
+        {
+            return new Field(name, FieldType.INT, minimum, maximum);
+        }
+
+        /**
+         * Return a long field with values over the full range of longs.
+         * @param name the name of the field
+         * @return a long field
+         */
+        public static Field ofLong(final String name)
+        {
+            return new Field(name, FieldType.LONG, Double.NaN, Double.NaN);
+        }
+
+        /**
+         * Return a long field with values from minimum to maximum, inclusive, where the bounds have at most 53 bits.
+         * @param name the name of the field
+         * @param minimum the minimum value
+         * @param maximum the maximum value
+         * @return a long field
+         * @throws IllegalArgumentException when minimum &gt; maximum, or when a bound has more than 53 bits
+         */
+        public static Field ofLong(final String name, final long minimum, final long maximum)
+        {
+            // Math.abs(Long.MIN_VALUE) is negative, so compare the bounds directly; the double bounds would be rounded
+            if (minimum < -(1L << 53) || maximum > (1L << 53))
+            {
+                throw new IllegalArgumentException("bound of long field " + name + " has more than 53 bits");
+            }
+            return new Field(name, FieldType.LONG, minimum, maximum);
+        }
+
+        /**
+         * Return a double field with values from minimum (inclusive) to maximum (exclusive).
+         * @param name the name of the field
+         * @param minimum the minimum value
+         * @param maximum the maximum value
+         * @return a double field
+         * @throws IllegalArgumentException when minimum &gt; maximum, or when a bound is not finite
+         */
+        public static Field ofDouble(final String name, final double minimum, final double maximum)
+        {
+            return new Field(name, FieldType.DOUBLE, minimum, maximum);
+        }
+
+        /**
+         * Check the field, so a field that is created with the constructor meets the same conditions as one that is created
+         * with a factory method.
+         * @param name the name of the field
+         * @param type the type of the field
+         * @param minimum the minimum value
+         * @param maximum the maximum value
+         * @throws IllegalArgumentException when the name is empty, when minimum &gt; maximum, when a bound of an INT field is
+         *             not an int, when a bound of a LONG field is not an integer of at most 53 bits and the bounds are not
+         *             both NaN, or when a bound of a DOUBLE field is not finite
+         */
+        public Field
+        {
+            if (name == null || name.isEmpty() || type == null)
+            {
+                throw new IllegalArgumentException("field without name or type");
+            }
+            if (minimum > maximum)
+            {
+                throw new IllegalArgumentException("minimum > maximum for field " + name);
+            }
+            switch (type)
+            {
+                case INT:
+                    if (!integral(minimum, Integer.MIN_VALUE, Integer.MAX_VALUE)
+                            || !integral(maximum, Integer.MIN_VALUE, Integer.MAX_VALUE))
+                    {
+                        throw new IllegalArgumentException("bound of int field " + name + " is not an int");
+                    }
+                    break;
+                case LONG:
+                    if (!(Double.isNaN(minimum) && Double.isNaN(maximum)) && (!integral(minimum, -0x1.0p53, 0x1.0p53)
+                            || !integral(maximum, -0x1.0p53, 0x1.0p53)))
+                    {
+                        throw new IllegalArgumentException("bound of long field " + name + " has more than 53 bits");
+                    }
+                    break;
+                case DOUBLE:
+                    if (!Double.isFinite(minimum) || !Double.isFinite(maximum))
+                    {
+                        throw new IllegalArgumentException("bound of double field " + name + " is not finite");
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * Return whether a bound is an integer in the given range.
+         * @param bound the bound
+         * @param low the lowest allowed value
+         * @param high the highest allowed value
+         * @return whether the bound is an integer from low to high, inclusive
+         */
+        private static boolean integral(final double bound, final double low, final double high)
+        {
+            return bound >= low && bound <= high && Math.rint(bound) == bound;
+        }
+
+        /**
+         * Return the value of this field for a record, as the bits of a long: the value of a SEQUENCE, INT or LONG field, or
+         * the raw long bits of a DOUBLE field.
+         * @param seed the seed
+         * @param record the record number
+         * @param field the field number
+         * @return the value of this field for the record
+         */
+        public long value(final long seed, final long record, final int field)
+        {
+            long hash = hash(seed, record, field);
+            switch (this.type)
+            {
+                case SEQUENCE:
+                    return record;
+                case DOUBLE:
+                    // interpolate, since maximum - minimum can overflow to infinity; keep the range half-open
+                    double u = (hash >>> 11) * 0x1.0p-53;
+                    double value = this.minimum * (1.0 - u) + this.maximum * u;
+                    return Double.doubleToRawLongBits(Math.max(this.minimum, Math.min(value, Math.nextDown(this.maximum))));
+                default:
+                    if (Double.isNaN(this.minimum))
+                    {
+                        return hash;
+                    }
+                    long range = (long) this.maximum - (long) this.minimum + 1L;
+                    return (long) this.minimum + Long.remainderUnsigned(hash, range);
+            }
+        }
+    }
+
+    /**
+     * Schema is the layout of the fixed-width records: the fields follow each other without padding.
+     */
+    public static final class Schema
+    {
+        /** the fields. */
+        private final List<Field> fields;
+
+        /** the offset of each field in the record. */
+        private final int[] offsets;
+
+        /** the field number for each field name. */
+        private final Map<String, Integer> index = new HashMap<>();
+
+        /** the size of a record in bytes. */
+        private final int recordSize;
+
+        /**
+         * Create a schema.
+         * @param fields the fields
+         */
+        private Schema(final List<Field> fields)
+        {
+            this.fields = Collections.unmodifiableList(new ArrayList<>(fields));
+            this.offsets = new int[fields.size()];
+            int offset = 0;
+            for (int i = 0; i < fields.size(); i++)
+            {
+                this.offsets[i] = offset;
+                offset += fields.get(i).type().width();
+                if (this.index.put(fields.get(i).name(), i) != null)
+                {
+                    throw new IllegalArgumentException("duplicate field name " + fields.get(i).name());
+                }
+            }
+            this.recordSize = offset;
+        }
+
+        /**
+         * Return a schema with the given fields.
+         * @param fields the fields
+         * @return a schema with the given fields
+         * @throws IllegalArgumentException when there are no fields, or when field names are not unique
+         */
+        public static Schema of(final Field... fields)
+        {
+            if (fields.length == 0)
+            {
+                throw new IllegalArgumentException("schema without fields");
+            }
+            return new Schema(List.of(fields));
+        }
+
+        /**
+         * Return the fields.
+         * @return the fields
+         */
+        public List<Field> fields()
+        {
+            return this.fields;
+        }
+
+        /**
+         * Return the offset of a field in the record.
+         * @param field the field number
+         * @return the offset of the field in the record
+         */
+        public int offset(final int field)
+        {
+            return this.offsets[field];
+        }
+
+        /**
+         * Return the offset of a field in the record, after checking that the field can be read with the getter of the given
+         * type.
+         * @param field the field number
+         * @param type the type of the getter: INT, LONG for a SEQUENCE or LONG field, or DOUBLE
+         * @return the offset of the field in the record
+         * @throws IllegalArgumentException when the field has another type than the getter
+         */
+        int offset(final int field, final FieldType type)
+        {
+            FieldType actual = this.fields.get(field).type();
+            if (actual != type && !(type == FieldType.LONG && actual == FieldType.SEQUENCE))
+            {
+                throw new IllegalArgumentException(
+                        "field " + this.fields.get(field).name() + " is a " + actual + " field, not a " + type + " field");
+            }
+            return this.offsets[field];
+        }
+
+        /**
+         * Return the number of a field.
+         * @param name the name of the field
+         * @return the number of the field
+         * @throws IllegalArgumentException when there is no field with the name
+         */
+        public int field(final String name)
+        {
+            Integer field = this.index.get(name);
+            if (field == null)
+            {
+                throw new IllegalArgumentException("no field " + name);
+            }
+            return field;
+        }
+
+        /**
+         * Return the size of a record in bytes.
+         * @return the size of a record in bytes
+         */
+        public int recordSize()
+        {
+            return this.recordSize;
+        }
+
+        /**
+         * Return the hash of the schema, that is part of the name of the cached fixture files.
+         * @return the hash of the schema
+         */
+        public String hash()
+        {
+            return Fuzzer.hash(("v" + VERSION + toString()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder s = new StringBuilder("Schema[");
+            for (Field field : this.fields)
+            {
+                s.append(field.name()).append(':').append(field.type()).append('[').append(field.minimum()).append(',')
+                        .append(field.maximum()).append("];");
+            }
+            return s.append(']').toString();
+        }
+    }
+
+    /**
+     * Fixture is a generated fixture, that is mapped in chunks from its file.
+     */
+    public static final class Fixture
+    {
+        /** the schema. */
+        private final Schema schema;
+
+        /** the number of records. */
+        private final long records;
+
+        /** the seed. */
+        private final long seed;
+
+        /** the file. */
+        private final Path file;
+
+        /** the number of records per chunk. */
+        private final int recordsPerChunk;
+
+        /** the read-only mapped chunks. */
+        private final ByteBuffer[] buffers;
+
+        /**
+         * Map a fixture file.
+         * @param schema the schema
+         * @param records the number of records
+         * @param seed the seed
+         * @param file the file
+         * @param recordsPerChunk the number of records per chunk
+         * @throws IOException when the file cannot be mapped
+         */
+        private Fixture(final Schema schema, final long records, final long seed, final Path file, final int recordsPerChunk)
+                throws IOException
+        {
+            this.schema = schema;
+            this.records = records;
+            this.seed = seed;
+            this.file = file;
+            this.recordsPerChunk = recordsPerChunk;
+            int chunks = (int) ((records + recordsPerChunk - 1) / recordsPerChunk);
+            this.buffers = new ByteBuffer[chunks];
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+            {
+                for (int chunk = 0; chunk < chunks; chunk++)
+                {
+                    long first = (long) chunk * recordsPerChunk;
+                    long count = Math.min(recordsPerChunk, records - first);
+                    this.buffers[chunk] = channel
+                            .map(FileChannel.MapMode.READ_ONLY, first * schema.recordSize(), count * schema.recordSize())
+                            .order(ORDER);
+                }
+            }
+        }
+
+        /**
+         * Return the schema.
+         * @return the schema
+         */
+        public Schema schema()
+        {
+            return this.schema;
+        }
+
+        /**
+         * Return the number of records.
+         * @return the number of records
+         */
+        public long records()
+        {
+            return this.records;
+        }
+
+        /**
+         * Return the seed.
+         * @return the seed
+         */
+        public long seed()
+        {
+            return this.seed;
+        }
+
+        /**
+         * Return the file with the records.
+         * @return the file with the records
+         */
+        public Path file()
+        {
+            return this.file;
+        }
+
+        /**
+         * Return an int field of a record.
+         * @param record the record number
+         * @param field the field number, of an INT field
+         * @return the value of the field
+         * @throws IllegalArgumentException when the field is not an INT field
+         */
+        public int getInt(final long record, final int field)
+        {
+            return this.buffers[(int) (record / this.recordsPerChunk)].getInt(position(record, field, FieldType.INT));
+        }
+
+        /**
+         * Return a SEQUENCE or LONG field of a record.
+         * @param record the record number
+         * @param field the field number, of a SEQUENCE or LONG field
+         * @return the value of the field
+         * @throws IllegalArgumentException when the field is not a SEQUENCE or LONG field
+         */
+        public long getLong(final long record, final int field)
+        {
+            return this.buffers[(int) (record / this.recordsPerChunk)].getLong(position(record, field, FieldType.LONG));
+        }
+
+        /**
+         * Return a DOUBLE field of a record.
+         * @param record the record number
+         * @param field the field number, of a DOUBLE field
+         * @return the value of the field
+         * @throws IllegalArgumentException when the field is not a DOUBLE field
+         */
+        public double getDouble(final long record, final int field)
+        {
+            return this.buffers[(int) (record / this.recordsPerChunk)].getDouble(position(record, field, FieldType.DOUBLE));
+        }
+
+        /**
+         * Return the position of a field of a record in its chunk.
+         * @param record the record number
+         * @param field the field number
+         * @param type the type of the getter
+         * @return the position of the field of the record in its chunk
+         * @throws IndexOutOfBoundsException when the record number is out of range
+         * @throws IllegalArgumentException when the field has another type than the getter
+         */
+        private int position(final long record, final int field, final FieldType type)
+        {
+            if (record < 0 || record >= this.records)
+            {
+                throw new IndexOutOfBoundsException("record " + record + " of " + this.records);
+            }
+            return (int) (record % this.recordsPerChunk) * this.schema.recordSize() + this.schema.offset(field, type);
+        }
+
+        /**
+         * Return the values of an INT field of all records.
+         * @param name the name of the field
+         * @return the values of the field of all records
+         * @throws IllegalArgumentException when there is no INT field with the name
+         */
+        public IntStream ints(final String name)
+        {
+            int field = this.schema.field(name);
+            this.schema.offset(field, FieldType.INT);
+            return LongStream.range(0, this.records).mapToInt(record -> getInt(record, field));
+        }
+
+        /**
+         * Return the values of a SEQUENCE or LONG field of all records.
+         * @param name the name of the field
+         * @return the values of the field of all records
+         * @throws IllegalArgumentException when there is no SEQUENCE or LONG field with the name
+         */
+        public LongStream longs(final String name)
+        {
+            int field = this.schema.field(name);
+            this.schema.offset(field, FieldType.LONG);
+            return LongStream.range(0, this.records).map(record -> getLong(record, field));
+        }
+
+        /**
+         * Return the values of a DOUBLE field of all records.
+         * @param name the name of the field
+         * @return the values of the field of all records
+         * @throws IllegalArgumentException when there is no DOUBLE field with the name
+         */
+        public DoubleStream doubles(final String name)
+        {
+            int field = this.schema.field(name);
+            this.schema.offset(field, FieldType.DOUBLE);
+            return LongStream.range(0, this.records).mapToDouble(record -> getDouble(record, field));
+        }
+
+        /**
+         * Return the chunks of the fixture, in record order.
+         * @return the chunks of the fixture
+         */
+        public Iterable<Chunk> chunks()
+        {
+            return () -> new Iterator<Chunk>()
+            {
+                /** the next chunk. */
+                private int next = 0;
+
+                @Override
+                public boolean hasNext()
+                {
+                    return this.next < Fixture.this.buffers.length;
+                }
+
+                @Override
+                public Chunk next()
+                {
+                    if (!hasNext())
+                    {
+                        throw new NoSuchElementException();
+                    }
+                    int chunk = this.next++;
+                    ByteBuffer buffer = Fixture.this.buffers[chunk].duplicate().order(ORDER);
+                    return new Chunk(Fixture.this.schema, (long) chunk * Fixture.this.recordsPerChunk,
+                            buffer.limit() / Fixture.this.schema.recordSize(), buffer);
+                }
+            };
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Fixture[" + this.records + " records of " + this.schema.recordSize() + " bytes, seed " + this.seed + ", "
+                    + this.file + "]";
+        }
+    }
+
+    /**
+     * Chunk is a consecutive range of records of a fixture in one read-only mapped buffer.
+     * @param schema the schema of the records
+     * @param firstRecord the number of the first record in the chunk
+     * @param records the number of records in the chunk
+     * @param buffer the buffer with the records, in little-endian order
+     */
+    public record Chunk(Schema schema, long firstRecord, int records, ByteBuffer buffer)
+    {
+        /**
+         * Return an int field of a record in the chunk.
+         * @param record the index of the record in the chunk
+         * @param field the field number, of an INT field
+         * @return the value of the field
+         * @throws IllegalArgumentException when the field is not an INT field
+         */
+        public int getInt(final int record, final int field)
+        {
+            return this.buffer.getInt(record * this.schema.recordSize() + this.schema.offset(field, FieldType.INT));
+        }
+
+        /**
+         * Return a SEQUENCE or LONG field of a record in the chunk.
+         * @param record the index of the record in the chunk
+         * @param field the field number, of a SEQUENCE or LONG field
+         * @return the value of the field
+         * @throws IllegalArgumentException when the field is not a SEQUENCE or LONG field
+         */
+        public long getLong(final int record, final int field)
+        {
+            return this.buffer.getLong(record * this.schema.recordSize() + this.schema.offset(field, FieldType.LONG));
+        }
+
+        /**
+         * Return a DOUBLE field of a record in the chunk.
+         * @param record the index of the record in the chunk
+         * @param field the field number, of a DOUBLE field
+         * @return the value of the field
+         * @throws IllegalArgumentException when the field is not a DOUBLE field
+         */
+        public double getDouble(final int record, final int field)
+        {
+            return this.buffer.getDouble(record * this.schema.recordSize() + this.schema.offset(field, FieldType.DOUBLE));
+        }
+    }
+}
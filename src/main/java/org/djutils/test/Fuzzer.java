@@ -0,0 +1,682 @@
+package org.djutils.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.djutils.test.UnitTest.Assignment;
+
+/**
+ * Fuzzer feeds mutated byte arrays to an assignment, e.g., a parser, and classifies the outcome of each input: the assignment
+ * returns normally, it throws the expected exception (as in {@link UnitTest#testFail(Assignment, Class)}), or it throws any
+ * other Throwable, which is a crash. Inputs are mutated from a corpus, and an input that produces new coverage is added to the
+ * corpus. When the JaCoCo agent runs in the JVM, as it does under the Surefire configuration of this project, the coverage is
+ * the number of JaCoCo probes that have been hit, read through the agent's runtime API. Reading the probes is expensive, so
+ * each worker reads them after a batch of inputs, and adds the whole batch to the corpus when new probes were hit; the batch
+ * size doubles while no new probes are found, and drops back to one input when they are. Independently of JaCoCo, an input
+ * with a new outcome signature is always added: the class of the result or exception plus the frames where it was thrown,
+ * which is the only coverage signal when the agent does not run. An input that is still running {@link #HANG_GRACE} after the
+ * end of the run is a hang: it is reported as a crash with a {@link TimeoutAssertionError} that carries the stack trace of the
+ * stuck worker, and the worker is interrupted. The corpus and the crashes are stored on disk, so a next run continues with the
+ * corpus of the previous run, and each crash can be reproduced from its input file. A way to use the class is, for instance:
+ * <br>
+ *
+ * <pre>
+ * <code>
+ *   Fuzzer.fuzz("csv", bytes -&gt; () -&gt; CsvParser.parse(bytes), ParseException.class, Duration.ofSeconds(10))
+ *       .assertNoCrashes("CSV parser crashes on fuzzed input");
+ * </code>
+ * </pre>
+ *
+ * With more than one worker thread, the sequence of inputs depends on the timing of the threads, so a run cannot be repeated
+ * exactly; the inputs that crashed can always be replayed from the crash directory.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class Fuzzer
+{
+    /** the maximum length of a generated input. */
+    public static final int MAX_INPUT_LENGTH = 4096;
+
+    /** the time that an input may still run after the end of the run before it is reported as a hang. */
+    public static final Duration HANG_GRACE = Duration.ofSeconds(1);
+
+    /** the number of frames of the stack trace that are part of a signature. */
+    private static final int SIGNATURE_FRAMES = 3;
+
+    /** the maximum number of mutations that are applied to an input at once. */
+    private static final int MAX_STACKED_MUTATIONS = 4;
+
+    /** the maximum number of executions of a worker between two reads of the JaCoCo execution data. */
+    private static final int MAX_CHECK_INTERVAL = 256;
+
+    /** interesting byte values for mutations. */
+    private static final byte[] INTERESTING = {0, 1, -1, 0x7F, (byte) 0x80, '0', '9', '-', '.', ',', '"', '\n', ' '};
+
+    /** */
+    private Fuzzer()
+    {
+        // utility class
+    }
+
+    /**
+     * Fuzz an assignment with a worker thread per processor, and the corpus and crashes stored in target/fuzz/name.
+     * @param name the name of the fuzz target, used for the directory of the corpus and the crashes
+     * @param target the function that creates the assignment for an input
+     * @param expectedThrowableClass the class of the exception that the assignment may throw for invalid input
+     * @param duration the duration of the run
+     * @return the result of the run
+     * @throws IOException when the corpus cannot be read or written
+     */
+    public static FuzzResult fuzz(final String name, final Function<byte[], Assignment<?>> target,
+            final Class<? extends Throwable> expectedThrowableClass, final Duration duration) throws IOException
+    {
+        return fuzz(target, expectedThrowableClass, duration, Long.MAX_VALUE, Runtime.getRuntime().availableProcessors(),
+                System.nanoTime(), Paths.get("target", "fuzz", name));
+    }
+
+    /**
+     * Fuzz an assignment until the duration has passed or the maximum number of executions has been reached. The corpus is
+     * read from and written to the corpus subdirectory of the directory, and each crash is written to the crashes
+     * subdirectory, as a .bin file with the input and a .txt file with the stack trace.
+     * @param target the function that creates the assignment for an input
+     * @param expectedThrowableClass the class of the exception that the assignment may throw for invalid input
+     * @param duration the maximum duration of the run
+     * @param maxExecutions the maximum number of executions
+     * @param threads the number of worker threads
+     * @param seed the seed for the mutations
+     * @param directory the directory for the corpus and the crashes
+     * @return the result of the run
+     * @throws IOException when the corpus cannot be read or written
+     * @throws IllegalArgumentException when threads &lt; 1 or maxExecutions &lt; 1
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public static FuzzResult fuzz(final Function<byte[], Assignment<?>> target,
+            final Class<? extends Throwable> expectedThrowableClass, final Duration duration, final long maxExecutions,
+            final int threads, final long seed, final Path directory) throws IOException
+    {
+        if (threads < 1 || maxExecutions < 1)
+        {
+            throw new IllegalArgumentException("threads < 1 or maxExecutions < 1");
+        }
+        Campaign campaign = new Campaign(target, expectedThrowableClass, directory);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable ->
+        {
+            Thread thread = new Thread(runnable, "Fuzzer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++)
+            {
+                final SplittableRandom random = new SplittableRandom(PropertyTest.mix(seed, i));
+                futures.add(pool.submit(() ->
+                {
+                    campaign.work(random, deadline, maxExecutions);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures)
+            {
+                future.get(Math.max(0L, deadline + HANG_GRACE.toNanos() - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        }
+        catch (TimeoutException exception)
+        {
+            campaign.hangs();
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fuzzing", exception);
+        }
+        catch (ExecutionException exception)
+        {
+            if (exception.getCause() instanceof IOException)
+            {
+                throw (IOException) exception.getCause();
+            }
+            throw new AssertionError("Fuzzer failed", exception.getCause());
+        }
+        finally
+        {
+            pool.shutdownNow();
+            try
+            {
+                // interrupted workers may still write to the corpus; a worker that ignores the interrupt is left behind
+                pool.awaitTermination(HANG_GRACE.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return new FuzzResult(Math.min(campaign.executions.get(), maxExecutions), campaign.expected.get(),
+                System.nanoTime() - start, campaign.corpus.size(), campaign.coverage(),
+                campaign.jacoco != null ? "jacoco" : "signatures", List.copyOf(campaign.crashes.values()));
+    }
+
+    /**
+     * Return the number of probes that have been hit in JaCoCo execution data, as returned by the agent.
+     * @param data the execution data in the JaCoCo exec format
+     * @return the number of probes that have been hit
+     * @throws IOException when the data is not in the JaCoCo exec format
+     */
+    static long hitProbes(final byte[] data) throws IOException
+    {
+        long hits = 0L;
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        int block;
+        while ((block = in.read()) != -1)
+        {
+            switch (block)
+            {
+                case 0x01: // header: magic number and format version
+                    in.readChar();
+                    in.readChar();
+                    break;
+                case 0x10: // session info: id, start and dump time
+                    in.readUTF();
+                    in.readLong();
+                    in.readLong();
+                    break;
+                case 0x11: // execution data: class id, class name, probes as a packed boolean array
+                    in.readLong();
+                    in.readUTF();
+                    int probes = readVarInt(in);
+                    for (int i = 0; i < probes; i += 8)
+                    {
+                        hits += Integer.bitCount(in.readUnsignedByte());
+                    }
+                    break;
+                default:
+                    throw new IOException("Unknown block type " + block + " in JaCoCo execution data");
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Read a variable length int from JaCoCo execution data.
+     * @param in the input
+     * @return the int
+     * @throws IOException when the input ends
+     */
+    private static int readVarInt(final DataInputStream in) throws IOException
+    {
+        int value = in.readUnsignedByte();
+        if ((value & 0x80) == 0)
+        {
+            return value;
+        }
+        return (value & 0x7F) | (readVarInt(in) << 7);
+    }
+
+    /**
+     * Return the JaCoCo execution data method of the agent in this JVM.
+     * @return an invoker of getExecutionData(false) on the agent, or null when the JaCoCo agent does not run in this JVM
+     */
+    private static Object[] jacocoAgent()
+    {
+        try
+        {
+            Object agent = Class.forName("org.jacoco.agent.rt.RT").getMethod("getAgent").invoke(null);
+            Method method = Class.forName("org.jacoco.agent.rt.IAgent").getMethod("getExecutionData", boolean.class);
+            method.invoke(agent, false);
+            return new Object[] {agent, method};
+        }
+        catch (ReflectiveOperationException | LinkageError | RuntimeException exception)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Return the signature of a throwable: its class and the first frames of its stack trace.
+     * @param throwable the throwable
+     * @return the signature of the throwable
+     */
+    static String signature(final Throwable throwable)
+    {
+        StringBuilder signature = new StringBuilder(throwable.getClass().getName());
+        StackTraceElement[] trace = throwable.getStackTrace();
+        for (int i = 0; i < Math.min(SIGNATURE_FRAMES, trace.length); i++)
+        {
+            signature.append(" at ").append(trace[i]);
+        }
+        return signature.toString();
+    }
+
+    /**
+     * Return a 64-bit FNV-1a hash of the bytes, as a hexadecimal string for a file name.
+     * @param bytes the bytes
+     * @return the hash of the bytes as a hexadecimal string
+     */
+    static String hash(final byte[] bytes)
+    {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : bytes)
+        {
+            hash = (hash ^ (b & 0xFF)) * 0x100000001B3L;
+        }
+        return String.format("%016x", hash);
+    }
+
+    /**
+     * Write a file via a temporary file that is moved into place, so a concurrent reader never sees a partial file.
+     * @param file the file to write
+     * @param bytes the content of the file
+     * @throws IOException when the file cannot be written
+     */
+    private static void writeAtomically(final Path file, final byte[] bytes) throws IOException
+    {
+        Path temp = Files.createTempFile(file.getParent(), "fuzz", ".tmp");
+        Files.write(temp, bytes);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Campaign holds the state of a fuzz run that is shared by the worker threads.
+     */
+    private static final class Campaign
+    {
+        /** the function that creates the assignment for an input. */
+        private final Function<byte[], Assignment<?>> target;
+
+        /** the class of the exception that the assignment may throw for invalid input. */
+        private final Class<? extends Throwable> expectedThrowableClass;
+
+        /** the directory of the corpus. */
+        private final Path corpusDirectory;
+
+        /** the directory of the crashes. */
+        private final Path crashDirectory;
+
+        /** the corpus; it is read for every input, and only changes when an input adds coverage. */
+        private final List<byte[]> corpus = new CopyOnWriteArrayList<>();
+
+        /** the outcome signatures that have been seen. */
+        private final Set<String> signatures = ConcurrentHashMap.newKeySet();
+
+        /** the crashes, per signature. */
+        private final Map<String, Crash> crashes = new ConcurrentHashMap<>();
+
+        /** the number of executions. */
+        private final AtomicLong executions = new AtomicLong();
+
+        /** the number of executions that threw the expected exception. */
+        private final AtomicLong expected = new AtomicLong();
+
+        /** the highest number of JaCoCo probes that has been hit. */
+        private final AtomicLong probes = new AtomicLong();
+
+        /** the input that each worker thread is carrying out. */
+        private final Map<Thread, byte[]> running = new ConcurrentHashMap<>();
+
+        /** the JaCoCo agent and its execution data method, or null without the agent. */
+        private final Object[] jacoco;
+
+        /**
+         * Create a campaign, and read the corpus from disk.
+         * @param target the function that creates the assignment for an input
+         * @param expectedThrowableClass the class of the exception that the assignment may throw for invalid input
+         * @param directory the directory for the corpus and the crashes
+         * @throws IOException when the corpus cannot be read
+         */
+        Campaign(final Function<byte[], Assignment<?>> target, final Class<? extends Throwable> expectedThrowableClass,
+                final Path directory) throws IOException
+        {
+            this.target = target;
+            this.expectedThrowableClass = expectedThrowableClass;
+            this.corpusDirectory = directory.resolve("corpus");
+            this.crashDirectory = directory.resolve("crashes");
+            Files.createDirectories(this.corpusDirectory);
+            Files.createDirectories(this.crashDirectory);
+            this.jacoco = jacocoAgent();
+            this.corpus.add(new byte[0]);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(this.corpusDirectory, "*.bin"))
+            {
+                for (Path file : files)
+                {
+                    this.corpus.add(Files.readAllBytes(file));
+                }
+            }
+            if (this.jacoco != null)
+            {
+                this.probes.set(currentProbes());
+            }
+        }
+
+        /**
+         * Mutate inputs and carry them out until the deadline or the maximum number of executions.
+         * @param random the random generator of this worker
+         * @param deadline the deadline according to System.nanoTime()
+         * @param maxExecutions the maximum number of executions of all workers together
+         * @throws IOException when the corpus or a crash cannot be written
+         */
+        void work(final SplittableRandom random, final long deadline, final long maxExecutions) throws IOException
+        {
+            // reading the JaCoCo data is expensive; the interval between reads doubles while no new probes are hit
+            List<byte[]> pending = new ArrayList<>();
+            int interval = 1;
+            while (System.nanoTime() < deadline && this.executions.incrementAndGet() <= maxExecutions)
+            {
+                byte[] input = mutate(this.corpus.get(random.nextInt(this.corpus.size())), random);
+                String outcome;
+                this.running.put(Thread.currentThread(), input);
+                try
+                {
+                    Object result = this.target.apply(input).assign();
+                    outcome = "returned " + (result == null ? "null" : result.getClass().getName());
+                }
+                catch (Throwable cause)
+                {
+                    outcome = signature(cause);
+                    if (this.expectedThrowableClass.isInstance(cause))
+                    {
+                        this.expected.incrementAndGet();
+                    }
+                    else if (!this.crashes.containsKey(outcome))
+                    {
+                        crash(outcome, input, cause);
+                    }
+                }
+                finally
+                {
+                    this.running.remove(Thread.currentThread());
+                }
+                if (this.signatures.add(outcome))
+                {
+                    addToCorpus(input);
+                }
+                else if (this.jacoco != null)
+                {
+                    pending.add(input);
+                    if (pending.size() >= interval)
+                    {
+                        if (newProbes())
+                        {
+                            // the new probes were hit by one of the pending inputs
+                            for (byte[] candidate : pending)
+                            {
+                                addToCorpus(candidate);
+                            }
+                            interval = 1;
+                        }
+                        else
+                        {
+                            interval = Math.min(2 * interval, MAX_CHECK_INTERVAL);
+                        }
+                        pending.clear();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Report the inputs of the workers that are still running as hangs, with the stack trace of the stuck worker.
+         * @throws IOException when a hang cannot be written
+         */
+        void hangs() throws IOException
+        {
+            for (Map.Entry<Thread, byte[]> entry : this.running.entrySet())
+            {
+                TimeoutAssertionError hang = new TimeoutAssertionError(
+                        "input did not finish within " + HANG_GRACE + " after the end of the run", HANG_GRACE);
+                hang.setStackTrace(entry.getKey().getStackTrace());
+                String outcome = signature(hang);
+                if (!this.crashes.containsKey(outcome))
+                {
+                    crash(outcome, entry.getValue(), hang);
+                }
+            }
+        }
+
+        /**
+         * Add an input to the corpus, and store it on disk.
+         * @param input the input that added coverage
+         * @throws IOException when the input cannot be written
+         */
+        private void addToCorpus(final byte[] input) throws IOException
+        {
+            this.corpus.add(input);
+            Path file = this.corpusDirectory.resolve(hash(input) + ".bin");
+            if (!Files.exists(file))
+            {
+                writeAtomically(file, input);
+            }
+        }
+
+        /**
+         * Return whether more JaCoCo probes have been hit than at the previous read.
+         * @return whether more JaCoCo probes have been hit than at the previous read
+         */
+        private boolean newProbes()
+        {
+            long current = currentProbes();
+            long previous = this.probes.get();
+            return current > previous && this.probes.compareAndSet(previous, current);
+        }
+
+        /**
+         * Return the number of JaCoCo probes that have been hit so far.
+         * @return the number of JaCoCo probes that have been hit so far
+         */
+        private long currentProbes()
+        {
+            try
+            {
+                return hitProbes((byte[]) ((Method) this.jacoco[1]).invoke(this.jacoco[0], false));
+            }
+            catch (ReflectiveOperationException | IOException exception)
+            {
+                throw new AssertionError("JaCoCo execution data cannot be read", exception);
+            }
+        }
+
+        /**
+         * Return the coverage of the run: the number of JaCoCo probes that have been hit, or the number of outcome signatures.
+         * @return the coverage of the run
+         */
+        long coverage()
+        {
+            return this.jacoco != null ? this.probes.get() : this.signatures.size();
+        }
+
+        /**
+         * Store a crash on disk and in the map of crashes.
+         * @param outcome the signature of the crash
+         * @param input the input that caused the crash
+         * @param cause the throwable of the crash
+         * @throws IOException when the crash cannot be written
+         */
+        private void crash(final String outcome, final byte[] input, final Throwable cause) throws IOException
+        {
+            Path file = this.crashDirectory.resolve(hash(outcome.getBytes(StandardCharsets.UTF_8)) + ".bin");
+            if (this.crashes.putIfAbsent(outcome, new Crash(outcome, input.clone(), file)) == null)
+            {
+                StringWriter trace = new StringWriter();
+                cause.printStackTrace(new PrintWriter(trace));
+                writeAtomically(file, input);
+                writeAtomically(file.resolveSibling(file.getFileName().toString().replace(".bin", ".txt")),
+                        trace.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        /**
+         * Apply one or more random mutations to a copy of an input.
+         * @param original the input to mutate
+         * @param random the random generator
+         * @return the mutated copy of the input
+         */
+        private byte[] mutate(final byte[] original, final SplittableRandom random)
+        {
+            byte[] input = original;
+            int count = 1 + random.nextInt(MAX_STACKED_MUTATIONS);
+            for (int m = 0; m < count; m++)
+            {
+                int length = input.length;
+                int position = length == 0 ? 0 : random.nextInt(length);
+                switch (length == 0 ? 3 : random.nextInt(8))
+                {
+                    case 0: // flip a bit
+                        input = input.clone();
+                        input[position] ^= (byte) (1 << random.nextInt(8));
+                        break;
+                    case 1: // random byte
+                        input = input.clone();
+                        input[position] = (byte) random.nextInt(256);
+                        break;
+                    case 2: // interesting byte
+                        input = input.clone();
+                        input[position] = INTERESTING[random.nextInt(INTERESTING.length)];
+                        break;
+                    case 3: // insert a byte
+                        input = insert(input, position, new byte[] {random.nextBoolean()
+                                ? INTERESTING[random.nextInt(INTERESTING.length)] : (byte) random.nextInt(256)});
+                        break;
+                    case 4: // delete a range
+                        int end = position + 1 + random.nextInt(Math.min(8, length - position));
+                        byte[] shorter = new byte[length - (end - position)];
+                        System.arraycopy(input, 0, shorter, 0, position);
+                        System.arraycopy(input, end, shorter, position, length - end);
+                        input = shorter;
+                        break;
+                    case 5: // duplicate a range
+                        int size = 1 + random.nextInt(Math.min(16, length - position));
+                        input = insert(input, position, Arrays.copyOfRange(input, position, position + size));
+                        break;
+                    case 6: // splice with another corpus entry
+                        byte[] other = this.corpus.get(random.nextInt(this.corpus.size()));
+                        int from = other.length == 0 ? 0 : random.nextInt(other.length);
+                        input = insert(Arrays.copyOf(input, position), position, Arrays.copyOfRange(other, from, other.length));
+                        break;
+                    default: // truncate
+                        input = Arrays.copyOf(input, position);
+                        break;
+                }
+            }
+            return input == original ? original.clone() : input;
+        }
+
+        /**
+         * Return a copy of an input with bytes inserted at a position, limited to {@link #MAX_INPUT_LENGTH} bytes.
+         * @param input the input
+         * @param position the position to insert the bytes
+         * @param bytes the bytes to insert
+         * @return a copy of the input with the bytes inserted
+         */
+        private static byte[] insert(final byte[] input, final int position, final byte[] bytes)
+        {
+            byte[] result = new byte[Math.min(MAX_INPUT_LENGTH, input.length + bytes.length)];
+            System.arraycopy(input, 0, result, 0, Math.min(position, result.length));
+            int inserted = Math.min(bytes.length, result.length - position);
+            System.arraycopy(bytes, 0, result, position, Math.max(0, inserted));
+            if (position + inserted < result.length)
+            {
+                System.arraycopy(input, position, result, position + inserted, result.length - position - inserted);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Crash is an input for which the assignment threw a Throwable that was not expected.
+     * @param signature the class of the throwable and the first frames of its stack trace
+     * @param input the input that caused the crash
+     * @param file the file in which the input was stored; the stack trace is stored next to it in a .txt file
+     */
+    public record Crash(String signature, byte[] input, Path file)
+    {
+        @Override
+        public String toString()
+        {
+            return "Crash [" + this.signature + ", input=" + this.input.length + " bytes, file=" + this.file + "]";
+        }
+    }
+
+    /**
+     * FuzzResult contains the result of a fuzz run.
+     * @param executions the number of executions
+     * @param expectedExceptions the number of executions that threw the expected exception
+     * @param nanos the duration of the run in nanoseconds
+     * @param corpusSize the size of the corpus at the end of the run
+     * @param coverage the number of JaCoCo probes that have been hit, or the number of outcome signatures without JaCoCo
+     * @param coverageSource "jacoco" or "signatures"
+     * @param crashes the crashes, one per signature
+     */
+    public record FuzzResult(long executions, long expectedExceptions, long nanos, int corpusSize, long coverage,
+            String coverageSource, List<Crash> crashes)
+    {
+        /**
+         * Return the number of executions per second.
+         * @return the number of executions per second
+         */
+        public double executionsPerSecond()
+        {
+            return this.nanos == 0L ? 0.0 : this.executions * 1.0E9 / this.nanos;
+        }
+
+        /**
+         * Assert that the run did not find crashes.
+         * @param message message to use in the AssertionError when the test fails
+         * @throws AssertionError when the run found one or more crashes
+         */
+        public void assertNoCrashes(final String message)
+        {
+            if (!this.crashes.isEmpty())
+            {
+                StringBuilder description = new StringBuilder();
+                this.crashes.forEach(crash -> description.append("\n  ").append(crash.signature()).append("\n    input in ")
+                        .append(crash.file()));
+                throw new AssertionError(message + "; Fuzzer found " + this.crashes.size() + " crash(es) in "
+                        + this.executions + " executions:" + description);
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format(Locale.US,
+                    "FuzzResult [executions=%d, expected=%d, %.0f exec/s, corpus=%d, coverage=%d (%s), crashes=%d]",
+                    this.executions, this.expectedExceptions, executionsPerSecond(), this.corpusSize, this.coverage,
+                    this.coverageSource, this.crashes.size());
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package org.djutils.test;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import org.djutils.test.UnitTest.Execution;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * GcMonitor measures the garbage collection activity during an execution. The number of collections and the collection time
+ * are taken from the GarbageCollectorMXBeans; the individual collections, whether they were major (full) collections, and the
+ * bytes promoted to the old generation are taken from the garbage collection notifications of these beans. Optionally, a
+ * Java Flight Recorder recording is made during the execution, from which the total GC pause time and the total safepoint time
+ * are summed. The result is a {@link GcStatistics} record that a test can assert on. A way to use the class is, for instance:
+ * <br>
+ *
+ * <pre>
+ * <code>
+ *   GcStatistics stats = GcMonitor.measure(() -&gt; importer.importBatch(file));
+ *   assertEquals(0, stats.majorCollections(), stats.toString());
+ * </code>
+ * </pre>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class GcMonitor
+{
+    /** the maximum time to wait for the notifications of the collections that took place, in nanoseconds. */
+    private static final long NOTIFICATION_TIMEOUT_NANOS = 1_000_000_000L;
+
+    /** */
+    private GcMonitor()
+    {
+        // utility class
+    }
+
+    /**
+     * Carry out the execution, and return the garbage collection statistics of the JVM during the execution. Note that the
+     * statistics cover all threads of the JVM, not only the thread that carries out the execution.
+     * @param execution the execution to measure
+     * @return the garbage collection statistics during the execution
+     * @throws AssertionError when the execution throws an exception
+     */
+    public static GcStatistics measure(final Execution execution)
+    {
+        return measure(execution, false);
+    }
+
+    /**
+     * Carry out the execution, and return the garbage collection statistics of the JVM during the execution. When jfr is true,
+     * a flight recording is made during the execution to sum the GC pause time and safepoint time.
+     * @param execution the execution to measure
+     * @param jfr whether to make a flight recording for the pause and safepoint times
+     * @return the garbage collection statistics during the execution
+     * @throws AssertionError when the execution throws an exception
+     */
+    public static GcStatistics measure(final Execution execution, final boolean jfr)
+    {
+        Queue<GarbageCollectionNotificationInfo> notifications = new ConcurrentLinkedQueue<>();
+        NotificationListener listener = (notification, handback) -> collect(notification, notifications);
+        List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+        for (GarbageCollectorMXBean bean : beans)
+        {
+            if (bean instanceof NotificationEmitter)
+            {
+                ((NotificationEmitter) bean).addNotificationListener(listener, null, null);
+            }
+        }
+        Recording recording = jfr ? startRecording() : null;
+        long countBefore = collectionCount(beans);
+        long timeBefore = collectionTime(beans);
+        long start = System.nanoTime();
+        try
+        {
+            execution.execute();
+        }
+        catch (Throwable cause)
+        {
+            removeListener(beans, listener);
+            if (recording != null)
+            {
+                recording.close();
+            }
+            throw new AssertionError("Execution threw an exception", cause);
+        }
+        if (recording != null)
+        {
+            recording.stop();
+        }
+        long wallNanos = System.nanoTime() - start;
+        long collections = collectionCount(beans) - countBefore;
+        long collectionMillis = collectionTime(beans) - timeBefore;
+
+        // notifications are sent asynchronously; wait until all collections have been reported
+        long deadline = System.nanoTime() + NOTIFICATION_TIMEOUT_NANOS;
+        while (notifications.size() < collections && System.nanoTime() < deadline)
+        {
+            try
+            {
+                Thread.sleep(1);
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        removeListener(beans, listener);
+
+        int major = 0;
+        long promotedBytes = 0L;
+        List<String> events = new ArrayList<>();
+        for (GarbageCollectionNotificationInfo info : notifications)
+        {
+            if (info.getGcAction().contains("major"))
+            {
+                major++;
+            }
+            promotedBytes += promoted(info);
+            events.add(info.getGcName() + " (" + info.getGcAction() + ", " + info.getGcCause() + ", "
+                    + info.getGcInfo().getDuration() + " ms)");
+        }
+        long[] pauses = recording == null ? new long[] {-1L, -1L} : readPauses(recording);
+        return new GcStatistics(wallNanos, collections, major, collectionMillis, promotedBytes, pauses[0], pauses[1],
+                List.copyOf(events));
+    }
+
+    /**
+     * Remove the notification listener from the garbage collector beans.
+     * @param beans the garbage collector beans
+     * @param listener the listener to remove
+     */
+    private static void removeListener(final List<GarbageCollectorMXBean> beans, final NotificationListener listener)
+    {
+        for (GarbageCollectorMXBean bean : beans)
+        {
+            if (bean instanceof NotificationEmitter)
+            {
+                try
+                {
+                    ((NotificationEmitter) bean).removeNotificationListener(listener);
+                }
+                catch (ListenerNotFoundException exception)
+                {
+                    // cannot happen; the listener was added before
+                }
+            }
+        }
+    }
+
+    /**
+     * Store a garbage collection notification.
+     * @param notification the notification
+     * @param notifications the queue to store the garbage collection notifications in
+     */
+    private static void collect(final Notification notification, final Queue<GarbageCollectionNotificationInfo> notifications)
+    {
+        if (notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION))
+        {
+            notifications.add(GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData()));
+        }
+    }
+
+    /**
+     * Return the number of bytes by which the old generation pools grew during a collection.
+     * @param info the garbage collection notification
+     * @return the number of bytes by which the old generation pools grew during the collection, or 0 when they did not grow
+     */
+    private static long promoted(final GarbageCollectionNotificationInfo info)
+    {
+        long promoted = 0L;
+        Map<String, MemoryUsage> before = info.getGcInfo().getMemoryUsageBeforeGc();
+        for (Map.Entry<String, MemoryUsage> entry : info.getGcInfo().getMemoryUsageAfterGc().entrySet())
+        {
+            String pool = entry.getKey();
+            if ((pool.contains("Old") || pool.contains("Tenured")) && before.containsKey(pool))
+            {
+                promoted += Math.max(0L, entry.getValue().getUsed() - before.get(pool).getUsed());
+            }
+        }
+        return promoted;
+    }
+
+    /**
+     * Return the total number of collections of the garbage collectors.
+     * @param beans the garbage collector beans
+     * @return the total number of collections
+     */
+    private static long collectionCount(final List<GarbageCollectorMXBean> beans)
+    {
+        long count = 0L;
+        for (GarbageCollectorMXBean bean : beans)
+        {
+            count += Math.max(0L, bean.getCollectionCount());
+        }
+        return count;
+    }
+
+    /**
+     * Return the total collection time of the garbage collectors in milliseconds.
+     * @param beans the garbage collector beans
+     * @return the total collection time in milliseconds
+     */
+    private static long collectionTime(final List<GarbageCollectorMXBean> beans)
+    {
+        long time = 0L;
+        for (GarbageCollectorMXBean bean : beans)
+        {
+            time += Math.max(0L, bean.getCollectionTime());
+        }
+        return time;
+    }
+
+    /**
+     * Start a flight recording of the GC pause and safepoint events.
+     * @return the started recording
+     */
+    private static Recording startRecording()
+    {
+        Recording recording = new Recording();
+        recording.enable("jdk.GCPhasePause").withThreshold(Duration.ZERO);
+        recording.enable("jdk.SafepointBegin").withThreshold(Duration.ZERO);
+        recording.enable("jdk.SafepointEnd").withThreshold(Duration.ZERO);
+        recording.setToDisk(true);
+        recording.start();
+        return recording;
+    }
+
+    /**
+     * Read the total GC pause time and the total safepoint time from a stopped recording, and close the recording.
+     * @param recording the stopped recording
+     * @return an array with the total GC pause time and the total safepoint time in nanoseconds
+     * @throws AssertionError when the recording cannot be read
+     */
+    private static long[] readPauses(final Recording recording)
+    {
+        Path file = null;
+        try
+        {
+            file = Files.createTempFile("djutils-gc", ".jfr");
+            recording.dump(file);
+            long pauseNanos = 0L;
+            long safepointNanos = 0L;
+            Map<Long, Long> safepointStarts = new HashMap<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file))
+            {
+                switch (event.getEventType().getName())
+                {
+                    case "jdk.GCPhasePause":
+                        pauseNanos += event.getDuration().toNanos();
+                        break;
+                    case "jdk.SafepointBegin":
+                        safepointStarts.put(event.getLong("safepointId"), toNanos(event.getStartTime()));
+                        break;
+                    case "jdk.SafepointEnd":
+                        Long begin = safepointStarts.remove(event.getLong("safepointId"));
+                        if (begin != null)
+                        {
+                            safepointNanos += toNanos(event.getEndTime()) - begin;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+            return new long[] {pauseNanos, safepointNanos};
+        }
+        catch (IOException exception)
+        {
+            throw new AssertionError("Could not read the flight recording", exception);
+        }
+        finally
+        {
+            recording.close();
+            deleteQuietly(file);
+        }
+    }
+
+    /**
+     * Delete a temporary file, ignoring failures.
+     * @param file the file to delete, may be null
+     */
+    private static void deleteQuietly(final Path file)
+    {
+        try
+        {
+            if (file != null)
+            {
+                Files.deleteIfExists(file);
+            }
+        }
+        catch (IOException exception)
+        {
+            // a temporary file that cannot be deleted is not a reason to fail the test
+        }
+    }
+
+    /**
+     * Return an instant as nanoseconds since the epoch.
+     * @param instant the instant
+     * @return the instant as nanoseconds since the epoch
+     */
+    private static long toNanos(final Instant instant)
+    {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    /**
+     * GcStatistics contains the garbage collection activity during an execution.
+     * @param wallNanos the wall time of the execution in nanoseconds
+     * @param collections the number of garbage collections
+     * @param majorCollections the number of major (full) garbage collections
+     * @param collectionMillis the total collection time in milliseconds, as reported by the collector beans
+     * @param promotedBytes the number of bytes by which the old generation grew during the collections
+     * @param pauseNanos the total GC pause time in nanoseconds from the flight recording, or -1 without a recording
+     * @param safepointNanos the total safepoint time in nanoseconds from the flight recording, or -1 without a recording
+     * @param events a description of each garbage collection
+     */
+    public record GcStatistics(long wallNanos, long collections, int majorCollections, long collectionMillis,
+            long promotedBytes, long pauseNanos, long safepointNanos, List<String> events)
+    {
+        /**
+         * Return the fraction of the wall time that was spent in garbage collection, according to the collector beans.
+         * @return the fraction of the wall time that was spent in garbage collection
+         */
+        public double gcFraction()
+        {
+            return this.wallNanos == 0L ? 0.0 : Math.min(1.0, this.collectionMillis * 1.0E6 / this.wallNanos);
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package org.djutils.test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ScanResult;
+
+/**
+ * HashQualityAnalyzer finds the classes in the given packages that declare a hashCode method, in the same way as ClassList,
+ * and ranks them on the quality of their hash codes. Samples of each class are made by a registered generator that maps a
+ * long input to an instance, or, for records without a registered generator, by a default generator that fills the record
+ * components with the bits of the input. For each class the collision rate and the bucket skew in a simulated HashMap table
+ * are computed with {@link HashStatistics} over the distinct samples, and the avalanche is measured by flipping each of the
+ * 64 bits of the input and counting the hash bits that flip, for the pairs that give unequal instances. The avalanche
+ * therefore depends on how directly the generator maps the input bits to the state of the instance; a generator that mixes
+ * the input first hides a weak hash function. A way to use the class is, for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   HashQualityReport report = HashQualityAnalyzer.analyze(
+ *       Map.of(CacheKey.class, l -&gt; new CacheKey((int) l, "k" + (l &gt;&gt;&gt; 32))), "org.djutils");
+ *   System.out.println(report.report());
+ * </code>
+ * </pre>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class HashQualityAnalyzer
+{
+    /** the default number of samples per class. */
+    public static final int DEFAULT_SAMPLES = 10_000;
+
+    /** the maximum number of inputs for which all 64 bits are flipped to measure the avalanche. */
+    private static final int AVALANCHE_INPUTS = 500;
+
+    /** */
+    private HashQualityAnalyzer()
+    {
+        // utility class
+    }
+
+    /**
+     * Return the names of the classes in target/classes of the given packages that declare a hashCode() method. By default,
+     * the check ignores anonymous inner classes, interfaces, annotation classes and enums, but includes records.
+     * @param packageNameList a list of package names to check
+     * @return the names of the classes that declare a hashCode() method, sorted on name
+     */
+    public static List<String> classesWithHashCode(final String... packageNameList)
+    {
+        return classesWithHashCode(List.of("target/classes"), packageNameList);
+    }
+
+    /**
+     * Return the names of the classes on the given class path of the given packages that declare a hashCode() method.
+     * @param classpath the directories or jar files to scan
+     * @param packageNameList a list of package names to check
+     * @return the names of the classes that declare a hashCode() method, sorted on name
+     */
+    public static List<String> classesWithHashCode(final List<String> classpath, final String... packageNameList)
+    {
+        try (ScanResult scanResult = new ClassGraph() // .verbose() logs activities
+            .overrideClasspath(classpath) // main classes, and test classes when asked for
+            .enableAllInfo() // Scan classes, methods, fields, annotations
+            .acceptPackages(packageNameList) // Scan what's in pkg and subpackages (omit to scan all packages)
+            .scan())
+        {
+            return scanResult.getAllClasses()
+                .stream()
+                .filter(ci -> !ci.isInterface() && !ci.isEnum() && !ci.isAnnotation())
+                .filter(ci -> !ci.isAnonymousInnerClass())
+                .filter(HashQualityAnalyzer::declaresHashCode)
+                .map(ClassInfo::getName)
+                .sorted()
+                .toList();
+        }
+    }
+
+    /**
+     * Return whether a class declares a hashCode method without parameters.
+     * @param classInfo the class
+     * @return whether the class declares a hashCode method without parameters
+     */
+    private static boolean declaresHashCode(final ClassInfo classInfo)
+    {
+        return classInfo.getDeclaredMethodInfo("hashCode").stream()
+                .anyMatch(m -> !m.isStatic() && m.getParameterInfo().length == 0);
+    }
+
+    /**
+     * Analyze the hash codes of the classes in target/classes of the given packages, with the default number of samples and a
+     * fixed seed.
+     * @param generators the generators of instances per class, that return equal instances for equal inputs
+     * @param packageNameList a list of package names to check
+     * @return the ranking of the classes on the quality of their hash codes
+     */
+    public static HashQualityReport analyze(final Map<Class<?>, LongFunction<?>> generators,
+            final String... packageNameList)
+    {
+        return analyze(generators, List.of("target/classes"), DEFAULT_SAMPLES, 1L, packageNameList);
+    }
+
+    /**
+     * Analyze the hash codes of the classes on the given class path of the given packages.
+     * @param generators the generators of instances per class, that return equal instances for equal inputs
+     * @param classpath the directories or jar files to scan
+     * @param samples the number of samples per class
+     * @param seed the seed of the inputs of the generators
+     * @param packageNameList a list of package names to check
+     * @return the ranking of the classes on the quality of their hash codes
+     * @throws IllegalArgumentException when samples &lt; 1
+     */
+    public static HashQualityReport analyze(final Map<Class<?>, LongFunction<?>> generators, final List<String> classpath,
+            final int samples, final long seed, final String... packageNameList)
+    {
+        if (samples < 1)
+        {
+            throw new IllegalArgumentException("samples < 1");
+        }
+        Map<String, LongFunction<?>> byName = generators.entrySet().stream()
+                .collect(Collectors.toMap(e -> e.getKey().getName(), Map.Entry::getValue));
+        List<HashQuality> ranking = new ArrayList<>();
+        Map<String, String> skipped = new TreeMap<>();
+        for (String className : classesWithHashCode(classpath, packageNameList))
+        {
+            LongFunction<?> generator = byName.get(className);
+            if (generator == null)
+            {
+                try
+                {
+                    Class<?> clazz = Class.forName(className, false, HashQualityAnalyzer.class.getClassLoader());
+                    generator = clazz.isRecord() ? recordGenerator(clazz) : null;
+                }
+                catch (ClassNotFoundException | LinkageError exception)
+                {
+                    skipped.put(className, "cannot load class: " + exception);
+                    continue;
+                }
+            }
+            if (generator == null)
+            {
+                skipped.put(className, "no generator");
+                continue;
+            }
+            try
+            {
+                ranking.add(new HashQuality(className, statistics(generator, samples, seed)));
+            }
+            catch (RuntimeException | LinkageError exception)
+            {
+                skipped.put(className, "generator failed: " + exception);
+            }
+        }
+        ranking.sort(Comparator.comparingDouble((HashQuality q) -> q.statistics().score()).reversed()
+                .thenComparing(HashQuality::className));
+        return new HashQualityReport(ranking, skipped);
+    }
+
+    /**
+     * Return the hash statistics of the instances of one generator, with the measured avalanche.
+     * @param generator the generator of instances, that returns equal instances for equal inputs
+     * @param samples the number of samples
+     * @param seed the seed of the inputs of the generator
+     * @return the hash statistics of the distinct instances, with the measured avalanche
+     */
+    public static HashStatistics statistics(final LongFunction<?> generator, final int samples, final long seed)
+    {
+        Set<Object> distinct = new HashSet<>();
+        for (int k = 0; k < samples; k++)
+        {
+            distinct.add(generator.apply(PropertyTest.mix(seed, k)));
+        }
+        HashStatistics statistics = HashStatistics.of(distinct.stream().mapToInt(Object::hashCode).toArray());
+        long flippedBits = 0;
+        long pairs = 0;
+        for (int k = 0; k < Math.min(samples, AVALANCHE_INPUTS); k++)
+        {
+            long input = PropertyTest.mix(seed, k);
+            Object object = generator.apply(input);
+            int hash = object.hashCode();
+            for (int bit = 0; bit < 64; bit++)
+            {
+                Object flipped = generator.apply(input ^ (1L << bit));
+                if (!object.equals(flipped))
+                {
+                    flippedBits += Integer.bitCount(hash ^ flipped.hashCode());
+                    pairs++;
+                }
+            }
+        }
+        return statistics.withAvalanche(pairs == 0 ? Double.NaN : flippedBits / (32.0 * pairs));
+    }
+
+    /**
+     * Return a generator for a record of which all components are primitives, boxed primitives, strings or enums. Component
+     * i of n gets the input rotated right by i * 64 / n bits, so each input bit ends up in a few components, and a flipped
+     * input bit flips one or a few bits of the state of the record.
+     * @param recordClass the record class
+     * @return a generator for the record, or null when a component has another type or the record cannot be constructed
+     */
+    static LongFunction<Object> recordGenerator(final Class<?> recordClass)
+    {
+        RecordComponent[] components = recordClass.getRecordComponents();
+        Class<?>[] types = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++)
+        {
+            types[i] = components[i].getType();
+            if (!types[i].isPrimitive() && component(types[i], 0L) == null)
+            {
+                return null;
+            }
+        }
+        Constructor<?> constructor;
+        try
+        {
+            constructor = recordClass.getDeclaredConstructor(types);
+            constructor.setAccessible(true);
+        }
+        catch (NoSuchMethodException | RuntimeException exception)
+        {
+            return null;
+        }
+        return input ->
+        {
+            Object[] args = new Object[types.length];
+            for (int i = 0; i < types.length; i++)
+            {
+                args[i] = component(types[i], Long.rotateRight(input, i * 64 / types.length));
+            }
+            try
+            {
+                return constructor.newInstance(args);
+            }
+            catch (InvocationTargetException exception)
+            {
+                throw new IllegalStateException("constructor of " + recordClass.getName() + " threw "
+                        + exception.getCause(), exception.getCause());
+            }
+            catch (ReflectiveOperationException exception)
+            {
+                throw new IllegalStateException(exception);
+            }
+        };
+    }
+
+    /**
+     * Return a value of a record component type, made from the bits of a long.
+     * @param type the type of the component
+     * @param bits the bits for the value
+     * @return the value, or null when the type is not supported
+     */
+    private static Object component(final Class<?> type, final long bits)
+    {
+        if (type == int.class || type == Integer.class)
+        {
+            return (int) bits;
+        }
+        if (type == long.class || type == Long.class)
+        {
+            return bits;
+        }
+        if (type == short.class || type == Short.class)
+        {
+            return (short) bits;
+        }
+        if (type == byte.class || type == Byte.class)
+        {
+            return (byte) bits;
+        }
+        if (type == char.class || type == Character.class)
+        {
+            return (char) bits;
+        }
+        if (type == boolean.class || type == Boolean.class)
+        {
+            return (bits & 1L) != 0L;
+        }
+        if (type == double.class || type == Double.class)
+        {
+            return (double) bits;
+        }
+        if (type == float.class || type == Float.class)
+        {
+            return (float) bits;
+        }
+        if (type == String.class)
+        {
+            return Long.toHexString(bits);
+        }
+        if (type.isEnum() && type.getEnumConstants().length > 0)
+        {
+            Object[] constants = type.getEnumConstants();
+            return constants[(int) Math.floorMod(bits, (long) constants.length)];
+        }
+        return null;
+    }
+
+    /**
+     * HashQuality contains the hash statistics of one class.
+     * @param className the name of the class
+     * @param statistics the hash statistics of the distinct samples, with the measured avalanche
+     */
+    public record HashQuality(String className, HashStatistics statistics)
+    {
+    }
+
+    /**
+     * HashQualityReport contains the classes ranked on the quality of their hash codes, worst first, and the classes that
+     * could not be analyzed.
+     * @param ranking the hash statistics per class, sorted on descending score, so the worst hash function comes first
+     * @param skipped the reason per class, sorted on class name, for the classes that could not be analyzed
+     */
+    public record HashQualityReport(List<HashQuality> ranking, Map<String, String> skipped)
+    {
+        /**
+         * Return the hash statistics of a class.
+         * @param className the name of the class
+         * @return the hash statistics of the class, or null when the class was not analyzed
+         */
+        public HashStatistics get(final String className)
+        {
+            return this.ranking.stream().filter(q -> q.className().equals(className)).map(HashQuality::statistics)
+                    .findFirst().orElse(null);
+        }
+
+        /**
+         * Return a report with the ranking of the classes, worst first, and the classes that could not be analyzed.
+         * @return a report with the ranking of the classes and the classes that could not be analyzed
+         */
+        public String report()
+        {
+            StringBuilder report = new StringBuilder();
+            report.append("hash quality, worst first (score 0 is ideal):\n");
+            for (int i = 0; i < this.ranking.size(); i++)
+            {
+                HashQuality quality = this.ranking.get(i);
+                report.append(String.format(Locale.US, "%4d %9.3f  %s: %s\n", i + 1, quality.statistics().score(),
+                        quality.className(), quality.statistics()));
+            }
+            report.append("not analyzed:\n");
+            this.skipped.forEach((name, reason) -> report.append("    ").append(name).append(": ").append(reason).append('\n'));
+            return report.toString();
+        }
+    }
+
+    /**
+     * Print the ranking of the classes that declare hashCode, using the default generators for records.
+     * @param args can contain the package name(s) to inspect; org.djutils will be taken if the args are empty
+     */
+    public static void main(final String... args)
+    {
+        System.out.println(analyze(Map.of(), args.length > 0 ? args : new String[] {"org.djutils"}).report());
+    }
+}
@@ -0,0 +1,126 @@
+package org.djutils.test;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * HashStatistics describes the quality of the hash codes of a set of distinct values, as seen by a HashMap. The collision rate
+ * is the fraction of values that share their hash code with an earlier value. The bucket statistics are computed for a
+ * power-of-two table that holds the values at the default load factor of 0.75, with the same spreading of the high bits as
+ * HashMap: the bucket skew is the number of pairs of values in the same bucket divided by the number that is expected for
+ * uniformly random hash codes, so 1.0 is ideal and a value of 10 means that lookups compare about 10 times as many keys as
+ * needed. The avalanche is the mean fraction of the 32 hash bits that flips when one bit of the input of an unequal value
+ * flips; 0.5 is ideal, and it is NaN when it was not measured. A way to use the class is, for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   HashStatistics statistics = HashStatistics.of(keys.stream().mapToInt(Object::hashCode).toArray());
+ *   statistics.check(statistics.bucketSkew() &lt; 2.0, "keys hash badly");
+ * </code>
+ * </pre>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ * @param values the number of distinct values
+ * @param distinctHashes the number of distinct hash codes
+ * @param tableSize the number of buckets of the simulated table
+ * @param maxBucket the largest number of values in one bucket
+ * @param bucketSkew the number of pairs of values in the same bucket, divided by the number expected for random hash codes
+ * @param avalanche the mean fraction of hash bits that flips when one input bit flips, or NaN when not measured
+ */
+public record HashStatistics(int values, int distinctHashes, int tableSize, int maxBucket, double bucketSkew,
+        double avalanche)
+{
+    /**
+     * Return the statistics of the hash codes of distinct values, without avalanche measurement.
+     * @param hashes the hash codes of distinct values; the array is not changed
+     * @return the statistics of the hash codes
+     */
+    public static HashStatistics of(final int[] hashes)
+    {
+        int values = hashes.length;
+        int[] sorted = hashes.clone();
+        Arrays.sort(sorted);
+        int distinct = values == 0 ? 0 : 1;
+        for (int i = 1; i < values; i++)
+        {
+            if (sorted[i] != sorted[i - 1])
+            {
+                distinct++;
+            }
+        }
+        // the table size of a HashMap with the values at load factor 0.75
+        int tableSize = Math.max(16, Integer.highestOneBit(Math.max(1, (int) Math.ceil(values / 0.75) - 1)) << 1);
+        int[] buckets = new int[tableSize];
+        int maxBucket = 0;
+        long pairs = 0;
+        for (int hash : hashes)
+        {
+            int bucket = (hash ^ (hash >>> 16)) & (tableSize - 1);
+            pairs += buckets[bucket]++;
+            maxBucket = Math.max(maxBucket, buckets[bucket]);
+        }
+        double expectedPairs = (double) values * (values - 1) / 2.0 / tableSize;
+        double skew = expectedPairs == 0.0 ? (pairs == 0 ? 1.0 : Double.POSITIVE_INFINITY) : pairs / expectedPairs;
+        return new HashStatistics(values, distinct, tableSize, maxBucket, skew, Double.NaN);
+    }
+
+    /**
+     * Return these statistics with a measured avalanche.
+     * @param measuredAvalanche the mean fraction of hash bits that flips when one input bit flips
+     * @return these statistics with the measured avalanche
+     */
+    public HashStatistics withAvalanche(final double measuredAvalanche)
+    {
+        return new HashStatistics(this.values, this.distinctHashes, this.tableSize, this.maxBucket, this.bucketSkew,
+                measuredAvalanche);
+    }
+
+    /**
+     * Return the fraction of the values that share their hash code with another value.
+     * @return the fraction of the values that share their hash code with another value
+     */
+    public double collisionRate()
+    {
+        return this.values == 0 ? 0.0 : (this.values - this.distinctHashes) / (double) this.values;
+    }
+
+    /**
+     * Return a score of the hash quality, where 0 is ideal and higher is worse, to rank hash functions. The score adds the
+     * collision rate times 10, the excess bucket skew, and the distance of the avalanche to 0.5 times 2 when it was measured.
+     * @return a score of the hash quality
+     */
+    public double score()
+    {
+        double score = 10.0 * collisionRate() + Math.max(0.0, this.bucketSkew - 1.0);
+        return Double.isNaN(this.avalanche) ? score : score + 2.0 * Math.abs(this.avalanche - 0.5);
+    }
+
+    /**
+     * Check a condition on the statistics, and throw an AssertionError with the statistics in the message when the condition
+     * does not hold.
+     * @param condition the condition
+     * @param message message to use in the AssertionError when the condition does not hold
+     * @throws AssertionError when the condition does not hold
+     */
+    public void check(final boolean condition, final String message)
+    {
+        if (!condition)
+        {
+            throw new AssertionError(message + "; " + this);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format(Locale.US, "%d values, %d distinct hashes, collision rate %.4f, %d buckets, max bucket %d, "
+                + "bucket skew %.2f, avalanche %.3f",
+                this.values, this.distinctHashes, collisionRate(), this.tableSize, this.maxBucket, this.bucketSkew,
+                this.avalanche);
+    }
+}
@@ -0,0 +1,278 @@
+package org.djutils.test;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.djutils.test.UnitTest.Execution;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * JfrRecorder makes a Java Flight Recorder recording around an execution, and summarises it into the hot methods (execution
+ * samples), the allocation sites (allocation samples weighted by the sampled bytes), the contended monitors, and the file and
+ * socket I/O. The events are consumed from a RecordingStream while the execution runs, so no recording file is written. When
+ * a performance check fails, the {@link JfrSummary#check(boolean, String)} method adds the top cpu and allocation sites to the
+ * failure message, so the failure can be analysed without reproducing the run under a profiler. A way to use the class is,
+ * for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   JfrSummary summary = JfrRecorder.record(() -&gt; parser.parse(largeFile), "profile");
+ *   summary.check(summary.wallNanos() &lt; 2_000_000_000L, "parsing took too long");
+ * </code>
+ * </pre>
+ *
+ * Note that the recording covers all threads of the JVM, not only the thread that carries out the execution.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class JfrRecorder
+{
+    /** the number of sites that is reported in a failure message. */
+    public static final int REPORTED_SITES = 5;
+
+    /** the maximum time to wait for the stream to deliver the events of the recording. */
+    private static final long FLUSH_TIMEOUT_SECONDS = 10L;
+
+    /** the id of the last flush marker. */
+    private static final AtomicLong MARKER_ID = new AtomicLong();
+
+    /** */
+    private JfrRecorder()
+    {
+        // utility class
+    }
+
+    /**
+     * Carry out the execution under a flight recording with the "profile" settings of the JDK, and return the summary.
+     * @param execution the execution to record
+     * @return the summary of the recording
+     * @throws AssertionError when the execution throws an exception, or the recording cannot be made
+     */
+    public static JfrSummary record(final Execution execution)
+    {
+        return record(execution, "profile");
+    }
+
+    /**
+     * Carry out the execution under a flight recording with the given JDK settings, and return the summary. The settings are
+     * the name of a JFR configuration, such as "default" (low overhead) or "profile" (more samples, lower thresholds).
+     * @param execution the execution to record
+     * @param settings the name of the JFR configuration to use
+     * @return the summary of the recording
+     * @throws AssertionError when the execution throws an exception, or the recording cannot be made
+     */
+    public static JfrSummary record(final Execution execution, final String settings)
+    {
+        Configuration configuration;
+        try
+        {
+            configuration = Configuration.getConfiguration(settings);
+        }
+        catch (IOException | ParseException exception)
+        {
+            throw new AssertionError("JFR configuration " + settings + " cannot be read", exception);
+        }
+        Map<String, Long> hotMethods = new ConcurrentHashMap<>();
+        Map<String, Long> allocationSites = new ConcurrentHashMap<>();
+        Map<String, Long> lockContention = new ConcurrentHashMap<>();
+        Map<String, Long> io = new ConcurrentHashMap<>();
+        long markerId = MARKER_ID.incrementAndGet();
+        CountDownLatch flushed = new CountDownLatch(1);
+        long wallNanos;
+        try (RecordingStream stream = new RecordingStream(configuration))
+        {
+            stream.enable(FlushMarker.class);
+            stream.onEvent("jdk.ExecutionSample", event -> hotMethods.merge(topFrame(event), 1L, Long::sum));
+            stream.onEvent("jdk.ObjectAllocationSample", event -> allocationSites.merge(
+                    event.getClass("objectClass").getName() + " at " + topFrame(event), event.getLong("weight"), Long::sum));
+            stream.onEvent("jdk.JavaMonitorEnter", event -> lockContention.merge(event.getClass("monitorClass").getName()
+                    + " at " + topFrame(event), event.getDuration().toNanos(), Long::sum));
+            stream.onEvent("jdk.FileRead", event -> io.merge("file read bytes", event.getLong("bytesRead"), Long::sum));
+            stream.onEvent("jdk.FileWrite", event -> io.merge("file write bytes", event.getLong("bytesWritten"), Long::sum));
+            stream.onEvent("jdk.SocketRead", event -> io.merge("socket read bytes", event.getLong("bytesRead"), Long::sum));
+            stream.onEvent("jdk.SocketWrite",
+                    event -> io.merge("socket write bytes", event.getLong("bytesWritten"), Long::sum));
+            stream.onEvent(FlushMarker.NAME, event ->
+            {
+                if (event.getLong("id") == markerId)
+                {
+                    flushed.countDown();
+                }
+            });
+            stream.startAsync();
+            long start = System.nanoTime();
+            try
+            {
+                execution.execute();
+            }
+            catch (Throwable cause)
+            {
+                throw new AssertionError("Execution threw an exception", cause);
+            }
+            wallNanos = System.nanoTime() - start;
+
+            // the stream delivers events in chunks; the marker is the last event of this recording to arrive
+            FlushMarker marker = new FlushMarker();
+            marker.id = markerId;
+            marker.commit();
+            if (!flushed.await(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+            {
+                throw new AssertionError(
+                        "JFR stream did not deliver the recording within " + FLUSH_TIMEOUT_SECONDS + " s");
+            }
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted while waiting for the JFR stream", exception);
+        }
+        return new JfrSummary(wallNanos, sorted(hotMethods), sorted(allocationSites), sorted(lockContention), sorted(io));
+    }
+
+    /**
+     * Carry out the execution under a flight recording, and fail with the hot methods and allocation sites in the message when
+     * the execution takes longer than the maximum duration.
+     * @param execution the execution to record
+     * @param maxDuration the maximum wall time of the execution
+     * @param message message to use in the AssertionError when the test fails
+     * @return the summary of the recording
+     * @throws AssertionError when the execution takes too long, or when it throws an exception
+     */
+    public static JfrSummary assertFasterThan(final Execution execution, final Duration maxDuration, final String message)
+    {
+        JfrSummary summary = record(execution);
+        summary.check(summary.wallNanos() <= maxDuration.toNanos(),
+                message + "; Execution took " + summary.wallNanos() / 1_000_000L + " ms, more than " + maxDuration.toMillis()
+                        + " ms");
+        return summary;
+    }
+
+    /**
+     * Return a description of the top frame of the stack trace of an event.
+     * @param event the event
+     * @return a description of the top frame, or "unknown" when the event has no stack trace
+     */
+    private static String topFrame(final RecordedEvent event)
+    {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null || stackTrace.getFrames().isEmpty())
+        {
+            return "unknown";
+        }
+        RecordedFrame frame = stackTrace.getFrames().get(0);
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    /**
+     * Return a copy of the map, sorted on the values with the largest first.
+     * @param map the map to sort
+     * @return a copy of the map, sorted on the values with the largest first
+     */
+    private static Map<String, Long> sorted(final Map<String, Long> map)
+    {
+        Map<String, Long> result = new LinkedHashMap<>();
+        map.entrySet().stream().sorted(Map.Entry.<String, Long> comparingByValue(Comparator.reverseOrder()))
+                .forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    /**
+     * JfrSummary contains the aggregated events of a flight recording around an execution. All maps are sorted on the value,
+     * with the largest first.
+     * @param wallNanos the wall time of the execution in nanoseconds
+     * @param hotMethods the number of execution samples per top frame
+     * @param allocationSites the sampled allocated bytes per allocated class and top frame
+     * @param lockContention the time in nanoseconds threads waited to enter a monitor, per monitor class and top frame
+     * @param io the bytes read and written for files and sockets
+     */
+    public record JfrSummary(long wallNanos, Map<String, Long> hotMethods, Map<String, Long> allocationSites,
+            Map<String, Long> lockContention, Map<String, Long> io)
+    {
+        /**
+         * Return the first entries of a map, formatted as lines.
+         * @param map the sorted map
+         * @param count the maximum number of entries
+         * @return the first entries of the map, formatted as lines
+         */
+        private static List<String> top(final Map<String, Long> map, final int count)
+        {
+            List<String> lines = new ArrayList<>();
+            map.entrySet().stream().limit(count).forEach(entry -> lines.add("    " + entry.getValue() + "  " + entry.getKey()));
+            return lines;
+        }
+
+        /**
+         * Return a report of the top sites of the recording.
+         * @param count the maximum number of sites per category
+         * @return a report of the top sites of the recording
+         */
+        public String report(final int count)
+        {
+            StringBuilder report = new StringBuilder();
+            report.append(String.format(Locale.US, "wall time %.1f ms%n", this.wallNanos / 1.0E6));
+            report.append("  hot methods (samples):\n");
+            top(this.hotMethods, count).forEach(line -> report.append(line).append('\n'));
+            report.append("  allocation sites (sampled bytes):\n");
+            top(this.allocationSites, count).forEach(line -> report.append(line).append('\n'));
+            report.append("  lock contention (ns):\n");
+            top(this.lockContention, count).forEach(line -> report.append(line).append('\n'));
+            report.append("  i/o:\n");
+            top(this.io, count).forEach(line -> report.append(line).append('\n'));
+            return report.toString();
+        }
+
+        /**
+         * Check a performance condition, and throw an AssertionError with the top sites of the recording in the message when
+         * the condition does not hold.
+         * @param condition the condition that should hold
+         * @param message message to use in the AssertionError when the condition does not hold
+         * @throws AssertionError when the condition does not hold
+         */
+        public void check(final boolean condition, final String message)
+        {
+            if (!condition)
+            {
+                throw new AssertionError(message + "\n" + report(REPORTED_SITES));
+            }
+        }
+    }
+
+    /**
+     * FlushMarker is committed after the execution; when it arrives in the stream, all events of the execution have arrived.
+     */
+    @Name(FlushMarker.NAME)
+    @Label("DJUTILS JFR flush marker")
+    static final class FlushMarker extends Event
+    {
+        /** the name of the event. */
+        static final String NAME = "org.djutils.test.FlushMarker";
+
+        /** the id of the marker, to distinguish concurrent recordings. */
+        @Label("id")
+        private long id;
+    }
+}
@@ -0,0 +1,359 @@
+package org.djutils.test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.djutils.test.UnitTest.Assignment;
+import org.djutils.test.UnitTest.Execution;
+
+/**
+ * LeakTest has methods to test that code does not leak memory. The assertNoLeak(...) methods carry out an execution many
+ * times, force garbage collection between measurement windows, and fail when the trend of the heap that is retained after
+ * garbage collection grows beyond a threshold. The assertCollectable(...) method and the {@link Tracker} check that specific
+ * objects become unreachable, e.g., a listener that should be deregistered, by registering them with a {@link Cleaner}. A way
+ * to use the class is, for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   LeakTest.assertNoLeak(() -&gt; cache.get(randomKey()), 100_000);
+ *   LeakTest.assertCollectable(() -&gt; model.removeListener(model.addListener(new Listener())));
+ * </code>
+ * </pre>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class LeakTest
+{
+    /** the default threshold for the growth of the retained heap, in bytes. */
+    public static final long DEFAULT_THRESHOLD_BYTES = 1L << 20;
+
+    /** the number of measurement windows. */
+    private static final int WINDOWS = 5;
+
+    /** the maximum time to wait for a garbage collection to take effect, in nanoseconds. */
+    private static final long GC_TIMEOUT_NANOS = 2_000_000_000L;
+
+    /** the time to wait for the cleaning actions of other collected objects after the sentinel, in nanoseconds. */
+    private static final long CLEANER_SETTLE_NANOS = 20_000_000L;
+
+    /** the cleaner that registers the collection of tracked objects. */
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /** */
+    private LeakTest()
+    {
+        // utility class
+    }
+
+    /**
+     * Carry out the execution the given number of times, and fail when the trend of the heap that is retained after garbage
+     * collection grows by more than {@link #DEFAULT_THRESHOLD_BYTES} over the run.
+     * @param execution the execution to repeat
+     * @param iterations the number of times to carry out the execution
+     * @return the growth of the retained heap in bytes over the run according to the trend, which can be negative
+     * @throws AssertionError when the retained heap grows beyond the threshold, or when the execution throws an exception
+     */
+    public static long assertNoLeak(final Execution execution, final int iterations)
+    {
+        return assertNoLeak(execution, iterations, DEFAULT_THRESHOLD_BYTES, null);
+    }
+
+    /**
+     * Carry out the execution the given number of times, and fail when the trend of the heap that is retained after garbage
+     * collection grows by more than the threshold over the run. A warm-up of one measurement window is carried out first, so
+     * one-time effects such as class loading and filling caches up to their capacity do not count as a leak. Each window is
+     * followed by a forced garbage collection, after which the used size of the heap pools is read from their after-collection
+     * usage. The trend is the least-squares slope of the retained heap against the number of iterations, so a single window
+     * in which the retained heap dips because of GC noise does not hide a leak.
+     * @param execution the execution to repeat
+     * @param iterations the number of times to carry out the execution, after the warm-up
+     * @param thresholdBytes the allowed growth of the retained heap in bytes
+     * @param message message to use in the AssertionError when the test fails
+     * @return the growth of the retained heap in bytes over the run according to the trend, which can be negative
+     * @throws AssertionError when the retained heap grows beyond the threshold, or when the execution throws an exception
+     * @throws IllegalArgumentException when iterations &lt; 1 or thresholdBytes &lt; 0
+     */
+    public static long assertNoLeak(final Execution execution, final int iterations, final long thresholdBytes,
+            final String message)
+    {
+        if (iterations < 1 || thresholdBytes < 0)
+        {
+            throw new IllegalArgumentException("iterations < 1 or thresholdBytes < 0");
+        }
+        int windowSize = Math.max(1, iterations / WINDOWS);
+        execute(execution, windowSize, message);
+        long[] retained = new long[WINDOWS + 1];
+        long[] done = new long[WINDOWS + 1];
+        retained[0] = retainedHeap();
+        for (int window = 1; window <= WINDOWS; window++)
+        {
+            int count = window == WINDOWS ? iterations - (int) done[window - 1]
+                    : Math.min(windowSize, iterations - (int) done[window - 1]);
+            execute(execution, count, message);
+            done[window] = done[window - 1] + count;
+            retained[window] = retainedHeap();
+        }
+        long growth = Math.round(slope(done, retained) * iterations);
+        if (growth > thresholdBytes)
+        {
+            throw new AssertionError(String.format(Locale.US,
+                    "%s; Execution leaks memory: retained heap grew by %d bytes (%.1f bytes per iteration) over %d iterations, "
+                            + "threshold %d bytes; retained heap per window: %s",
+                    message, growth, (double) growth / iterations, iterations, thresholdBytes, Arrays.toString(retained)));
+        }
+        return growth;
+    }
+
+    /**
+     * Return the least-squares slope of y against x.
+     * @param x the x values, which are not all equal
+     * @param y the y values
+     * @return the least-squares slope of y against x
+     */
+    static double slope(final long[] x, final long[] y)
+    {
+        double meanX = Arrays.stream(x).average().orElse(0.0);
+        double meanY = Arrays.stream(y).average().orElse(0.0);
+        double covariance = 0.0;
+        double variance = 0.0;
+        for (int i = 0; i < x.length; i++)
+        {
+            covariance += (x[i] - meanX) * (y[i] - meanY);
+            variance += (x[i] - meanX) * (x[i] - meanX);
+        }
+        return variance == 0.0 ? 0.0 : covariance / variance;
+    }
+
+    /**
+     * Test that the object returned by the assignment becomes unreachable after the assignment has finished, i.e., that the
+     * code under test does not hold on to it, e.g., as a registered listener or a cache entry.
+     * @param assignment the assignment that creates the object and hands it to the code under test
+     * @throws AssertionError when the object is still reachable after garbage collection
+     */
+    public static void assertCollectable(final Assignment<?> assignment)
+    {
+        assertCollectable(assignment, null);
+    }
+
+    /**
+     * Test that the object returned by the assignment becomes unreachable after the assignment has finished, i.e., that the
+     * code under test does not hold on to it, e.g., as a registered listener or a cache entry.
+     * @param assignment the assignment that creates the object and hands it to the code under test
+     * @param message message to use in the AssertionError when the test fails
+     * @throws AssertionError when the object is still reachable after garbage collection, or when the assignment throws an
+     *             exception
+     */
+    public static void assertCollectable(final Assignment<?> assignment, final String message)
+    {
+        Tracker tracker = new Tracker();
+        try
+        {
+            tracker.track(assignment.assign(), "assigned object");
+        }
+        catch (Throwable cause)
+        {
+            throw new AssertionError(message + "; Assignment threw an exception", cause);
+        }
+        tracker.assertAllCollected(message);
+    }
+
+    /**
+     * Force a full garbage collection, and wait until it has taken effect. The method returns when a weakly referenced sentinel
+     * object has been cleared and the collection count of the collectors has increased, or when a timeout expires, e.g.,
+     * because explicit garbage collection has been disabled.
+     * @return whether the garbage collection has taken effect within the timeout
+     */
+    public static boolean forceGc()
+    {
+        WeakReference<Object> sentinel = new WeakReference<>(new Object());
+        long count = gcCount();
+        long deadline = System.nanoTime() + GC_TIMEOUT_NANOS;
+        System.gc();
+        while (sentinel.get() != null || gcCount() == count)
+        {
+            if (System.nanoTime() > deadline)
+            {
+                return false;
+            }
+            try
+            {
+                Thread.sleep(1);
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            System.gc();
+        }
+        return true;
+    }
+
+    /**
+     * Force a full garbage collection and return the heap that is retained after the collection, as the sum of the
+     * after-collection usage of all heap memory pools. When the pools do not report after-collection usage, the used heap
+     * according to the memory bean is returned.
+     * @return the heap in bytes that is retained after a full garbage collection
+     */
+    public static long retainedHeap()
+    {
+        // two collections, so objects that were only reachable through references cleared in the first one go as well
+        forceGc();
+        forceGc();
+        long retained = 0L;
+        boolean collectionUsage = false;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+        {
+            MemoryUsage usage = pool.getType() == MemoryType.HEAP && pool.isValid() ? pool.getCollectionUsage() : null;
+            if (usage != null)
+            {
+                retained += usage.getUsed();
+                collectionUsage = true;
+            }
+        }
+        return collectionUsage ? retained : ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Return the total number of collections of all garbage collectors.
+     * @return the total number of collections of all garbage collectors
+     */
+    private static long gcCount()
+    {
+        long count = 0L;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            count += Math.max(0L, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    /**
+     * Carry out the execution a number of times.
+     * @param execution the execution
+     * @param count the number of times to carry out the execution
+     * @param message message to use in the AssertionError when the execution throws an exception
+     * @throws AssertionError when the execution throws an exception
+     */
+    private static void execute(final Execution execution, final int count, final String message)
+    {
+        try
+        {
+            for (int i = 0; i < count; i++)
+            {
+                execution.execute();
+            }
+        }
+        catch (Throwable cause)
+        {
+            throw new AssertionError(message + "; Execution threw an exception", cause);
+        }
+    }
+
+    /**
+     * Tracker registers objects that should become unreachable with a {@link Cleaner}, and checks after garbage collection
+     * that their cleaning actions have run, i.e., that they have been collected. A cleaning action runs when its object is
+     * phantom reachable, so an object that is resurrected by a finalizer does not count as collected. Objects are tracked by
+     * name, so the failure message tells which objects are still reachable.
+     * <p>
+     * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved.
+     * See for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project
+     * is distributed under a three-clause BSD-style license, which can be found at
+     * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+     * <p>
+     * @author Alexander Verbraeck
+     */
+    public static final class Tracker
+    {
+        /** the names of the tracked objects that have not been collected yet, by tracking number. */
+        private final Map<Integer, String> uncollected = new ConcurrentSkipListMap<>();
+
+        /** the number of tracked objects. */
+        private int tracked = 0;
+
+        /**
+         * Track an object, and return it, so tracking can be done inline.
+         * @param object the object to track
+         * @param name the name of the object for the failure message
+         * @param <O> the type of the object
+         * @return the object
+         */
+        public synchronized <O> O track(final O object, final String name)
+        {
+            Integer number = this.tracked++;
+            this.uncollected.put(number, name);
+            Map<Integer, String> names = this.uncollected;
+            CLEANER.register(object, () -> names.remove(number));
+            return object;
+        }
+
+        /**
+         * Return the names of the tracked objects that are still reachable after a forced garbage collection. The method
+         * waits until the cleaner has run the action of a sentinel object that became unreachable in the same collection.
+         * @return the names of the tracked objects that are still reachable, in the order in which they were tracked
+         */
+        public synchronized List<String> reachable()
+        {
+            AtomicBoolean sentinelCleaned = new AtomicBoolean();
+            CLEANER.register(new Object(), () -> sentinelCleaned.set(true));
+            forceGc();
+            long deadline = System.nanoTime() + GC_TIMEOUT_NANOS;
+            long settled = Long.MAX_VALUE;
+            while (!this.uncollected.isEmpty() && System.nanoTime() < Math.min(deadline, settled))
+            {
+                if (sentinelCleaned.get() && settled == Long.MAX_VALUE)
+                {
+                    settled = System.nanoTime() + CLEANER_SETTLE_NANOS;
+                }
+                try
+                {
+                    Thread.sleep(1);
+                }
+                catch (InterruptedException exception)
+                {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            return new ArrayList<>(this.uncollected.values());
+        }
+
+        /**
+         * Assert that all tracked objects have been collected.
+         * @param message message to use in the AssertionError when the test fails
+         * @throws AssertionError when one or more tracked objects are still reachable
+         */
+        public void assertAllCollected(final String message)
+        {
+            List<String> reachable = reachable();
+            if (!reachable.isEmpty())
+            {
+                throw new AssertionError(
+                        message + "; " + reachable.size() + " tracked object(s) still reachable: " + reachable);
+            }
+        }
+
+        @Override
+        public synchronized String toString()
+        {
+            return "Tracker [tracked=" + this.tracked + "]";
+        }
+    }
+}
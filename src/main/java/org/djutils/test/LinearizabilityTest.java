@@ -0,0 +1,440 @@
+package org.djutils.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * LinearizabilityTest checks that a concurrent data structure behaves as if its operations take effect one at a time, in an
+ * order that respects the real-time order of the calls. The user declares the operations twice: once on the concurrent
+ * structure, and once on a sequential model, e.g., an ArrayDeque for a lock-free queue. For each schedule, a random list of
+ * operations with random arguments is generated per thread from the seed, the threads carry out their operations
+ * concurrently on a fresh structure, and the invocation and response of each operation is stamped with a global counter. The
+ * resulting history, kept in arrays that are allocated once for all schedules, is then checked against the model with a
+ * Wing-Gong search: the search tries to linearize the next operation of each thread whose invocation is not preceded by the
+ * response of another pending operation, and backtracks when the result differs from the model. States that failed before
+ * (the progress of each thread plus the model) are remembered, so the search does not explore them again. A way to use the
+ * class is, for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   LinearizabilityTest.check(MyQueue::new, ArrayDeque::new, ArrayDeque::new, List.of(
+ *       new Operation&lt;&gt;("offer", 10, (q, a) -&gt; q.offer(a), (m, a) -&gt; m.offer(a)),
+ *       new Operation&lt;&gt;("poll", 0, (q, a) -&gt; q.poll(), (m, a) -&gt; m.poll())));
+ * </code>
+ * </pre>
+ *
+ * Results are compared with equals; when an operation throws, the class of the throwable is compared instead. The model
+ * should implement equals and hashCode on its contents to get the full benefit of remembering failed states; a model that
+ * uses identity equality gives correct but slower checks. The seed of a failing schedule is reported, and the run can be
+ * repeated with the method that takes an explicit seed, or with the system property <code>djutils.property.seed</code>.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class LinearizabilityTest
+{
+    /** the default number of threads. */
+    public static final int DEFAULT_THREADS = 3;
+
+    /** the default number of operations per thread. */
+    public static final int DEFAULT_OPERATIONS_PER_THREAD = 5;
+
+    /** the default number of schedules. */
+    public static final int DEFAULT_SCHEDULES = 1000;
+
+    /** the maximum time for the threads to carry out one schedule, in seconds. */
+    private static final long SCHEDULE_TIMEOUT_SECONDS = 10L;
+
+    /** */
+    private LinearizabilityTest()
+    {
+        // utility class
+    }
+
+    /**
+     * Check the linearizability of a concurrent structure against a sequential model, using the default number of threads,
+     * operations per thread and schedules, and a random seed.
+     * @param structure the supplier of a fresh concurrent structure for each schedule
+     * @param model the supplier of a fresh sequential model for each schedule
+     * @param copy a function that returns an independent copy of a model
+     * @param operations the operations that can be carried out on the structure and the model
+     * @param <C> the type of the concurrent structure
+     * @param <M> the type of the sequential model
+     * @throws AssertionError when a history cannot be linearized
+     */
+    public static <C, M> void check(final Supplier<C> structure, final Supplier<M> model, final UnaryOperator<M> copy,
+            final List<Operation<C, M>> operations)
+    {
+        check(structure, model, copy, operations, DEFAULT_THREADS, DEFAULT_OPERATIONS_PER_THREAD, DEFAULT_SCHEDULES,
+                PropertyTest.defaultSeed(), null);
+    }
+
+    /**
+     * Check the linearizability of a concurrent structure against a sequential model.
+     * @param structure the supplier of a fresh concurrent structure for each schedule
+     * @param model the supplier of a fresh sequential model for each schedule
+     * @param copy a function that returns an independent copy of a model
+     * @param operations the operations that can be carried out on the structure and the model
+     * @param threads the number of threads that carry out operations concurrently
+     * @param operationsPerThread the number of operations of each thread in a schedule
+     * @param schedules the number of schedules to generate and check
+     * @param seed the seed for the generated schedules
+     * @param message message to use in the AssertionError when the test fails
+     * @param <C> the type of the concurrent structure
+     * @param <M> the type of the sequential model
+     * @throws AssertionError when a history cannot be linearized, or when a schedule does not finish in time
+     * @throws IllegalArgumentException when there are no operations, or threads, operationsPerThread or schedules &lt; 1
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public static <C, M> void check(final Supplier<C> structure, final Supplier<M> model, final UnaryOperator<M> copy,
+            final List<Operation<C, M>> operations, final int threads, final int operationsPerThread, final int schedules,
+            final long seed, final String message)
+    {
+        if (operations.isEmpty() || threads < 1 || operationsPerThread < 1 || schedules < 1)
+        {
+            throw new IllegalArgumentException("no operations, or threads, operationsPerThread or schedules < 1");
+        }
+        History history = new History(threads, operationsPerThread);
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable ->
+        {
+            Thread thread = new Thread(runnable, "LinearizabilityTest");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try
+        {
+            for (int schedule = 0; schedule < schedules; schedule++)
+            {
+                history.generate(operations.size(), PropertyTest.mix(seed, schedule), operations);
+                history.run(structure.get(), operations, pool);
+                if (!history.linearizable(model.get(), copy, operations))
+                {
+                    throw new AssertionError(message + "; History of schedule " + schedule + " is not linearizable; seed = "
+                            + seed + "\n" + history.describe(operations));
+                }
+            }
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Compare the result of an operation on the structure with the result of the same operation on the model.
+     * @param actual the result on the concurrent structure
+     * @param expected the result on the sequential model
+     * @return whether the results are the same, or are throwables of the same class
+     */
+    private static boolean sameResult(final Object actual, final Object expected)
+    {
+        if (actual instanceof Throwable && expected instanceof Throwable)
+        {
+            return actual.getClass().equals(expected.getClass());
+        }
+        return Objects.equals(actual, expected);
+    }
+
+    /**
+     * Step carries out an operation on a target with an argument, and returns the result.
+     * @param <T> the type of the target
+     */
+    @FunctionalInterface
+    public interface Step<T>
+    {
+        /**
+         * Carry out the operation.
+         * @param target the concurrent structure or sequential model
+         * @param argument the generated argument of the operation
+         * @return the result of the operation, or null for an operation without a result
+         * @throws Throwable when the operation fails
+         */
+        Object apply(T target, int argument) throws Throwable;
+    }
+
+    /**
+     * Operation declares an operation on the concurrent structure and the corresponding operation on the sequential model.
+     * @param name the name of the operation, for the failure message
+     * @param argumentBound the arguments are generated in [0, argumentBound), or are 0 when argumentBound &lt;= 0
+     * @param concurrent the operation on the concurrent structure
+     * @param sequential the operation on the sequential model
+     * @param <C> the type of the concurrent structure
+     * @param <M> the type of the sequential model
+     */
+    public record Operation<C, M>(String name, int argumentBound, Step<C> concurrent, Step<M> sequential)
+    {
+    }
+
+    /**
+     * History keeps the operations of one schedule, and the invocations, responses and results of the operations when they
+     * were carried out. The arrays are indexed by thread * operationsPerThread + index, and are reused for all schedules.
+     */
+    private static final class History
+    {
+        /** the number of threads. */
+        private final int threads;
+
+        /** the number of operations per thread. */
+        private final int perThread;
+
+        /** the index of the operation in the list of operations. */
+        private final int[] operation;
+
+        /** the generated argument of the operation. */
+        private final int[] argument;
+
+        /** the value of the clock at the invocation of the operation. */
+        private final long[] invoke;
+
+        /** the value of the clock at the response of the operation. */
+        private final long[] response;
+
+        /** the result or throwable of the operation. */
+        private final Object[] result;
+
+        /** the clock that orders the invocations and responses of all threads. */
+        private final AtomicLong clock = new AtomicLong();
+
+        /**
+         * Allocate the arrays of the history.
+         * @param threads the number of threads
+         * @param perThread the number of operations per thread
+         */
+        History(final int threads, final int perThread)
+        {
+            this.threads = threads;
+            this.perThread = perThread;
+            int n = threads * perThread;
+            this.operation = new int[n];
+            this.argument = new int[n];
+            this.invoke = new long[n];
+            this.response = new long[n];
+            this.result = new Object[n];
+        }
+
+        /**
+         * Generate the operations and arguments of a schedule.
+         * @param count the number of declared operations
+         * @param scheduleSeed the seed of the schedule
+         * @param operations the declared operations
+         */
+        void generate(final int count, final long scheduleSeed, final List<? extends Operation<?, ?>> operations)
+        {
+            SplittableRandom random = new SplittableRandom(scheduleSeed);
+            for (int i = 0; i < this.operation.length; i++)
+            {
+                this.operation[i] = random.nextInt(count);
+                int bound = operations.get(this.operation[i]).argumentBound();
+                this.argument[i] = bound <= 0 ? 0 : random.nextInt(bound);
+            }
+        }
+
+        /**
+         * Carry out the schedule on the structure, with one task per thread that starts at a common barrier.
+         * @param structure the fresh concurrent structure
+         * @param operations the declared operations
+         * @param pool the thread pool
+         * @param <C> the type of the concurrent structure
+         * @throws AssertionError when the schedule does not finish in time
+         */
+        <C> void run(final C structure, final List<? extends Operation<C, ?>> operations, final ExecutorService pool)
+        {
+            CyclicBarrier barrier = new CyclicBarrier(this.threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < this.threads; t++)
+            {
+                final int first = t * this.perThread;
+                futures.add(pool.submit(() ->
+                {
+                    barrier.await();
+                    for (int i = first; i < first + this.perThread; i++)
+                    {
+                        Step<C> step = operations.get(this.operation[i]).concurrent();
+                        this.invoke[i] = this.clock.incrementAndGet();
+                        try
+                        {
+                            this.result[i] = step.apply(structure, this.argument[i]);
+                        }
+                        catch (Throwable cause)
+                        {
+                            this.result[i] = cause;
+                        }
+                        this.response[i] = this.clock.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures)
+            {
+                try
+                {
+                    // the completion of the future makes the writes of the task visible here
+                    future.get(SCHEDULE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException exception)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new AssertionError("Interrupted while waiting for a schedule", exception);
+                }
+                catch (ExecutionException exception)
+                {
+                    throw new AssertionError("Schedule failed; " + exception.getCause(), exception.getCause());
+                }
+                catch (TimeoutException exception)
+                {
+                    throw new AssertionError("Schedule did not finish within " + SCHEDULE_TIMEOUT_SECONDS + " s",
+                            exception);
+                }
+            }
+        }
+
+        /**
+         * Return whether the history can be linearized against the model.
+         * @param model the fresh sequential model
+         * @param copy a function that returns an independent copy of a model
+         * @param operations the declared operations
+         * @param <M> the type of the sequential model
+         * @return whether the history can be linearized
+         */
+        <M> boolean linearizable(final M model, final UnaryOperator<M> copy, final List<? extends Operation<?, M>> operations)
+        {
+            return search(new int[this.threads], model, copy, operations, new HashSet<>());
+        }
+
+        /**
+         * Try to linearize the remaining operations, given the progress of each thread and the state of the model.
+         * @param progress the number of linearized operations of each thread
+         * @param model the state of the model after the linearized operations
+         * @param copy a function that returns an independent copy of a model
+         * @param operations the declared operations
+         * @param failed the states from which no linearization exists
+         * @param <M> the type of the sequential model
+         * @return whether the remaining operations can be linearized
+         */
+        private <M> boolean search(final int[] progress, final M model, final UnaryOperator<M> copy,
+                final List<? extends Operation<?, M>> operations, final Set<State> failed)
+        {
+            boolean done = true;
+            for (int t = 0; t < this.threads; t++)
+            {
+                if (progress[t] < this.perThread && minimal(progress, t))
+                {
+                    done = false;
+                    int i = t * this.perThread + progress[t];
+                    M next = copy.apply(model);
+                    Object expected;
+                    try
+                    {
+                        expected = operations.get(this.operation[i]).sequential().apply(next, this.argument[i]);
+                    }
+                    catch (Throwable cause)
+                    {
+                        expected = cause;
+                    }
+                    if (sameResult(this.result[i], expected))
+                    {
+                        progress[t]++;
+                        State state = new State(progress.clone(), next);
+                        boolean found = !failed.contains(state) && search(progress, next, copy, operations, failed);
+                        progress[t]--;
+                        if (found)
+                        {
+                            return true;
+                        }
+                        failed.add(state);
+                    }
+                }
+                else if (progress[t] < this.perThread)
+                {
+                    done = false;
+                }
+            }
+            return done;
+        }
+
+        /**
+         * Return whether the next operation of a thread can be linearized first, i.e., whether no pending operation of another
+         * thread responded before it was invoked. Within a thread, the first pending operation responds first.
+         * @param progress the number of linearized operations of each thread
+         * @param thread the thread
+         * @return whether the next operation of the thread can be linearized first
+         */
+        private boolean minimal(final int[] progress, final int thread)
+        {
+            long invoked = this.invoke[thread * this.perThread + progress[thread]];
+            for (int u = 0; u < this.threads; u++)
+            {
+                if (u != thread && progress[u] < this.perThread && this.response[u * this.perThread + progress[u]] < invoked)
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Return a description of the history, one line per operation, ordered by thread.
+         * @param operations the declared operations
+         * @return a description of the history
+         */
+        String describe(final List<? extends Operation<?, ?>> operations)
+        {
+            StringBuilder description = new StringBuilder();
+            for (int i = 0; i < this.operation.length; i++)
+            {
+                Object value = this.result[i] instanceof Throwable ? this.result[i].getClass().getSimpleName() : this.result[i];
+                description.append("  thread ").append(i / this.perThread).append(": ")
+                        .append(operations.get(this.operation[i]).name()).append('(').append(this.argument[i]).append(") = ")
+                        .append(value).append("  [").append(this.invoke[i]).append(", ").append(this.response[i])
+                        .append("]\n");
+            }
+            return description.toString();
+        }
+    }
+
+    /**
+     * State is the progress of each thread plus the state of the model, to remember the states that cannot be linearized.
+     * @param progress the number of linearized operations of each thread
+     * @param model the state of the model
+     */
+    private record State(int[] progress, Object model)
+    {
+        @Override
+        public boolean equals(final Object obj)
+        {
+            return obj instanceof State other && Arrays.equals(this.progress, other.progress)
+                    && Objects.equals(this.model, other.model);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * Arrays.hashCode(this.progress) + Objects.hashCode(this.model);
+        }
+
+        @Override
+        public String toString()
+        {
+            return "State [progress=" + Arrays.toString(this.progress) + ", model=" + this.model + "]";
+        }
+    }
+}
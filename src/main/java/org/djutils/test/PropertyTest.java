@@ -0,0 +1,368 @@
+package org.djutils.test;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleFunction;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+import java.util.stream.IntStream;
+
+import org.djutils.test.UnitTest.Assignment;
+
+/**
+ * PropertyTest extends UnitTest.testFail(...) from single examples to many generated inputs. The property that is tested is
+ * that an assignment throws the expected exception for all inputs in a domain of int, long or double values. The inputs are
+ * generated as primitives from a seed, without boxing, and the trials are carried out in parallel. The first trials use the
+ * edges of the domain (minimum, maximum, zero, and their neighbours). When an input is found for which the assignment does
+ * not throw the expected exception, the input is shrunk towards zero (or towards the domain edge closest to zero) to a
+ * minimal counterexample, which is reported together with the seed. A way to use the class is, for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   PropertyTest.testFailForAllInts(Integer.MIN_VALUE, -1, i -&gt; () -&gt; new Buffer(i), IllegalArgumentException.class);
+ * </code>
+ * </pre>
+ *
+ * The seed of a failing run is reported in the AssertionError. The run can be repeated with that seed by passing it to the
+ * methods with an explicit seed, or by setting the system property <code>djutils.property.seed</code>.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class PropertyTest
+{
+    /** the default number of trials. */
+    public static final int DEFAULT_TRIALS = 10_000;
+
+    /** the maximum number of shrink steps for a double counterexample. */
+    private static final int MAX_DOUBLE_SHRINK_STEPS = 2000;
+
+    /** */
+    private PropertyTest()
+    {
+        // utility class
+    }
+
+    /**
+     * Test that the assignment throws the expected exception for all generated int values in the closed interval [min, max],
+     * using the default number of trials and a random seed.
+     * @param min the minimum value of the domain (inclusive)
+     * @param max the maximum value of the domain (inclusive)
+     * @param assignmentFunction function that creates the assignment for an input value
+     * @param expectedThrowableClass the class of the exception we expect each assignment to throw
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @throws AssertionError when an input is found for which the assignment does not throw the correct exception
+     */
+    public static <T extends Throwable> void testFailForAllInts(final int min, final int max,
+            final IntFunction<Assignment<?>> assignmentFunction, final Class<T> expectedThrowableClass)
+    {
+        testFailForAllInts(min, max, DEFAULT_TRIALS, defaultSeed(), assignmentFunction, null, expectedThrowableClass);
+    }
+
+    /**
+     * Test that the assignment throws the expected exception for all generated int values in the closed interval [min, max].
+     * @param min the minimum value of the domain (inclusive)
+     * @param max the maximum value of the domain (inclusive)
+     * @param trials the number of generated inputs
+     * @param seed the seed for the generated inputs
+     * @param assignmentFunction function that creates the assignment for an input value
+     * @param message message to use in the AssertionError when the test fails
+     * @param expectedThrowableClass the class of the exception we expect each assignment to throw
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @throws AssertionError when an input is found for which the assignment does not throw the correct exception
+     * @throws IllegalArgumentException when min &gt; max or trials &lt; 1
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public static <T extends Throwable> void testFailForAllInts(final int min, final int max, final int trials, final long seed,
+            final IntFunction<Assignment<?>> assignmentFunction, final String message, final Class<T> expectedThrowableClass)
+    {
+        testFailForAllIntegers(min, max, trials, seed, v -> assignmentFunction.apply((int) v), message,
+                expectedThrowableClass, "int");
+    }
+
+    /**
+     * Test that the assignment throws the expected exception for all generated long values in the closed interval [min, max],
+     * using the default number of trials and a random seed.
+     * @param min the minimum value of the domain (inclusive)
+     * @param max the maximum value of the domain (inclusive)
+     * @param assignmentFunction function that creates the assignment for an input value
+     * @param expectedThrowableClass the class of the exception we expect each assignment to throw
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @throws AssertionError when an input is found for which the assignment does not throw the correct exception
+     */
+    public static <T extends Throwable> void testFailForAllLongs(final long min, final long max,
+            final LongFunction<Assignment<?>> assignmentFunction, final Class<T> expectedThrowableClass)
+    {
+        testFailForAllLongs(min, max, DEFAULT_TRIALS, defaultSeed(), assignmentFunction, null, expectedThrowableClass);
+    }
+
+    /**
+     * Test that the assignment throws the expected exception for all generated long values in the closed interval [min, max].
+     * @param min the minimum value of the domain (inclusive)
+     * @param max the maximum value of the domain (inclusive)
+     * @param trials the number of generated inputs
+     * @param seed the seed for the generated inputs
+     * @param assignmentFunction function that creates the assignment for an input value
+     * @param message message to use in the AssertionError when the test fails
+     * @param expectedThrowableClass the class of the exception we expect each assignment to throw
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @throws AssertionError when an input is found for which the assignment does not throw the correct exception
+     * @throws IllegalArgumentException when min &gt; max or trials &lt; 1
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public static <T extends Throwable> void testFailForAllLongs(final long min, final long max, final int trials,
+            final long seed, final LongFunction<Assignment<?>> assignmentFunction, final String message,
+            final Class<T> expectedThrowableClass)
+    {
+        testFailForAllIntegers(min, max, trials, seed, assignmentFunction, message, expectedThrowableClass, "long");
+    }
+
+    /**
+     * Test that the assignment throws the expected exception for all generated double values in the closed interval [min,
+     * max], using the default number of trials and a random seed.
+     * @param min the minimum value of the domain (inclusive)
+     * @param max the maximum value of the domain (inclusive)
+     * @param assignmentFunction function that creates the assignment for an input value
+     * @param expectedThrowableClass the class of the exception we expect each assignment to throw
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @throws AssertionError when an input is found for which the assignment does not throw the correct exception
+     */
+    public static <T extends Throwable> void testFailForAllDoubles(final double min, final double max,
+            final DoubleFunction<Assignment<?>> assignmentFunction, final Class<T> expectedThrowableClass)
+    {
+        testFailForAllDoubles(min, max, DEFAULT_TRIALS, defaultSeed(), assignmentFunction, null, expectedThrowableClass);
+    }
+
+    /**
+     * Test that the assignment throws the expected exception for all generated double values in the closed interval [min,
+     * max]. The values are uniformly distributed over the interval, after the edges of the interval have been tried.
+     * @param min the minimum value of the domain (inclusive), should be finite
+     * @param max the maximum value of the domain (inclusive), should be finite
+     * @param trials the number of generated inputs
+     * @param seed the seed for the generated inputs
+     * @param assignmentFunction function that creates the assignment for an input value
+     * @param message message to use in the AssertionError when the test fails
+     * @param expectedThrowableClass the class of the exception we expect each assignment to throw
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @throws AssertionError when an input is found for which the assignment does not throw the correct exception
+     * @throws IllegalArgumentException when min or max is not finite, when min &gt; max, or when trials &lt; 1
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public static <T extends Throwable> void testFailForAllDoubles(final double min, final double max, final int trials,
+            final long seed, final DoubleFunction<Assignment<?>> assignmentFunction, final String message,
+            final Class<T> expectedThrowableClass)
+    {
+        if (!Double.isFinite(min) || !Double.isFinite(max) || min > max || trials < 1)
+        {
+            throw new IllegalArgumentException("Invalid domain [" + min + ", " + max + "] or trials " + trials);
+        }
+        double target = min > 0.0 ? min : max < 0.0 ? max : 0.0;
+        double[] edges = Arrays.stream(new double[] {min, max, target, Math.nextUp(min), Math.nextDown(max), 1.0, -1.0})
+                .filter(v -> v >= min && v <= max).distinct().toArray();
+        OptionalInt failingTrial = IntStream.range(0, trials).parallel()
+                .filter(k -> fails(assignmentFunction.apply(doubleValue(k, edges, min, max, seed)), expectedThrowableClass))
+                .findFirst();
+        if (failingTrial.isEmpty())
+        {
+            return;
+        }
+        int trial = failingTrial.getAsInt();
+        double original = doubleValue(trial, edges, min, max, seed);
+
+        // shrink towards the target: try the value rounded to an integer when that is closer, the target, and halfway points
+        double current = original;
+        int steps = 0;
+        boolean progress = true;
+        while (progress && steps < MAX_DOUBLE_SHRINK_STEPS)
+        {
+            progress = false;
+            double rounded = Math.rint(current);
+            if (Math.abs(rounded - target) < Math.abs(current - target) && rounded >= min && rounded <= max
+                    && fails(assignmentFunction.apply(rounded), expectedThrowableClass))
+            {
+                current = rounded;
+                steps++;
+                progress = true;
+                continue;
+            }
+            for (double d = current - target; d != 0.0 && current - d != current; d /= 2.0)
+            {
+                double candidate = current - d;
+                if (fails(assignmentFunction.apply(candidate), expectedThrowableClass))
+                {
+                    current = candidate;
+                    steps++;
+                    progress = true;
+                    break;
+                }
+            }
+        }
+        throw counterexample(message, "double", Double.toString(current), Double.toString(original), steps, trial, seed,
+                UnitTest.failureReason(assignmentFunction.apply(current), expectedThrowableClass));
+    }
+
+    /**
+     * Test that the assignment throws the expected exception for all generated integer values in the closed interval [min,
+     * max], and shrink a counterexample when one is found. Int values are handled as long values.
+     * @param min the minimum value of the domain (inclusive)
+     * @param max the maximum value of the domain (inclusive)
+     * @param trials the number of generated inputs
+     * @param seed the seed for the generated inputs
+     * @param assignmentFunction function that creates the assignment for an input value
+     * @param message message to use in the AssertionError when the test fails
+     * @param expectedThrowableClass the class of the exception we expect each assignment to throw
+     * @param type "int" or "long", for the message
+     * @throws AssertionError when an input is found for which the assignment does not throw the correct exception
+     * @throws IllegalArgumentException when min &gt; max or trials &lt; 1
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    private static void testFailForAllIntegers(final long min, final long max, final int trials, final long seed,
+            final LongFunction<Assignment<?>> assignmentFunction, final String message, final Class<?> expectedThrowableClass,
+            final String type)
+    {
+        if (min > max || trials < 1)
+        {
+            throw new IllegalArgumentException("Invalid domain [" + min + ", " + max + "] or trials " + trials);
+        }
+        long target = min > 0L ? min : max < 0L ? max : 0L;
+        long[] edges = Arrays.stream(new long[] {min, max, target, min + 1, max - 1, 1L, -1L})
+                .filter(v -> v >= min && v <= max).distinct().toArray();
+        // the number of values in the domain; 0 when the domain spans all long values
+        long range = max - min + 1;
+        OptionalInt failingTrial = IntStream.range(0, trials).parallel()
+                .filter(k -> fails(assignmentFunction.apply(integerValue(k, edges, min, range, seed)), expectedThrowableClass))
+                .findFirst();
+        if (failingTrial.isEmpty())
+        {
+            return;
+        }
+        int trial = failingTrial.getAsInt();
+        long original = integerValue(trial, edges, min, range, seed);
+
+        // shrink towards the target: try the target itself, and then values that are halfway, a quarter, ... closer
+        long current = original;
+        int steps = 0;
+        boolean progress = true;
+        while (progress)
+        {
+            progress = false;
+            // the target is zero or lies on the same side of zero as the current value, so the distance cannot overflow
+            for (long distance = current - target; distance != 0; distance /= 2)
+            {
+                long candidate = current - distance;
+                if (fails(assignmentFunction.apply(candidate), expectedThrowableClass))
+                {
+                    current = candidate;
+                    steps++;
+                    progress = true;
+                    break;
+                }
+            }
+        }
+        throw counterexample(message, type, Long.toString(current), Long.toString(original), steps, trial, seed,
+                UnitTest.failureReason(assignmentFunction.apply(current), expectedThrowableClass));
+    }
+
+    /**
+     * Return the generated integer value for a trial.
+     * @param trial the trial number
+     * @param edges the edge values that are used for the first trials
+     * @param min the minimum value of the domain
+     * @param range the number of values in the domain, or 0 when the domain spans all long values
+     * @param seed the seed for the generated inputs
+     * @return the generated integer value for the trial
+     */
+    private static long integerValue(final int trial, final long[] edges, final long min, final long range, final long seed)
+    {
+        if (trial < edges.length)
+        {
+            return edges[trial];
+        }
+        long random = mix(seed, trial);
+        return range == 0 ? random : min + Long.remainderUnsigned(random, range);
+    }
+
+    /**
+     * Return the generated double value for a trial.
+     * @param trial the trial number
+     * @param edges the edge values that are used for the first trials
+     * @param min the minimum value of the domain
+     * @param max the maximum value of the domain
+     * @param seed the seed for the generated inputs
+     * @return the generated double value for the trial
+     */
+    private static double doubleValue(final int trial, final double[] edges, final double min, final double max,
+            final long seed)
+    {
+        if (trial < edges.length)
+        {
+            return edges[trial];
+        }
+        // 53 random bits give a uniform value in [0, 1); interpolate, since max - min can overflow to infinity
+        double u = (mix(seed, trial) >>> 11) * 0x1.0p-53;
+        return Math.max(min, Math.min(max, min * (1.0 - u) + max * u));
+    }
+
+    /**
+     * Return whether the assignment does not throw the expected exception, i.e., whether the property fails.
+     * @param assignment the assignment to carry out
+     * @param expectedThrowableClass the class of the exception we expect the assignment to throw
+     * @return whether the assignment does not throw the expected exception
+     */
+    private static boolean fails(final Assignment<?> assignment, final Class<?> expectedThrowableClass)
+    {
+        return UnitTest.failureReason(assignment, expectedThrowableClass) != null;
+    }
+
+    /**
+     * Return a pseudo-random value for a trial, using the SplitMix64 finalizer. Every trial has its own value independent of
+     * the order in which the trials are carried out, so parallel runs are reproducible.
+     * @param seed the seed
+     * @param trial the trial number
+     * @return a pseudo-random value for the trial
+     */
+    static long mix(final long seed, final long trial)
+    {
+        long z = seed + (trial + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Return the seed to use when no explicit seed is given: the value of the system property djutils.property.seed when it
+     * is set, and a random seed otherwise.
+     * @return the seed to use when no explicit seed is given
+     */
+    static long defaultSeed()
+    {
+        String seed = System.getProperty("djutils.property.seed");
+        return seed == null ? ThreadLocalRandom.current().nextLong() : Long.parseLong(seed);
+    }
+
+    /**
+     * Create the AssertionError for a counterexample.
+     * @param message message to use in the AssertionError
+     * @param type the type of the input
+     * @param shrunk the minimal counterexample
+     * @param original the original counterexample
+     * @param steps the number of shrink steps
+     * @param trial the trial that found the original counterexample
+     * @param seed the seed of the run
+     * @param reason the reason why the assignment failed the property for the minimal counterexample
+     * @return the AssertionError for the counterexample
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    private static AssertionError counterexample(final String message, final String type, final String shrunk,
+            final String original, final int steps, final int trial, final long seed, final String reason)
+    {
+        return new AssertionError(message + "; Assignment did not fail as expected for " + type + " input (" + shrunk + "): "
+                + reason + "; found in trial " + trial + " as (" + original + "), shrunk in " + steps + " steps; seed = "
+                + seed);
+    }
+}
@@ -0,0 +1,557 @@
+package org.djutils.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+
+import org.djutils.test.FixtureCache.Codec;
+
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ScanResult;
+
+/**
+ * SerializationAnalyzer finds the Serializable classes in the given packages, in the same way as ClassList, and measures for
+ * each class and codec the number of bytes per object, the time per write and per read, and the bytes allocated per write
+ * and per read. Java serialization is always measured, under the codec name {@link #JAVA}; alternative codecs are plugged in
+ * as a {@link FixtureCache.Codec}, and are applied to every class; a codec that throws for a class, e.g., a
+ * ClassCastException, skips that class. The samples are made by a registered generator per class, or, for records without a
+ * registered generator, by the default generator of {@link HashQualityAnalyzer}. When a class declares equals, every read
+ * object is checked to be equal to the written one. The measurements are taken after warm-up rounds over all samples of
+ * together at least {@link #WARMUP_OPERATIONS} writes and reads, so the codec has been compiled by C2, and the reported
+ * times and allocations are the median of {@link #MEASURED_ROUNDS} measured rounds; they include the ByteArrayOutputStream
+ * per write. The report can be stored as a csv baseline, which records the number of samples, the seed, and the number of
+ * warm-up operations and measured rounds, and a later run with the same number of samples and seed fails when a class has
+ * become larger or considerably slower. A way to use the class is, for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   SerializationReport report = SerializationAnalyzer.analyze(Map.of(Route.class, l -&gt; new Route(l)),
+ *       Map.of("kryo", kryoCodec), List.of("target/classes"), 1000, 1L, "org.djutils");
+ *   report.assertNoRegressions(Paths.get("src/test/resources/serialization-baseline.csv"), 1.5);
+ * </code>
+ * </pre>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class SerializationAnalyzer
+{
+    /** the codec name of Java serialization. */
+    public static final String JAVA = "java";
+
+    /** the default number of samples per class. */
+    public static final int DEFAULT_SAMPLES = 1000;
+
+    /** the csv header of the baseline file. */
+    static final String CSV_HEADER = "class,codec,samples,seed,warmupOperations,rounds,bytesPerObject,writeNanosPerOp,"
+            + "readNanosPerOp,writeAllocatedPerOp,readAllocatedPerOp";
+
+    /** the minimum number of writes, and of reads, before the measurement; well above the C2 compile thresholds. */
+    public static final int WARMUP_OPERATIONS = 10_000;
+
+    /** the number of measured rounds over all samples, of which the median is reported. */
+    public static final int MEASURED_ROUNDS = 5;
+
+    /** the minimum difference with the baseline in nanoseconds per operation before a time is flagged as regressed. */
+    private static final double REGRESSION_NOISE_NANOS = 200.0;
+
+    /** the minimum difference with the baseline in bytes per operation before an allocation is flagged as regressed. */
+    private static final double REGRESSION_NOISE_BYTES = 64.0;
+
+    /** */
+    private SerializationAnalyzer()
+    {
+        // utility class
+    }
+
+    /**
+     * Return the names of the classes on the given class path of the given packages that implement Serializable. By default,
+     * the check ignores anonymous inner classes, interfaces, annotation classes and enums, but includes records.
+     * @param classpath the directories or jar files to scan
+     * @param packageNameList a list of package names to check
+     * @return the names of the classes that implement Serializable, sorted on name
+     */
+    public static List<String> serializableClasses(final List<String> classpath, final String... packageNameList)
+    {
+        try (ScanResult scanResult = new ClassGraph() // .verbose() logs activities
+            .overrideClasspath(classpath) // main classes, and test classes when asked for
+            .enableAllInfo() // Scan classes, methods, fields, annotations
+            .acceptPackages(packageNameList) // Scan what's in pkg and subpackages (omit to scan all packages)
+            .scan())
+        {
+            return scanResult.getAllClasses()
+                .stream()
+                .filter(ci -> !ci.isInterface() && !ci.isEnum() && !ci.isAnnotation())
+                .filter(ci -> !ci.isAnonymousInnerClass())
+                .filter(ci -> ci.implementsInterface(Serializable.class))
+                .map(ClassInfo::getName)
+                .sorted()
+                .toList();
+        }
+    }
+
+    /**
+     * Measure Java serialization for the Serializable classes in target/classes of the given packages, with the default
+     * number of samples and a fixed seed.
+     * @param generators the generators of instances per class, that return equal instances for equal inputs
+     * @param packageNameList a list of package names to check
+     * @return the costs per class and codec
+     */
+    public static SerializationReport analyze(final Map<Class<?>, LongFunction<?>> generators,
+            final String... packageNameList)
+    {
+        return analyze(generators, Map.of(), List.of("target/classes"), DEFAULT_SAMPLES, 1L, packageNameList);
+    }
+
+    /**
+     * Measure Java serialization and the alternative codecs for the Serializable classes on the given class path of the given
+     * packages.
+     * @param generators the generators of instances per class, that return equal instances for equal inputs
+     * @param codecs the alternative codecs per name, next to Java serialization
+     * @param classpath the directories or jar files to scan
+     * @param samples the number of samples per class
+     * @param seed the seed of the inputs of the generators
+     * @param packageNameList a list of package names to check
+     * @return the costs per class and codec
+     * @throws IllegalArgumentException when samples &lt; 1, or when an alternative codec has the name of Java serialization
+     */
+    public static SerializationReport analyze(final Map<Class<?>, LongFunction<?>> generators,
+            final Map<String, Codec<Object>> codecs, final List<String> classpath, final int samples, final long seed,
+            final String... packageNameList)
+    {
+        if (samples < 1)
+        {
+            throw new IllegalArgumentException("samples < 1");
+        }
+        if (codecs.containsKey(JAVA))
+        {
+            throw new IllegalArgumentException("codec name " + JAVA + " is reserved for Java serialization");
+        }
+        Map<String, Codec<Object>> allCodecs = new LinkedHashMap<>();
+        allCodecs.put(JAVA, FixtureCache.serializable());
+        allCodecs.putAll(new TreeMap<>(codecs));
+        Map<String, LongFunction<?>> byName = generators.entrySet().stream()
+                .collect(Collectors.toMap(e -> e.getKey().getName(), Map.Entry::getValue));
+        List<SerializationCost> costs = new ArrayList<>();
+        Map<String, String> skipped = new TreeMap<>();
+        for (String className : serializableClasses(classpath, packageNameList))
+        {
+            LongFunction<?> generator = byName.get(className);
+            if (generator == null)
+            {
+                try
+                {
+                    Class<?> clazz = Class.forName(className, false, SerializationAnalyzer.class.getClassLoader());
+                    generator = clazz.isRecord() ? HashQualityAnalyzer.recordGenerator(clazz) : null;
+                }
+                catch (ClassNotFoundException | LinkageError exception)
+                {
+                    skipped.put(className, "cannot load class: " + exception);
+                    continue;
+                }
+            }
+            if (generator == null)
+            {
+                skipped.put(className, "no generator");
+                continue;
+            }
+            for (Map.Entry<String, Codec<Object>> codec : allCodecs.entrySet())
+            {
+                try
+                {
+                    costs.add(measure(className, generator, codec.getKey(), codec.getValue(), samples, seed));
+                }
+                catch (IOException | RuntimeException | LinkageError exception)
+                {
+                    skipped.put(className + " " + codec.getKey(), "failed: " + exception);
+                }
+            }
+        }
+        costs.sort(Comparator.comparingDouble((SerializationCost c) -> c.writeNanos() + c.readNanos()).reversed()
+                .thenComparing(SerializationCost::key));
+        return new SerializationReport(costs, skipped);
+    }
+
+    /**
+     * Measure the cost of one codec for the instances of one generator.
+     * @param className the name of the class, for the report
+     * @param generator the generator of instances, that returns equal instances for equal inputs
+     * @param codecName the name of the codec, for the report
+     * @param codec the codec
+     * @param samples the number of samples
+     * @param seed the seed of the inputs of the generator
+     * @return the cost of the codec per object
+     * @throws IOException when the codec fails
+     * @throws IllegalStateException when a read object is not equal to the written one, for a class that declares equals
+     */
+    public static SerializationCost measure(final String className, final LongFunction<?> generator, final String codecName,
+            final Codec<Object> codec, final int samples, final long seed) throws IOException
+    {
+        Object[] objects = new Object[samples];
+        for (int k = 0; k < samples; k++)
+        {
+            objects[k] = Objects.requireNonNull(generator.apply(PropertyTest.mix(seed, k)), "generator returned null");
+        }
+        byte[][] bytes = new byte[samples][];
+        Object[] read = new Object[samples];
+        long totalBytes = 0;
+        long[] writeNanos = new long[MEASURED_ROUNDS];
+        long[] readNanos = new long[MEASURED_ROUNDS];
+        long[] writeAllocated = new long[MEASURED_ROUNDS];
+        long[] readAllocated = new long[MEASURED_ROUNDS];
+        int warmupRounds = (WARMUP_OPERATIONS + samples - 1) / samples;
+        for (int round = -warmupRounds; round < MEASURED_ROUNDS; round++)
+        {
+            long allocated = ThreadCost.allocatedBytes();
+            long start = System.nanoTime();
+            for (int k = 0; k < samples; k++)
+            {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                codec.write(objects[k], out);
+                bytes[k] = out.toByteArray();
+            }
+            long write = System.nanoTime() - start;
+            long writeAllocation = ThreadCost.allocatedBytes() - allocated;
+            allocated = ThreadCost.allocatedBytes();
+            start = System.nanoTime();
+            for (int k = 0; k < samples; k++)
+            {
+                read[k] = codec.read(ByteBuffer.wrap(bytes[k]).asReadOnlyBuffer());
+            }
+            if (round >= 0)
+            {
+                readNanos[round] = System.nanoTime() - start;
+                readAllocated[round] = ThreadCost.allocatedBytes() - allocated;
+                writeNanos[round] = write;
+                writeAllocated[round] = writeAllocation;
+            }
+        }
+        boolean declaresEquals = declaresEquals(objects[0].getClass());
+        for (int k = 0; k < samples; k++)
+        {
+            totalBytes += bytes[k].length;
+            if (declaresEquals && !objects[k].equals(read[k]))
+            {
+                throw new IllegalStateException(
+                        "round trip of sample " + k + " gives " + read[k] + " instead of " + objects[k]);
+            }
+        }
+        return new SerializationCost(className, codecName, samples, seed, warmupRounds * samples, MEASURED_ROUNDS,
+                (double) totalBytes / samples, (double) median(writeNanos) / samples, (double) median(readNanos) / samples,
+                (double) median(writeAllocated) / samples, (double) median(readAllocated) / samples);
+    }
+
+    /**
+     * Return the median of the measurements of the rounds.
+     * @param values the measurements of the rounds
+     * @return the median of the measurements, the upper one of the middle two for an even number of rounds
+     */
+    private static long median(final long[] values)
+    {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    /**
+     * Return whether a class or one of its superclasses other than Object declares equals.
+     * @param clazz the class
+     * @return whether a class or one of its superclasses other than Object declares equals
+     */
+    private static boolean declaresEquals(final Class<?> clazz)
+    {
+        try
+        {
+            return clazz.getMethod("equals", Object.class).getDeclaringClass() != Object.class;
+        }
+        catch (NoSuchMethodException exception)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Read the costs per class and codec from a baseline file.
+     * @param baselineFile the csv baseline file
+     * @return the costs per key (class and codec), empty when the file does not exist
+     * @throws UncheckedIOException when the file cannot be read
+     */
+    public static Map<String, SerializationCost> readBaseline(final Path baselineFile)
+    {
+        Map<String, SerializationCost> baseline = new TreeMap<>();
+        if (Files.exists(baselineFile))
+        {
+            try
+            {
+                for (String line : Files.readAllLines(baselineFile, StandardCharsets.UTF_8))
+                {
+                    SerializationCost cost = SerializationCost.parse(line);
+                    if (cost != null)
+                    {
+                        baseline.put(cost.key(), cost);
+                    }
+                }
+            }
+            catch (IOException exception)
+            {
+                throw new UncheckedIOException(exception);
+            }
+        }
+        return baseline;
+    }
+
+    /**
+     * SerializationCost contains the cost per object of one codec for one class.
+     * @param className the name of the class
+     * @param codec the name of the codec
+     * @param samples the number of samples
+     * @param seed the seed of the inputs of the generator
+     * @param warmupOperations the number of writes, and of reads, before the measurement
+     * @param rounds the number of measured rounds over all samples
+     * @param bytes the mean number of bytes per object
+     * @param writeNanos the mean time of a write in nanoseconds, the median over the rounds
+     * @param readNanos the mean time of a read in nanoseconds, the median over the rounds
+     * @param writeAllocated the mean number of bytes allocated by a write, the median over the rounds, or 0 when the JVM
+     *            cannot measure it
+     * @param readAllocated the mean number of bytes allocated by a read, the median over the rounds, or 0 when the JVM cannot
+     *            measure it
+     */
+    public record SerializationCost(String className, String codec, int samples, long seed, int warmupOperations,
+            int rounds, double bytes, double writeNanos, double readNanos, double writeAllocated, double readAllocated)
+    {
+        /**
+         * Return the key that identifies the class and codec in the baseline.
+         * @return the key that identifies the class and codec in the baseline
+         */
+        public String key()
+        {
+            return this.className + " " + this.codec;
+        }
+
+        /**
+         * Return the regressions of this cost relative to a baseline: a larger size, or a time or allocation above the baseline
+         * times the regression factor. The size is deterministic for a fixed number of samples and seed, so any growth is a
+         * regression. A baseline with another number of samples or seed is not compared, and is reported as not comparable.
+         * @param baseline the baseline cost, may be null
+         * @param regressionFactor the factor relative to the baseline above which a time or allocation is flagged as regressed
+         * @return a description of each regression, empty when there is none or when there is no baseline
+         */
+        public List<String> regressions(final SerializationCost baseline, final double regressionFactor)
+        {
+            List<String> result = new ArrayList<>();
+            if (baseline == null)
+            {
+                return result;
+            }
+            if (this.samples != baseline.samples || this.seed != baseline.seed)
+            {
+                result.add(String.format(Locale.US, "%s: baseline not comparable, %d samples with seed %d, baseline %d samples "
+                        + "with seed %d", key(), this.samples, this.seed, baseline.samples, baseline.seed));
+                return result;
+            }
+            if (this.bytes > baseline.bytes)
+            {
+                result.add(String.format(Locale.US, "%s: %.1f bytes, baseline %.1f", key(), this.bytes, baseline.bytes));
+            }
+            regression(result, "write ns", this.writeNanos, baseline.writeNanos, regressionFactor, REGRESSION_NOISE_NANOS);
+            regression(result, "read ns", this.readNanos, baseline.readNanos, regressionFactor, REGRESSION_NOISE_NANOS);
+            regression(result, "write allocated bytes", this.writeAllocated, baseline.writeAllocated, regressionFactor,
+                    REGRESSION_NOISE_BYTES);
+            regression(result, "read allocated bytes", this.readAllocated, baseline.readAllocated, regressionFactor,
+                    REGRESSION_NOISE_BYTES);
+            return result;
+        }
+
+        /**
+         * Add a regression of a measurement to the list when the value is above the baseline times the regression factor.
+         * @param result the list of regressions
+         * @param name the name of the measurement
+         * @param value the value of this run
+         * @param baselineValue the value of the baseline
+         * @param regressionFactor the factor relative to the baseline above which the value is flagged as regressed
+         * @param noise the minimum difference with the baseline before the value is flagged as regressed
+         */
+        private void regression(final List<String> result, final String name, final double value, final double baselineValue,
+                final double regressionFactor, final double noise)
+        {
+            if (value > baselineValue * regressionFactor && value - baselineValue > noise)
+            {
+                result.add(String.format(Locale.US, "%s: %.0f %s per op, baseline %.0f", key(), value, name, baselineValue));
+            }
+        }
+
+        /**
+         * Return the csv line for this cost.
+         * @return the csv line for this cost
+         */
+        public String toCsv()
+        {
+            return String.format(Locale.US, "%s,%s,%d,%d,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f", this.className, this.codec,
+                    this.samples, this.seed, this.warmupOperations, this.rounds, this.bytes, this.writeNanos, this.readNanos,
+                    this.writeAllocated, this.readAllocated);
+        }
+
+        /**
+         * Parse a csv line of the baseline file.
+         * @param line the csv line
+         * @return the cost, or null when the line is a header or is not valid, e.g., a line without the seed, warm-up
+         *         operations and rounds
+         */
+        public static SerializationCost parse(final String line)
+        {
+            String[] fields = line.split(",", -1);
+            if (fields.length != 11)
+            {
+                return null;
+            }
+            try
+            {
+                return new SerializationCost(fields[0], fields[1], Integer.parseInt(fields[2]), Long.parseLong(fields[3]),
+                        Integer.parseInt(fields[4]), Integer.parseInt(fields[5]), Double.parseDouble(fields[6]),
+                        Double.parseDouble(fields[7]), Double.parseDouble(fields[8]), Double.parseDouble(fields[9]),
+                        Double.parseDouble(fields[10]));
+            }
+            catch (NumberFormatException exception)
+            {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * SerializationReport contains the costs per class and codec, with the most expensive write and read first, and the
+     * classes and codecs that could not be measured.
+     * @param costs the costs per class and codec, sorted on descending write plus read time
+     * @param skipped the reason per class, or per class and codec, sorted on name, for what could not be measured
+     */
+    public record SerializationReport(List<SerializationCost> costs, Map<String, String> skipped)
+    {
+        /**
+         * Return the cost of a codec for a class.
+         * @param className the name of the class
+         * @param codec the name of the codec
+         * @return the cost of the codec for the class, or null when it was not measured
+         */
+        public SerializationCost get(final String className, final String codec)
+        {
+            return this.costs.stream().filter(c -> c.className().equals(className) && c.codec().equals(codec)).findFirst()
+                    .orElse(null);
+        }
+
+        /**
+         * Return the regressions relative to a baseline file.
+         * @param baselineFile the csv baseline file; when it does not exist, there are no regressions
+         * @param regressionFactor the factor relative to the baseline above which a time or allocation is flagged as regressed
+         * @return a description of each regression
+         * @throws UncheckedIOException when the baseline file cannot be read
+         */
+        public List<String> regressions(final Path baselineFile, final double regressionFactor)
+        {
+            Map<String, SerializationCost> baseline = readBaseline(baselineFile);
+            List<String> result = new ArrayList<>();
+            this.costs.forEach(cost -> result.addAll(cost.regressions(baseline.get(cost.key()), regressionFactor)));
+            return result;
+        }
+
+        /**
+         * Check that no class and codec has regressed relative to a baseline file.
+         * @param baselineFile the csv baseline file; when it does not exist, there are no regressions
+         * @param regressionFactor the factor relative to the baseline above which a time or allocation is flagged as regressed
+         * @throws AssertionError when a class and codec has regressed
+         * @throws UncheckedIOException when the baseline file cannot be read
+         */
+        public void assertNoRegressions(final Path baselineFile, final double regressionFactor)
+        {
+            List<String> regressions = regressions(baselineFile, regressionFactor);
+            if (!regressions.isEmpty())
+            {
+                throw new AssertionError("serialization regressed relative to " + baselineFile + ":\n"
+                        + String.join("\n", regressions));
+            }
+        }
+
+        /**
+         * Merge the costs into a baseline file, replacing the entries for the same class and codec, and keeping the others.
+         * The file is replaced atomically.
+         * @param baselineFile the csv baseline file
+         * @throws UncheckedIOException when the baseline file cannot be read or written
+         */
+        public void writeBaseline(final Path baselineFile)
+        {
+            Map<String, SerializationCost> merged = readBaseline(baselineFile);
+            this.costs.forEach(cost -> merged.put(cost.key(), cost));
+            List<String> csv = new ArrayList<>();
+            csv.add(CSV_HEADER);
+            merged.values().forEach(cost -> csv.add(cost.toCsv()));
+            try
+            {
+                Path parent = baselineFile.toAbsolutePath().getParent();
+                Files.createDirectories(parent);
+                Path tempFile = Files.createTempFile(parent, "serialization", ".tmp");
+                try
+                {
+                    Files.write(tempFile, csv, StandardCharsets.UTF_8);
+                    Files.move(tempFile, baselineFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                finally
+                {
+                    Files.deleteIfExists(tempFile);
+                }
+            }
+            catch (IOException exception)
+            {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        /**
+         * Return a report with the costs per class and codec, the most expensive first, and what could not be measured.
+         * @return a report with the costs per class and codec, and what could not be measured
+         */
+        public String report()
+        {
+            StringBuilder report = new StringBuilder();
+            report.append(String.format(Locale.US, "%10s %10s %10s %12s %12s  %s\n", "bytes", "write ns", "read ns",
+                    "write alloc", "read alloc", "class codec"));
+            for (SerializationCost cost : this.costs)
+            {
+                report.append(String.format(Locale.US, "%10.1f %10.0f %10.0f %12.0f %12.0f  %s\n", cost.bytes(),
+                        cost.writeNanos(), cost.readNanos(), cost.writeAllocated(), cost.readAllocated(), cost.key()));
+            }
+            report.append("not measured:\n");
+            this.skipped.forEach((name, reason) -> report.append("    ").append(name).append(": ").append(reason).append('\n'));
+            return report.toString();
+        }
+    }
+
+    /**
+     * Print the costs of Java serialization for the Serializable classes, using the default generators for records.
+     * @param args can contain the package name(s) to inspect; org.djutils will be taken if the args are empty
+     */
+    public static void main(final String... args)
+    {
+        System.out.println(analyze(Map.of(), args.length > 0 ? args : new String[] {"org.djutils"}).report());
+    }
+}
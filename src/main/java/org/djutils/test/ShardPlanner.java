@@ -0,0 +1,327 @@
+package org.djutils.test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.djutils.test.TimingExtension.Timing;
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+
+/**
+ * ShardPlanner divides the test classes of a project over a number of shards with about the same total duration, so the
+ * shards can run on different build agents or in different forks. The durations of the test classes are read from the
+ * Surefire XML reports (TEST-*.xml) and from the timing report of the {@link TimingExtension}; the timing report takes
+ * precedence, since it measures the class including its setup and teardown. Test classes without a known duration get the
+ * median duration of the known classes. The classes are assigned with the longest-processing-time-first rule: the classes are
+ * sorted on duration, longest first, and each class is added to the shard with the smallest total so far. The plan can be
+ * written as one Surefire includes file per shard, to be used with <code>-Dsurefire.includesFile=shard-0.txt</code>. A way to
+ * use the class is, for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   Map&lt;String, Long&gt; durations = ShardPlanner.durations(Paths.get("target/surefire-reports"),
+ *       Paths.get("target/timing-report.csv"));
+ *   ShardPlanner.plan(durations, 4).writeIncludeFiles(Paths.get("target/shards"));
+ * </code>
+ * </pre>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class ShardPlanner
+{
+    /** the factor of the best possible wall time within which a smaller fork count is recommended. */
+    public static final double FORK_TOLERANCE = 1.1;
+
+    /** */
+    private ShardPlanner()
+    {
+        // utility class
+    }
+
+    /**
+     * Read the durations of the test classes from the Surefire XML reports in a directory.
+     * @param directory the directory with the TEST-*.xml files
+     * @return the duration in nanoseconds per test class, sorted on class name; empty when the directory does not exist
+     * @throws IOException when the directory or a report cannot be read
+     */
+    public static Map<String, Long> readSurefireReports(final Path directory) throws IOException
+    {
+        Map<String, Long> durations = new TreeMap<>();
+        if (!Files.isDirectory(directory))
+        {
+            return durations;
+        }
+        try (DirectoryStream<Path> reports = Files.newDirectoryStream(directory, "TEST-*.xml"))
+        {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+            factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+            for (Path report : reports)
+            {
+                try (InputStream in = Files.newInputStream(report))
+                {
+                    Element suite = factory.newDocumentBuilder().parse(in).getDocumentElement();
+                    String time = suite.getAttribute("time").replace(",", "");
+                    if (!suite.getAttribute("name").isEmpty() && !time.isEmpty())
+                    {
+                        durations.merge(suite.getAttribute("name"), Math.round(Double.parseDouble(time) * 1.0E9), Long::sum);
+                    }
+                }
+                catch (ParserConfigurationException | SAXException | NumberFormatException exception)
+                {
+                    throw new IOException("Surefire report " + report + " cannot be parsed", exception);
+                }
+            }
+        }
+        catch (ParserConfigurationException | IllegalArgumentException exception)
+        {
+            throw new IOException("XML parser cannot be configured securely", exception);
+        }
+        return durations;
+    }
+
+    /**
+     * Read the durations of the test classes from the class lines of a timing report of the {@link TimingExtension}.
+     * @param timingReport the timing report file
+     * @return the wall time in nanoseconds per test class, sorted on class name; empty when the file does not exist
+     * @throws IOException when the file cannot be read
+     */
+    public static Map<String, Long> readTimingReport(final Path timingReport) throws IOException
+    {
+        Map<String, Long> durations = new TreeMap<>();
+        if (Files.exists(timingReport))
+        {
+            for (String line : Files.readAllLines(timingReport, StandardCharsets.UTF_8))
+            {
+                Timing timing = Timing.parse(line);
+                if (timing != null && timing.classLevel())
+                {
+                    durations.put(timing.className(), timing.wallNanos());
+                }
+            }
+        }
+        return durations;
+    }
+
+    /**
+     * Return the durations of the test classes from the Surefire reports and the timing report, where the timing report
+     * takes precedence.
+     * @param surefireReports the directory with the Surefire TEST-*.xml files
+     * @param timingReport the timing report file
+     * @return the duration in nanoseconds per test class, sorted on class name
+     * @throws IOException when a report cannot be read
+     */
+    public static Map<String, Long> durations(final Path surefireReports, final Path timingReport) throws IOException
+    {
+        Map<String, Long> durations = readSurefireReports(surefireReports);
+        durations.putAll(readTimingReport(timingReport));
+        return durations;
+    }
+
+    /**
+     * Divide the test classes with a known duration over the given number of shards.
+     * @param durations the duration in nanoseconds per test class
+     * @param shards the number of shards
+     * @return the plan with the test classes per shard
+     * @throws IllegalArgumentException when shards &lt; 1
+     */
+    public static ShardPlan plan(final Map<String, Long> durations, final int shards)
+    {
+        return plan(durations, durations.keySet(), shards);
+    }
+
+    /**
+     * Divide the given test classes over the given number of shards, using the longest-processing-time-first rule. Test classes
+     * without a known duration get the median of the known durations, or 1 second when no durations are known.
+     * @param durations the duration in nanoseconds per test class
+     * @param testClasses the test classes to divide, e.g., all test classes of the project
+     * @param shards the number of shards
+     * @return the plan with the test classes per shard
+     * @throws IllegalArgumentException when shards &lt; 1
+     */
+    public static ShardPlan plan(final Map<String, Long> durations, final Collection<String> testClasses, final int shards)
+    {
+        if (shards < 1)
+        {
+            throw new IllegalArgumentException("shards < 1");
+        }
+        long estimate = median(durations.values());
+        List<String> classes = new ArrayList<>(testClasses);
+        classes.sort(Comparator.<String> comparingLong(c -> durations.getOrDefault(c, estimate)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        long[] loads = new long[shards];
+        List<List<String>> members = new ArrayList<>();
+        PriorityQueue<Integer> queue = new PriorityQueue<>(
+                Comparator.<Integer> comparingLong(shard -> loads[shard]).thenComparing(Comparator.naturalOrder()));
+        for (int shard = 0; shard < shards; shard++)
+        {
+            members.add(new ArrayList<>());
+            queue.add(shard);
+        }
+        for (String testClass : classes)
+        {
+            int shard = queue.poll();
+            members.get(shard).add(testClass);
+            loads[shard] += durations.getOrDefault(testClass, estimate);
+            queue.add(shard);
+        }
+        List<Shard> result = new ArrayList<>();
+        for (int shard = 0; shard < shards; shard++)
+        {
+            result.add(new Shard(shard, List.copyOf(members.get(shard)), loads[shard]));
+        }
+        return new ShardPlan(List.copyOf(result));
+    }
+
+    /**
+     * Recommend the number of forks: the smallest number of forks up to maxForks for which the planned wall time is within
+     * {@link #FORK_TOLERANCE} of the wall time with maxForks forks. Beyond that number, extra forks mainly add JVM startups.
+     * @param durations the duration in nanoseconds per test class
+     * @param maxForks the maximum number of forks, e.g., the number of processors
+     * @return the recommended number of forks
+     * @throws IllegalArgumentException when maxForks &lt; 1
+     */
+    public static int recommendForkCount(final Map<String, Long> durations, final int maxForks)
+    {
+        long best = plan(durations, maxForks).makespanNanos();
+        for (int forks = 1; forks < maxForks; forks++)
+        {
+            if (plan(durations, forks).makespanNanos() <= best * FORK_TOLERANCE)
+            {
+                return forks;
+            }
+        }
+        return maxForks;
+    }
+
+    /**
+     * Return the median of the durations.
+     * @param durations the durations in nanoseconds
+     * @return the median of the durations, or 1 second when there are no durations
+     */
+    private static long median(final Collection<Long> durations)
+    {
+        if (durations.isEmpty())
+        {
+            return 1_000_000_000L;
+        }
+        long[] sorted = durations.stream().mapToLong(Long::longValue).sorted().toArray();
+        return sorted[sorted.length / 2];
+    }
+
+    /**
+     * Shard is a group of test classes that runs on one agent or in one fork.
+     * @param index the index of the shard
+     * @param testClasses the test classes of the shard, longest first
+     * @param nanos the total duration of the test classes in nanoseconds
+     */
+    public record Shard(int index, List<String> testClasses, long nanos)
+    {
+        /**
+         * Return the Surefire include patterns of the test classes, one per test class.
+         * @return the Surefire include patterns of the test classes
+         */
+        public List<String> includes()
+        {
+            return this.testClasses.stream().map(c -> c.replace('.', '/') + ".java").toList();
+        }
+    }
+
+    /**
+     * ShardPlan contains the test classes per shard.
+     * @param shards the shards
+     */
+    public record ShardPlan(List<Shard> shards)
+    {
+        /**
+         * Return the planned wall time, i.e., the duration of the longest shard.
+         * @return the duration of the longest shard in nanoseconds
+         */
+        public long makespanNanos()
+        {
+            return this.shards.stream().mapToLong(Shard::nanos).max().orElse(0L);
+        }
+
+        /**
+         * Return the ratio of the longest shard and the average shard; 1.0 is a perfect balance.
+         * @return the ratio of the longest shard and the average shard
+         */
+        public double imbalance()
+        {
+            double average = this.shards.stream().mapToLong(Shard::nanos).average().orElse(0.0);
+            return average == 0.0 ? 1.0 : makespanNanos() / average;
+        }
+
+        /**
+         * Write one Surefire includes file per shard, named shard-i.txt, in the given directory.
+         * @param directory the directory to write the files to; it is created when it does not exist
+         * @return the files that were written
+         * @throws IOException when a file cannot be written
+         */
+        public List<Path> writeIncludeFiles(final Path directory) throws IOException
+        {
+            Files.createDirectories(directory);
+            List<Path> files = new ArrayList<>();
+            for (Shard shard : this.shards)
+            {
+                Path file = directory.resolve("shard-" + shard.index() + ".txt");
+                Files.write(file, shard.includes(), StandardCharsets.UTF_8);
+                files.add(file);
+            }
+            return files;
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder result = new StringBuilder(String.format(Locale.US, "ShardPlan: %d shards, wall time %.1f s, "
+                    + "imbalance %.2f%n", this.shards.size(), makespanNanos() / 1.0E9, imbalance()));
+            for (Shard shard : this.shards)
+            {
+                result.append(String.format(Locale.US, "    shard %d: %.1f s, %d test classes%n", shard.index(),
+                        shard.nanos() / 1.0E9, shard.testClasses().size()));
+            }
+            return result.toString();
+        }
+    }
+
+    /**
+     * Plan the shards from target/surefire-reports and target/timing-report.csv, and write the includes files to
+     * target/shards.
+     * @param args the number of shards; the number of processors will be taken if the args are empty
+     * @throws IOException when a report cannot be read or an includes file cannot be written
+     */
+    public static void main(final String... args) throws IOException
+    {
+        int shards = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        Map<String, Long> durations =
+                durations(Paths.get("target", "surefire-reports"), Paths.get("target", "timing-report.csv"));
+        ShardPlan plan = plan(durations, shards);
+        plan.writeIncludeFiles(Paths.get("target", "shards"));
+        System.out.print(plan);
+        System.out.println("recommended forkCount: " + recommendForkCount(durations, shards));
+    }
+}
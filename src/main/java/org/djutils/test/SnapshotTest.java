@@ -0,0 +1,411 @@
+package org.djutils.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * SnapshotTest compares the output of a test with a golden file, the snapshot, in src/test/resources/snapshots. The output can
+ * be a CharSequence, a byte array, an Iterable of which every element is written on its own line, a Path of a file with the
+ * output, or any other object, of which the toString() value is used. Text is encoded as UTF-8, and the comparison is exact
+ * on bytes. Files are read in chunks into one reused direct buffer per file, and compared with ByteBuffer.mismatch to stop at
+ * the first difference, so multi-megabyte outputs are never loaded as Strings. On a mismatch, only a window of lines around
+ * the first difference is read for the message. The files are deliberately not memory-mapped: a mapping is only released when
+ * it is garbage collected, and on Windows a file with a live mapping cannot be replaced, so updating a snapshot that was
+ * compared earlier in the same JVM would fail with an AccessDeniedException. When the snapshot does not exist yet, it is
+ * created and the assertion passes; when the system property djutils.snapshot.update is true, all snapshots are replaced by
+ * the output. Snapshots are written to a temporary file that is moved atomically over the old one. A way to use the class
+ * is, for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   SnapshotTest.assertMatchesSnapshot("report.csv", Paths.get("target", "batch", "report.csv"));
+ *   SnapshotTest.assertMatchesSnapshot("summary.txt", summary.toString());
+ * </code>
+ * </pre>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class SnapshotTest
+{
+    /** the system property that makes the assertions replace the snapshots with the output. */
+    public static final String UPDATE_PROPERTY = "djutils.snapshot.update";
+
+    /** the default directory of the snapshots. */
+    public static final Path SNAPSHOT_DIRECTORY = Paths.get("src", "test", "resources", "snapshots");
+
+    /** the size of the chunks that are compared. */
+    static final int CHUNK_SIZE = 1 << 24;
+
+    /** the number of lines shown before and after the first difference. */
+    private static final int CONTEXT_LINES = 3;
+
+    /** the maximum number of bytes read before and after the first difference for the message. */
+    private static final int MAX_WINDOW = 4096;
+
+    /** the maximum number of characters of a line in the message. */
+    private static final int MAX_LINE_LENGTH = 200;
+
+    /** */
+    private SnapshotTest()
+    {
+        // utility class
+    }
+
+    /**
+     * Assert that the output matches the snapshot with the given name in src/test/resources/snapshots. When the snapshot does
+     * not exist, or when the system property djutils.snapshot.update is true, the snapshot is (re)written instead.
+     * @param name the file name of the snapshot, which may contain subdirectories
+     * @param value the output, a CharSequence, byte[], Iterable, Path of a file, or an object of which toString() is used
+     * @throws IOException when the snapshot or the output file cannot be read or written
+     * @throws AssertionError when the output does not match the snapshot
+     */
+    public static void assertMatchesSnapshot(final String name, final Object value) throws IOException
+    {
+        assertMatchesSnapshot(name, value, SNAPSHOT_DIRECTORY, Boolean.getBoolean(UPDATE_PROPERTY));
+    }
+
+    /**
+     * Assert that the output matches the snapshot with the given name in the given directory. When the snapshot does not
+     * exist, or when update is true, the snapshot is (re)written instead.
+     * @param name the file name of the snapshot, which may contain subdirectories
+     * @param value the output, a CharSequence, byte[], Iterable, Path of a file, or an object of which toString() is used
+     * @param directory the directory of the snapshots
+     * @param update whether to replace the snapshot by the output rather than to compare them
+     * @throws IOException when the snapshot or the output file cannot be read or written
+     * @throws IllegalArgumentException when the name points outside the directory
+     * @throws AssertionError when the output does not match the snapshot
+     */
+    public static void assertMatchesSnapshot(final String name, final Object value, final Path directory,
+            final boolean update) throws IOException
+    {
+        Path root = directory.toAbsolutePath().normalize();
+        Path snapshot = root.resolve(name).normalize();
+        if (!snapshot.startsWith(root) || snapshot.equals(root))
+        {
+            throw new IllegalArgumentException("snapshot name " + name + " points outside " + directory);
+        }
+        if (value instanceof Path)
+        {
+            Path file = (Path) value;
+            if (update || !Files.exists(snapshot))
+            {
+                writeAtomically(snapshot, file, null);
+                return;
+            }
+            try (FileChannel expected = FileChannel.open(snapshot, StandardOpenOption.READ);
+                    FileChannel actual = FileChannel.open(file, StandardOpenOption.READ))
+            {
+                compare(name, snapshot, new ChannelContent(expected), new ChannelContent(actual));
+            }
+            return;
+        }
+        byte[] bytes = serialize(value);
+        if (update || !Files.exists(snapshot))
+        {
+            writeAtomically(snapshot, null, bytes);
+            return;
+        }
+        try (FileChannel expected = FileChannel.open(snapshot, StandardOpenOption.READ))
+        {
+            compare(name, snapshot, new ChannelContent(expected), new BufferContent(ByteBuffer.wrap(bytes)));
+        }
+    }
+
+    /**
+     * Serialize a value to the bytes that are compared with the snapshot.
+     * @param value the value
+     * @return the bytes of the value
+     */
+    static byte[] serialize(final Object value)
+    {
+        if (value instanceof byte[])
+        {
+            return (byte[]) value;
+        }
+        if (value instanceof Iterable)
+        {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (Object element : (Iterable<?>) value)
+            {
+                out.writeBytes(String.valueOf(element).getBytes(StandardCharsets.UTF_8));
+                out.write('\n');
+            }
+            return out.toByteArray();
+        }
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Return the offset of the first byte that differs between the two contents, comparing them in chunks.
+     * @param expected the expected content
+     * @param actual the actual content
+     * @return the offset of the first difference, or -1 when the contents are equal
+     * @throws IOException when the content cannot be read
+     */
+    static long mismatch(final Content expected, final Content actual) throws IOException
+    {
+        long size = Math.min(expected.size(), actual.size());
+        for (long position = 0; position < size; position += CHUNK_SIZE)
+        {
+            int length = (int) Math.min(CHUNK_SIZE, size - position);
+            int mismatch = expected.slice(position, length).mismatch(actual.slice(position, length));
+            if (mismatch >= 0)
+            {
+                return position + mismatch;
+            }
+        }
+        return expected.size() == actual.size() ? -1L : size;
+    }
+
+    /**
+     * Compare the contents, and throw an AssertionError with a diff of the lines around the first difference when they differ.
+     * @param name the name of the snapshot
+     * @param snapshot the path of the snapshot
+     * @param expected the content of the snapshot
+     * @param actual the output
+     * @throws IOException when the content cannot be read
+     * @throws AssertionError when the contents differ
+     */
+    private static void compare(final String name, final Path snapshot, final Content expected, final Content actual)
+            throws IOException
+    {
+        long offset = mismatch(expected, actual);
+        if (offset < 0)
+        {
+            return;
+        }
+        // count the lines of the common prefix, which is streamed in chunks
+        long line = 1;
+        long lineStart = 0;
+        for (long position = 0; position < offset; position += CHUNK_SIZE)
+        {
+            ByteBuffer chunk = expected.slice(position, (int) Math.min(CHUNK_SIZE, offset - position));
+            for (int i = 0; i < chunk.limit(); i++)
+            {
+                if (chunk.get(i) == '\n')
+                {
+                    line++;
+                    lineStart = position + i + 1;
+                }
+            }
+        }
+        // go back at most CONTEXT_LINES lines for the context before the difference
+        long windowStart = Math.max(0L, lineStart - MAX_WINDOW);
+        byte[] before = bytes(expected.slice(windowStart, (int) (lineStart - windowStart)));
+        String[] contextLines = lines(before);
+        int first = Math.max(0, contextLines.length - CONTEXT_LINES);
+        StringBuilder s = new StringBuilder();
+        s.append("Snapshot ").append(name).append(" does not match at byte ").append(offset).append(" (line ").append(line)
+                .append(", column ").append(offset - lineStart + 1).append("); expected size ").append(expected.size())
+                .append(", actual size ").append(actual.size()).append("\n--- expected (").append(snapshot)
+                .append(")\n+++ actual\n");
+        for (int i = first; i < contextLines.length; i++)
+        {
+            appendLine(s, "  ", line - contextLines.length + i, contextLines[i]);
+        }
+        appendWindow(s, "- ", line, expected, lineStart);
+        appendWindow(s, "+ ", line, actual, lineStart);
+        s.append("Run with -D").append(UPDATE_PROPERTY).append("=true to update the snapshot");
+        throw new AssertionError(s.toString());
+    }
+
+    /**
+     * Append the lines from the line of the first difference, at most CONTEXT_LINES + 1 lines.
+     * @param s the message
+     * @param prefix the prefix of the lines
+     * @param line the number of the first line
+     * @param content the content
+     * @param lineStart the offset of the first line
+     * @throws IOException when the content cannot be read
+     */
+    private static void appendWindow(final StringBuilder s, final String prefix, final long line, final Content content,
+            final long lineStart) throws IOException
+    {
+        int length = (int) Math.min(MAX_WINDOW, content.size() - lineStart);
+        String[] windowLines = lines(bytes(content.slice(lineStart, length)));
+        if (windowLines.length == 0)
+        {
+            s.append(prefix).append("<end of file>\n");
+        }
+        for (int i = 0; i < Math.min(windowLines.length, CONTEXT_LINES + 1); i++)
+        {
+            appendLine(s, prefix, line + i, windowLines[i]);
+        }
+    }
+
+    /**
+     * Append a line to the message, abbreviated when it is too long.
+     * @param s the message
+     * @param prefix the prefix of the line
+     * @param number the line number
+     * @param text the text of the line
+     */
+    private static void appendLine(final StringBuilder s, final String prefix, final long number, final String text)
+    {
+        s.append(prefix).append(String.format("%6d: ", number));
+        s.append(text.length() > MAX_LINE_LENGTH ? text.substring(0, MAX_LINE_LENGTH) + "..." : text).append('\n');
+    }
+
+    /**
+     * Return the lines of a UTF-8 text, without the line terminators. A last line without a terminator is included.
+     * @param bytes the text
+     * @return the lines of the text
+     */
+    private static String[] lines(final byte[] bytes)
+    {
+        return new String(bytes, StandardCharsets.UTF_8).lines().toArray(String[]::new);
+    }
+
+    /**
+     * Return the remaining bytes of a buffer.
+     * @param buffer the buffer
+     * @return the remaining bytes of the buffer
+     */
+    private static byte[] bytes(final ByteBuffer buffer)
+    {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Write the snapshot to a temporary file that is moved atomically over the old snapshot.
+     * @param snapshot the path of the snapshot
+     * @param file the file to copy, or null when bytes are written
+     * @param bytes the bytes to write, when file is null
+     * @throws IOException when the snapshot cannot be written
+     */
+    private static void writeAtomically(final Path snapshot, final Path file, final byte[] bytes) throws IOException
+    {
+        Files.createDirectories(snapshot.getParent());
+        Path temp = Files.createTempFile(snapshot.getParent(), "snapshot", ".tmp");
+        try
+        {
+            if (file == null)
+            {
+                Files.write(temp, bytes);
+            }
+            else
+            {
+                Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally
+        {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Content is a sequence of bytes that can be read in slices.
+     */
+    interface Content
+    {
+        /**
+         * Return the number of bytes.
+         * @return the number of bytes
+         * @throws IOException when the size cannot be determined
+         */
+        long size() throws IOException;
+
+        /**
+         * Return a buffer with the bytes from position to position + length. The buffer may be reused by the next call.
+         * @param position the offset of the first byte
+         * @param length the number of bytes
+         * @return a buffer with the bytes, with position 0 and limit length, valid until the next call of slice
+         * @throws IOException when the bytes cannot be read
+         */
+        ByteBuffer slice(long position, int length) throws IOException;
+    }
+
+    /**
+     * ChannelContent reads the bytes of a file into one direct buffer that is reused for every slice, rather than mapping the
+     * file, so no memory-mapped region keeps the file locked after the comparison.
+     */
+    static final class ChannelContent implements Content
+    {
+        /** the channel. */
+        private final FileChannel channel;
+
+        /** the reused buffer, allocated at the first slice and grown when a larger slice is needed. */
+        private ByteBuffer buffer;
+
+        /**
+         * Create the content of a file channel.
+         * @param channel the channel
+         */
+        ChannelContent(final FileChannel channel)
+        {
+            this.channel = channel;
+        }
+
+        @Override
+        public long size() throws IOException
+        {
+            return this.channel.size();
+        }
+
+        @Override
+        public ByteBuffer slice(final long position, final int length) throws IOException
+        {
+            if (this.buffer == null || this.buffer.capacity() < length)
+            {
+                this.buffer = ByteBuffer.allocateDirect(length);
+            }
+            this.buffer.clear().limit(length);
+            while (this.buffer.hasRemaining())
+            {
+                if (this.channel.read(this.buffer, position + this.buffer.position()) < 0)
+                {
+                    throw new EOFException("unexpected end of file at byte " + (position + this.buffer.position()));
+                }
+            }
+            return this.buffer.flip();
+        }
+    }
+
+    /**
+     * BufferContent holds the bytes in a buffer.
+     */
+    static final class BufferContent implements Content
+    {
+        /** the buffer. */
+        private final ByteBuffer buffer;
+
+        /**
+         * Create the content of a buffer.
+         * @param buffer the buffer, of which the bytes from 0 to the limit are used
+         */
+        BufferContent(final ByteBuffer buffer)
+        {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public long size()
+        {
+            return this.buffer.limit();
+        }
+
+        @Override
+        public ByteBuffer slice(final long position, final int length)
+        {
+            return this.buffer.slice((int) position, length);
+        }
+    }
+}
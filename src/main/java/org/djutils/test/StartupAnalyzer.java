@@ -0,0 +1,315 @@
+package org.djutils.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ScanResult;
+
+/**
+ * StartupAnalyzer measures the startup cost of each class in the given packages, found in the same way as ClassList. Every
+ * class is loaded in its own class loader, so it pays the full cost of a first use: the time to load the class, the time
+ * of the static initialization of the class and of the classes that it initializes, and the time of the first reflective
+ * access to its methods, fields and constructors, which builds the reflection data. HotSpot links and verifies a class lazily,
+ * just before its initialization, so the verification of the class is part of the initialization time and not of the load
+ * time. The number of classes that the isolated class loader defines up to and including the static initialization shows how
+ * many classes of the class path the class drags in; the classes that the reflective access loads, such as the types in the
+ * method signatures, are counted separately. JDK classes are loaded by the parent class loader and are shared, so they are
+ * not counted, and JDK classes that are already loaded cost nothing. Note that the static initializers really run, so classes
+ * with side effects in their static initializer should be excluded. A way to use the class is, for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   StartupReport report = StartupAnalyzer.analyze("org.djutils");
+ *   System.out.println(report.report(20));
+ * </code>
+ * </pre>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class StartupAnalyzer
+{
+    /** the default number of classes in the report. */
+    public static final int DEFAULT_TOP = 20;
+
+    /** */
+    private StartupAnalyzer()
+    {
+        // utility class
+    }
+
+    /**
+     * Measure the startup cost of the classes in target/classes of the given packages.
+     * @param packageNameList a list of package names to check
+     * @return the startup cost per class
+     */
+    public static StartupReport analyze(final String... packageNameList)
+    {
+        return analyze(List.of("target/classes"), packageNameList);
+    }
+
+    /**
+     * Measure the startup cost of the classes on the given class path of the given packages. By default, the scan ignores
+     * anonymous inner classes, which are initialized by their outer class, and annotation classes.
+     * @param classpath the directories or jar files to scan
+     * @param packageNameList a list of package names to check
+     * @return the startup cost per class
+     */
+    public static StartupReport analyze(final List<String> classpath, final String... packageNameList)
+    {
+        List<String> classNames;
+        try (ScanResult scanResult = new ClassGraph() // .verbose() logs activities
+            .overrideClasspath(classpath) // main classes, and test classes when asked for
+            .enableClassInfo() // Scan classes
+            .acceptPackages(packageNameList) // Scan what's in pkg and subpackages (omit to scan all packages)
+            .scan())
+        {
+            classNames = scanResult.getAllClasses()
+                .stream()
+                .filter(ci -> !ci.isAnnotation() && !ci.isAnonymousInnerClass())
+                .map(ClassInfo::getName)
+                .sorted()
+                .toList();
+        }
+        return analyzeClasses(classpath, classNames);
+    }
+
+    /**
+     * Measure the startup cost of the given classes. Each class is loaded by a new class loader on the given class path,
+     * followed by the class path of this JVM for the libraries, with the platform class loader as parent.
+     * @param classpath the directories or jar files with the classes
+     * @param classNames the names of the classes
+     * @return the startup cost per class
+     */
+    public static StartupReport analyzeClasses(final List<String> classpath, final List<String> classNames)
+    {
+        URL[] urls = urls(classpath);
+        List<ClassStartup> startups = new ArrayList<>();
+        for (String className : classNames)
+        {
+            startups.add(measure(urls, className));
+        }
+        startups.sort(Comparator.comparingLong(ClassStartup::totalNanos).reversed().thenComparing(ClassStartup::className));
+        return new StartupReport(startups);
+    }
+
+    /**
+     * Return the URLs of the class path, followed by the URLs of the class path of this JVM that are not in it.
+     * @param classpath the directories or jar files with the classes
+     * @return the URLs for the isolated class loaders
+     * @throws UncheckedIOException when an entry cannot be converted to a URL
+     */
+    private static URL[] urls(final List<String> classpath)
+    {
+        Set<String> entries = new LinkedHashSet<>(classpath);
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator))
+        {
+            if (!entry.isEmpty())
+            {
+                entries.add(entry);
+            }
+        }
+        List<URL> urls = new ArrayList<>();
+        try
+        {
+            for (String entry : entries)
+            {
+                urls.add(Paths.get(entry).toAbsolutePath().toUri().toURL());
+            }
+        }
+        catch (MalformedURLException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+        return urls.toArray(new URL[0]);
+    }
+
+    /**
+     * Measure the startup cost of one class in a new class loader.
+     * @param urls the class path of the class loader
+     * @param className the name of the class
+     * @return the startup cost of the class
+     */
+    private static ClassStartup measure(final URL[] urls, final String className)
+    {
+        long loadNanos = 0;
+        long initNanos = 0;
+        long reflectionNanos = 0;
+        int loadedClasses = -1;
+        String failure = null;
+        CountingClassLoader loader = new CountingClassLoader(urls);
+        try
+        {
+            long start = System.nanoTime();
+            Class<?> clazz = Class.forName(className, false, loader);
+            loadNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            Class.forName(className, true, loader);
+            initNanos = System.nanoTime() - start;
+            loadedClasses = loader.definedClasses();
+            start = System.nanoTime();
+            clazz.getDeclaredMethods();
+            clazz.getDeclaredFields();
+            clazz.getDeclaredConstructors();
+            reflectionNanos = System.nanoTime() - start;
+        }
+        catch (ClassNotFoundException | LinkageError exception)
+        {
+            failure = exception instanceof ExceptionInInitializerError && exception.getCause() != null
+                    ? "static initializer threw " + exception.getCause() : exception.toString();
+        }
+        finally
+        {
+            if (loadedClasses < 0)
+            {
+                loadedClasses = loader.definedClasses();
+            }
+            try
+            {
+                loader.close();
+            }
+            catch (IOException exception)
+            {
+                // the class loader only holds open jar files, and the measurement is already done
+            }
+        }
+        return new ClassStartup(className, loadNanos, initNanos, reflectionNanos, loadedClasses,
+                loader.definedClasses() - loadedClasses, failure);
+    }
+
+    /**
+     * CountingClassLoader is a class loader that counts the classes that it defines itself.
+     */
+    private static final class CountingClassLoader extends URLClassLoader
+    {
+        /** the number of classes defined by this class loader. */
+        private int defined = 0;
+
+        /**
+         * Create a class loader on the given class path with the platform class loader as parent.
+         * @param urls the class path
+         */
+        CountingClassLoader(final URL[] urls)
+        {
+            super(urls, ClassLoader.getPlatformClassLoader());
+        }
+
+        @Override
+        protected Class<?> findClass(final String name) throws ClassNotFoundException
+        {
+            Class<?> clazz = super.findClass(name);
+            synchronized (this)
+            {
+                this.defined++;
+            }
+            return clazz;
+        }
+
+        /**
+         * Return the number of classes defined by this class loader.
+         * @return the number of classes defined by this class loader
+         */
+        synchronized int definedClasses()
+        {
+            return this.defined;
+        }
+    }
+
+    /**
+     * ClassStartup contains the startup cost of one class, loaded in its own class loader.
+     * @param className the name of the class
+     * @param loadNanos the time to load the class and its superclasses and interfaces, in nanoseconds
+     * @param initNanos the time to link, verify and statically initialize the class, including the classes that it
+     *            initializes, in nanoseconds
+     * @param reflectionNanos the time of the first call to getDeclaredMethods, getDeclaredFields and getDeclaredConstructors
+     * @param loadedClasses the number of classes of the class path that were loaded up to and including the static
+     *            initialization, including the class itself
+     * @param reflectionClasses the number of classes of the class path that were loaded by the reflective access
+     * @param failure a description of the failure to load or initialize the class, or null when it succeeded
+     */
+    public record ClassStartup(String className, long loadNanos, long initNanos, long reflectionNanos, int loadedClasses,
+            int reflectionClasses, String failure)
+    {
+        /**
+         * Return the total startup time of the class.
+         * @return the sum of the load, initialization and reflection times in nanoseconds
+         */
+        public long totalNanos()
+        {
+            return this.loadNanos + this.initNanos + this.reflectionNanos;
+        }
+    }
+
+    /**
+     * StartupReport contains the startup cost per class, the most expensive first.
+     * @param startups the startup cost per class, sorted on descending total time
+     */
+    public record StartupReport(List<ClassStartup> startups)
+    {
+        /**
+         * Return the startup cost of a class.
+         * @param className the name of the class
+         * @return the startup cost of the class, or null when it was not measured
+         */
+        public ClassStartup get(final String className)
+        {
+            return this.startups.stream().filter(s -> s.className().equals(className)).findFirst().orElse(null);
+        }
+
+        /**
+         * Return the classes of which the loading or the static initialization failed.
+         * @return the classes of which the loading or the static initialization failed, the most expensive first
+         */
+        public List<ClassStartup> failures()
+        {
+            return this.startups.stream().filter(s -> s.failure() != null).toList();
+        }
+
+        /**
+         * Return a report with the most expensive classes, and the classes that failed.
+         * @param top the maximum number of classes in the report
+         * @return a report with the most expensive classes, and the classes that failed
+         */
+        public String report(final int top)
+        {
+            StringBuilder report = new StringBuilder();
+            report.append(String.format(Locale.US, "%10s %10s %10s %10s %8s %8s  %s\n", "total us", "load us", "init us",
+                    "reflect us", "classes", "reflect", "class"));
+            this.startups.stream().limit(top)
+                    .forEach(s -> report.append(String.format(Locale.US, "%10.1f %10.1f %10.1f %10.1f %8d %8d  %s\n",
+                            s.totalNanos() / 1000.0, s.loadNanos() / 1000.0, s.initNanos() / 1000.0,
+                            s.reflectionNanos() / 1000.0, s.loadedClasses(), s.reflectionClasses(), s.className())));
+            long total = this.startups.stream().mapToLong(ClassStartup::totalNanos).sum();
+            report.append(String.format(Locale.US, "%d classes, total %.1f ms\n", this.startups.size(), total / 1.0E6));
+            report.append("failed:\n");
+            failures().forEach(s -> report.append("    ").append(s.className()).append(": ").append(s.failure()).append('\n'));
+            return report.toString();
+        }
+    }
+
+    /**
+     * Print the classes with the highest startup cost.
+     * @param args can contain the package name(s) to inspect; org.djutils will be taken if the args are empty
+     */
+    public static void main(final String... args)
+    {
+        System.out.println(analyze(args.length > 0 ? args : new String[] {"org.djutils"}).report(DEFAULT_TOP));
+    }
+}
@@ -0,0 +1,389 @@
+package org.djutils.test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import io.github.classgraph.ArrayTypeSignature;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ClassRefTypeSignature;
+import io.github.classgraph.FieldInfo;
+import io.github.classgraph.ScanResult;
+import io.github.classgraph.TypeSignature;
+
+/**
+ * StaticStateChecker scans the main and test classes for global state that makes it unsafe to run test classes concurrently
+ * in one JVM, or one after another in a reused JVM: non-final static fields, static final fields that refer to mutable objects
+ * such as collections, arrays and atomics, static singletons of classes with mutable instance fields, and calls to the
+ * methods of System that change the JVM-wide streams and properties, such as System.setOut. The calls are found by scanning
+ * the constant pool of the class files. Each test class is then classified as a {@link Safety}, using the classes it depends
+ * on, directly or indirectly. The checks are conservative: a static final List is reported as mutable even when it holds an
+ * immutable list. A way to use the class is, for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   StaticStateReport report = StaticStateChecker.analyze("org.djutils");
+ *   report.tests().forEach((test, safety) -&gt; System.out.println(safety + " " + test));
+ * </code>
+ * </pre>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class StaticStateChecker
+{
+    /** the methods of java.lang.System that change JVM-wide state. */
+    private static final List<String> SYSTEM_SETTERS = List.of("setOut", "setErr", "setIn", "setProperty", "clearProperty",
+            "setProperties");
+
+    /** the annotations that mark a test method. */
+    private static final List<String> TEST_ANNOTATIONS = List.of("org.junit.jupiter.api.Test",
+            "org.junit.jupiter.params.ParameterizedTest", "org.junit.jupiter.api.RepeatedTest",
+            "org.junit.jupiter.api.TestFactory");
+
+    /** */
+    private StaticStateChecker()
+    {
+        // utility class
+    }
+
+    /**
+     * Scan the main classes in target/classes and the test classes in target/test-classes of the given packages, and classify
+     * the test classes.
+     * @param packageNameList a list of package names to check
+     * @return the global state per class and the classification of the test classes
+     */
+    public static StaticStateReport analyze(final String... packageNameList)
+    {
+        return analyze(List.of("target/classes", "target/test-classes"), packageNameList);
+    }
+
+    /**
+     * Scan the classes on the given class path of the given packages, and classify the test classes.
+     * @param classpath the directories or jar files to scan
+     * @param packageNameList a list of package names to check
+     * @return the global state per class and the classification of the test classes
+     */
+    public static StaticStateReport analyze(final List<String> classpath, final String... packageNameList)
+    {
+        Map<String, List<String>> findings = new TreeMap<>();
+        Map<String, Safety> tests = new TreeMap<>();
+        try (ScanResult scanResult = new ClassGraph() // .verbose() logs activities
+            .overrideClasspath(classpath) // main and test classes
+            .enableAllInfo() // Scan classes, methods, fields, annotations
+            .enableInterClassDependencies() // for the classes each test depends on
+            .ignoreFieldVisibility() // private static fields are global state as well
+            .acceptPackages(packageNameList) // Scan what's in pkg and subpackages (omit to scan all packages)
+            .scan())
+        {
+            for (ClassInfo classInfo : scanResult.getAllClasses())
+            {
+                List<String> classFindings = findings(classInfo);
+                if (!classFindings.isEmpty())
+                {
+                    findings.put(classInfo.getName(), classFindings);
+                }
+            }
+            for (ClassInfo classInfo : scanResult.getAllClasses())
+            {
+                if (isTest(classInfo))
+                {
+                    tests.put(classInfo.getName(), classify(classInfo, findings));
+                }
+            }
+        }
+        return new StaticStateReport(findings, tests);
+    }
+
+    /**
+     * Return whether the class declares test methods.
+     * @param classInfo the class
+     * @return whether the class declares test methods
+     */
+    private static boolean isTest(final ClassInfo classInfo)
+    {
+        return !classInfo.isAbstract() && TEST_ANNOTATIONS.stream().anyMatch(classInfo::hasDeclaredMethodAnnotation);
+    }
+
+    /**
+     * Classify a test class. The test class and its own inner classes may have global state when it is only used by the test
+     * itself; the other classes that it depends on, directly or indirectly, should not have any.
+     * @param test the test class
+     * @param findings the global state per class
+     * @return the classification of the test class
+     */
+    private static Safety classify(final ClassInfo test, final Map<String, List<String>> findings)
+    {
+        boolean own = false;
+        Set<String> visited = new HashSet<>();
+        Deque<ClassInfo> todo = new ArrayDeque<>();
+        todo.add(test);
+        while (!todo.isEmpty())
+        {
+            ClassInfo classInfo = todo.poll();
+            if (!visited.add(classInfo.getName()))
+            {
+                continue;
+            }
+            if (findings.containsKey(classInfo.getName()))
+            {
+                boolean inner = classInfo.getName().equals(test.getName())
+                        || classInfo.getName().startsWith(test.getName() + "$");
+                if (!inner)
+                {
+                    return Safety.ISOLATED;
+                }
+                own = true;
+            }
+            todo.addAll(classInfo.getClassDependencies());
+        }
+        return own ? Safety.SEQUENTIAL : Safety.PARALLEL;
+    }
+
+    /**
+     * Return the global state of a class.
+     * @param classInfo the class
+     * @return a description of each static field or System call that is global state
+     */
+    private static List<String> findings(final ClassInfo classInfo)
+    {
+        List<String> result = new ArrayList<>();
+        for (FieldInfo field : classInfo.getDeclaredFieldInfo())
+        {
+            if (!field.isStatic() || field.isSynthetic() || field.getName().startsWith("$") || classInfo.isEnum()
+                    && field.isFinal() && classInfo.getName().equals(typeName(field.getTypeDescriptor())))
+            {
+                continue;
+            }
+            if (!field.isFinal())
+            {
+                result.add("non-final static field " + field.getName());
+            }
+            else if (classInfo.getName().equals(typeName(field.getTypeDescriptor())))
+            {
+                if (hasMutableInstanceFields(classInfo))
+                {
+                    result.add("static singleton " + field.getName());
+                }
+            }
+            else if (isMutable(field.getTypeDescriptor(), classInfo))
+            {
+                result.add("mutable static field " + field.getName() + " of type " + field.getTypeDescriptor());
+            }
+        }
+        result.addAll(systemCalls(classInfo));
+        return result;
+    }
+
+    /**
+     * Return the class name of a type, or null when it is a primitive type or an array.
+     * @param type the type
+     * @return the class name of the type, or null when it is a primitive type or an array
+     */
+    private static String typeName(final TypeSignature type)
+    {
+        return type instanceof ClassRefTypeSignature ? ((ClassRefTypeSignature) type).getFullyQualifiedClassName() : null;
+    }
+
+    /**
+     * Return whether a class has non-final, non-static fields.
+     * @param classInfo the class
+     * @return whether the class has non-final, non-static fields
+     */
+    private static boolean hasMutableInstanceFields(final ClassInfo classInfo)
+    {
+        return classInfo.getDeclaredFieldInfo().stream().anyMatch(f -> !f.isStatic() && !f.isFinal());
+    }
+
+    /**
+     * Return whether objects of a type can be changed: arrays, collections, maps, atomics, string builders, and scanned
+     * classes with non-final instance fields.
+     * @param type the type of the field
+     * @param declaringClass the class that declares the field, to look up scanned classes
+     * @return whether objects of the type can be changed
+     */
+    private static boolean isMutable(final TypeSignature type, final ClassInfo declaringClass)
+    {
+        if (type instanceof ArrayTypeSignature)
+        {
+            return true;
+        }
+        String name = typeName(type);
+        if (name == null)
+        {
+            return false;
+        }
+        if (name.startsWith("java.util.concurrent.atomic.") || name.equals("java.lang.StringBuilder")
+                || name.equals("java.lang.StringBuffer"))
+        {
+            return true;
+        }
+        if (name.startsWith("java."))
+        {
+            try
+            {
+                Class<?> clazz = Class.forName(name, false, StaticStateChecker.class.getClassLoader());
+                return Collection.class.isAssignableFrom(clazz) || Map.class.isAssignableFrom(clazz);
+            }
+            catch (ClassNotFoundException exception)
+            {
+                return false;
+            }
+        }
+        ClassInfo typeInfo = declaringClass.getClassDependencies().get(name);
+        return typeInfo != null && !typeInfo.isInterface() && hasMutableInstanceFields(typeInfo);
+    }
+
+    /**
+     * Return the calls to the System methods that change JVM-wide state, found in the constant pool of the class file. Each
+     * call, including a method reference such as System::setOut, needs a Methodref entry in the constant pool that refers to
+     * the class java/lang/System and the name of the method.
+     * @param classInfo the class
+     * @return a description of each System method that the class calls
+     */
+    private static List<String> systemCalls(final ClassInfo classInfo)
+    {
+        List<String> result = new ArrayList<>();
+        try
+        {
+            ByteBuffer buffer = ByteBuffer.wrap(classInfo.getResource().load());
+            buffer.position(8); // magic, minor and major version
+            int count = buffer.getShort() & 0xFFFF;
+            String[] utf8 = new String[count];
+            int[] first = new int[count];
+            int[] second = new int[count];
+            byte[] tags = new byte[count];
+            for (int i = 1; i < count; i++)
+            {
+                tags[i] = buffer.get();
+                switch (tags[i])
+                {
+                    case 1: // Utf8
+                        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+                        buffer.get(bytes);
+                        utf8[i] = new String(bytes, StandardCharsets.UTF_8);
+                        break;
+                    case 7:
+                    case 8:
+                    case 16:
+                    case 19:
+                    case 20: // Class, String, MethodType, Module, Package
+                        first[i] = buffer.getShort() & 0xFFFF;
+                        break;
+                    case 3:
+                    case 4:
+                    case 9:
+                    case 10:
+                    case 11:
+                    case 12:
+                    case 17:
+                    case 18: // 4 bytes, refs and NameAndType
+                        first[i] = buffer.getShort() & 0xFFFF;
+                        second[i] = buffer.getShort() & 0xFFFF;
+                        break;
+                    case 5:
+                    case 6: // Long and Double take two entries
+                        buffer.getLong();
+                        i++;
+                        break;
+                    case 15: // MethodHandle
+                        buffer.get();
+                        buffer.getShort();
+                        break;
+                    default:
+                        return result;
+                }
+            }
+            for (int i = 1; i < count; i++)
+            {
+                if (tags[i] == 10 && "java/lang/System".equals(utf8[first[first[i]]]))
+                {
+                    String method = utf8[first[second[i]]];
+                    if (SYSTEM_SETTERS.contains(method) && !result.contains("call to System." + method))
+                    {
+                        result.add("call to System." + method);
+                    }
+                }
+            }
+        }
+        catch (IOException | RuntimeException exception)
+        {
+            // a class file that cannot be read or parsed has no known System calls
+        }
+        return result;
+    }
+
+    /**
+     * Safety is the classification of a test class.
+     */
+    public enum Safety
+    {
+        /** the test and the classes it uses have no global state; it can run concurrently with other tests. */
+        PARALLEL,
+
+        /** only the test itself has global state; it can share a reused JVM, but should not run concurrently. */
+        SEQUENTIAL,
+
+        /** the test uses classes with global state, which can leak to other tests; it should run in its own JVM. */
+        ISOLATED;
+    }
+
+    /**
+     * StaticStateReport contains the global state per class and the classification of the test classes, both sorted on the
+     * class name.
+     * @param findings a description of the global state per class, for the classes that have global state
+     * @param tests the classification of each test class
+     */
+    public record StaticStateReport(Map<String, List<String>> findings, Map<String, Safety> tests)
+    {
+        /**
+         * Return the test classes with the given classification.
+         * @param safety the classification
+         * @return the test classes with the given classification, sorted on name
+         */
+        public List<String> tests(final Safety safety)
+        {
+            return this.tests.entrySet().stream().filter(e -> e.getValue() == safety).map(Map.Entry::getKey).toList();
+        }
+
+        /**
+         * Return a report with the classification of the test classes and the global state of the classes.
+         * @return a report with the classification of the test classes and the global state of the classes
+         */
+        public String report()
+        {
+            StringBuilder report = new StringBuilder();
+            for (Safety safety : Safety.values())
+            {
+                report.append(safety).append(":\n");
+                tests(safety).forEach(test -> report.append("    ").append(test).append('\n'));
+            }
+            report.append("global state:\n");
+            this.findings.forEach((name, list) -> report.append("    ").append(name).append(": ").append(list).append('\n'));
+            return report.toString();
+        }
+    }
+
+    /**
+     * Print the classification of the test classes and the global state of the classes.
+     * @param args can contain the package name(s) to inspect; org.djutils will be taken if the args are empty
+     */
+    public static void main(final String... args)
+    {
+        System.out.println(analyze(args.length > 0 ? args : new String[] {"org.djutils"}).report());
+    }
+}
@@ -0,0 +1,321 @@
+package org.djutils.test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ScanResult;
+
+/**
+ * TestImpactAnalyzer selects the test classes that are affected by a change, so only those tests have to run. It keeps a
+ * class-level dependency graph of the main and test classes, built with ClassGraph from the compiled classes, and persisted
+ * in a file together with the time stamp of each class file. When the graph is updated, only the class files that are new or
+ * have changed since the last update are scanned again, and deleted class files are removed. The affected test classes of a
+ * set of changed classes are the test classes from which a changed class can be reached in the graph, found with a
+ * breadth-first search over the reversed edges. Changed source files, e.g., from <code>git diff --name-only</code>, are mapped
+ * to their classes, including the inner classes. A way to use the class is, for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   DependencyGraph graph = TestImpactAnalyzer.update(Paths.get("target/test-impact.graph"),
+ *       List.of(Paths.get("target/classes"), Paths.get("target/test-classes")));
+ *   Set&lt;String&gt; tests = graph.affectedTests(graph.classesForSources(TestImpactAnalyzer.gitDiff(Paths.get("."), "main")));
+ * </code>
+ * </pre>
+ *
+ * The analysis only sees dependencies that are visible in the class files; tests that find classes by reflection or through
+ * service loaders, or that depend on resource files, may be missed.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class TestImpactAnalyzer
+{
+    /** the first line of the graph file. */
+    static final String GRAPH_HEADER = "# djutils test impact graph v1";
+
+    /** the annotations that mark a test method. */
+    private static final List<String> TEST_ANNOTATIONS = List.of("org.junit.jupiter.api.Test",
+            "org.junit.jupiter.params.ParameterizedTest", "org.junit.jupiter.api.RepeatedTest",
+            "org.junit.jupiter.api.TestFactory");
+
+    /** */
+    private TestImpactAnalyzer()
+    {
+        // utility class
+    }
+
+    /**
+     * Update the dependency graph in the graph file for the class files in the class directories, and return it. Only the
+     * class files that are new or have a different time stamp than in the graph file are scanned. The graph file is written
+     * to a temporary file first, and then moved into place.
+     * @param graphFile the file with the persisted graph; it is created when it does not exist
+     * @param classDirectories the directories with the compiled main and test classes
+     * @return the updated dependency graph
+     * @throws IOException when the graph file or the class directories cannot be read, or the graph file cannot be written
+     */
+    public static DependencyGraph update(final Path graphFile, final List<Path> classDirectories) throws IOException
+    {
+        Map<String, Node> nodes = Files.exists(graphFile) ? read(graphFile) : new TreeMap<>();
+        Map<String, Long> timestamps = classFiles(classDirectories);
+        nodes.keySet().retainAll(timestamps.keySet());
+        List<String> changed = timestamps.entrySet().stream()
+                .filter(e -> !nodes.containsKey(e.getKey()) || nodes.get(e.getKey()).timestamp() != e.getValue())
+                .map(Map.Entry::getKey).toList();
+        if (!changed.isEmpty())
+        {
+            try (ScanResult scanResult = new ClassGraph() // .verbose() logs activities
+                .overrideClasspath(classDirectories) // main and test classes
+                .enableClassInfo() // Scan classes
+                .enableMethodInfo() // Scan methods, to find the test methods
+                .enableAnnotationInfo() // Scan annotations, to find the test methods
+                .enableInterClassDependencies() // the edges of the graph
+                .enableExternalClasses() // report the dependencies on classes that are not scanned again
+                .acceptClasses(changed.toArray(new String[0])) // Scan only the new and changed classes
+                .scan())
+            {
+                for (String name : changed)
+                {
+                    ClassInfo classInfo = scanResult.getClassInfo(name);
+                    if (classInfo != null)
+                    {
+                        Set<String> dependencies = new TreeSet<>(classInfo.getClassDependencies().getNames());
+                        dependencies.retainAll(timestamps.keySet());
+                        dependencies.remove(name);
+                        boolean test = !classInfo.isAbstract()
+                                && TEST_ANNOTATIONS.stream().anyMatch(classInfo::hasDeclaredMethodAnnotation);
+                        nodes.put(name, new Node(timestamps.get(name), test, dependencies));
+                    }
+                }
+            }
+        }
+        DependencyGraph graph = new DependencyGraph(nodes);
+        write(graphFile, graph);
+        return graph;
+    }
+
+    /**
+     * Return the class names and time stamps of the class files in the class directories.
+     * @param classDirectories the directories with the compiled classes
+     * @return the time stamp of the class file per class name
+     * @throws IOException when a directory cannot be read
+     */
+    private static Map<String, Long> classFiles(final List<Path> classDirectories) throws IOException
+    {
+        Map<String, Long> timestamps = new HashMap<>();
+        for (Path directory : classDirectories)
+        {
+            if (!Files.isDirectory(directory))
+            {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(directory))
+            {
+                for (Path file : (Iterable<Path>) files::iterator)
+                {
+                    String relative = directory.relativize(file).toString().replace('\\', '/');
+                    if (relative.endsWith(".class") && !relative.endsWith("module-info.class")
+                            && !relative.endsWith("package-info.class"))
+                    {
+                        timestamps.put(relative.substring(0, relative.length() - 6).replace('/', '.'),
+                                Files.getLastModifiedTime(file).toMillis());
+                    }
+                }
+            }
+        }
+        return timestamps;
+    }
+
+    /**
+     * Read a graph file.
+     * @param graphFile the graph file
+     * @return the nodes of the graph, sorted on class name
+     * @throws IOException when the file cannot be read, or is not a graph file
+     */
+    private static Map<String, Node> read(final Path graphFile) throws IOException
+    {
+        List<String> lines = Files.readAllLines(graphFile, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(GRAPH_HEADER))
+        {
+            throw new IOException("File " + graphFile + " is not a test impact graph");
+        }
+        Map<String, Node> nodes = new TreeMap<>();
+        for (String line : lines.subList(1, lines.size()))
+        {
+            String[] fields = line.split("\t", -1);
+            if (fields.length != 4)
+            {
+                throw new IOException("File " + graphFile + " has an invalid line: " + line);
+            }
+            Set<String> dependencies =
+                    fields[3].isEmpty() ? new TreeSet<>() : new TreeSet<>(Arrays.asList(fields[3].split(",")));
+            nodes.put(fields[0], new Node(Long.parseLong(fields[1]), fields[2].equals("T"), dependencies));
+        }
+        return nodes;
+    }
+
+    /**
+     * Write a graph file, via a temporary file that is moved into place.
+     * @param graphFile the graph file
+     * @param graph the graph to write
+     * @throws IOException when the file cannot be written
+     */
+    private static void write(final Path graphFile, final DependencyGraph graph) throws IOException
+    {
+        List<String> lines = new ArrayList<>();
+        lines.add(GRAPH_HEADER);
+        graph.nodes().forEach((name, node) -> lines.add(name + "\t" + node.timestamp() + "\t" + (node.test() ? "T" : "C")
+                + "\t" + String.join(",", node.dependencies())));
+        Path parent = graphFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "test-impact", ".tmp");
+        Files.write(temp, lines, StandardCharsets.UTF_8);
+        Files.move(temp, graphFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Return the changed files according to <code>git diff --name-only</code> between the base revision and the working tree.
+     * @param repository the directory of the git repository
+     * @param baseRevision the revision to compare with, e.g., "HEAD" or "origin/main"
+     * @return the paths of the changed files, relative to the root of the repository
+     * @throws IOException when git cannot be run, or fails
+     */
+    public static List<String> gitDiff(final Path repository, final String baseRevision) throws IOException
+    {
+        Process process = new ProcessBuilder("git", "diff", "--name-only", baseRevision).directory(repository.toFile())
+                .redirectErrorStream(true).start();
+        List<String> lines;
+        try (BufferedReader reader =
+                new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8)))
+        {
+            lines = reader.lines().filter(line -> !line.isBlank()).toList();
+        }
+        try
+        {
+            if (process.waitFor() != 0)
+            {
+                throw new IOException("git diff failed: " + String.join("\n", lines));
+            }
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for git", exception);
+        }
+        return lines;
+    }
+
+    /**
+     * Node is a class in the dependency graph.
+     * @param timestamp the time stamp of the class file when it was scanned, in milliseconds
+     * @param test whether the class declares test methods
+     * @param dependencies the main and test classes that the class refers to
+     */
+    public record Node(long timestamp, boolean test, Set<String> dependencies)
+    {
+    }
+
+    /**
+     * DependencyGraph is the class-level dependency graph of the main and test classes.
+     * @param nodes the classes, sorted on name
+     */
+    public record DependencyGraph(Map<String, Node> nodes)
+    {
+        /**
+         * Return the test classes from which one of the changed classes can be reached, including changed test classes.
+         * @param changedClasses the names of the changed classes
+         * @return the names of the affected test classes, sorted
+         */
+        public Set<String> affectedTests(final Collection<String> changedClasses)
+        {
+            Map<String, List<String>> reverse = new HashMap<>();
+            this.nodes.forEach((name, node) -> node.dependencies()
+                    .forEach(dependency -> reverse.computeIfAbsent(dependency, d -> new ArrayList<>()).add(name)));
+            Set<String> reached = new HashSet<>(changedClasses);
+            Deque<String> todo = new ArrayDeque<>(changedClasses);
+            while (!todo.isEmpty())
+            {
+                for (String user : reverse.getOrDefault(todo.poll(), List.of()))
+                {
+                    if (reached.add(user))
+                    {
+                        todo.add(user);
+                    }
+                }
+            }
+            return reached.stream().filter(name -> this.nodes.containsKey(name) && this.nodes.get(name).test())
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+
+        /**
+         * Return the classes that are compiled from the given source files, including their inner classes. A source file
+         * matches a class when its path, without the .java extension, ends with the package path and name of the top-level
+         * class, e.g., src/main/java/org/djutils/test/UnitTest.java for org.djutils.test.UnitTest and
+         * org.djutils.test.UnitTest$Execution. Files that are not Java source files are ignored.
+         * @param sourcePaths the paths of the changed source files
+         * @return the names of the classes in the source files, sorted
+         */
+        public Set<String> classesForSources(final Collection<String> sourcePaths)
+        {
+            Set<String> result = new TreeSet<>();
+            for (String sourcePath : sourcePaths)
+            {
+                String path = sourcePath.replace('\\', '/');
+                if (!path.endsWith(".java"))
+                {
+                    continue;
+                }
+                String base = "/" + path.substring(0, path.length() - 5);
+                for (String name : this.nodes.keySet())
+                {
+                    int dollar = name.indexOf('$');
+                    String topLevel = dollar < 0 ? name : name.substring(0, dollar);
+                    if (base.endsWith("/" + topLevel.replace('.', '/')))
+                    {
+                        result.add(name);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Update the graph in target/test-impact.graph, and print the test classes that are affected by the changes with respect to
+     * a git revision, separated by commas, for use with <code>-Dtest=...</code>.
+     * @param args the git revision to compare with; HEAD will be taken if the args are empty
+     * @throws IOException when the graph cannot be updated, or git fails
+     */
+    public static void main(final String... args) throws IOException
+    {
+        DependencyGraph graph = update(Paths.get("target", "test-impact.graph"),
+                List.of(Paths.get("target", "classes"), Paths.get("target", "test-classes")));
+        List<String> changedFiles = gitDiff(Paths.get("."), args.length > 0 ? args[0] : "HEAD");
+        System.out.println(String.join(",", graph.affectedTests(graph.classesForSources(changedFiles))));
+    }
+}
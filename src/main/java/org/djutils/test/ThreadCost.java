@@ -0,0 +1,67 @@
+package org.djutils.test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * ThreadCost reads the cpu time and the allocated bytes of the current thread, when the JVM supports it. Unsupported
+ * measurements return 0, so differences between two readings are always valid, though possibly zero.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+final class ThreadCost
+{
+    /** the thread bean of the JVM. */
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+    /** the HotSpot extension of the thread bean, or null when not available. */
+    private static final com.sun.management.ThreadMXBean SUN_THREAD_BEAN =
+            THREAD_BEAN instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) THREAD_BEAN : null;
+
+    /** whether cpu time can be measured. */
+    private static final boolean CPU_TIME = THREAD_BEAN.isCurrentThreadCpuTimeSupported();
+
+    /** whether allocated bytes can be measured. */
+    private static final boolean ALLOCATION = SUN_THREAD_BEAN != null && SUN_THREAD_BEAN.isThreadAllocatedMemorySupported();
+
+    static
+    {
+        if (CPU_TIME && !THREAD_BEAN.isThreadCpuTimeEnabled())
+        {
+            THREAD_BEAN.setThreadCpuTimeEnabled(true);
+        }
+        if (ALLOCATION && !SUN_THREAD_BEAN.isThreadAllocatedMemoryEnabled())
+        {
+            SUN_THREAD_BEAN.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    /** */
+    private ThreadCost()
+    {
+        // utility class
+    }
+
+    /**
+     * Return the cpu time of the current thread in nanoseconds.
+     * @return the cpu time of the current thread in nanoseconds, or 0 when not supported
+     */
+    static long cpuTime()
+    {
+        return CPU_TIME ? THREAD_BEAN.getCurrentThreadCpuTime() : 0L;
+    }
+
+    /**
+     * Return the number of bytes allocated by the current thread since its start.
+     * @return the number of bytes allocated by the current thread, or 0 when not supported
+     */
+    static long allocatedBytes()
+    {
+        return ALLOCATION ? SUN_THREAD_BEAN.getCurrentThreadAllocatedBytes() : 0L;
+    }
+}
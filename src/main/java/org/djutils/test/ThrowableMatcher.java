@@ -0,0 +1,306 @@
+package org.djutils.test;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ThrowableMatcher is a compiled predicate on a Throwable, that can check the type of the throwable, its message, the type or
+ * properties of a cause at a given depth or anywhere in the cause chain, the root cause, and the suppressed exceptions. A
+ * matcher is immutable: each with...(..) method returns a new matcher with an extra condition, so a matcher is built once,
+ * e.g., in a static final field, and is then reused for many assertions. Matching does not allocate: the type checks use
+ * Class.isAssignableFrom, and the regular expressions reuse a Matcher per thread. Only
+ * Throwable.getSuppressed() allocates a copy of the suppressed exceptions, when there are any. Matchers can be used with
+ * {@link UnitTest#testFail(UnitTest.Execution, ThrowableMatcher)}. A way to use the class is, for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   private static final ThrowableMatcher WRAPPED_TIMEOUT = ThrowableMatcher.instanceOf(ServiceException.class)
+ *       .withMessage("^call to .* failed$").withRootCause(TimeoutException.class);
+ *
+ *   UnitTest.testFail(() -&gt; service.call(), "call should time out", WRAPPED_TIMEOUT);
+ * </code>
+ * </pre>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class ThrowableMatcher
+{
+    /** the maximum length of a cause chain that is followed, to stop on cyclic cause chains. */
+    public static final int MAX_CAUSE_DEPTH = 64;
+
+    /** the matcher without conditions. */
+    private static final ThrowableMatcher ANY = new ThrowableMatcher(new Condition[0], new String[0]);
+
+    /** the conditions, that must all hold. */
+    private final Condition[] conditions;
+
+    /** the description of each condition. */
+    private final String[] descriptions;
+
+    /**
+     * Create a matcher with the given conditions.
+     * @param conditions the conditions, that must all hold
+     * @param descriptions the description of each condition
+     */
+    private ThrowableMatcher(final Condition[] conditions, final String[] descriptions)
+    {
+        this.conditions = conditions;
+        this.descriptions = descriptions;
+    }
+
+    /**
+     * Return a matcher that matches any throwable.
+     * @return a matcher that matches any throwable
+     */
+    public static ThrowableMatcher any()
+    {
+        return ANY;
+    }
+
+    /**
+     * Return a matcher that matches throwables of the given type or a subtype.
+     * @param type the type of the throwable
+     * @return a matcher that matches throwables of the given type or a subtype
+     */
+    public static ThrowableMatcher instanceOf(final Class<? extends Throwable> type)
+    {
+        return ANY.with(typeCondition(type), "instance of " + type.getSimpleName());
+    }
+
+    /**
+     * Return a matcher with an extra condition that the message of the throwable contains a match of the regular expression.
+     * Use ^ and $ to match the whole message.
+     * @param regex the regular expression
+     * @return a matcher with an extra condition on the message
+     */
+    public ThrowableMatcher withMessage(final String regex)
+    {
+        return with(messageCondition(regex), "message matches /" + regex + "/");
+    }
+
+    /**
+     * Return a matcher with an extra condition that the cause at the given depth is of the given type or a subtype. Depth 1 is
+     * the direct cause, depth 2 the cause of the cause, etc.
+     * @param depth the depth of the cause in the cause chain
+     * @param type the type of the cause
+     * @return a matcher with an extra condition on the cause at the given depth
+     * @throws IllegalArgumentException when depth &lt; 1 or depth &gt; MAX_CAUSE_DEPTH
+     */
+    public ThrowableMatcher withCause(final int depth, final Class<? extends Throwable> type)
+    {
+        return withCause(depth, instanceOf(type));
+    }
+
+    /**
+     * Return a matcher with an extra condition that the cause at the given depth matches the given matcher. Depth 1 is the
+     * direct cause, depth 2 the cause of the cause, etc.
+     * @param depth the depth of the cause in the cause chain
+     * @param matcher the matcher for the cause
+     * @return a matcher with an extra condition on the cause at the given depth
+     * @throws IllegalArgumentException when depth &lt; 1 or depth &gt; MAX_CAUSE_DEPTH
+     */
+    public ThrowableMatcher withCause(final int depth, final ThrowableMatcher matcher)
+    {
+        if (depth < 1 || depth > MAX_CAUSE_DEPTH)
+        {
+            throw new IllegalArgumentException("depth < 1 or depth > " + MAX_CAUSE_DEPTH);
+        }
+        return with(throwable ->
+        {
+            Throwable cause = throwable;
+            for (int i = 0; i < depth && cause != null; i++)
+            {
+                cause = cause.getCause();
+            }
+            return cause != null && matcher.matches(cause);
+        }, "cause at depth " + depth + " is " + matcher);
+    }
+
+    /**
+     * Return a matcher with an extra condition that a cause at any depth is of the given type or a subtype.
+     * @param type the type of the cause
+     * @return a matcher with an extra condition on the causes
+     */
+    public ThrowableMatcher withCauseAnywhere(final Class<? extends Throwable> type)
+    {
+        ThrowableMatcher matcher = instanceOf(type);
+        return with(throwable ->
+        {
+            Throwable cause = throwable.getCause();
+            for (int i = 0; i < MAX_CAUSE_DEPTH && cause != null; i++)
+            {
+                if (matcher.matches(cause))
+                {
+                    return true;
+                }
+                cause = cause.getCause();
+            }
+            return false;
+        }, "a cause is " + matcher);
+    }
+
+    /**
+     * Return a matcher with an extra condition that the root cause, the last throwable in the cause chain, is of the given type
+     * or a subtype. A throwable without a cause is its own root cause.
+     * @param type the type of the root cause
+     * @return a matcher with an extra condition on the root cause
+     */
+    public ThrowableMatcher withRootCause(final Class<? extends Throwable> type)
+    {
+        return withRootCause(instanceOf(type));
+    }
+
+    /**
+     * Return a matcher with an extra condition that the root cause, the last throwable in the cause chain, matches the given
+     * matcher. A throwable without a cause is its own root cause.
+     * @param matcher the matcher for the root cause
+     * @return a matcher with an extra condition on the root cause
+     */
+    public ThrowableMatcher withRootCause(final ThrowableMatcher matcher)
+    {
+        return with(throwable -> matcher.matches(rootCause(throwable)), "root cause is " + matcher);
+    }
+
+    /**
+     * Return a matcher with an extra condition that one of the suppressed exceptions is of the given type or a subtype.
+     * @param type the type of the suppressed exception
+     * @return a matcher with an extra condition on the suppressed exceptions
+     */
+    public ThrowableMatcher withSuppressed(final Class<? extends Throwable> type)
+    {
+        return withSuppressed(instanceOf(type));
+    }
+
+    /**
+     * Return a matcher with an extra condition that one of the suppressed exceptions matches the given matcher.
+     * @param matcher the matcher for the suppressed exception
+     * @return a matcher with an extra condition on the suppressed exceptions
+     */
+    public ThrowableMatcher withSuppressed(final ThrowableMatcher matcher)
+    {
+        return with(throwable ->
+        {
+            for (Throwable suppressed : throwable.getSuppressed())
+            {
+                if (matcher.matches(suppressed))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }, "a suppressed exception is " + matcher);
+    }
+
+    /**
+     * Return whether the throwable meets all conditions of this matcher.
+     * @param throwable the throwable to check
+     * @return whether the throwable meets all conditions of this matcher
+     */
+    public boolean matches(final Throwable throwable)
+    {
+        for (Condition condition : this.conditions)
+        {
+            if (!condition.test(throwable))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Return a description of the first condition that the throwable does not meet.
+     * @param throwable the throwable to check
+     * @return a description of the first condition that the throwable does not meet, or null when it meets all conditions
+     */
+    public String mismatch(final Throwable throwable)
+    {
+        for (int i = 0; i < this.conditions.length; i++)
+        {
+            if (!this.conditions[i].test(throwable))
+            {
+                return "expected " + this.descriptions[i] + ", but got (" + throwable + ")";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Return the root cause of a throwable, following at most MAX_CAUSE_DEPTH causes.
+     * @param throwable the throwable
+     * @return the root cause of the throwable
+     */
+    private static Throwable rootCause(final Throwable throwable)
+    {
+        Throwable root = throwable;
+        for (int i = 0; i < MAX_CAUSE_DEPTH && root.getCause() != null && root.getCause() != root; i++)
+        {
+            root = root.getCause();
+        }
+        return root;
+    }
+
+    /**
+     * Return a condition on the type of a throwable. Class.isAssignableFrom is a JIT intrinsic, which is faster than caching
+     * the outcome per throwable class, see AssignabilityCacheBenchmark.
+     * @param type the expected type
+     * @return a condition on the type of a throwable
+     */
+    private static Condition typeCondition(final Class<? extends Throwable> type)
+    {
+        return throwable -> type.isAssignableFrom(throwable.getClass());
+    }
+
+    /**
+     * Return a condition on the message of a throwable, with a Matcher per thread that is reset for each message.
+     * @param regex the regular expression
+     * @return a condition on the message of a throwable
+     */
+    private static Condition messageCondition(final String regex)
+    {
+        Pattern pattern = Pattern.compile(regex);
+        ThreadLocal<Matcher> matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+        return throwable -> throwable.getMessage() != null && matchers.get().reset(throwable.getMessage()).find();
+    }
+
+    /**
+     * Return a new matcher with an extra condition.
+     * @param condition the extra condition
+     * @param description the description of the extra condition
+     * @return a new matcher with the conditions of this matcher and the extra condition
+     */
+    private ThrowableMatcher with(final Condition condition, final String description)
+    {
+        Condition[] newConditions = Arrays.copyOf(this.conditions, this.conditions.length + 1);
+        newConditions[this.conditions.length] = condition;
+        String[] newDescriptions = Arrays.copyOf(this.descriptions, this.descriptions.length + 1);
+        newDescriptions[this.descriptions.length] = description;
+        return new ThrowableMatcher(newConditions, newDescriptions);
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.descriptions.length == 0 ? "any throwable" : "(" + String.join(" and ", this.descriptions) + ")";
+    }
+
+    /**
+     * Condition is one condition of a matcher.
+     */
+    @FunctionalInterface
+    private interface Condition
+    {
+        /**
+         * Return whether the throwable meets the condition.
+         * @param throwable the throwable
+         * @return whether the throwable meets the condition
+         */
+        boolean test(Throwable throwable);
+    }
+}
@@ -0,0 +1,47 @@
+package org.djutils.test;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Timed registers the {@link TimingExtension} for a test class or a test method. The wall time, cpu time and allocated bytes
+ * of every test method and of the test class as a whole are recorded, and written to a sorted report at the end of the run. A
+ * way to use the annotation is, for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   {@literal @}Timed(slowMillis = 500)
+ *   public class ParserTest
+ *   {
+ *       ...
+ *   }
+ * </code>
+ * </pre>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@ExtendWith(TimingExtension.class)
+public @interface Timed
+{
+    /**
+     * Return the wall time in milliseconds above which a test is flagged as slow. A negative value (the default) means that
+     * the configuration parameter <code>djutils.timing.slowMillis</code> is used, or 1000 ms when that parameter is not set.
+     * @return the wall time in milliseconds above which a test is flagged as slow
+     */
+    long slowMillis() default -1;
+}
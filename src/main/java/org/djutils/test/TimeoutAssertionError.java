@@ -0,0 +1,44 @@
+package org.djutils.test;
+
+import java.time.Duration;
+
+/**
+ * TimeoutAssertionError is thrown by the testFail(...) and testFailAsync(...) methods with a timeout when the code under test
+ * does not finish in time. It is a distinct subclass of AssertionError, so a test that hangs can be told apart from a test that
+ * did not throw the expected exception. For testFail(...), the message contains a thread dump of the stuck thread.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class TimeoutAssertionError extends AssertionError
+{
+    /** */
+    private static final long serialVersionUID = 20260101L;
+
+    /** the timeout that expired. */
+    private final Duration timeout;
+
+    /**
+     * Create a TimeoutAssertionError.
+     * @param message the message, which can include a thread dump of the stuck thread
+     * @param timeout the timeout that expired
+     */
+    public TimeoutAssertionError(final String message, final Duration timeout)
+    {
+        super(message);
+        this.timeout = timeout;
+    }
+
+    /**
+     * Return the timeout that expired.
+     * @return the timeout that expired
+     */
+    public Duration getTimeout()
+    {
+        return this.timeout;
+    }
+}
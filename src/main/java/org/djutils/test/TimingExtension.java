@@ -0,0 +1,409 @@
+package org.djutils.test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * TimingExtension records the wall time, cpu time and allocated bytes of every test method and of every test class. The
+ * method figures include the time spent in the <code>@BeforeEach</code> and <code>@AfterEach</code> fixtures; the time spent
+ * in the test method body alone is recorded separately. The figures are added to a lock-free queue of the report of the run,
+ * which is kept in the root extension context, so recording does not need any locking and a nested run, e.g., with the
+ * EngineTestKit, keeps its own figures. At the end of the run, the figures of the invocations of the same method, e.g., of a
+ * parameterized or repeated test, are added up, a report sorted on wall time is printed, and the figures are merged into a
+ * csv file (by default <code>target/timing-report.csv</code>) that serves as the baseline for the next run. Tests above the
+ * slow threshold are flagged SLOW, and tests that take longer than the baseline times the regression factor are flagged
+ * REGRESSED. The extension is normally registered with the {@link Timed} annotation.
+ * <p>
+ * The following JUnit configuration parameters are used:
+ * <ul>
+ * <li><code>djutils.timing.report</code>: the csv file to merge the figures into (default target/timing-report.csv)</li>
+ * <li><code>djutils.timing.slowMillis</code>: the default slow threshold in milliseconds (default 1000)</li>
+ * <li><code>djutils.timing.regressionFactor</code>: the factor relative to the baseline for regression (default 1.5)</li>
+ * </ul>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class TimingExtension implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback, AfterEachCallback,
+        BeforeTestExecutionCallback, AfterTestExecutionCallback
+{
+    /** the csv header of the report file. */
+    static final String CSV_HEADER = "kind,class,method,wallNanos,bodyNanos,cpuNanos,allocatedBytes";
+
+    /** the namespace for the start measurements in the extension context store. */
+    private static final Namespace NAMESPACE = Namespace.create(TimingExtension.class);
+
+    /** the store key for the start of a class or method. */
+    private static final String START = "start";
+
+    /** the store key for the start of the test method body. */
+    private static final String BODY_START = "bodyStart";
+
+    /** the store key for the duration of the test method body. */
+    private static final String BODY_NANOS = "bodyNanos";
+
+    /** the minimum difference with the baseline in nanoseconds before a test can be flagged as regressed. */
+    private static final long REGRESSION_NOISE_NANOS = 10_000_000L;
+
+    @Override
+    public void beforeAll(final ExtensionContext context)
+    {
+        report(context);
+        context.getStore(NAMESPACE).put(START, start());
+    }
+
+    @Override
+    public void afterAll(final ExtensionContext context)
+    {
+        record(context, true, 0L);
+    }
+
+    @Override
+    public void beforeEach(final ExtensionContext context)
+    {
+        report(context);
+        context.getStore(NAMESPACE).put(START, start());
+    }
+
+    @Override
+    public void beforeTestExecution(final ExtensionContext context)
+    {
+        context.getStore(NAMESPACE).put(BODY_START, System.nanoTime());
+    }
+
+    @Override
+    public void afterTestExecution(final ExtensionContext context)
+    {
+        Long bodyStart = context.getStore(NAMESPACE).remove(BODY_START, Long.class);
+        if (bodyStart != null)
+        {
+            context.getStore(NAMESPACE).put(BODY_NANOS, System.nanoTime() - bodyStart);
+        }
+    }
+
+    @Override
+    public void afterEach(final ExtensionContext context)
+    {
+        Long bodyNanos = context.getStore(NAMESPACE).remove(BODY_NANOS, Long.class);
+        record(context, false, bodyNanos == null ? 0L : bodyNanos);
+    }
+
+    /**
+     * Return the report of the run, and make sure that it is stored in the root context, so the timings are written when the
+     * run ends. This is done for every class and method, since JUnit does not call beforeAll when only a test method is
+     * annotated with {@link Timed}.
+     * @param context the extension context of the class or method
+     * @return the report of the run to which the class or method belongs
+     */
+    private static Report report(final ExtensionContext context)
+    {
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Report.class, key -> new Report(context),
+                Report.class);
+    }
+
+    /**
+     * Return the start measurement for the current thread.
+     * @return an array with the wall time, cpu time and allocated bytes at the start
+     */
+    private static long[] start()
+    {
+        return new long[] {System.nanoTime(), ThreadCost.cpuTime(), ThreadCost.allocatedBytes()};
+    }
+
+    /**
+     * Record the figures of a class or method in the report of the run.
+     * @param context the extension context of the class or method
+     * @param classLevel whether the figures are for the test class as a whole
+     * @param bodyNanos the wall time of the test method body, or 0 for a class
+     */
+    private static void record(final ExtensionContext context, final boolean classLevel, final long bodyNanos)
+    {
+        long[] start = context.getStore(NAMESPACE).remove(START, long[].class);
+        if (start == null)
+        {
+            return;
+        }
+        long wallNanos = System.nanoTime() - start[0];
+        long cpuNanos = ThreadCost.cpuTime() - start[1];
+        long allocatedBytes = ThreadCost.allocatedBytes() - start[2];
+        String className = context.getRequiredTestClass().getName();
+        String methodName = classLevel ? "" : context.getRequiredTestMethod().getName();
+        report(context).timings.add(new Timing(classLevel, className, methodName, wallNanos, bodyNanos, cpuNanos,
+                allocatedBytes, slowNanos(context)));
+    }
+
+    /**
+     * Return the slow threshold for a class or method, looking at the method annotation, then the class annotation, and then
+     * the configuration parameter.
+     * @param context the extension context of the class or method
+     * @return the slow threshold in nanoseconds
+     */
+    private static long slowNanos(final ExtensionContext context)
+    {
+        Optional<Timed> timed = AnnotationSupport.findAnnotation(context.getElement(), Timed.class);
+        if (timed.isEmpty() || timed.get().slowMillis() < 0)
+        {
+            timed = AnnotationSupport.findAnnotation(context.getTestClass(), Timed.class);
+        }
+        long slowMillis = timed.isPresent() && timed.get().slowMillis() >= 0 ? timed.get().slowMillis()
+                : context.getConfigurationParameter("djutils.timing.slowMillis", Long::parseLong).orElse(1000L);
+        return slowMillis * 1_000_000L;
+    }
+
+    /**
+     * Merge the timings into the csv report file, and return the human-readable report lines for the timings, sorted on wall
+     * time with the longest first. The timings of the invocations of the same class or method are added up first. The entries
+     * in the existing report file act as the baseline for the regression check, and are replaced by the new timings for the
+     * same class and method.
+     * @param reportFile the csv file to merge the timings into
+     * @param timings the timings of this run
+     * @param regressionFactor the factor relative to the baseline above which a test is flagged as regressed
+     * @return the human-readable report lines
+     * @throws UncheckedIOException when the report file cannot be read or written
+     */
+    static List<String> writeReport(final Path reportFile, final Collection<Timing> timings, final double regressionFactor)
+    {
+        List<String> lines = new ArrayList<>();
+        try
+        {
+            Path parent = reportFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path lockFile = parent.resolve(reportFile.getFileName() + ".lock");
+            try (FileChannel lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE))
+            {
+                FileLock lock = lockChannel.lock();
+                try
+                {
+                    Map<String, Timing> baseline = new LinkedHashMap<>();
+                    if (Files.exists(reportFile))
+                    {
+                        for (String line : Files.readAllLines(reportFile, StandardCharsets.UTF_8))
+                        {
+                            Timing timing = Timing.parse(line);
+                            if (timing != null)
+                            {
+                                baseline.put(timing.key(), timing);
+                            }
+                        }
+                    }
+                    Map<String, Timing> run = new LinkedHashMap<>();
+                    timings.forEach(timing -> run.merge(timing.key(), timing, Timing::plus));
+                    List<Timing> sorted = new ArrayList<>(run.values());
+                    sorted.sort(Comparator.comparingLong(Timing::wallNanos).reversed());
+                    for (Timing timing : sorted)
+                    {
+                        lines.add(timing.describe(baseline.get(timing.key()), regressionFactor));
+                    }
+                    Map<String, Timing> merged = new LinkedHashMap<>(baseline);
+                    merged.putAll(run);
+                    List<Timing> all = new ArrayList<>(merged.values());
+                    all.sort(Comparator.comparingLong(Timing::wallNanos).reversed());
+                    List<String> csv = new ArrayList<>();
+                    csv.add(CSV_HEADER);
+                    all.forEach(timing -> csv.add(timing.toCsv()));
+                    Path tempFile = Files.createTempFile(parent, "timing", ".tmp");
+                    Files.write(tempFile, csv, StandardCharsets.UTF_8);
+                    Files.move(tempFile, reportFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                finally
+                {
+                    lock.release();
+                }
+            }
+        }
+        catch (IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+        return lines;
+    }
+
+    /**
+     * Report is stored in the root context, collects the timings of all threads of the run, and writes them when the run
+     * closes the root context.
+     */
+    private static final class Report implements AutoCloseable
+    {
+        /** the timings of the run; the queue is lock-free, and is only drained after all tests of the run have finished. */
+        private final Queue<Timing> timings = new ConcurrentLinkedQueue<>();
+
+        /** the csv file to merge the timings into. */
+        private final Path reportFile;
+
+        /** the factor relative to the baseline above which a test is flagged as regressed. */
+        private final double regressionFactor;
+
+        /**
+         * Create the report with the configuration parameters of the run.
+         * @param context an extension context to read the configuration parameters from
+         */
+        Report(final ExtensionContext context)
+        {
+            this.reportFile = Paths
+                    .get(context.getConfigurationParameter("djutils.timing.report").orElse("target/timing-report.csv"));
+            this.regressionFactor =
+                    context.getConfigurationParameter("djutils.timing.regressionFactor", Double::parseDouble).orElse(1.5);
+        }
+
+        @Override
+        public void close()
+        {
+            List<Timing> drained = new ArrayList<>();
+            for (Timing timing = this.timings.poll(); timing != null; timing = this.timings.poll())
+            {
+                drained.add(timing);
+            }
+            if (drained.isEmpty())
+            {
+                return;
+            }
+            System.out.println("Timing report (wall ms, body ms, cpu ms, allocated MB):");
+            writeReport(this.reportFile, drained, this.regressionFactor).forEach(System.out::println);
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Report [reportFile=" + this.reportFile + ", regressionFactor=" + this.regressionFactor + "]";
+        }
+    }
+
+    /**
+     * Timing contains the recorded figures of one test method or test class.
+     * @param classLevel whether the figures are for the test class as a whole
+     * @param className the name of the test class
+     * @param methodName the name of the test method, or an empty string for the test class
+     * @param wallNanos the wall time in nanoseconds, including the fixtures
+     * @param bodyNanos the wall time of the test method body in nanoseconds, or 0 for the test class
+     * @param cpuNanos the cpu time of the thread in nanoseconds
+     * @param allocatedBytes the number of bytes allocated by the thread
+     * @param slowNanos the wall time in nanoseconds above which the test is flagged as slow; Long.MAX_VALUE when unknown
+     */
+    public record Timing(boolean classLevel, String className, String methodName, long wallNanos, long bodyNanos,
+            long cpuNanos, long allocatedBytes, long slowNanos)
+    {
+        /**
+         * Return the key that identifies the class or method in the report.
+         * @return the key that identifies the class or method in the report
+         */
+        public String key()
+        {
+            return (this.classLevel ? "CLASS " : "METHOD ") + this.className + "#" + this.methodName;
+        }
+
+        /**
+         * Return the sum of this timing and another invocation of the same class or method, e.g., of a parameterized or
+         * repeated test. The slow thresholds are added as well, so the sum is slow when the invocations are slow on average.
+         * @param other the timing of another invocation of the same class or method
+         * @return the sum of the timings
+         */
+        public Timing plus(final Timing other)
+        {
+            long slow = this.slowNanos > Long.MAX_VALUE - other.slowNanos ? Long.MAX_VALUE : this.slowNanos + other.slowNanos;
+            return new Timing(this.classLevel, this.className, this.methodName, this.wallNanos + other.wallNanos,
+                    this.bodyNanos + other.bodyNanos, this.cpuNanos + other.cpuNanos,
+                    this.allocatedBytes + other.allocatedBytes, slow);
+        }
+
+        /**
+         * Return the csv line for this timing.
+         * @return the csv line for this timing
+         */
+        public String toCsv()
+        {
+            return (this.classLevel ? "CLASS" : "METHOD") + "," + this.className + "," + this.methodName + "," + this.wallNanos
+                    + "," + this.bodyNanos + "," + this.cpuNanos + "," + this.allocatedBytes;
+        }
+
+        /**
+         * Parse a csv line of the report file.
+         * @param line the csv line
+         * @return the timing, or null when the line is a header or is not valid
+         */
+        public static Timing parse(final String line)
+        {
+            String[] fields = line.split(",", -1);
+            if (fields.length != 7 || !(fields[0].equals("CLASS") || fields[0].equals("METHOD")))
+            {
+                return null;
+            }
+            try
+            {
+                return new Timing(fields[0].equals("CLASS"), fields[1], fields[2], Long.parseLong(fields[3]),
+                        Long.parseLong(fields[4]), Long.parseLong(fields[5]), Long.parseLong(fields[6]), Long.MAX_VALUE);
+            }
+            catch (NumberFormatException exception)
+            {
+                return null;
+            }
+        }
+
+        /**
+         * Return whether the wall time exceeds the slow threshold.
+         * @return whether the wall time exceeds the slow threshold
+         */
+        public boolean isSlow()
+        {
+            return this.wallNanos > this.slowNanos;
+        }
+
+        /**
+         * Return whether the wall time has regressed relative to a baseline.
+         * @param baseline the baseline timing, may be null
+         * @param regressionFactor the factor relative to the baseline above which the test is flagged as regressed
+         * @return whether the wall time has regressed relative to the baseline
+         */
+        public boolean isRegressed(final Timing baseline, final double regressionFactor)
+        {
+            return baseline != null && this.wallNanos > baseline.wallNanos * regressionFactor
+                    && this.wallNanos - baseline.wallNanos > REGRESSION_NOISE_NANOS;
+        }
+
+        /**
+         * Return a human-readable line for the report, with the flags.
+         * @param baseline the baseline timing, may be null
+         * @param regressionFactor the factor relative to the baseline above which the test is flagged as regressed
+         * @return a human-readable line for the report
+         */
+        String describe(final Timing baseline, final double regressionFactor)
+        {
+            String flags = (isSlow() ? " SLOW" : "") + (isRegressed(baseline, regressionFactor)
+                    ? String.format(Locale.US, " REGRESSED (baseline %.1f ms)", baseline.wallNanos / 1.0E6) : "");
+            return String.format(Locale.US, "%10.1f %10.1f %10.1f %10.2f  %s%s", this.wallNanos / 1.0E6,
+                    this.bodyNanos / 1.0E6, this.cpuNanos / 1.0E6, this.allocatedBytes / 1048576.0, key(), flags);
+        }
+    }
+
+}
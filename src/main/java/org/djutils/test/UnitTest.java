@@ -1,5 +1,24 @@
 package org.djutils.test;
 
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MonitorInfo;
+import java.lang.management.ThreadInfo;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * UnitTest has the methods to do a testFail(..) method for a unit test.
  * <p>
@@ -14,6 +33,15 @@ package org.djutils.test;
  */
 public final class UnitTest
 {
+    /** the maximum number of failing inputs reported by testFailForAll(...). */
+    private static final int MAX_REPORTED_INPUTS = 100;
+
+    /** the number of inputs that testFailForAll(...) reads from the stream and tests in parallel at a time. */
+    private static final int INPUT_BATCH_SIZE = 4096;
+
+    /** the maximum length of the description of a failing input. */
+    private static final int MAX_INPUT_LENGTH = 100;
+
     /** private constructor for utility class. */
     private UnitTest()
     {
@@ -167,11 +195,7 @@ public final class UnitTest
         }
         catch (Throwable cause)
         {
-            if (!expectedThrowableClass.isAssignableFrom(cause.getClass()))
-            {
-                throw new AssertionError(message + "; Assignment failed on unexpected Throwable, expected ("
-                        + expectedThrowableClass.getSimpleName() + "), but got (" + cause.getClass().getSimpleName() + ").");
-            }
+            checkThrowable(cause, message, expectedThrowableClass, "Assignment");
             return null;
         }
         throw new AssertionError(message + "; Assignment did not throw any exception");
@@ -314,17 +338,831 @@ public final class UnitTest
         }
         catch (Throwable cause)
         {
-            if (!expectedThrowableClass.isAssignableFrom(cause.getClass()))
-            {
-                throw new AssertionError(message + "; Execution failed on unexpected Throwable, expected ("
-                        + expectedThrowableClass.getSimpleName() + "), but got (" + cause.getClass().getSimpleName() + ").");
-            }
+            checkThrowable(cause, message, expectedThrowableClass, "Execution");
+            // expected to fail
+            return;
+        }
+        throw new AssertionError(message + "; Execution did not throw any exception");
+    }
+
+    /**
+     * Method for unit tests to test if an exception is thrown on an assignment that meets all conditions of a matcher, e.g., on
+     * its type, message, causes and suppressed exceptions. The testFail() method throws an AssertionError when the assignment
+     * does not throw an exception, or when the exception does not match. A way to use the method is, for instance: <br>
+     * 
+     * <pre>
+     * <code>
+     *   UnitTest.testFail(() -&gt; parse(file), ThrowableMatcher.instanceOf(ParseException.class).withMessage("line 3"));
+     * </code>
+     * </pre>
+     * 
+     * @param assignment functional interface to assign value
+     * @param matcher the conditions that the thrown exception has to meet
+     * @param <V> value type, which is the return type of the assignment
+     * @return assigned value
+     */
+    public static <V> V testFail(final Assignment<V> assignment, final ThrowableMatcher matcher)
+    {
+        return testFail(assignment, null, matcher);
+    }
+
+    /**
+     * Method for unit tests to test if an exception is thrown on an assignment that meets all conditions of a matcher, e.g., on
+     * its type, message, causes and suppressed exceptions. This method provides an explanation message. The testFail() method
+     * throws an AssertionError when the assignment does not throw an exception, or when the exception does not match. A way to
+     * use the method is, for instance: <br>
+     * 
+     * <pre>
+     * <code>
+     *   UnitTest.testFail(() -&gt; parse(file), "wrong line", ThrowableMatcher.instanceOf(ParseException.class)
+     *       .withMessage("line 3").withRootCause(NumberFormatException.class));
+     * </code>
+     * </pre>
+     * 
+     * @param assignment functional interface to assign value
+     * @param message message to use in the AssertionError when the test fails
+     * @param matcher the conditions that the thrown exception has to meet
+     * @param <V> value type, which is the return type of the assignment
+     * @return assigned value
+     */
+    public static <V> V testFail(final Assignment<V> assignment, final String message, final ThrowableMatcher matcher)
+    {
+        try
+        {
+            assignment.assign();
+        }
+        catch (Throwable cause)
+        {
+            checkThrowable(cause, message, matcher, "Assignment");
+            return null;
+        }
+        throw new AssertionError(message + "; Assignment did not throw any exception");
+    }
+
+    /**
+     * Method for unit tests to test if an exception is thrown on code execution that meets all conditions of a matcher, e.g.,
+     * on its type, message, causes and suppressed exceptions. The testFail() method throws an AssertionError when the execution
+     * does not throw an exception, or when the exception does not match. A way to use the method is, for instance: <br>
+     * 
+     * <pre>
+     * <code>
+     *   UnitTest.testFail(() -&gt; service.start(), ThrowableMatcher.instanceOf(IllegalStateException.class)
+     *       .withCause(1, IOException.class));
+     * </code>
+     * </pre>
+     * 
+     * @param execution functional interface to execute a method that does not need to return a value
+     * @param matcher the conditions that the thrown exception has to meet
+     */
+    public static void testFail(final Execution execution, final ThrowableMatcher matcher)
+    {
+        testFail(execution, null, matcher);
+    }
+
+    /**
+     * Method for unit tests to test if an exception is thrown on code execution that meets all conditions of a matcher, e.g.,
+     * on its type, message, causes and suppressed exceptions. This method provides an explanation message. The testFail()
+     * method throws an AssertionError when the execution does not throw an exception, or when the exception does not match. A
+     * way to use the method is, for instance: <br>
+     * 
+     * <pre>
+     * <code>
+     *   UnitTest.testFail(() -&gt; resource.close(), "close should report both failures",
+     *       ThrowableMatcher.instanceOf(IOException.class).withSuppressed(IOException.class));
+     * </code>
+     * </pre>
+     * 
+     * @param execution functional interface to execute a method that does not need to return a value
+     * @param message message to use in the AssertionError when the test fails
+     * @param matcher the conditions that the thrown exception has to meet
+     */
+    public static void testFail(final Execution execution, final String message, final ThrowableMatcher matcher)
+    {
+        try
+        {
+            execution.execute();
+        }
+        catch (Throwable cause)
+        {
+            checkThrowable(cause, message, matcher, "Execution");
             // expected to fail
             return;
         }
         throw new AssertionError(message + "; Execution did not throw any exception");
     }
 
+    /**
+     * Method for unit tests to test if an expected exception is thrown on an assignment within a given time. The assignment
+     * is carried out on a dedicated thread. When the assignment has not finished when the timeout expires, the thread is
+     * interrupted and a TimeoutAssertionError with a thread dump of the stuck thread is thrown, rather than letting the test
+     * hang. A way to use the method is, for instance: <br>
+     * 
+     * <pre>
+     * <code>
+     *   UnitTest.testFail(() -&gt; queue.remove(), Duration.ofSeconds(1));
+     * </code>
+     * </pre>
+     * 
+     * @param assignment functional interface to assign value
+     * @param timeout the maximum duration of the assignment
+     * @param <V> value type, which is the return type of the assignment
+     * @return assigned value
+     * @throws AssertionError when the assignment fails to throw an exception
+     * @throws TimeoutAssertionError when the assignment does not finish within the timeout
+     */
+    public static <V> V testFail(final Assignment<V> assignment, final Duration timeout)
+    {
+        return testFail(assignment, (String) null, Throwable.class, timeout);
+    }
+
+    /**
+     * Method for unit tests to test if an expected exception is thrown on an assignment within a given time, with an
+     * explanation message. When the assignment has not finished when the timeout expires, the thread that carries out the
+     * assignment is interrupted and a TimeoutAssertionError with a thread dump of the stuck thread is thrown.
+     * @param assignment functional interface to assign value
+     * @param message message to use in the AssertionError when the test fails
+     * @param timeout the maximum duration of the assignment
+     * @param <V> value type, which is the return type of the assignment
+     * @return assigned value
+     * @throws AssertionError when the assignment fails to throw an exception
+     * @throws TimeoutAssertionError when the assignment does not finish within the timeout
+     */
+    public static <V> V testFail(final Assignment<V> assignment, final String message, final Duration timeout)
+    {
+        return testFail(assignment, message, Throwable.class, timeout);
+    }
+
+    /**
+     * Method for unit tests to test if an expected exception of a specific type is thrown on an assignment within a given
+     * time. When the assignment has not finished when the timeout expires, the thread that carries out the assignment is
+     * interrupted and a TimeoutAssertionError with a thread dump of the stuck thread is thrown.
+     * @param assignment functional interface to assign value
+     * @param expectedThrowableClass the class of the exception we expect the assignment to throw
+     * @param timeout the maximum duration of the assignment
+     * @param <V> value type, which is the return type of the assignment
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @return assigned value
+     * @throws AssertionError when the assignment fails to throw an exception or the correct exception
+     * @throws TimeoutAssertionError when the assignment does not finish within the timeout
+     */
+    public static <V, T extends Throwable> V testFail(final Assignment<V> assignment,
+            final Class<T> expectedThrowableClass, final Duration timeout)
+    {
+        return testFail(assignment, (String) null, expectedThrowableClass, timeout);
+    }
+
+    /**
+     * Method for unit tests to test if an expected exception of a specific type is thrown on an assignment within a given
+     * time, with an explanation message. When the assignment has not finished when the timeout expires, the thread that
+     * carries out the assignment is interrupted and a TimeoutAssertionError with a thread dump of the stuck thread is thrown.
+     * A way to use the method is, for instance: <br>
+     * 
+     * <pre>
+     * <code>
+     *   UnitTest.testFail(() -&gt; lock.acquire(), "should fail", IllegalStateException.class, Duration.ofMillis(500));
+     * </code>
+     * </pre>
+     * 
+     * @param assignment functional interface to assign value
+     * @param message message to use in the AssertionError when the test fails
+     * @param expectedThrowableClass the class of the exception we expect the assignment to throw
+     * @param timeout the maximum duration of the assignment
+     * @param <V> value type, which is the return type of the assignment
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @return assigned value
+     * @throws AssertionError when the assignment fails to throw an exception or the correct exception
+     * @throws TimeoutAssertionError when the assignment does not finish within the timeout
+     */
+    public static <V, T extends Throwable> V testFail(final Assignment<V> assignment, final String message,
+            final Class<T> expectedThrowableClass, final Duration timeout)
+    {
+        Throwable cause = executeWithTimeout(() -> assignment.assign(), timeout, message, "Assignment");
+        if (cause == null)
+        {
+            throw new AssertionError(message + "; Assignment did not throw any exception");
+        }
+        checkThrowable(cause, message, expectedThrowableClass, "Assignment");
+        return null;
+    }
+
+    /**
+     * Method for unit tests to test if an expected exception is thrown on code execution within a given time. The execution
+     * is carried out on a dedicated thread. When the execution has not finished when the timeout expires, the thread is
+     * interrupted and a TimeoutAssertionError with a thread dump of the stuck thread is thrown, rather than letting the test
+     * hang. A way to use the method is, for instance: <br>
+     * 
+     * <pre>
+     * <code>
+     *   UnitTest.testFail(() -&gt; worker.awaitShutdown(), Duration.ofSeconds(1));
+     * </code>
+     * </pre>
+     * 
+     * @param execution functional interface to execute a method that does not need to return a value
+     * @param timeout the maximum duration of the execution
+     * @throws AssertionError when the execution fails to throw an exception
+     * @throws TimeoutAssertionError when the execution does not finish within the timeout
+     */
+    public static void testFail(final Execution execution, final Duration timeout)
+    {
+        testFail(execution, (String) null, Throwable.class, timeout);
+    }
+
+    /**
+     * Method for unit tests to test if an expected exception is thrown on code execution within a given time, with an
+     * explanation message. When the execution has not finished when the timeout expires, the thread that carries out the
+     * execution is interrupted and a TimeoutAssertionError with a thread dump of the stuck thread is thrown.
+     * @param execution functional interface to execute a method that does not need to return a value
+     * @param message message to use in the AssertionError when the test fails
+     * @param timeout the maximum duration of the execution
+     * @throws AssertionError when the execution fails to throw an exception
+     * @throws TimeoutAssertionError when the execution does not finish within the timeout
+     */
+    public static void testFail(final Execution execution, final String message, final Duration timeout)
+    {
+        testFail(execution, message, Throwable.class, timeout);
+    }
+
+    /**
+     * Method for unit tests to test if an expected exception of a specific type is thrown on code execution within a given
+     * time. When the execution has not finished when the timeout expires, the thread that carries out the execution is
+     * interrupted and a TimeoutAssertionError with a thread dump of the stuck thread is thrown.
+     * @param execution functional interface to execute a method that does not need to return a value
+     * @param expectedThrowableClass the class of the exception we expect the execution to throw
+     * @param timeout the maximum duration of the execution
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @throws AssertionError when the execution fails to throw an exception or the correct exception
+     * @throws TimeoutAssertionError when the execution does not finish within the timeout
+     */
+    public static <T extends Throwable> void testFail(final Execution execution, final Class<T> expectedThrowableClass,
+            final Duration timeout)
+    {
+        testFail(execution, (String) null, expectedThrowableClass, timeout);
+    }
+
+    /**
+     * Method for unit tests to test if an expected exception of a specific type is thrown on code execution within a given
+     * time, with an explanation message. When the execution has not finished when the timeout expires, the thread that
+     * carries out the execution is interrupted and a TimeoutAssertionError with a thread dump of the stuck thread is thrown.
+     * A way to use the method is, for instance: <br>
+     * 
+     * <pre>
+     * <code>
+     *   UnitTest.testFail(() -&gt; pool.submitAll(tasks), "should reject", RejectedException.class, Duration.ofSeconds(2));
+     * </code>
+     * </pre>
+     * 
+     * @param execution functional interface to execute a method that does not need to return a value
+     * @param message message to use in the AssertionError when the test fails
+     * @param expectedThrowableClass the class of the exception we expect the execution to throw
+     * @param timeout the maximum duration of the execution
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @throws AssertionError when the execution fails to throw an exception or the correct exception
+     * @throws TimeoutAssertionError when the execution does not finish within the timeout
+     */
+    public static <T extends Throwable> void testFail(final Execution execution, final String message,
+            final Class<T> expectedThrowableClass, final Duration timeout)
+    {
+        Throwable cause = executeWithTimeout(execution, timeout, message, "Execution");
+        if (cause == null)
+        {
+            throw new AssertionError(message + "; Execution did not throw any exception");
+        }
+        checkThrowable(cause, message, expectedThrowableClass, "Execution");
+    }
+
+    /**
+     * Method for unit tests to test if an expected exception is thrown on an assignment for every input of a (possibly very
+     * large) set of inputs. The inputs are consumed lazily in batches, and the assignments of a batch are carried out in
+     * parallel on the common fork-join pool. The test does not stop at the first input that does not throw; all inputs are
+     * tested, and one AssertionError is thrown at the end that reports the number of failing inputs and the first failing
+     * inputs in the order of the inputs. A way to use the method is, for instance: <br>
+     * 
+     * <pre>
+     * <code>
+     *   UnitTest.testFailForAll(invalidDates, s -&gt; () -&gt; LocalDate.parse(s), DateTimeParseException.class);
+     * </code>
+     * </pre>
+     * 
+     * @param inputs the inputs for which the assignment should fail
+     * @param assignmentFunction function that creates the assignment for an input
+     * @param expectedThrowableClass the class of the exception we expect each assignment to throw
+     * @param <I> input type
+     * @param <V> value type, which is the return type of the assignment
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @throws AssertionError when one or more of the assignments fail to throw the correct exception
+     */
+    public static <I, V, T extends Throwable> void testFailForAll(final Iterable<I> inputs,
+            final Function<I, Assignment<V>> assignmentFunction, final Class<T> expectedThrowableClass)
+    {
+        testFailForAll(StreamSupport.stream(inputs.spliterator(), false), assignmentFunction, null, expectedThrowableClass);
+    }
+
+    /**
+     * Method for unit tests to test if an expected exception is thrown on an assignment for every input of a (possibly very
+     * large) set of inputs, with an explanation message. The inputs are consumed lazily in batches, and the assignments of a
+     * batch are carried out in parallel on the common fork-join pool. All inputs are tested, and one AssertionError is thrown
+     * at the end that reports the number of failing inputs and the first failing inputs in the order of the inputs.
+     * @param inputs the inputs for which the assignment should fail
+     * @param assignmentFunction function that creates the assignment for an input
+     * @param message message to use in the AssertionError when the test fails
+     * @param expectedThrowableClass the class of the exception we expect each assignment to throw
+     * @param <I> input type
+     * @param <V> value type, which is the return type of the assignment
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @throws AssertionError when one or more of the assignments fail to throw the correct exception
+     */
+    public static <I, V, T extends Throwable> void testFailForAll(final Iterable<I> inputs,
+            final Function<I, Assignment<V>> assignmentFunction, final String message, final Class<T> expectedThrowableClass)
+    {
+        testFailForAll(StreamSupport.stream(inputs.spliterator(), false), assignmentFunction, message, expectedThrowableClass);
+    }
+
+    /**
+     * Method for unit tests to test if an expected exception is thrown on an assignment for every input of a stream, with an
+     * explanation message. The stream is consumed lazily in batches of which the assignments are carried out in parallel, so
+     * it can be backed by a large file or generator, e.g., <code>Files.lines(path)</code>. All inputs are tested, and one
+     * AssertionError is thrown at the end that reports the number of failing inputs and the first failing inputs in the order
+     * of the stream, so the report does not depend on the scheduling of the parallel assignments.
+     * @param inputs the stream of inputs for which the assignment should fail
+     * @param assignmentFunction function that creates the assignment for an input
+     * @param message message to use in the AssertionError when the test fails
+     * @param expectedThrowableClass the class of the exception we expect each assignment to throw
+     * @param <I> input type
+     * @param <V> value type, which is the return type of the assignment
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @throws AssertionError when one or more of the assignments fail to throw the correct exception
+     */
+    public static <I, V, T extends Throwable> void testFailForAll(final Stream<I> inputs,
+            final Function<I, Assignment<V>> assignmentFunction, final String message, final Class<T> expectedThrowableClass)
+    {
+        long inputCount = 0;
+        long failureCount = 0;
+        List<String> failures = new ArrayList<>();
+        Iterator<I> iterator = inputs.iterator();
+        List<I> batch = new ArrayList<>(INPUT_BATCH_SIZE);
+        while (iterator.hasNext())
+        {
+            batch.clear();
+            while (iterator.hasNext() && batch.size() < INPUT_BATCH_SIZE)
+            {
+                batch.add(iterator.next());
+            }
+            // the reasons are stored by index, so the failures are reported in the order of the inputs
+            String[] reasons = new String[batch.size()];
+            IntStream.range(0, batch.size()).parallel().forEach(i -> reasons[i] =
+                    failureReason(() -> assignmentFunction.apply(batch.get(i)).assign(), expectedThrowableClass));
+            for (int i = 0; i < reasons.length; i++)
+            {
+                if (reasons[i] != null && failureCount++ < MAX_REPORTED_INPUTS)
+                {
+                    failures.add("input (" + abbreviate(String.valueOf(batch.get(i))) + "): " + reasons[i]);
+                }
+            }
+            inputCount += batch.size();
+        }
+        if (failureCount > 0)
+        {
+            StringBuilder report = new StringBuilder();
+            report.append(message).append("; Assignment did not fail as expected for ").append(failureCount).append(" of ")
+                    .append(inputCount).append(" inputs");
+            if (failureCount > MAX_REPORTED_INPUTS)
+            {
+                report.append(" (first ").append(MAX_REPORTED_INPUTS).append(" reported)");
+            }
+            report.append(':');
+            failures.forEach(failure -> report.append("\n  ").append(failure));
+            throw new AssertionError(report.toString());
+        }
+    }
+
+    /**
+     * Carry out the assignment and return why it did not fail as expected. A reason is only created when the test fails, so
+     * the method can be used in tight loops over many inputs. The type check calls Class.isAssignableFrom directly, since the
+     * JIT compiles it to an intrinsic that is faster than a cache of the outcomes, see AssignabilityCacheBenchmark.
+     * @param assignment the assignment to carry out
+     * @param expectedThrowableClass the class of the exception we expect the assignment to throw
+     * @return null when the expected exception was thrown, or the reason why the test failed otherwise
+     */
+    static String failureReason(final Assignment<?> assignment, final Class<?> expectedThrowableClass)
+    {
+        try
+        {
+            assignment.assign();
+        }
+        catch (Throwable cause)
+        {
+            return failureReason(cause, expectedThrowableClass);
+        }
+        return "did not throw any exception";
+    }
+
+    /**
+     * Return why the thrown cause does not have the expected type. The type check calls Class.isAssignableFrom directly, see
+     * failureReason(Assignment, Class).
+     * @param cause the throwable that was thrown by the assignment or execution
+     * @param expectedThrowableClass the class of the exception we expect to be thrown
+     * @return null when the cause has the expected type, or the reason why the test failed otherwise
+     */
+    private static String failureReason(final Throwable cause, final Class<?> expectedThrowableClass)
+    {
+        if (expectedThrowableClass.isAssignableFrom(cause.getClass()))
+        {
+            return null;
+        }
+        return "unexpected Throwable, expected (" + expectedThrowableClass.getSimpleName() + "), but got ("
+                + cause.getClass().getSimpleName() + ")";
+    }
+
+    /**
+     * Abbreviate the description of an input for the report.
+     * @param description the description of the input
+     * @return the description, abbreviated when it is too long
+     */
+    private static String abbreviate(final String description)
+    {
+        return description.length() <= MAX_INPUT_LENGTH ? description
+                : description.substring(0, MAX_INPUT_LENGTH) + "... (" + description.length() + " chars)";
+    }
+
+    /**
+     * Method for unit tests to test if a future completes exceptionally with an expected exception. The method does not block:
+     * it returns a future that completes normally with the (unwrapped) throwable when the test succeeds, and exceptionally with
+     * an AssertionError when the test fails. CompletionException and ExecutionException wrappers are removed before the
+     * throwable is matched against expectedThrowableClass. A way to use the method is, for instance: <br>
+     * 
+     * <pre>
+     * <code>
+     *   CompletableFuture&lt;?&gt; check = UnitTest.testFailAsync(service.lookup(null), NullPointerException.class);
+     *   ...
+     *   check.join(); // or combine many checks with CompletableFuture.allOf(...)
+     * </code>
+     * </pre>
+     * 
+     * @param future the future that is expected to complete exceptionally
+     * @param expectedThrowableClass the class of the exception we expect the future to complete with
+     * @param <V> value type of the future
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @return a future that completes with the throwable, or exceptionally with an AssertionError when the test fails
+     */
+    public static <V, T extends Throwable> CompletableFuture<T> testFailAsync(final CompletionStage<V> future,
+            final Class<T> expectedThrowableClass)
+    {
+        return testFailAsync(future, null, expectedThrowableClass);
+    }
+
+    /**
+     * Method for unit tests to test if a future completes exceptionally with an expected exception, with an explanation
+     * message. The method does not block: it returns a future that completes normally with the (unwrapped) throwable when the
+     * test succeeds, and exceptionally with an AssertionError when the test fails. CompletionException and ExecutionException
+     * wrappers are removed before the throwable is matched against expectedThrowableClass.
+     * @param future the future that is expected to complete exceptionally
+     * @param message message to use in the AssertionError when the test fails
+     * @param expectedThrowableClass the class of the exception we expect the future to complete with
+     * @param <V> value type of the future
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @return a future that completes with the throwable, or exceptionally with an AssertionError when the test fails
+     */
+    public static <V, T extends Throwable> CompletableFuture<T> testFailAsync(final CompletionStage<V> future,
+            final String message, final Class<T> expectedThrowableClass)
+    {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete((value, throwable) ->
+        {
+            if (throwable == null)
+            {
+                result.completeExceptionally(
+                        new AssertionError(message + "; Future completed normally with value (" + value + ")"));
+            }
+            else
+            {
+                completeAsyncCheck(result, throwable, message, expectedThrowableClass, "Future");
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Method for unit tests to test if a future completes exceptionally with an expected exception within a given time. The
+     * method does not block, and no thread waits for the future: when the timeout expires before the future completes, the
+     * returned future completes exceptionally with a TimeoutAssertionError.
+     * @param future the future that is expected to complete exceptionally
+     * @param expectedThrowableClass the class of the exception we expect the future to complete with
+     * @param timeout the maximum time for the future to complete
+     * @param <V> value type of the future
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @return a future that completes with the throwable, or exceptionally with an AssertionError when the test fails
+     */
+    public static <V, T extends Throwable> CompletableFuture<T> testFailAsync(final CompletionStage<V> future,
+            final Class<T> expectedThrowableClass, final Duration timeout)
+    {
+        return testFailAsync(future, null, expectedThrowableClass, timeout);
+    }
+
+    /**
+     * Method for unit tests to test if a future completes exceptionally with an expected exception within a given time, with
+     * an explanation message. The method does not block, and no thread waits for the future: when the timeout expires before
+     * the future completes, the returned future completes exceptionally with a TimeoutAssertionError.
+     * @param future the future that is expected to complete exceptionally
+     * @param message message to use in the AssertionError when the test fails
+     * @param expectedThrowableClass the class of the exception we expect the future to complete with
+     * @param timeout the maximum time for the future to complete
+     * @param <V> value type of the future
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @return a future that completes with the throwable, or exceptionally with an AssertionError when the test fails
+     */
+    public static <V, T extends Throwable> CompletableFuture<T> testFailAsync(final CompletionStage<V> future,
+            final String message, final Class<T> expectedThrowableClass, final Duration timeout)
+    {
+        return withTimeout(testFailAsync(future, message, expectedThrowableClass), message, "Future", timeout);
+    }
+
+    /**
+     * Method for unit tests to test if a publisher signals an expected exception with onError. All items are requested and
+     * ignored. The method does not block: it returns a future that completes normally with the (unwrapped) throwable when the
+     * test succeeds, and exceptionally with an AssertionError when the publisher completes without error, or signals a
+     * different exception than expectedThrowableClass. A way to use the method is, for instance: <br>
+     * 
+     * <pre>
+     * <code>
+     *   UnitTest.testFailAsync(parser.parse(corruptInput), ParseException.class).join();
+     * </code>
+     * </pre>
+     * 
+     * @param publisher the publisher that is expected to signal an error
+     * @param expectedThrowableClass the class of the exception we expect the publisher to signal
+     * @param <V> item type of the publisher
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @return a future that completes with the throwable, or exceptionally with an AssertionError when the test fails
+     */
+    public static <V, T extends Throwable> CompletableFuture<T> testFailAsync(final Flow.Publisher<V> publisher,
+            final Class<T> expectedThrowableClass)
+    {
+        return testFailAsync(publisher, null, expectedThrowableClass);
+    }
+
+    /**
+     * Method for unit tests to test if a publisher signals an expected exception with onError, with an explanation message.
+     * All items are requested and ignored. The method does not block: it returns a future that completes normally with the
+     * (unwrapped) throwable when the test succeeds, and exceptionally with an AssertionError when the test fails.
+     * @param publisher the publisher that is expected to signal an error
+     * @param message message to use in the AssertionError when the test fails
+     * @param expectedThrowableClass the class of the exception we expect the publisher to signal
+     * @param <V> item type of the publisher
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @return a future that completes with the throwable, or exceptionally with an AssertionError when the test fails
+     */
+    public static <V, T extends Throwable> CompletableFuture<T> testFailAsync(final Flow.Publisher<V> publisher,
+            final String message, final Class<T> expectedThrowableClass)
+    {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<V>()
+        {
+            /** the number of items received. */
+            private long count = 0;
+
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription)
+            {
+                // cancel the subscription when the check is abandoned, e.g., on a timeout
+                result.whenComplete((throwable, error) -> subscription.cancel());
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(final V item)
+            {
+                this.count++;
+            }
+
+            @Override
+            public void onError(final Throwable throwable)
+            {
+                completeAsyncCheck(result, throwable, message, expectedThrowableClass, "Publisher");
+            }
+
+            @Override
+            public void onComplete()
+            {
+                result.completeExceptionally(new AssertionError(
+                        message + "; Publisher completed without error after " + this.count + " item(s)"));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Method for unit tests to test if a publisher signals an expected exception with onError within a given time. The method
+     * does not block: when the timeout expires before the publisher signals, the subscription is cancelled and the returned
+     * future completes exceptionally with a TimeoutAssertionError.
+     * @param publisher the publisher that is expected to signal an error
+     * @param expectedThrowableClass the class of the exception we expect the publisher to signal
+     * @param timeout the maximum time for the publisher to signal the error
+     * @param <V> item type of the publisher
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @return a future that completes with the throwable, or exceptionally with an AssertionError when the test fails
+     */
+    public static <V, T extends Throwable> CompletableFuture<T> testFailAsync(final Flow.Publisher<V> publisher,
+            final Class<T> expectedThrowableClass, final Duration timeout)
+    {
+        return testFailAsync(publisher, null, expectedThrowableClass, timeout);
+    }
+
+    /**
+     * Method for unit tests to test if a publisher signals an expected exception with onError within a given time, with an
+     * explanation message. The method does not block: when the timeout expires before the publisher signals, the subscription
+     * is cancelled and the returned future completes exceptionally with a TimeoutAssertionError.
+     * @param publisher the publisher that is expected to signal an error
+     * @param message message to use in the AssertionError when the test fails
+     * @param expectedThrowableClass the class of the exception we expect the publisher to signal
+     * @param timeout the maximum time for the publisher to signal the error
+     * @param <V> item type of the publisher
+     * @param <T> throwable type, which ensures that we provide a throwable class as the argument
+     * @return a future that completes with the throwable, or exceptionally with an AssertionError when the test fails
+     */
+    public static <V, T extends Throwable> CompletableFuture<T> testFailAsync(final Flow.Publisher<V> publisher,
+            final String message, final Class<T> expectedThrowableClass, final Duration timeout)
+    {
+        return withTimeout(testFailAsync(publisher, message, expectedThrowableClass), message, "Publisher", timeout);
+    }
+
+    /**
+     * Remove CompletionException and ExecutionException wrappers from a throwable, and complete the result with the unwrapped
+     * throwable when it has the expected type, or exceptionally with an AssertionError when it has not.
+     * @param result the future to complete
+     * @param throwable the (possibly wrapped) throwable
+     * @param message message to use in the AssertionError when the test fails
+     * @param expectedThrowableClass the class of the exception we expect
+     * @param kind "Future" or "Publisher", for the message
+     * @param <T> throwable type
+     */
+    private static <T extends Throwable> void completeAsyncCheck(final CompletableFuture<T> result, final Throwable throwable,
+            final String message, final Class<T> expectedThrowableClass, final String kind)
+    {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null)
+        {
+            cause = cause.getCause();
+        }
+        try
+        {
+            checkThrowable(cause, message, expectedThrowableClass, kind);
+            result.complete(expectedThrowableClass.cast(cause));
+        }
+        catch (AssertionError error)
+        {
+            error.initCause(cause);
+            result.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Complete the result exceptionally with a TimeoutAssertionError when it has not completed within the timeout. No thread
+     * is blocked while waiting; the delayed executor of CompletableFuture schedules the check.
+     * @param result the future of the asynchronous check
+     * @param message message to use in the AssertionError when the test fails
+     * @param kind "Future" or "Publisher", for the message
+     * @param timeout the maximum time for the check to complete
+     * @param <T> throwable type
+     * @return the result future
+     */
+    private static <T extends Throwable> CompletableFuture<T> withTimeout(final CompletableFuture<T> result,
+            final String message, final String kind, final Duration timeout)
+    {
+        CompletableFuture.delayedExecutor(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                .execute(() -> result.completeExceptionally(
+                        new TimeoutAssertionError(message + "; " + kind + " did not complete within " + timeout, timeout)));
+        return result;
+    }
+
+    /**
+     * Check whether the thrown cause is of the expected type, and throw an AssertionError when this is not the case.
+     * @param cause the throwable that was thrown by the assignment or execution
+     * @param message message to use in the AssertionError when the test fails
+     * @param expectedThrowableClass the class of the exception we expect to be thrown
+     * @param kind "Assignment" or "Execution", for the message
+     * @throws AssertionError when the cause is not of the expected type
+     */
+    private static void checkThrowable(final Throwable cause, final String message, final Class<?> expectedThrowableClass,
+            final String kind)
+    {
+        String reason = failureReason(cause, expectedThrowableClass);
+        if (reason != null)
+        {
+            throw new AssertionError(message + "; " + kind + " failed on " + reason + ".");
+        }
+    }
+
+    /**
+     * Check whether the thrown cause meets all conditions of the matcher, and throw an AssertionError when this is not the
+     * case. The thrown cause is added as the cause of the AssertionError.
+     * @param cause the throwable that was thrown by the assignment or execution
+     * @param message message to use in the AssertionError when the test fails
+     * @param matcher the conditions that the thrown exception has to meet
+     * @param kind "Assignment" or "Execution", for the message
+     * @throws AssertionError when the cause does not match
+     */
+    private static void checkThrowable(final Throwable cause, final String message, final ThrowableMatcher matcher,
+            final String kind)
+    {
+        if (!matcher.matches(cause))
+        {
+            throw new AssertionError(message + "; " + kind + " failed on unexpected Throwable, " + matcher.mismatch(cause),
+                    cause);
+        }
+    }
+
+    /**
+     * Carry out the execution on a dedicated daemon thread, and wait at most the timeout for it to finish. When the execution
+     * does not finish in time, a thread dump of the execution thread is made, the thread is interrupted, and a
+     * TimeoutAssertionError is thrown.
+     * @param execution the execution to carry out
+     * @param timeout the maximum duration of the execution
+     * @param message message to use in the AssertionError when the test fails
+     * @param kind "Assignment" or "Execution", for the message
+     * @return the throwable that was thrown by the execution, or null when the execution finished normally
+     * @throws TimeoutAssertionError when the execution does not finish within the timeout
+     */
+    private static Throwable executeWithTimeout(final Execution execution, final Duration timeout, final String message,
+            final String kind)
+    {
+        Throwable[] thrown = new Throwable[1];
+        Thread thread = new Thread(() ->
+        {
+            try
+            {
+                execution.execute();
+            }
+            catch (Throwable cause)
+            {
+                thrown[0] = cause;
+            }
+        }, "UnitTest.testFail-" + kind);
+        thread.setDaemon(true);
+        thread.start();
+        try
+        {
+            TimeUnit.NANOSECONDS.timedJoin(thread, timeout.toNanos());
+        }
+        catch (InterruptedException exception)
+        {
+            thread.interrupt();
+            Thread.currentThread().interrupt();
+            throw new AssertionError(message + "; " + kind + " was interrupted while waiting for it to finish", exception);
+        }
+        if (thread.isAlive())
+        {
+            String dump = threadDump(thread);
+            thread.interrupt();
+            throw new TimeoutAssertionError(
+                    message + "; " + kind + " did not finish within " + timeout + "\n" + dump, timeout);
+        }
+        // the join guarantees that the write of the execution thread is visible here
+        return thrown[0];
+    }
+
+    /**
+     * Return a thread dump of the given thread, including the lock it waits for and the owner of that lock, when available.
+     * @param thread the thread to dump
+     * @return a thread dump of the given thread
+     */
+    static String threadDump(final Thread thread)
+    {
+        StringBuilder dump = new StringBuilder();
+        ThreadInfo info = ManagementFactory.getThreadMXBean().getThreadInfo(new long[] {thread.getId()}, true, true)[0];
+        if (info == null)
+        {
+            dump.append('"').append(thread.getName()).append("\" ").append(thread.getState()).append('\n');
+            for (StackTraceElement element : thread.getStackTrace())
+            {
+                dump.append("\tat ").append(element).append('\n');
+            }
+            return dump.toString();
+        }
+        dump.append('"').append(info.getThreadName()).append("\" ").append(info.getThreadState());
+        if (info.getLockName() != null)
+        {
+            dump.append(" on ").append(info.getLockName());
+            if (info.getLockOwnerName() != null)
+            {
+                dump.append(" owned by \"").append(info.getLockOwnerName()).append('"');
+            }
+        }
+        dump.append('\n');
+        for (StackTraceElement element : info.getStackTrace())
+        {
+            dump.append("\tat ").append(element).append('\n');
+        }
+        for (MonitorInfo monitor : info.getLockedMonitors())
+        {
+            dump.append("\t- locked ").append(monitor).append(" at depth ").append(monitor.getLockedStackDepth()).append('\n');
+        }
+        for (LockInfo lock : info.getLockedSynchronizers())
+        {
+            dump.append("\t- locked synchronizer ").append(lock).append('\n');
+        }
+        return dump.toString();
+    }
+
     // Interfaces
 
     /**
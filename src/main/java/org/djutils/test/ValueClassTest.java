@@ -0,0 +1,247 @@
+package org.djutils.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * ValueClassTest has a generic test method for the contract of a value class, in the style of ExceptionTest: equals is
+ * reflexive, symmetric and transitive and false for null, hashCode is consistent and equal for equal instances, compareTo (when
+ * the class is Comparable) is antisymmetric, transitive and consistent with equals, and a serialization round trip (when the
+ * class is Serializable) gives an equal instance with the same hash code. The instances are generated from pseudo-random long
+ * inputs by a generator that must return equal instances for equal inputs; the samples are checked in parallel. Symmetry and
+ * transitivity are checked on three instances that must be equal: two instances generated from the same input, and a
+ * deserialized copy of the first one, or a third instance from the same input when the class is not Serializable. The method
+ * returns the HashStatistics of the distinct generated instances, to check the distribution of the hash codes. A way to use
+ * the class is, for instance: <br>
+ *
+ * <pre>
+ * <code>
+ *   HashStatistics statistics = ValueClassTest.testValueClass(l -&gt; new Point((int) l, (int) (l &gt;&gt; 32)));
+ *   statistics.check(statistics.bucketSkew() &lt; 1.5, "Point.hashCode clusters in HashMap buckets");
+ * </code>
+ * </pre>
+ *
+ * The seed of a failing run is reported in the AssertionError. The run can be repeated with that seed by passing it to the
+ * method with an explicit seed, or by setting the system property <code>djutils.property.seed</code>.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public final class ValueClassTest
+{
+    /** the default number of samples. */
+    public static final int DEFAULT_SAMPLES = 10_000;
+
+    /** the maximum length of the description of an instance in a message. */
+    private static final int MAX_DESCRIPTION_LENGTH = 100;
+
+    /** */
+    private ValueClassTest()
+    {
+        // utility class
+    }
+
+    /**
+     * Test the contract of a value class for the default number of samples and a random seed.
+     * @param generator the generator of instances, that returns equal instances for equal inputs
+     * @param <T> the value class
+     * @return the hash statistics of the distinct generated instances
+     * @throws AssertionError when an instance violates the contract
+     */
+    public static <T> HashStatistics testValueClass(final LongFunction<T> generator)
+    {
+        return testValueClass(generator, DEFAULT_SAMPLES, PropertyTest.defaultSeed(), null);
+    }
+
+    /**
+     * Test the contract of a value class.
+     * @param generator the generator of instances, that returns equal instances for equal inputs
+     * @param samples the number of samples
+     * @param seed the seed of the inputs of the generator
+     * @param message message to use in the AssertionError when the test fails
+     * @param <T> the value class
+     * @return the hash statistics of the distinct generated instances
+     * @throws AssertionError when an instance violates the contract
+     * @throws IllegalArgumentException when samples &lt; 1
+     */
+    public static <T> HashStatistics testValueClass(final LongFunction<T> generator, final int samples, final long seed,
+            final String message)
+    {
+        if (samples < 1)
+        {
+            throw new IllegalArgumentException("samples < 1");
+        }
+        Optional<String> violation = IntStream.range(0, samples).parallel().mapToObj(k -> violation(generator, seed, k))
+                .filter(Objects::nonNull).findFirst();
+        if (violation.isPresent())
+        {
+            throw new AssertionError(message + "; " + violation.get() + "; seed = " + seed);
+        }
+        Set<Object> distinct = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, samples).parallel().forEach(k -> distinct.add(generator.apply(PropertyTest.mix(seed, k))));
+        return HashStatistics.of(distinct.stream().mapToInt(Object::hashCode).toArray());
+    }
+
+    /**
+     * Return the first violation of the contract for a sample. The instance is compared pairwise with a second instance from
+     * the same input and with a deserialized copy, or with a third instance from the same input when the class is not
+     * Serializable, and with the instances of the next two samples.
+     * @param generator the generator of instances
+     * @param seed the seed of the inputs of the generator
+     * @param k the sample number
+     * @return a description of the violation, or null when the sample meets the contract
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static String violation(final LongFunction<?> generator, final long seed, final int k)
+    {
+        long input = PropertyTest.mix(seed, k);
+        String sample = "sample " + k + " (input " + input + ")";
+        try
+        {
+            Object a = generator.apply(input);
+            Object b = generator.apply(input);
+            if (a == null || b == null)
+            {
+                return "generator returned null for " + sample;
+            }
+            // the third instance that must be equal to a and b
+            boolean serializable = a instanceof Serializable;
+            Object e = serializable ? roundTrip(a) : generator.apply(input);
+            Object c = generator.apply(PropertyTest.mix(seed, k + 1));
+            Object d = generator.apply(PropertyTest.mix(seed, k + 2));
+            if (e == null || c == null || d == null)
+            {
+                return "generator returned null for " + sample;
+            }
+            String ab = " for " + sample + ": a = " + describe(a) + ", b = " + describe(b);
+            String ac = " for " + sample + ": a = " + describe(a) + ", c = " + describe(c);
+            String abe = ab + (serializable ? ", copy = " : ", e = ") + describe(e);
+            if (!a.equals(a))
+            {
+                return "equals is not reflexive" + ab;
+            }
+            if (a.equals(null))
+            {
+                return "a.equals(null) is true" + ab;
+            }
+            Object[] equal = {a, b, e};
+            for (int i = 0; i < equal.length; i++)
+            {
+                Object x = equal[i];
+                Object y = equal[(i + 1) % equal.length];
+                Object z = equal[(i + 2) % equal.length];
+                if (x.equals(y) != y.equals(x))
+                {
+                    return "equals is not symmetric" + abe;
+                }
+                if (x.equals(y) && y.equals(z) && !x.equals(z))
+                {
+                    return "equals is not transitive" + abe;
+                }
+            }
+            if (!a.equals(b))
+            {
+                return "instances generated from the same input are not equal" + ab;
+            }
+            if (a.hashCode() != a.hashCode())
+            {
+                return "hashCode is not consistent" + ab;
+            }
+            if (a.hashCode() != b.hashCode())
+            {
+                return "equal instances have different hash codes" + ab;
+            }
+            if (!a.equals(e) || a.hashCode() != e.hashCode())
+            {
+                return (serializable ? "serialization round trip does not give an equal instance with the same hash code"
+                        : "instances generated from the same input are not equal or have different hash codes") + abe;
+            }
+            boolean aEqualsC = a.equals(c);
+            if (aEqualsC != c.equals(a))
+            {
+                return "equals is not symmetric" + ac;
+            }
+            if (aEqualsC && a.hashCode() != c.hashCode())
+            {
+                return "equal instances have different hash codes" + ac;
+            }
+            if (b.equals(c) != aEqualsC || (aEqualsC && c.equals(d) != a.equals(d)))
+            {
+                return "equals is not transitive" + ac + ", d = " + describe(d);
+            }
+            if (a instanceof Comparable)
+            {
+                Comparable ca = (Comparable) a;
+                if (ca.compareTo(b) != 0)
+                {
+                    return "compareTo is not 0 for equal instances" + ab;
+                }
+                int acSign = Integer.signum(ca.compareTo(c));
+                if (acSign != -Integer.signum(((Comparable) c).compareTo(a)))
+                {
+                    return "compareTo is not antisymmetric" + ac;
+                }
+                if ((acSign == 0) != aEqualsC)
+                {
+                    return "compareTo is not consistent with equals" + ac;
+                }
+                int cdSign = Integer.signum(((Comparable) c).compareTo(d));
+                if (acSign != 0 && acSign == cdSign && Integer.signum(ca.compareTo(d)) != acSign)
+                {
+                    return "compareTo is not transitive" + ac + ", d = " + describe(d);
+                }
+            }
+            return null;
+        }
+        catch (Throwable throwable)
+        {
+            return "contract check threw " + throwable + " for " + sample;
+        }
+    }
+
+    /**
+     * Serialize and deserialize an object.
+     * @param object the object
+     * @return the deserialized copy of the object
+     * @throws IOException when the object cannot be serialized or deserialized
+     * @throws ClassNotFoundException when the class of the object cannot be found on deserialization
+     */
+    private static Object roundTrip(final Object object) throws IOException, ClassNotFoundException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+        {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+        {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * Describe an instance for a message, abbreviated when it is too long.
+     * @param object the instance
+     * @return the description of the instance
+     */
+    private static String describe(final Object object)
+    {
+        String description = String.valueOf(object);
+        return description.length() > MAX_DESCRIPTION_LENGTH ? description.substring(0, MAX_DESCRIPTION_LENGTH) + "..."
+                : description;
+    }
+}
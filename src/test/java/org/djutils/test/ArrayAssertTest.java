@@ -0,0 +1,147 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ArrayAssertTest tests the array, stream and iterable assertions, the tolerances, and the bounded failure reports.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class ArrayAssertTest
+{
+    /**
+     * Test the int and long arrays, and the report of many mismatches.
+     */
+    @Test
+    public void testIntegerArrays()
+    {
+        int[] expected = IntStream.range(0, 1_000_000).toArray();
+        int[] actual = expected.clone();
+        ArrayAssert.assertArrayEquals(expected, actual);
+        ArrayAssert.assertArrayEquals(new int[0], new int[0], "empty");
+        ArrayAssert.assertArrayEquals((int[]) null, null);
+
+        for (int i = 500_000; i < 500_100; i += 2)
+        {
+            actual[i] = -1;
+        }
+        AssertionError e = assertThrows(AssertionError.class, () -> ArrayAssert.assertArrayEquals(expected, actual, "ints"));
+        String message = e.getMessage();
+        assertTrue(message.startsWith("ints; Arrays differ in 50 of 1000000 elements"), message);
+        assertTrue(message.contains("\n  [499998] 499998"), message);
+        assertTrue(message.contains("\n> [500000] expected 500000, actual -1"), message);
+        assertTrue(message.contains("\n  [500001] 500001"), message);
+        assertTrue(message.contains("\n> [500018] expected 500018, actual -1"), message);
+        assertTrue(message.contains("\n  [500020] 500020"), message);
+        assertFalse(message.contains("[500021]"), message);
+        assertTrue(message.split("\n").length < 30, message);
+
+        long[] longs = LongStream.range(0, 100).toArray();
+        ArrayAssert.assertArrayEquals(longs, longs.clone());
+        e = assertThrows(AssertionError.class, () -> ArrayAssert.assertArrayEquals(longs, LongStream.range(0, 90).toArray()));
+        assertTrue(e.getMessage().startsWith("null; Arrays differ in 0 of 90 elements, and in length: expected 100, actual 90"),
+                e.getMessage());
+        e = assertThrows(AssertionError.class, () -> ArrayAssert.assertArrayEquals(longs, null));
+        assertTrue(e.getMessage().contains("expected not null, but got null"));
+    }
+
+    /**
+     * Test the double arrays with an absolute and an ULP tolerance.
+     */
+    @Test
+    public void testDoubleArrays()
+    {
+        double[] expected = {0.0, 1.0, Double.NaN, 1E10, -5.0, Double.POSITIVE_INFINITY};
+        double[] actual = {0.0, 1.0 + 1E-12, Double.NaN, 1E10 + 1E-4, -5.0, Double.POSITIVE_INFINITY};
+        ArrayAssert.assertArrayEquals(expected, actual, 1E-3);
+        AssertionError e = assertThrows(AssertionError.class, () -> ArrayAssert.assertArrayEquals(expected, actual, 1E-6, "d"));
+        assertTrue(e.getMessage().startsWith("d; Arrays differ in 1 of 6 elements"), e.getMessage());
+        assertTrue(e.getMessage().contains("> [3] expected 1.0E10, actual 1.0000"), e.getMessage());
+        assertTrue(e.getMessage().contains("  [1] 1.0 ~ 1.0000000000"), e.getMessage());
+
+        assertThrows(AssertionError.class,
+                () -> ArrayAssert.assertArrayEquals(new double[] {Double.NaN}, new double[] {1.0}, Double.MAX_VALUE));
+        assertThrows(AssertionError.class, () -> ArrayAssert.assertArrayEquals(new double[] {Double.POSITIVE_INFINITY},
+                new double[] {Double.NEGATIVE_INFINITY}, Double.MAX_VALUE));
+
+        double[] ulps = {1.0, Math.nextUp(Math.nextUp(1.0)), -0.0};
+        ArrayAssert.assertArrayEqualsUlps(new double[] {1.0, 1.0, 0.0}, ulps, 2);
+        assertThrows(AssertionError.class, () -> ArrayAssert.assertArrayEqualsUlps(new double[] {1.0, 1.0, 0.0}, ulps, 1));
+        assertEquals(1L, ArrayAssert.ulps(0.0, -0.0));
+        assertEquals(2L, ArrayAssert.ulps(Double.MIN_VALUE, -0.0));
+        assertEquals(1L, ArrayAssert.ulps(Double.MAX_VALUE, Double.POSITIVE_INFINITY));
+        assertEquals(Long.MAX_VALUE, ArrayAssert.ulps(-Double.MAX_VALUE, Double.MAX_VALUE));
+        assertTrue(ArrayAssert.equal(Double.NaN, Double.NaN, 0.0, -1L));
+        assertFalse(ArrayAssert.equal(Double.NaN, 0.0, 0.0, Long.MAX_VALUE));
+    }
+
+    /**
+     * Test the streams and iterables.
+     */
+    @Test
+    public void testStreams()
+    {
+        ArrayAssert.assertStreamEquals(IntStream.range(0, 100_000), IntStream.range(0, 100_000));
+        AssertionError e = assertThrows(AssertionError.class, () -> ArrayAssert
+                .assertStreamEquals(IntStream.range(0, 1000), IntStream.range(0, 1000).map(i -> i % 7 == 0 ? -i : i), "s"));
+        assertTrue(e.getMessage().startsWith("s; Streams differ in 142 of 1000 elements"), e.getMessage());
+        assertTrue(e.getMessage().contains("> [7] expected 7, actual -7"), e.getMessage());
+        assertEquals(ArrayAssert.MAX_REPORTED_MISMATCHES + 2, e.getMessage().split("\n").length);
+
+        ArrayAssert.assertStreamEquals(LongStream.of(1L, 2L), LongStream.of(1L, 2L));
+        e = assertThrows(AssertionError.class,
+                () -> ArrayAssert.assertStreamEquals(LongStream.of(1L, 2L), LongStream.of(1L, 2L, 3L)));
+        assertTrue(e.getMessage().contains("the actual elements continue after 2 elements"), e.getMessage());
+
+        ArrayAssert.assertStreamEquals(DoubleStream.of(1.0, Double.NaN), DoubleStream.of(1.0 + 1E-9, Double.NaN), 1E-6);
+        assertThrows(AssertionError.class,
+                () -> ArrayAssert.assertStreamEquals(DoubleStream.of(1.0, 2.0), DoubleStream.of(1.0), 1E-6, "d"));
+
+        ArrayAssert.assertIterableEquals(List.of("a", "b"), List.of("a", "b"));
+        e = assertThrows(AssertionError.class, () -> ArrayAssert.assertIterableEquals(List.of("a", "b"), List.of("a", "c")));
+        assertTrue(e.getMessage().contains("> [1] expected b, actual c"), e.getMessage());
+        assertThrows(AssertionError.class, () -> ArrayAssert.assertIterableEquals(List.of("a", "b"), List.of("a")));
+        assertThrows(AssertionError.class, () -> ArrayAssert.assertIterableEquals(null, List.of("a")));
+
+        // only the reported mismatches are formatted
+        AtomicInteger formatted = new AtomicInteger();
+        List<Object> expected = IntStream.range(0, 1000).mapToObj(i -> new Counted(i, formatted)).collect(Collectors.toList());
+        List<Object> actual = IntStream.range(0, 1000).mapToObj(i -> new Counted(-i - 1, formatted))
+                .collect(Collectors.toList());
+        e = assertThrows(AssertionError.class, () -> ArrayAssert.assertIterableEquals(expected, actual));
+        assertTrue(e.getMessage().contains("differ in 1000 of 1000 elements"), e.getMessage());
+        assertEquals(2 * ArrayAssert.MAX_REPORTED_MISMATCHES, formatted.get());
+    }
+
+    /**
+     * An element that counts how often it is formatted.
+     * @param value the value
+     * @param formatted the number of calls of toString
+     */
+    record Counted(int value, AtomicInteger formatted)
+    {
+        @Override
+        public String toString()
+        {
+            this.formatted.incrementAndGet();
+            return String.valueOf(this.value);
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package org.djutils.test;
+
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.NotSerializableException;
+import java.io.UncheckedIOException;
+import java.io.UnsupportedEncodingException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.NoSuchFileException;
+import java.util.ConcurrentModificationException;
+import java.util.EmptyStackException;
+import java.util.MissingResourceException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * AssignabilityCacheBenchmark measures whether caching expected.isAssignableFrom(actual) pays off on the hot path of the
+ * testFail methods, for a megamorphic mix of 32 throwable types checked against 7 expected types, as in a generated
+ * negative-test suite. It compares Class.isAssignableFrom, a ClassValue per expected class (as ThrowableMatcher used
+ * initially), and a ClassValue of small open-addressed tables per actual class. On JDK 17 (x86-64), isAssignableFrom takes
+ * about 2.5 ns/op, because C2 compiles it to an intrinsic subtype check on the super display of the class, while a ClassValue
+ * lookup alone costs more: about 6 ns/op for a ClassValue per expected class, and 11 ns/op for the table cache. Therefore,
+ * UnitTest and ThrowableMatcher call isAssignableFrom directly, and the cache is kept here as the measured candidate. The
+ * failureReason benchmark measures the full check of an assignment that throws. The name does not end on Test, so surefire does
+ * not run it. Run it after mvn test-compile with: <br>
+ *
+ * <pre>
+ * <code>
+ *   java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.djutils.test.AssignabilityCacheBenchmark
+ * </code>
+ * </pre>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssignabilityCacheBenchmark
+{
+    /** the thrown throwables, of 32 different classes. */
+    private final Throwable[] thrown = {new IllegalArgumentException(), new NumberFormatException(),
+            new IllegalStateException(), new ArithmeticException(), new NullPointerException(), new ClassCastException(),
+            new ArrayIndexOutOfBoundsException(), new StringIndexOutOfBoundsException(), new UnsupportedOperationException(),
+            new IOException(), new FileNotFoundException(), new UncheckedIOException(new IOException()),
+            new ConcurrentModificationException(), new NoSuchElementException(), new InterruptedException(),
+            new TimeoutException(), new ExecutionException(null), new CloneNotSupportedException(),
+            new NegativeArraySizeException(), new ArrayStoreException(), new EOFException(), new InterruptedIOException(),
+            new NotSerializableException(), new UnsupportedEncodingException(), new MalformedURLException(),
+            new URISyntaxException("x", "y"), new BufferOverflowException(), new BufferUnderflowException(),
+            new ReadOnlyBufferException(), new NoSuchFileException("x"), new EmptyStackException(),
+            new MissingResourceException("x", "y", "z")};
+
+    /** the expected throwable classes. */
+    private final Class<?>[] expected = {RuntimeException.class, IOException.class, IllegalArgumentException.class,
+            Exception.class, CancellationException.class, CompletionException.class, RejectedExecutionException.class};
+
+    /** a ClassValue with the outcome for each expected class. */
+    private final ClassValue<?>[] classValues = new ClassValue<?>[this.expected.length];
+
+    /** the index in the thrown throwables. */
+    private int thrownIndex;
+
+    /** the index in the expected classes. */
+    private int expectedIndex;
+
+    /** */
+    public AssignabilityCacheBenchmark()
+    {
+        for (int i = 0; i < this.expected.length; i++)
+        {
+            Class<?> expectedClass = this.expected[i];
+            this.classValues[i] = new ClassValue<Boolean>()
+            {
+                @Override
+                protected Boolean computeValue(final Class<?> actual)
+                {
+                    return expectedClass.isAssignableFrom(actual);
+                }
+            };
+        }
+    }
+
+    /**
+     * Return the next thrown throwable.
+     * @return the next thrown throwable
+     */
+    private Throwable nextThrown()
+    {
+        this.thrownIndex = (this.thrownIndex + 1) & 31;
+        return this.thrown[this.thrownIndex];
+    }
+
+    /**
+     * Return the next expected class.
+     * @return the next expected class
+     */
+    private Class<?> nextExpected()
+    {
+        this.expectedIndex = this.expectedIndex == this.expected.length - 1 ? 0 : this.expectedIndex + 1;
+        return this.expected[this.expectedIndex];
+    }
+
+    /**
+     * Check the assignability with Class.isAssignableFrom.
+     * @return the outcome
+     */
+    @Benchmark
+    public boolean isAssignableFrom()
+    {
+        return nextExpected().isAssignableFrom(nextThrown().getClass());
+    }
+
+    /**
+     * Check the assignability with a ClassValue per expected class.
+     * @return the outcome
+     */
+    @Benchmark
+    public boolean classValue()
+    {
+        nextExpected();
+        return (Boolean) this.classValues[this.expectedIndex].get(nextThrown().getClass());
+    }
+
+    /**
+     * Check the assignability with the AssignabilityCache.
+     * @return the outcome
+     */
+    @Benchmark
+    public boolean cache()
+    {
+        return AssignabilityCache.isAssignableFrom(nextExpected(), nextThrown().getClass());
+    }
+
+    /**
+     * Check an assignment that throws, as in the loops of testFailForAll and PropertyTest.
+     * @return the reason of the failure, or null
+     */
+    @Benchmark
+    public String failureReason()
+    {
+        Throwable throwable = nextThrown();
+        return UnitTest.failureReason(() ->
+        {
+            throw throwable;
+        }, nextExpected());
+    }
+
+    /**
+     * Run the benchmarks.
+     * @param args not used
+     * @throws RunnerException on error
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(AssignabilityCacheBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * AssignabilityCache is the candidate cache: a ClassValue that holds, for each actual class, a small open-addressed table
+     * from expected class to outcome, with lock-free lookups and copy-on-write additions.
+     */
+    static final class AssignabilityCache
+    {
+        /** the maximum number of expected classes that are cached per actual class. */
+        private static final int MAX_ENTRIES = 64;
+
+        /** the initial capacity of a table, a power of 2. */
+        private static final int INITIAL_CAPACITY = 8;
+
+        /** the table per actual class. */
+        private static final ClassValue<Table> TABLES = new ClassValue<>()
+        {
+            @Override
+            protected Table computeValue(final Class<?> actual)
+            {
+                return new Table(actual);
+            }
+        };
+
+        /** */
+        private AssignabilityCache()
+        {
+            // utility class
+        }
+
+        /**
+         * Return whether the expected class is the same as, or a superclass or superinterface of the actual class, as in
+         * expected.isAssignableFrom(actual).
+         * @param expected the expected class, e.g., the throwable class that a test expects
+         * @param actual the actual class, e.g., the class of the throwable that was thrown
+         * @return whether an instance of the actual class can be assigned to a variable of the expected class
+         */
+        static boolean isAssignableFrom(final Class<?> expected, final Class<?> actual)
+        {
+            return TABLES.get(actual).isAssignableFrom(expected);
+        }
+
+        /**
+         * Return the start index of the probe sequence for a class in a table with the given mask.
+         * @param expected the expected class
+         * @param mask the capacity of the table minus 1
+         * @return the start index of the probe sequence
+         */
+        private static int index(final Class<?> expected, final int mask)
+        {
+            int h = System.identityHashCode(expected);
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        /**
+         * Entries is an immutable open-addressed table from expected class to outcome, with a load factor of at most 0.5, so a
+         * probe sequence always ends on an empty slot.
+         */
+        private static final class Entries
+        {
+            /** the expected classes, with null for an empty slot. */
+            private final Class<?>[] keys;
+
+            /** the outcome for each expected class. */
+            private final boolean[] values;
+
+            /** the number of expected classes in the table. */
+            private final int size;
+
+            /**
+             * Create a table.
+             * @param keys the expected classes, with null for an empty slot
+             * @param values the outcome for each expected class
+             * @param size the number of expected classes in the table
+             */
+            private Entries(final Class<?>[] keys, final boolean[] values, final int size)
+            {
+                this.keys = keys;
+                this.values = values;
+                this.size = size;
+            }
+        }
+
+        /**
+         * Table holds the cached outcomes for one actual class. Readers use the current entries without locking; writers copy
+         * the entries under a lock and publish the copy through a volatile field.
+         */
+        private static final class Table
+        {
+            /** the actual class. */
+            private final Class<?> actual;
+
+            /** the current entries. */
+            private volatile Entries entries = new Entries(new Class<?>[INITIAL_CAPACITY], new boolean[INITIAL_CAPACITY], 0);
+
+            /**
+             * Create a table for an actual class.
+             * @param actual the actual class
+             */
+            private Table(final Class<?> actual)
+            {
+                this.actual = actual;
+            }
+
+            /**
+             * Return whether the expected class is assignable from the actual class of this table.
+             * @param expected the expected class
+             * @return whether the expected class is assignable from the actual class of this table
+             */
+            private boolean isAssignableFrom(final Class<?> expected)
+            {
+                Entries current = this.entries;
+                Class<?>[] keys = current.keys;
+                int mask = keys.length - 1;
+                for (int i = index(expected, mask);; i = (i + 1) & mask)
+                {
+                    Class<?> key = keys[i];
+                    if (key == expected)
+                    {
+                        return current.values[i];
+                    }
+                    if (key == null)
+                    {
+                        break;
+                    }
+                }
+                boolean outcome = expected.isAssignableFrom(this.actual);
+                add(expected, outcome);
+                return outcome;
+            }
+
+            /**
+             * Publish a copy of the entries with an extra expected class, when the class is not yet present and the table is
+             * not full.
+             * @param expected the expected class
+             * @param outcome the outcome for the expected class
+             */
+            private synchronized void add(final Class<?> expected, final boolean outcome)
+            {
+                Entries current = this.entries;
+                if (current.size >= MAX_ENTRIES)
+                {
+                    return;
+                }
+                int capacity = (current.size + 1) * 2 > current.keys.length ? current.keys.length * 2 : current.keys.length;
+                Class<?>[] keys = new Class<?>[capacity];
+                boolean[] values = new boolean[capacity];
+                int mask = capacity - 1;
+                for (int j = 0; j < current.keys.length; j++)
+                {
+                    Class<?> key = current.keys[j];
+                    if (key == expected)
+                    {
+                        return; // added by another thread
+                    }
+                    if (key != null)
+                    {
+                        int i = index(key, mask);
+                        while (keys[i] != null)
+                        {
+                            i = (i + 1) & mask;
+                        }
+                        keys[i] = key;
+                        values[i] = current.values[j];
+                    }
+                }
+                int i = index(expected, mask);
+                while (keys[i] != null)
+                {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = expected;
+                values[i] = outcome;
+                this.entries = new Entries(keys, values, current.size + 1);
+            }
+        }
+    }
+}
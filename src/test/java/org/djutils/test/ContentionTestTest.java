@@ -0,0 +1,150 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.djutils.test.ContentionTest.ContentionReport;
+import org.junit.jupiter.api.Test;
+
+/**
+ * ContentionTestTest tests the measurement of contention and the detection of deadlocks between concurrent executions.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class ContentionTestTest
+{
+    /** a monitor that is contended. */
+    private final Object monitor = new Object();
+
+    /**
+     * Test the measurement of contention on a monitor and on a lock.
+     */
+    @Test
+    public void testContention()
+    {
+        ContentionReport report = ContentionTest.run(() ->
+        {
+            for (int i = 0; i < 5; i++)
+            {
+                synchronized (this.monitor)
+                {
+                    Thread.sleep(5);
+                }
+            }
+        }, 4, Duration.ofSeconds(30));
+        assertEquals(4, report.threads().size());
+        assertTrue(report.totalBlockedMillis() > 0, report.report(5));
+        assertTrue(report.threads().stream().mapToLong(t -> t.blockedCount()).sum() > 0, report.report(5));
+        assertTrue(report.contendedLocks().keySet().stream().anyMatch(lock -> lock.startsWith("java.lang.Object@")),
+                report.report(5));
+        assertTrue(report.monitorEnterNanos().isEmpty());
+        AssertionError e = assertThrows(AssertionError.class, () -> report.check(false, "xyz"));
+        assertTrue(e.getMessage().contains("xyz"));
+        assertTrue(e.getMessage().contains("ContentionTest-0"));
+
+        ReentrantLock lock = new ReentrantLock();
+        ContentionReport lockReport = ContentionTest.run(Duration.ofSeconds(30), true, () -> locked(lock, 20),
+                () -> locked(lock, 20), () -> locked(lock, 20));
+        assertTrue(lockReport.totalWaitedMillis() > 0, lockReport.report(5));
+        assertTrue(lockReport.contendedLocks().keySet().stream().anyMatch(name -> name.contains("ReentrantLock")),
+                lockReport.report(5));
+
+        ContentionReport free = ContentionTest.run(() -> Math.sqrt(2.0), 2, Duration.ofSeconds(10));
+        assertTrue(free.contendedLocks().isEmpty(), free.report(5));
+    }
+
+    /**
+     * Test that a deadlock fails fast with the lock graph.
+     */
+    @Test
+    public void testDeadlock()
+    {
+        Object first = new Object();
+        Object second = new Object();
+        CountDownLatch bothLocked = new CountDownLatch(2);
+        long start = System.nanoTime();
+        AssertionError e = assertThrows(AssertionError.class, () -> ContentionTest.run(Duration.ofSeconds(60),
+                () -> lockBoth(first, second, bothLocked), () -> lockBoth(second, first, bothLocked)));
+        assertTrue(System.nanoTime() - start < 30_000_000_000L);
+        assertTrue(e.getMessage().contains("Deadlock detected"), e.getMessage());
+        assertTrue(e.getMessage().contains("waits for java.lang.Object@"), e.getMessage());
+        assertTrue(e.getMessage().contains("held by \"ContentionTest-"), e.getMessage());
+        assertTrue(e.getMessage().contains("lockBoth"), e.getMessage());
+    }
+
+    /**
+     * Test failing executions, timeouts and illegal arguments.
+     */
+    @Test
+    public void testFailures()
+    {
+        AssertionError e = assertThrows(AssertionError.class,
+                () -> ContentionTest.run(Duration.ofSeconds(10), () -> Math.sqrt(2.0), () ->
+                {
+                    throw new IllegalStateException("fail");
+                }));
+        assertTrue(e.getMessage().contains("Execution 1 threw an exception"));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+
+        TimeoutAssertionError t = assertThrows(TimeoutAssertionError.class,
+                () -> ContentionTest.run(() -> Thread.sleep(10_000), 2, Duration.ofMillis(100)));
+        assertTrue(t.getMessage().contains("did not finish within"));
+        assertTrue(t.getMessage().contains("Thread.sleep"), t.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> ContentionTest.run(() -> Math.sqrt(2.0), 0, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> ContentionTest.run(Duration.ofSeconds(1)));
+    }
+
+    /**
+     * Hold a lock for some time.
+     * @param lock the lock
+     * @param millis the time to hold the lock
+     * @throws InterruptedException when interrupted
+     */
+    private static void locked(final ReentrantLock lock, final long millis) throws InterruptedException
+    {
+        for (int i = 0; i < 3; i++)
+        {
+            lock.lock();
+            try
+            {
+                Thread.sleep(millis);
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Lock two monitors in the given order, after making sure that the other thread holds its first monitor.
+     * @param first the first monitor
+     * @param second the second monitor
+     * @param bothLocked the latch that is released when both threads hold their first monitor
+     * @throws InterruptedException when interrupted
+     */
+    private static void lockBoth(final Object first, final Object second, final CountDownLatch bothLocked)
+            throws InterruptedException
+    {
+        synchronized (first)
+        {
+            bothLocked.countDown();
+            bothLocked.await();
+            synchronized (second)
+            {
+                second.hashCode();
+            }
+        }
+    }
+}
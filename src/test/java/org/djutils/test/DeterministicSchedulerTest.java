@@ -0,0 +1,163 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.djutils.test.DeterministicScheduler.Action;
+import org.junit.jupiter.api.Test;
+
+/**
+ * DeterministicSchedulerTest tests the random and systematic exploration of schedules, and the replay of failing schedules.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class DeterministicSchedulerTest
+{
+    /** two threads that increment the counter. */
+    private static final List<Action<Counter>> INCREMENTS = List.of(c -> c.increment(), c -> c.increment());
+
+    /** the check that no increment was lost. */
+    private static final Action<Counter> NO_LOST_UPDATE = c ->
+    {
+        if (c.value != 2)
+        {
+            throw new IllegalStateException("lost update, value = " + c.value);
+        }
+    };
+
+    /**
+     * Test that a lost update is found randomly, and that the reported seed and choices replay it.
+     */
+    @Test
+    public void testExplore()
+    {
+        AssertionError e = assertThrows(AssertionError.class,
+                () -> DeterministicScheduler.explore(Counter::new, INCREMENTS, NO_LOST_UPDATE, 1000, 1L, "xyz"));
+        assertTrue(e.getMessage().contains("xyz"));
+        assertTrue(e.getMessage().contains("lost update, value = 1"), e.getMessage());
+        Matcher matcher = Pattern.compile("seed = (-?\\d+) or choices = \\[([\\d, ]*)\\]").matcher(e.getMessage());
+        assertTrue(matcher.find(), e.getMessage());
+        long seed = Long.parseLong(matcher.group(1));
+        int[] choices = Pattern.compile(", ").splitAsStream(matcher.group(2)).mapToInt(Integer::parseInt).toArray();
+        for (int i = 0; i < 10; i++)
+        {
+            assertThrows(AssertionError.class, () -> DeterministicScheduler.replay(Counter::new, INCREMENTS, NO_LOST_UPDATE,
+                    seed));
+            assertThrows(AssertionError.class,
+                    () -> DeterministicScheduler.replay(Counter::new, INCREMENTS, NO_LOST_UPDATE, choices));
+        }
+
+        // the correct counter passes all schedules
+        DeterministicScheduler.explore(Counter::new, List.of(c -> c.incrementSafely(), c -> c.incrementSafely()),
+                NO_LOST_UPDATE, 1000, 1L, null);
+
+        // outside a schedule, a yield point does nothing
+        DeterministicScheduler.yieldPoint();
+        assertThrows(IllegalArgumentException.class,
+                () -> DeterministicScheduler.explore(Counter::new, List.of(), NO_LOST_UPDATE, 10, 1L, null));
+    }
+
+    /**
+     * Test the systematic exploration of all schedules.
+     */
+    @Test
+    public void testExploreAll()
+    {
+        AssertionError e = assertThrows(AssertionError.class,
+                () -> DeterministicScheduler.exploreAll(Counter::new, INCREMENTS, NO_LOST_UPDATE, 1000, "xyz"));
+        assertTrue(e.getMessage().contains("replay with choices = ["), e.getMessage());
+
+        // two threads with two yield points each: the number of interleavings is finite
+        int count = DeterministicScheduler.exploreAll(Counter::new,
+                List.of(c -> c.incrementSafely(), c -> c.incrementSafely()), NO_LOST_UPDATE, 1000, null);
+        assertTrue(count > 1 && count < 1000, "count = " + count);
+        assertEquals(5, DeterministicScheduler.exploreAll(Counter::new,
+                List.of(c -> c.incrementSafely(), c -> c.incrementSafely()), NO_LOST_UPDATE, 5, null));
+
+        // an exception in a thread fails the schedule
+        e = assertThrows(AssertionError.class, () -> DeterministicScheduler.exploreAll(Counter::new, List.of(c ->
+        {
+            throw new IllegalStateException("fail");
+        }), c -> c.hashCode(), 10, null));
+        assertTrue(e.getMessage().contains("thread 0 threw java.lang.IllegalStateException: fail"), e.getMessage());
+    }
+
+    /**
+     * Test that a schedule in which a thread blocks outside a yield point fails after the timeout, and that the threads of the
+     * schedule end instead of waiting for the baton forever.
+     * @throws InterruptedException when the test is interrupted
+     */
+    @Test
+    public void testTimeout() throws InterruptedException
+    {
+        // thread 0 takes the lock and yields to thread 1, which blocks on the lock outside a yield point
+        List<Action<ReentrantLock>> threads = List.of(lock ->
+        {
+            lock.lock();
+            try
+            {
+                DeterministicScheduler.yieldPoint();
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }, lock ->
+        {
+            lock.lock();
+            lock.unlock();
+        });
+        AssertionError e = assertThrows(AssertionError.class,
+                () -> DeterministicScheduler.replay(ReentrantLock::new, threads, lock -> lock.hashCode(), new int[] {0, 1}));
+        assertTrue(e.getMessage().contains("schedule did not finish within"), e.getMessage());
+        assertTrue(e.getMessage().contains("choices = [0, 1]"), e.getMessage());
+        for (Thread thread : Thread.getAllStackTraces().keySet())
+        {
+            if (thread.getName().startsWith("DeterministicScheduler-"))
+            {
+                thread.join(5000L);
+                assertTrue(!thread.isAlive(), thread.getName() + " is still waiting");
+            }
+        }
+    }
+
+    /**
+     * Counter is a counter with a yield point between reading and writing the value.
+     */
+    static class Counter
+    {
+        /** the value. */
+        private int value;
+
+        /**
+         * Increment the value with a race between reading and writing the value.
+         */
+        void increment()
+        {
+            int v = this.value;
+            DeterministicScheduler.yieldPoint();
+            this.value = v + 1;
+        }
+
+        /**
+         * Increment the value atomically with respect to the scheduler.
+         */
+        void incrementSafely()
+        {
+            DeterministicScheduler.yieldPoint();
+            this.value++;
+            DeterministicScheduler.yieldPoint();
+        }
+    }
+}
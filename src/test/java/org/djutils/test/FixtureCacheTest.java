@@ -0,0 +1,190 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.djutils.test.FixtureCache.Codec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * FixtureCacheTest tests the building, reading and invalidation of cached fixtures.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class FixtureCacheTest
+{
+    /**
+     * Test the default codec, the reuse in memory and from the file, and the invalidation by the inputs.
+     * @param directory a temporary directory
+     * @throws IOException on error
+     */
+    @Test
+    public void testSerializable(@TempDir final Path directory) throws IOException
+    {
+        Path input = directory.resolve("input.txt");
+        Files.writeString(input, "a,b,c");
+        Path cache = directory.resolve("cache");
+        AtomicInteger builds = new AtomicInteger();
+        FixtureCache.Builder<ArrayList<String>> builder = () ->
+        {
+            builds.incrementAndGet();
+            return new ArrayList<>(List.of(Files.readString(input).split(",")));
+        };
+
+        List<String> fixture = FixtureCache.get("words", FixtureCache.serializable(), builder, cache, List.of(input));
+        assertEquals(List.of("a", "b", "c"), fixture);
+        assertEquals(1, builds.get());
+        assertSame(fixture, FixtureCache.get("words", FixtureCache.serializable(), builder, cache, List.of(input)));
+
+        // another JVM reads the file
+        FixtureCache.clearMemory();
+        List<String> read = FixtureCache.get("words", FixtureCache.serializable(), builder, cache, List.of(input));
+        assertNotSame(fixture, read);
+        assertEquals(fixture, read);
+        assertEquals(1, builds.get());
+
+        // a changed input invalidates the fixture and removes the old file
+        Files.writeString(input, "a,b,c,d");
+        assertEquals(List.of("a", "b", "c", "d"),
+                FixtureCache.get("words", FixtureCache.serializable(), builder, cache, List.of(input)));
+        assertEquals(2, builds.get());
+        try (var files = Files.list(cache))
+        {
+            assertEquals(1, files.count());
+        }
+
+        // a corrupt file is rebuilt
+        FixtureCache.clearMemory();
+        try (var files = Files.list(cache))
+        {
+            Files.writeString(files.findFirst().get(), "corrupt");
+        }
+        assertEquals(4, FixtureCache.get("words", FixtureCache.serializable(), builder, cache, List.of(input)).size());
+        assertEquals(3, builds.get());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> FixtureCache.get("../words", FixtureCache.serializable(), builder, cache, List.of(input)));
+        IOException e = assertThrows(IOException.class, () -> FixtureCache.get("failing", FixtureCache.serializable(), () ->
+        {
+            throw new Exception("cannot build");
+        }, cache, List.of()));
+        assertTrue(e.getMessage().contains("failing"));
+        IllegalStateException n = assertThrows(IllegalStateException.class,
+                () -> FixtureCache.get("nothing", FixtureCache.serializable(), () -> null, cache, List.of()));
+        assertTrue(n.getMessage().contains("nothing"), n.getMessage());
+    }
+
+    /**
+     * Test a dedicated codec that reads from the mapped buffer, and the hash of input directories.
+     * @param directory a temporary directory
+     * @throws IOException on error
+     */
+    @Test
+    public void testCodec(@TempDir final Path directory) throws IOException
+    {
+        Codec<long[]> codec = new Codec<>()
+        {
+            @Override
+            public void write(final long[] fixture, final OutputStream out) throws IOException
+            {
+                DataOutputStream data = new DataOutputStream(out);
+                data.writeInt(fixture.length);
+                for (long value : fixture)
+                {
+                    data.writeLong(value);
+                }
+                data.flush();
+            }
+
+            @Override
+            public long[] read(final ByteBuffer buffer)
+            {
+                long[] fixture = new long[buffer.getInt(0)];
+                buffer.position(4).asLongBuffer().get(fixture);
+                return fixture;
+            }
+        };
+        Path inputs = directory.resolve("inputs");
+        Files.createDirectories(inputs.resolve("sub"));
+        Files.writeString(inputs.resolve("sub").resolve("x.txt"), "x");
+        Path cache = directory.resolve("cache");
+        long[] squares = FixtureCache.get("squares", codec, () -> new long[] {0L, 1L, 4L, 9L}, cache, List.of(inputs));
+        FixtureCache.clearMemory();
+        assertArrayEquals(squares, FixtureCache.get("squares", codec, () -> null, cache, List.of(inputs)));
+
+        String hash = FixtureCache.hash("squares", List.of(inputs));
+        assertEquals(16, hash.length());
+        assertEquals(hash, FixtureCache.hash("squares", List.of(inputs)));
+        assertNotEquals(hash, FixtureCache.hash("cubes", List.of(inputs)));
+        Files.move(inputs.resolve("sub").resolve("x.txt"), inputs.resolve("sub").resolve("y.txt"));
+        assertNotEquals(hash, FixtureCache.hash("squares", List.of(inputs)), "a renamed input changes the hash");
+    }
+
+    /**
+     * Test that different fixtures are built in parallel, while one fixture is built only once.
+     * @param directory a temporary directory
+     * @throws Exception on error
+     */
+    @Test
+    public void testParallel(@TempDir final Path directory) throws Exception
+    {
+        Path cache = directory.resolve("cache");
+        CountDownLatch second = new CountDownLatch(1);
+        AtomicInteger builds = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try
+        {
+            // the first fixture can only be built while the second one is built at the same time
+            Future<String> first = executor.submit(() -> FixtureCache.get("first", FixtureCache.serializable(), () ->
+            {
+                builds.incrementAndGet();
+                return second.await(10, TimeUnit.SECONDS) ? "first" : "timeout";
+            }, cache, List.of()));
+            Future<String> again = executor.submit(() -> FixtureCache.get("first", FixtureCache.serializable(), () ->
+            {
+                builds.incrementAndGet();
+                return second.await(10, TimeUnit.SECONDS) ? "first" : "timeout";
+            }, cache, List.of()));
+            Future<String> other = executor.submit(() -> FixtureCache.get("second", FixtureCache.serializable(), () ->
+            {
+                second.countDown();
+                return "second";
+            }, cache, List.of()));
+            assertEquals("second", other.get(10, TimeUnit.SECONDS));
+            assertEquals("first", first.get(10, TimeUnit.SECONDS));
+            assertSame(first.get(), again.get(10, TimeUnit.SECONDS));
+            assertEquals(1, builds.get(), "the first fixture is built once");
+        }
+        finally
+        {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.djutils.test.FixtureGenerator.Chunk;
+import org.djutils.test.FixtureGenerator.Field;
+import org.djutils.test.FixtureGenerator.FieldType;
+import org.djutils.test.FixtureGenerator.Fixture;
+import org.djutils.test.FixtureGenerator.Schema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * FixtureGeneratorTest tests the generation, the caching and the typed access of fixtures.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class FixtureGeneratorTest
+{
+    /** the schema of the tests. */
+    private static final Schema SCHEMA = Schema.of(Field.sequence("id"), Field.ofInt("type", -3, 9), Field.ofLong("key"),
+            Field.ofLong("amount", 100L, 200L), Field.ofDouble("price", 1.0, 2.0));
+
+    /**
+     * Test the values and the typed access of a fixture with several chunks.
+     * @param directory a temporary directory
+     * @throws IOException on error
+     */
+    @Test
+    public void testValues(@TempDir final Path directory) throws IOException
+    {
+        Fixture fixture = FixtureGenerator.generate(SCHEMA, 100_003L, 7L, directory, 1000);
+        assertEquals(36, SCHEMA.recordSize());
+        assertEquals(100_003L * 36, Files.size(fixture.file()));
+        assertEquals(100_003L, fixture.records());
+        assertEquals(7L, fixture.seed());
+        assertEquals(SCHEMA, fixture.schema());
+        for (long record : new long[] {0L, 999L, 1000L, 55_555L, 100_002L})
+        {
+            assertEquals(record, fixture.getLong(record, 0));
+            assertEquals((int) SCHEMA.fields().get(1).value(7L, record, 1), fixture.getInt(record, 1));
+            assertEquals(FixtureGenerator.hash(7L, record, 2), fixture.getLong(record, 2));
+            assertEquals(Double.longBitsToDouble(SCHEMA.fields().get(4).value(7L, record, 4)), fixture.getDouble(record, 4));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> fixture.getLong(100_003L, 0));
+
+        assertTrue(fixture.ints("type").allMatch(v -> v >= -3 && v <= 9));
+        assertEquals(13, fixture.ints("type").distinct().count());
+        assertTrue(fixture.longs("amount").allMatch(v -> v >= 100L && v <= 200L));
+        assertTrue(fixture.doubles("price").allMatch(v -> v >= 1.0 && v < 2.0));
+        assertEquals(1.5, fixture.doubles("price").average().getAsDouble(), 0.01);
+        assertEquals(100_003L * 100_002L / 2, fixture.longs("id").sum());
+        assertThrows(IllegalArgumentException.class, () -> fixture.longs("none"));
+
+        // a getter of another type than the field is rejected
+        assertThrows(IllegalArgumentException.class, () -> fixture.ints("price"));
+        assertThrows(IllegalArgumentException.class, () -> fixture.doubles("amount"));
+        assertThrows(IllegalArgumentException.class, () -> fixture.longs("type"));
+        assertThrows(IllegalArgumentException.class, () -> fixture.getInt(0L, 4));
+        assertThrows(IllegalArgumentException.class, () -> fixture.getDouble(0L, 2));
+        assertThrows(IllegalArgumentException.class, () -> fixture.chunks().iterator().next().getLong(0, 1));
+
+        long records = 0;
+        for (Chunk chunk : fixture.chunks())
+        {
+            assertEquals(records, chunk.firstRecord());
+            assertEquals(chunk.firstRecord(), chunk.getLong(0, 0));
+            assertEquals(fixture.getInt(chunk.firstRecord() + chunk.records() - 1, 1), chunk.getInt(chunk.records() - 1, 1));
+            assertEquals(fixture.getDouble(chunk.firstRecord(), 4), chunk.getDouble(0, 4));
+            records += chunk.records();
+        }
+        assertEquals(fixture.records(), records);
+        assertTrue(fixture.toString().contains("100003 records"));
+    }
+
+    /**
+     * Test that fixtures are cached by schema, seed and number of records.
+     * @param directory a temporary directory
+     * @throws IOException on error
+     */
+    @Test
+    public void testCache(@TempDir final Path directory) throws IOException
+    {
+        Fixture fixture = FixtureGenerator.generate(SCHEMA, 1000L, 1L, directory);
+        Files.setLastModifiedTime(fixture.file(), FileTime.fromMillis(0L));
+        Fixture cached = FixtureGenerator.generate(SCHEMA, 1000L, 1L, directory);
+        assertEquals(fixture.file(), cached.file());
+        assertEquals(0L, Files.getLastModifiedTime(cached.file()).toMillis(), "the cached file is reused");
+        assertEquals(fixture.getDouble(999L, 4), cached.getDouble(999L, 4));
+
+        Fixture other = FixtureGenerator.generate(SCHEMA, 1000L, 2L, directory);
+        assertNotEquals(fixture.file(), other.file());
+        assertNotEquals(fixture.getLong(5L, 2), other.getLong(5L, 2));
+        Schema schema = Schema.of(Field.sequence("id"), Field.ofInt("type", -3, 10));
+        assertNotEquals(SCHEMA.hash(), schema.hash());
+        assertEquals(0L, FixtureGenerator.generate(schema, 0L, 1L, directory).records());
+        try (var files = Files.list(directory))
+        {
+            assertEquals(3, files.count(), "no temporary files are left");
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> Schema.of());
+        assertThrows(IllegalArgumentException.class, () -> Schema.of(Field.sequence("a"), Field.ofLong("a")));
+        assertThrows(IllegalArgumentException.class, () -> Field.ofInt("x", 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> Field.ofLong("x", 0L, Long.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> Field.ofLong("x", Long.MIN_VALUE, 0L));
+        assertThrows(IllegalArgumentException.class, () -> FixtureGenerator.generate(SCHEMA, -1L, 1L, directory));
+
+        // the constructor checks the bounds in the same way as the factory methods
+        assertThrows(IllegalArgumentException.class, () -> new Field("x", FieldType.LONG, 1e300, 1e301));
+        assertThrows(IllegalArgumentException.class, () -> new Field("x", FieldType.LONG, 0.5, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new Field("x", FieldType.LONG, Double.NaN, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new Field("x", FieldType.INT, 0.0, 1e10));
+        assertThrows(IllegalArgumentException.class, () -> new Field("x", FieldType.INT, Double.NaN, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Field.ofDouble("x", 0.0, Double.POSITIVE_INFINITY));
+        assertEquals(Field.ofLong("x"), new Field("x", FieldType.LONG, Double.NaN, Double.NaN));
+    }
+
+    /**
+     * Test that a double field over the full finite range, of which the width does not fit in a double, gives finite values
+     * in range.
+     * @param directory a temporary directory
+     * @throws IOException on error
+     */
+    @Test
+    public void testWideDoubles(@TempDir final Path directory) throws IOException
+    {
+        Schema schema = Schema.of(Field.ofDouble("x", -Double.MAX_VALUE, Double.MAX_VALUE));
+        Fixture fixture = FixtureGenerator.generate(schema, 10_000L, 3L, directory);
+        assertTrue(fixture.doubles("x").allMatch(Double::isFinite));
+        assertTrue(fixture.doubles("x").anyMatch(v -> v < -1.0E300), "values span the negative half");
+        assertTrue(fixture.doubles("x").anyMatch(v -> v > 1.0E300), "values span the positive half");
+        assertEquals(1.0, Double.longBitsToDouble(Field.ofDouble("y", 1.0, 1.0).value(3L, 0L, 0)));
+    }
+}
@@ -0,0 +1,182 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.djutils.test.Fuzzer.Crash;
+import org.djutils.test.Fuzzer.FuzzResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * FuzzerTest tests the classification of outcomes, the corpus and crash files, and the JaCoCo data parsing of the fuzzer.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class FuzzerTest
+{
+    /**
+     * Test a parser that only throws the expected exception, and the reuse of the corpus in a second run.
+     * @param directory a temporary directory
+     * @throws IOException on error
+     */
+    @Test
+    public void testExpectedOnly(@TempDir final Path directory) throws IOException
+    {
+        FuzzResult result = Fuzzer.fuzz(bytes -> () -> Integer.parseInt(new String(bytes, StandardCharsets.ISO_8859_1)),
+                NumberFormatException.class, Duration.ofSeconds(30), 20_000, 2, 1L, directory);
+        assertEquals(20_000, result.executions(), result.toString());
+        assertTrue(result.expectedExceptions() > 0, result.toString());
+        assertTrue(result.crashes().isEmpty(), result.toString());
+        assertTrue(result.corpusSize() > 1, result.toString());
+        assertTrue(result.coverage() > 0, result.toString());
+        assertTrue(result.executionsPerSecond() > 0.0);
+        result.assertNoCrashes("no crashes");
+
+        long files;
+        try (var list = Files.list(directory.resolve("corpus")))
+        {
+            files = list.count();
+        }
+        assertTrue(files > 0);
+        FuzzResult second = Fuzzer.fuzz(bytes -> () -> Integer.parseInt(new String(bytes, StandardCharsets.ISO_8859_1)),
+                NumberFormatException.class, Duration.ofSeconds(30), 10, 1, 2L, directory);
+        assertTrue(second.corpusSize() >= files + 1, second.toString());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Fuzzer.fuzz(bytes -> () -> null, RuntimeException.class, Duration.ofSeconds(1), 10, 0, 1L, directory));
+    }
+
+    /**
+     * Test that a crash is found, stored on disk, and reported.
+     * @param directory a temporary directory
+     * @throws IOException on error
+     */
+    @Test
+    public void testCrash(@TempDir final Path directory) throws IOException
+    {
+        FuzzResult result = Fuzzer.fuzz(bytes -> () -> parse(bytes), IllegalArgumentException.class, Duration.ofSeconds(30),
+                200_000, 2, 3L, directory);
+        assertEquals(1, result.crashes().size(), result.toString());
+        Crash crash = result.crashes().get(0);
+        assertTrue(crash.signature().startsWith("java.lang.IllegalStateException at "), crash.signature());
+        assertTrue(crash.input().length > 3 && crash.input()[0] == 0x7F);
+        assertArrayEquals(crash.input(), Files.readAllBytes(crash.file()));
+        String trace = Files.readString(directory.resolve("crashes").resolve(crash.file().getFileName().toString()
+                .replace(".bin", ".txt")));
+        assertTrue(trace.contains("IllegalStateException: crash"));
+        assertTrue(crash.toString().contains("IllegalStateException"));
+        AssertionError e = assertThrows(AssertionError.class, () -> result.assertNoCrashes("xyz"));
+        assertTrue(e.getMessage().contains("xyz"));
+        assertTrue(e.getMessage().contains("Fuzzer found 1 crash(es)"));
+    }
+
+    /**
+     * Test that an input that never finishes is reported as a hang, and does not block the run beyond its deadline.
+     * @param directory a temporary directory
+     * @throws IOException on error
+     */
+    @Test
+    public void testHang(@TempDir final Path directory) throws IOException
+    {
+        long start = System.nanoTime();
+        FuzzResult result = Fuzzer.fuzz(bytes -> () -> spin(bytes), IllegalArgumentException.class, Duration.ofMillis(200),
+                Long.MAX_VALUE, 2, 4L, directory);
+        long seconds = (System.nanoTime() - start) / 1_000_000_000L;
+        assertTrue(seconds < 10, "fuzz took " + seconds + " s");
+        assertTrue(result.crashes().size() >= 1, result.toString());
+        Crash hang = result.crashes().get(0);
+        assertTrue(hang.signature().startsWith("org.djutils.test.TimeoutAssertionError at "), hang.signature());
+        assertTrue(hang.signature().contains("spin"), hang.signature());
+        assertTrue(hang.input().length > 2);
+        String trace = Files.readString(directory.resolve("crashes").resolve(hang.file().getFileName().toString()
+                .replace(".bin", ".txt")));
+        assertTrue(trace.contains("did not finish within"));
+    }
+
+    /**
+     * A target that does not finish for inputs longer than 2 bytes, until its thread is interrupted.
+     * @param bytes the input
+     * @return the length of the input
+     */
+    private static int spin(final byte[] bytes)
+    {
+        while (bytes.length > 2 && !Thread.currentThread().isInterrupted())
+        {
+            Thread.onSpinWait();
+        }
+        return bytes.length;
+    }
+
+    /**
+     * Test the parsing of JaCoCo execution data, and the hash and signature helpers.
+     * @throws IOException on error
+     */
+    @Test
+    public void testHelpers() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(0x01);
+        out.writeChar(0xC0C0);
+        out.writeChar(0x1007);
+        out.writeByte(0x10);
+        out.writeUTF("session");
+        out.writeLong(1L);
+        out.writeLong(2L);
+        out.writeByte(0x11);
+        out.writeLong(123L);
+        out.writeUTF("org/djutils/X");
+        out.writeByte(10); // 10 probes in 2 bytes
+        out.writeByte(0b101);
+        out.writeByte(0b10);
+        out.writeByte(0x11);
+        out.writeLong(124L);
+        out.writeUTF("org/djutils/Y");
+        out.writeByte(0x80 | 0x04); // 260 probes as var int, in 33 bytes
+        out.writeByte(0x02);
+        for (int i = 0; i < 33; i++)
+        {
+            out.writeByte(i == 32 ? 0x0F : 0x01);
+        }
+        assertEquals(3 + 32 + 4, Fuzzer.hitProbes(bytes.toByteArray()));
+        assertThrows(IOException.class, () -> Fuzzer.hitProbes(new byte[] {0x55}));
+
+        assertEquals(16, Fuzzer.hash(new byte[] {1, 2, 3}).length());
+        assertTrue(!Fuzzer.hash(new byte[] {1, 2, 3}).equals(Fuzzer.hash(new byte[] {1, 2, 4})));
+        assertTrue(Fuzzer.signature(new IllegalStateException()).contains("FuzzerTest.testHelpers"));
+    }
+
+    /**
+     * A parser with a bug for inputs that start with 0x7F.
+     * @param bytes the input
+     * @return the length of the input
+     */
+    private static int parse(final byte[] bytes)
+    {
+        if (bytes.length == 0)
+        {
+            throw new IllegalArgumentException("empty");
+        }
+        if (bytes.length > 3 && bytes[0] == 0x7F)
+        {
+            throw new IllegalStateException("crash");
+        }
+        return bytes.length;
+    }
+}
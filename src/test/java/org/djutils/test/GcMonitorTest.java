@@ -0,0 +1,50 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.djutils.test.GcMonitor.GcStatistics;
+import org.junit.jupiter.api.Test;
+
+/**
+ * GcMonitorTest tests the garbage collection measurements around an execution.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class GcMonitorTest
+{
+    /**
+     * Test the measurement of an execution without and with garbage collections.
+     */
+    @Test
+    public void testMeasure()
+    {
+        GcStatistics quiet = GcMonitor.measure(() -> Math.sqrt(2.0));
+        assertEquals(-1L, quiet.pauseNanos());
+        assertEquals(-1L, quiet.safepointNanos());
+        assertTrue(quiet.wallNanos() >= 0L);
+        assertTrue(quiet.gcFraction() >= 0.0 && quiet.gcFraction() <= 1.0);
+
+        GcStatistics full = GcMonitor.measure(() -> System.gc());
+        assertTrue(full.collections() >= 1, full.toString());
+        assertTrue(full.majorCollections() >= 1, full.toString());
+        assertEquals(full.collections(), full.events().size(), full.toString());
+
+        GcStatistics recorded = GcMonitor.measure(() -> System.gc(), true);
+        assertTrue(recorded.majorCollections() >= 1, recorded.toString());
+        assertTrue(recorded.pauseNanos() > 0L, recorded.toString());
+        assertTrue(recorded.safepointNanos() >= 0L, recorded.toString());
+
+        AssertionError e = assertThrows(AssertionError.class, () -> GcMonitor.measure(() ->
+        {
+            throw new IllegalStateException();
+        }));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+}
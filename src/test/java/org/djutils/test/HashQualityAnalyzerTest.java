@@ -0,0 +1,183 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+import org.djutils.test.HashQualityAnalyzer.HashQualityReport;
+import org.junit.jupiter.api.Test;
+
+/**
+ * HashQualityAnalyzerTest tests the scan for hashCode methods and the ranking of hash functions of different quality.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class HashQualityAnalyzerTest
+{
+    /**
+     * Test the scan of the main classes and the default generators for records.
+     */
+    @Test
+    public void testClassesWithHashCode()
+    {
+        List<String> classes = HashQualityAnalyzer.classesWithHashCode("org.djutils.test");
+        assertTrue(classes.contains(HashStatistics.class.getName()));
+        assertTrue(classes.contains(FixtureGenerator.Field.class.getName()));
+        assertTrue(!classes.contains(UnitTest.class.getName()));
+        assertTrue(!classes.contains(HashQualityAnalyzerTest.class.getName() + "$Mixed"), "test classes are not scanned");
+
+        LongFunction<Object> generator = HashQualityAnalyzer.recordGenerator(Mixed.class);
+        assertNotNull(generator);
+        assertEquals(generator.apply(42L), generator.apply(42L));
+        // component i of 3 gets the input rotated right by 21 * i bits
+        Mixed mixed = (Mixed) generator.apply(0x0000_0001_0000_0002L);
+        assertEquals(2, mixed.a());
+        assertEquals(TimeUnit.values()[(int) Math.floorMod(Long.rotateRight(0x0000_0001_0000_0002L, 21), 7L)], mixed.unit());
+        assertEquals(Long.rotateRight(0x0000_0001_0000_0002L, 42), mixed.b());
+        assertNull(HashQualityAnalyzer.recordGenerator(WithList.class));
+    }
+
+    /**
+     * Test the ranking of good and bad hash functions.
+     */
+    @Test
+    public void testAnalyze()
+    {
+        Map<Class<?>, LongFunction<?>> generators =
+                Map.of(LowBits.class, l -> new LowBits(l), Mixed.class, l -> new Mixed((int) l, TimeUnit.SECONDS, l));
+        HashQualityReport report = HashQualityAnalyzer.analyze(generators,
+                List.of("target/classes", "target/test-classes"), 2000, 5L, "org.djutils.test");
+
+        // a hash code of the low bits only collides for most values
+        HashStatistics lowBits = report.get(LowBits.class.getName());
+        assertTrue(lowBits.collisionRate() > 0.9, lowBits.toString());
+        assertEquals(LowBits.class.getName(), report.ranking().get(0).className());
+
+        // the avalanche of Long.hashCode is poor: one input bit flips one hash bit
+        HashStatistics mixed = report.get(Mixed.class.getName());
+        assertTrue(mixed.avalanche() < 0.1, mixed.toString());
+        assertTrue(mixed.collisionRate() < 0.01, mixed.toString());
+
+        // the registered generator is used instead of the default one, and a good hash function ranks after a poor one
+        HashStatistics good = report.get(GoodHash.class.getName());
+        assertTrue(good.avalanche() > 0.45 && good.avalanche() < 0.55, good.toString());
+        assertTrue(good.score() < lowBits.score());
+        assertTrue(report.ranking().indexOf(new HashQualityAnalyzer.HashQuality(GoodHash.class.getName(), good)) > 0);
+
+        assertEquals("no generator", report.skipped().get(WithList.class.getName()));
+        assertTrue(report.skipped().get(Failing.class.getName()).startsWith("generator failed"));
+        assertNull(report.get(WithList.class.getName()));
+        assertTrue(report.report().contains("not analyzed:"));
+        assertThrows(IllegalArgumentException.class,
+                () -> HashQualityAnalyzer.analyze(generators, List.of("target/classes"), 0, 5L, "org.djutils.test"));
+
+        var outSave = System.out;
+        try
+        {
+            var baos = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(baos));
+            HashQualityAnalyzer.main("org.djutils.test");
+            assertTrue(baos.toString().contains(HashStatistics.class.getName()));
+        }
+        finally
+        {
+            System.setOut(outSave);
+        }
+    }
+
+    /**
+     * A record with components of different types, and the hash code of a long.
+     * @param a an int
+     * @param unit an enum
+     * @param b a long
+     */
+    record Mixed(int a, TimeUnit unit, long b)
+    {
+        @Override
+        public int hashCode()
+        {
+            return Long.hashCode(this.b);
+        }
+    }
+
+    /**
+     * A record with a component without default generator.
+     * @param list a list
+     */
+    record WithList(List<String> list)
+    {
+    }
+
+    /**
+     * A record with a well mixed hash code.
+     * @param value the value
+     */
+    record GoodHash(long value)
+    {
+        @Override
+        public int hashCode()
+        {
+            return (int) (PropertyTest.mix(this.value, 0) >>> 32);
+        }
+    }
+
+    /**
+     * A record of which the constructor fails.
+     * @param value the value
+     */
+    record Failing(int value)
+    {
+        /**
+         * Fail for every value.
+         * @param value the value
+         */
+        Failing
+        {
+            throw new IllegalArgumentException("value");
+        }
+    }
+
+    /**
+     * A class with a hash code of the 4 lowest bits.
+     */
+    static class LowBits
+    {
+        /** the value. */
+        private final long value;
+
+        /**
+         * Create a value.
+         * @param value the value
+         */
+        LowBits(final long value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return (int) (this.value & 0xF);
+        }
+
+        @Override
+        public boolean equals(final Object obj)
+        {
+            return obj instanceof LowBits && ((LowBits) obj).value == this.value;
+        }
+    }
+}
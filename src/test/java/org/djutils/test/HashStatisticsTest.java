@@ -0,0 +1,58 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * HashStatisticsTest tests the collision rate, bucket skew and score of hash codes.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class HashStatisticsTest
+{
+    /**
+     * Test the statistics of good, clustered and constant hash codes.
+     */
+    @Test
+    public void testStatistics()
+    {
+        HashStatistics good = HashStatistics.of(IntStream.range(0, 10_000).map(i -> (int) PropertyTest.mix(1L, i)).toArray());
+        assertEquals(10_000, good.values());
+        assertEquals(16384, good.tableSize());
+        assertTrue(good.collisionRate() < 0.001, good.toString());
+        assertTrue(good.bucketSkew() > 0.8 && good.bucketSkew() < 1.2, good.toString());
+        assertTrue(Double.isNaN(good.avalanche()));
+        good.check(good.score() < 0.5, "good hash");
+
+        // multiples of the table size all end up in bucket 0, unless the high bits are spread
+        HashStatistics clustered = HashStatistics.of(IntStream.range(0, 1000).map(i -> i << 20).toArray());
+        assertEquals(1000, clustered.distinctHashes());
+        assertTrue(clustered.bucketSkew() > 10.0, clustered.toString());
+
+        HashStatistics constant = HashStatistics.of(new int[] {7, 7, 7, 7});
+        assertEquals(1, constant.distinctHashes());
+        assertEquals(0.75, constant.collisionRate(), 1E-9);
+        assertEquals(4, constant.maxBucket());
+        assertEquals(16, constant.tableSize());
+        AssertionError e = assertThrows(AssertionError.class, () -> constant.check(constant.score() < 1.0, "constant"));
+        assertTrue(e.getMessage().startsWith("constant; 4 values, 1 distinct hashes"), e.getMessage());
+
+        HashStatistics empty = HashStatistics.of(new int[0]);
+        assertEquals(0.0, empty.collisionRate());
+        assertEquals(1.0, empty.bucketSkew());
+
+        HashStatistics measured = good.withAvalanche(0.25);
+        assertEquals(0.25, measured.avalanche());
+        assertEquals(good.score() + 0.5, measured.score(), 1E-9);
+    }
+}
@@ -0,0 +1,77 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.djutils.test.JfrRecorder.JfrSummary;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JfrRecorderTest tests the flight recording summary around an execution.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class JfrRecorderTest
+{
+    /** sink to prevent the work from being optimized away. */
+    private volatile double sink;
+
+    /**
+     * Test the recording of an execution that uses cpu and allocates.
+     */
+    @Test
+    public void testRecord()
+    {
+        JfrSummary summary = JfrRecorder.record(() -> work(300));
+        assertTrue(summary.wallNanos() >= 300_000_000L);
+        assertFalse(summary.hotMethods().isEmpty(), summary.report(5));
+        assertFalse(summary.allocationSites().isEmpty(), summary.report(5));
+        summary.check(true, "fine");
+        AssertionError e = assertThrows(AssertionError.class, () -> summary.check(false, "xyz"));
+        assertTrue(e.getMessage().contains("xyz"));
+        assertTrue(e.getMessage().contains("hot methods (samples)"));
+        assertTrue(e.getMessage().contains("allocation sites (sampled bytes)"));
+
+        JfrRecorder.assertFasterThan(() -> Math.sqrt(2.0), Duration.ofSeconds(10), "fast");
+        e = assertThrows(AssertionError.class,
+                () -> JfrRecorder.assertFasterThan(() -> work(100), Duration.ofMillis(1), "slow"));
+        assertTrue(e.getMessage().contains("slow; Execution took"));
+        assertTrue(e.getMessage().contains("JfrRecorderTest.work"), e.getMessage());
+
+        e = assertThrows(AssertionError.class, () -> JfrRecorder.record(() -> work(-1), "default"));
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+        assertThrows(AssertionError.class, () -> JfrRecorder.record(() -> work(1), "nonexisting-configuration"));
+    }
+
+    /**
+     * Use cpu and allocate memory for some time.
+     * @param millis the time to work in milliseconds
+     */
+    private void work(final long millis)
+    {
+        if (millis < 0)
+        {
+            throw new IllegalArgumentException();
+        }
+        long end = System.nanoTime() + millis * 1_000_000L;
+        while (System.nanoTime() < end)
+        {
+            List<double[]> list = new ArrayList<>();
+            for (int i = 0; i < 100; i++)
+            {
+                list.add(new double[100]);
+                this.sink += Math.sin(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * LeakTestTest tests the memory leak assertions.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class LeakTestTest
+{
+    /** a list that retains objects between executions, to create a leak. */
+    private final List<Object> retained = new ArrayList<>();
+
+    /**
+     * Test assertNoLeak for an execution without and with a leak.
+     */
+    @Test
+    public void testAssertNoLeak()
+    {
+        assertTrue(LeakTest.forceGc());
+        assertTrue(LeakTest.retainedHeap() > 0);
+
+        // garbage only
+        LeakTest.assertNoLeak(() -> new ArrayList<>(List.of(new byte[1000])).clear(), 10_000);
+
+        // retains 10 kB per iteration
+        AssertionError e = assertThrows(AssertionError.class,
+                () -> LeakTest.assertNoLeak(() -> this.retained.add(new byte[10_000]), 1000, 1_000_000L, "xyz"));
+        assertTrue(e.getMessage().contains("xyz"));
+        assertTrue(e.getMessage().contains("Execution leaks memory"));
+        this.retained.clear();
+
+        // retains 10 kB per iteration, but releases half of it once, so the retained heap dips in one window
+        int[] count = {0};
+        e = assertThrows(AssertionError.class, () -> LeakTest.assertNoLeak(() ->
+        {
+            if (++count[0] == 700)
+            {
+                this.retained.subList(0, this.retained.size() / 2).clear();
+            }
+            this.retained.add(new byte[10_000]);
+        }, 1000, 1_000_000L, "dip"));
+        assertTrue(e.getMessage().contains("Execution leaks memory"));
+        this.retained.clear();
+
+        assertEquals(2.0, LeakTest.slope(new long[] {0, 1, 2, 3}, new long[] {1, 3, 5, 7}), 1E-9);
+        assertEquals(1.8, LeakTest.slope(new long[] {0, 1, 2, 3}, new long[] {0, 3, 3, 6}), 1E-9);
+        assertEquals(0.0, LeakTest.slope(new long[] {1, 1}, new long[] {0, 5}));
+
+        e = assertThrows(AssertionError.class, () -> LeakTest.assertNoLeak(() -> npe(), 10));
+        assertTrue(e.getCause() instanceof NullPointerException);
+        assertThrows(IllegalArgumentException.class, () -> LeakTest.assertNoLeak(() -> npe(), 0));
+        assertThrows(IllegalArgumentException.class, () -> LeakTest.assertNoLeak(() -> npe(), 10, -1L, null));
+    }
+
+    /**
+     * Test assertCollectable and the Tracker.
+     */
+    @Test
+    public void testCollectable()
+    {
+        LeakTest.assertCollectable(() -> new Object());
+        AssertionError e = assertThrows(AssertionError.class, () -> LeakTest.assertCollectable(() ->
+        {
+            Object object = new Object();
+            this.retained.add(object);
+            return object;
+        }, "xyz"));
+        assertTrue(e.getMessage().contains("xyz"));
+        assertTrue(e.getMessage().contains("still reachable"));
+        this.retained.clear();
+        e = assertThrows(AssertionError.class, () -> LeakTest.assertCollectable(() -> npe()));
+        assertTrue(e.getCause() instanceof NullPointerException);
+
+        LeakTest.Tracker tracker = new LeakTest.Tracker();
+        this.retained.add(tracker.track(new Object(), "kept"));
+        tracker.track(new Object(), "dropped");
+        assertEquals(List.of("kept"), tracker.reachable());
+        assertThrows(AssertionError.class, () -> tracker.assertAllCollected("m"));
+        this.retained.clear();
+        tracker.assertAllCollected("m");
+        assertTrue(tracker.toString().contains("2"));
+    }
+
+    /**
+     * Throw a NullPointerException.
+     * @return never
+     */
+    private static Object npe()
+    {
+        throw new NullPointerException();
+    }
+}
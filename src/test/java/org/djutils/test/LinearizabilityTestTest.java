@@ -0,0 +1,83 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.djutils.test.LinearizabilityTest.Operation;
+import org.junit.jupiter.api.Test;
+
+/**
+ * LinearizabilityTestTest tests the linearizability checks for a correct and an incorrect concurrent structure.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class LinearizabilityTestTest
+{
+    /**
+     * Test that a ConcurrentLinkedQueue is linearizable against a LinkedList, including operations that throw.
+     */
+    @Test
+    public void testQueue()
+    {
+        List<Operation<ConcurrentLinkedQueue<Integer>, LinkedList<Integer>>> operations = List.of(
+                new Operation<>("offer", 10, (q, a) -> q.offer(a), (m, a) -> m.offer(a)),
+                new Operation<>("poll", 0, (q, a) -> q.poll(), (m, a) -> m.poll()),
+                new Operation<>("remove", 0, (q, a) -> q.remove(), (m, a) -> m.remove()),
+                new Operation<>("size", 0, (q, a) -> q.size(), (m, a) -> m.size()));
+        LinearizabilityTest.check(ConcurrentLinkedQueue::new, LinkedList::new, LinkedList::new, operations);
+        LinearizabilityTest.check(ConcurrentLinkedQueue::new, LinkedList::new, LinkedList::new, operations, 4, 8, 200, 1L,
+                null);
+    }
+
+    /**
+     * Test that a counter with a race between reading and writing the value is not linearizable.
+     */
+    @Test
+    public void testRacyCounter()
+    {
+        List<Operation<RacyCounter, AtomicInteger>> operations =
+                List.of(new Operation<>("increment", 0, (c, a) -> c.increment(), (m, a) -> m.incrementAndGet()),
+                        new Operation<>("get", 0, (c, a) -> c.value, (m, a) -> m.get()));
+        AssertionError e = assertThrows(AssertionError.class, () -> LinearizabilityTest.check(RacyCounter::new,
+                AtomicInteger::new, m -> new AtomicInteger(m.get()), operations, 4, 10, 10_000, 7L, "xyz"));
+        assertTrue(e.getMessage().contains("xyz"));
+        assertTrue(e.getMessage().contains("is not linearizable; seed = 7"), e.getMessage());
+        assertTrue(e.getMessage().contains("thread 3: "), e.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> LinearizabilityTest.check(RacyCounter::new, AtomicInteger::new,
+                m -> m, List.of(), 2, 2, 2, 1L, null));
+        assertThrows(IllegalArgumentException.class, () -> LinearizabilityTest.check(RacyCounter::new, AtomicInteger::new,
+                m -> m, operations, 0, 2, 2, 1L, null));
+    }
+
+    /**
+     * RacyCounter is a counter that is not thread-safe.
+     */
+    static class RacyCounter
+    {
+        /** the value of the counter. */
+        private volatile int value;
+
+        /**
+         * Increment the counter with a race between reading and writing the value.
+         * @return the new value
+         */
+        int increment()
+        {
+            int v = this.value;
+            Thread.yield();
+            this.value = v + 1;
+            return v + 1;
+        }
+    }
+}
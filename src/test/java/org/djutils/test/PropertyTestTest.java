@@ -0,0 +1,149 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * PropertyTestTest tests the property-based negative tests and the shrinking of counterexamples.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class PropertyTestTest
+{
+    /**
+     * Test int and long properties that hold, and counterexamples that are shrunk to the minimal value.
+     */
+    @Test
+    public void testIntegers()
+    {
+        PropertyTest.testFailForAllInts(Integer.MIN_VALUE, -1, i -> () -> checkPositive(i), IllegalArgumentException.class);
+        PropertyTest.testFailForAllLongs(Long.MIN_VALUE, Long.MAX_VALUE, l -> () -> failAlways(l), IllegalStateException.class);
+        PropertyTest.testFailForAllLongs(1000L, 2000L, l -> () -> failAlways(l), RuntimeException.class);
+
+        // values up to 100 are accepted; the minimal counterexample of [-1000, 1000] is 0
+        AssertionError e = assertThrows(AssertionError.class, () -> PropertyTest.testFailForAllInts(-1000, 1000, 1000, 1L,
+                i -> () -> checkAbove(i, 100), "xyz", IllegalArgumentException.class));
+        assertTrue(e.getMessage().contains("xyz"));
+        assertTrue(e.getMessage().contains("int input (0): did not throw any exception"), e.getMessage());
+        assertTrue(e.getMessage().contains("seed = 1"));
+
+        // values from 1000 to 5000 are accepted; the shrinking has to find the boundary 1000
+        e = assertThrows(AssertionError.class, () -> PropertyTest.testFailForAllLongs(0L, 100_000L, 100_000, 12345L,
+                l -> () -> checkBetween(l, 1000L, 5000L), null, IllegalArgumentException.class));
+        assertTrue(e.getMessage().contains("long input (1000)"), e.getMessage());
+
+        // a wrong exception is a counterexample as well
+        e = assertThrows(AssertionError.class, () -> PropertyTest.testFailForAllInts(10, 20, 100, 2L,
+                i -> () -> failAlways(i), null, IllegalArgumentException.class));
+        assertTrue(e.getMessage().contains("int input (10): unexpected Throwable"), e.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> PropertyTest.testFailForAllInts(2, 1, 100, 1L,
+                i -> () -> failAlways(i), null, IllegalStateException.class));
+        assertThrows(IllegalArgumentException.class, () -> PropertyTest.testFailForAllLongs(1L, 2L, 0, 1L,
+                l -> () -> failAlways(l), null, IllegalStateException.class));
+    }
+
+    /**
+     * Test double properties that hold, and counterexamples that are shrunk.
+     */
+    @Test
+    public void testDoubles()
+    {
+        PropertyTest.testFailForAllDoubles(-1.0E10, -1.0E-10, d -> () -> Math.log(checkPositive(d)),
+                IllegalArgumentException.class);
+
+        // values up to 2.5 are rejected; the shrinking should reach the smallest value above 2.5
+        AssertionError e = assertThrows(AssertionError.class, () -> PropertyTest.testFailForAllDoubles(-1.0E6, 1.0E6, 1000,
+                3L, d -> () -> checkPositive(d - 2.5), null, IllegalArgumentException.class));
+        assertTrue(e.getMessage().contains("double input (2.5000"), e.getMessage());
+
+        // only a narrow band fails the property
+        e = assertThrows(AssertionError.class, () -> PropertyTest.testFailForAllDoubles(10.0, 20.0, 100_000, 4L,
+                d -> () -> d > 15.0 && d < 15.5 ? d : checkPositive(-d), null, IllegalArgumentException.class));
+        assertTrue(e.getMessage().contains("double input (15."), e.getMessage());
+
+        // the full finite range, of which the width does not fit in a double; all inputs must be finite and in range
+        PropertyTest.testFailForAllDoubles(-Double.MAX_VALUE, Double.MAX_VALUE, 10_000, 5L,
+                d -> () -> Double.isFinite(d) ? failAlways((long) d) : d, null, IllegalStateException.class);
+        e = assertThrows(AssertionError.class, () -> PropertyTest.testFailForAllDoubles(-Double.MAX_VALUE, Double.MAX_VALUE,
+                10_000, 6L, d -> () -> d < 1.0E300 ? failAlways((long) d) : d, null, IllegalStateException.class));
+        assertTrue(e.getMessage().contains("double input (1.0E300)"), e.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> PropertyTest.testFailForAllDoubles(0.0, Double.POSITIVE_INFINITY,
+                100, 1L, d -> () -> d, null, IllegalStateException.class));
+    }
+
+    /**
+     * Test that the generated values do not depend on the order in which the trials are carried out.
+     */
+    @Test
+    public void testMix()
+    {
+        assertEquals(PropertyTest.mix(5L, 17L), PropertyTest.mix(5L, 17L));
+        assertTrue(PropertyTest.mix(5L, 17L) != PropertyTest.mix(5L, 18L));
+        assertTrue(PropertyTest.mix(5L, 17L) != PropertyTest.mix(6L, 17L));
+    }
+
+    /**
+     * Accept only positive values.
+     * @param value the value
+     * @return the value
+     */
+    private static double checkPositive(final double value)
+    {
+        if (value <= 0.0)
+        {
+            throw new IllegalArgumentException("not positive");
+        }
+        return value;
+    }
+
+    /**
+     * Reject values above a limit.
+     * @param value the value
+     * @param limit the limit
+     * @return the value
+     */
+    private static int checkAbove(final int value, final int limit)
+    {
+        if (value > limit)
+        {
+            throw new IllegalArgumentException("above");
+        }
+        return value;
+    }
+
+    /**
+     * Reject values outside an interval.
+     * @param value the value
+     * @param low the low end of the accepted interval
+     * @param high the high end of the accepted interval
+     * @return the value
+     */
+    private static long checkBetween(final long value, final long low, final long high)
+    {
+        if (value < low || value > high)
+        {
+            throw new IllegalArgumentException("outside");
+        }
+        return value;
+    }
+
+    /**
+     * Always fail.
+     * @param value the value
+     * @return never
+     */
+    private static long failAlways(final long value)
+    {
+        throw new IllegalStateException("fail " + value);
+    }
+}
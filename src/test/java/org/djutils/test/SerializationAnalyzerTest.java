@@ -0,0 +1,210 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.djutils.test.FixtureCache.Codec;
+import org.djutils.test.SerializationAnalyzer.SerializationCost;
+import org.djutils.test.SerializationAnalyzer.SerializationReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * SerializationAnalyzerTest tests the measurement of Java serialization and an alternative codec, and the baseline check.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class SerializationAnalyzerTest
+{
+    /**
+     * Test the measurement of the classes of this project, the codecs and the baseline.
+     * @param directory a temporary directory
+     * @throws IOException on error
+     */
+    @Test
+    public void testAnalyze(@TempDir final Path directory) throws IOException
+    {
+        Codec<Object> data = new Codec<>()
+        {
+            @Override
+            public void write(final Object fixture, final OutputStream out) throws IOException
+            {
+                DataOutputStream dataOut = new DataOutputStream(out);
+                dataOut.writeInt(((Small) fixture).value());
+                dataOut.flush();
+            }
+
+            @Override
+            public Object read(final ByteBuffer buffer)
+            {
+                return new Small(buffer.getInt());
+            }
+        };
+        List<String> classes =
+                SerializationAnalyzer.serializableClasses(List.of("target/classes", "target/test-classes"), "org.djutils.test");
+        assertTrue(classes.contains(Small.class.getName()));
+        assertTrue(classes.contains(Large.class.getName()));
+        assertTrue(!classes.contains(SerializationAnalyzerTest.class.getName()));
+
+        SerializationReport report = SerializationAnalyzer.analyze(Map.of(Large.class, l -> new Large(l)), Map.of("data", data),
+                List.of("target/classes", "target/test-classes"), 200, 3L, "org.djutils.test");
+        SerializationCost small = report.get(Small.class.getName(), SerializationAnalyzer.JAVA);
+        SerializationCost smallData = report.get(Small.class.getName(), "data");
+        SerializationCost large = report.get(Large.class.getName(), SerializationAnalyzer.JAVA);
+        assertNotNull(small);
+        assertEquals(4.0, smallData.bytes());
+        assertTrue(small.bytes() > smallData.bytes(), small.toString());
+        assertTrue(large.bytes() > 800.0, large.toString());
+        assertTrue(large.writeNanos() > 0.0 && large.readNanos() > 0.0);
+        assertEquals(SerializationAnalyzer.WARMUP_OPERATIONS, large.warmupOperations());
+        assertEquals(SerializationAnalyzer.MEASURED_ROUNDS, large.rounds());
+        assertTrue(report.skipped().get(Large.class.getName() + " data").contains("ClassCastException"));
+        assertTrue(report.skipped().get(Unequal.class.getName() + " java").contains("round trip"));
+        assertEquals("no generator", report.skipped().get(NoGenerator.class.getName()));
+        assertNull(report.get(NoGenerator.class.getName(), SerializationAnalyzer.JAVA));
+        assertTrue(report.report().contains(small.key()));
+
+        // a missing baseline has no regressions, and an equal size is not a regression
+        Path baseline = directory.resolve("baseline.csv");
+        assertTrue(report.regressions(baseline, 1.5).isEmpty());
+        report.writeBaseline(baseline);
+        assertEquals(report.costs().size() + 1, Files.readAllLines(baseline).size());
+        assertEquals(small.bytes(), SerializationAnalyzer.readBaseline(baseline).get(small.key()).bytes(), 0.05);
+        assertEquals(SerializationAnalyzer.MEASURED_ROUNDS,
+                SerializationAnalyzer.readBaseline(baseline).get(small.key()).rounds());
+        assertTrue(report.regressions(baseline, 1000.0).isEmpty());
+
+        // a smaller and faster baseline
+        SerializationCost better = new SerializationCost(large.className(), large.codec(), 200, 3L, 10_000, 5,
+                large.bytes() - 1.0, 0.0, 0.0, 0.0, 0.0);
+        new SerializationReport(List.of(better), Map.of()).writeBaseline(baseline);
+        List<String> regressions = report.regressions(baseline, 1.5);
+        assertTrue(regressions.stream().anyMatch(r -> r.contains("bytes, baseline")), regressions.toString());
+        assertTrue(regressions.stream().anyMatch(r -> r.contains("read ns")), regressions.toString());
+        AssertionError e = assertThrows(AssertionError.class, () -> report.assertNoRegressions(baseline, 1.5));
+        assertTrue(e.getMessage().contains(large.key()));
+        report.assertNoRegressions(directory.resolve("missing.csv"), 1.5);
+
+        // a baseline with another seed or number of samples is not compared
+        SerializationCost otherSeed = new SerializationCost(large.className(), large.codec(), 200, 4L, 10_000, 5,
+                large.bytes() - 1.0, 0.0, 0.0, 0.0, 0.0);
+        regressions = large.regressions(otherSeed, 1.5);
+        assertEquals(1, regressions.size(), regressions.toString());
+        assertTrue(regressions.get(0).contains("baseline not comparable"), regressions.toString());
+        SerializationCost otherSamples = new SerializationCost(large.className(), large.codec(), 100, 3L, 10_000, 5,
+                large.bytes() + 1.0, 1.0E6, 1.0E6, 1.0E6, 1.0E6);
+        assertTrue(large.regressions(otherSamples, 1.5).get(0).contains("baseline not comparable"));
+        assertEquals(3L, large.seed());
+        assertEquals(3L, SerializationAnalyzer.readBaseline(baseline).get(large.key()).seed());
+
+        assertNull(SerializationCost.parse(SerializationAnalyzer.CSV_HEADER));
+        assertNull(SerializationCost.parse("a,b"));
+        assertNull(SerializationCost.parse("a,java,200,4.0,1.0,1.0,0.0,0.0"));
+        assertNull(SerializationCost.parse("a,java,200,10000,5,4.0,1.0,1.0,0.0,0.0"));
+        assertThrows(IllegalArgumentException.class, () -> SerializationAnalyzer.analyze(Map.of(), Map.of("java", data),
+                List.of("target/classes"), 10, 1L, "org.djutils.test"));
+        assertThrows(IllegalArgumentException.class, () -> SerializationAnalyzer.analyze(Map.of(), Map.of(),
+                List.of("target/classes"), 0, 1L, "org.djutils.test"));
+
+        var outSave = System.out;
+        try
+        {
+            var baos = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(baos));
+            SerializationAnalyzer.main("org.djutils.test");
+            assertTrue(baos.toString().contains("not measured:"));
+        }
+        finally
+        {
+            System.setOut(outSave);
+        }
+    }
+
+    /**
+     * A small serializable record.
+     * @param value the value
+     */
+    record Small(int value) implements Serializable
+    {
+    }
+
+    /**
+     * A serializable class with an array of 100 longs.
+     */
+    static class Large implements Serializable
+    {
+        /** */
+        private static final long serialVersionUID = 1L;
+
+        /** the values. */
+        private final long[] values = new long[100];
+
+        /**
+         * Create the values from a seed.
+         * @param seed the seed
+         */
+        Large(final long seed)
+        {
+            Arrays.setAll(this.values, i -> seed + i);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Arrays.hashCode(this.values);
+        }
+
+        @Override
+        public boolean equals(final Object obj)
+        {
+            return obj instanceof Large && Arrays.equals(((Large) obj).values, this.values);
+        }
+    }
+
+    /**
+     * A serializable record of which the transient state is part of equals.
+     * @param value the value
+     * @param text a text that is not serialized
+     */
+    record Unequal(int value, String text) implements Serializable
+    {
+        /**
+         * Replace the record by one without text on serialization.
+         * @return the record without text
+         */
+        private Object writeReplace()
+        {
+            return new Unequal(this.value, null);
+        }
+    }
+
+    /**
+     * A serializable class without generator.
+     */
+    static class NoGenerator implements Serializable
+    {
+        /** */
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,101 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.djutils.test.ShardPlanner.ShardPlan;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * ShardPlannerTest tests reading the reports, the longest-processing-time-first plan, and the fork count recommendation.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class ShardPlannerTest
+{
+    /** one second in nanoseconds. */
+    private static final long S = 1_000_000_000L;
+
+    /**
+     * Test reading the Surefire reports and the timing report.
+     * @param directory a temporary directory
+     * @throws IOException on error
+     */
+    @Test
+    public void testRead(@TempDir final Path directory) throws IOException
+    {
+        Path reports = directory.resolve("surefire-reports");
+        Files.createDirectories(reports);
+        Files.writeString(reports.resolve("TEST-a.ATest.xml"), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<testsuite name=\"a.ATest\" time=\"1,234.5\" tests=\"1\"><testcase name=\"x\" time=\"1.0\"/></testsuite>");
+        Files.writeString(reports.resolve("TEST-a.BTest.xml"), "<testsuite name=\"a.BTest\" time=\"0.25\" tests=\"1\"/>");
+        Files.writeString(reports.resolve("other.xml"), "not xml");
+        Path csv = directory.resolve("timing-report.csv");
+        Files.write(csv, List.of(TimingExtension.CSV_HEADER, "CLASS,a.BTest,,500000000,0,0,0",
+                "METHOD,a.BTest,x,400000000,0,0,0", "CLASS,a.CTest,,2000000000,0,0,0"), StandardCharsets.UTF_8);
+
+        assertEquals(Map.of("a.ATest", 1234_500_000_000L, "a.BTest", 250_000_000L), ShardPlanner.readSurefireReports(reports));
+        assertEquals(Map.of("a.BTest", 500_000_000L, "a.CTest", 2 * S), ShardPlanner.readTimingReport(csv));
+        assertEquals(Map.of("a.ATest", 1234_500_000_000L, "a.BTest", 500_000_000L, "a.CTest", 2 * S),
+                ShardPlanner.durations(reports, csv));
+        assertTrue(ShardPlanner.durations(directory.resolve("none"), directory.resolve("none.csv")).isEmpty());
+
+        Files.writeString(reports.resolve("TEST-bad.xml"), "<testsuite name=\"bad\" time=\"x\"/>");
+        assertThrows(IOException.class, () -> ShardPlanner.readSurefireReports(reports));
+    }
+
+    /**
+     * Test the longest-processing-time-first plan.
+     * @param directory a temporary directory
+     * @throws IOException on error
+     */
+    @Test
+    public void testPlan(@TempDir final Path directory) throws IOException
+    {
+        Map<String, Long> durations = Map.of("a.A", 7 * S, "a.B", 5 * S, "a.C", 4 * S, "a.D", 3 * S, "a.E", 1 * S);
+        ShardPlan plan = ShardPlanner.plan(durations, 2);
+        assertEquals(List.of("a.A", "a.D"), plan.shards().get(0).testClasses());
+        assertEquals(List.of("a.B", "a.C", "a.E"), plan.shards().get(1).testClasses());
+        assertEquals(10 * S, plan.makespanNanos());
+        assertEquals(1.0, plan.imbalance(), 1.0E-9);
+        assertTrue(plan.toString().contains("shard 1: 10.0 s, 3 test classes"));
+
+        // unknown classes get the median duration of 4 s
+        plan = ShardPlanner.plan(durations, List.of("a.A", "a.X", "a.Y"), 2);
+        assertEquals(8 * S, plan.makespanNanos());
+        assertEquals(List.of("a.X", "a.Y"), plan.shards().get(1).testClasses());
+
+        List<Path> files = ShardPlanner.plan(durations, 3).writeIncludeFiles(directory.resolve("shards"));
+        assertEquals(3, files.size());
+        assertEquals(List.of("a/A.java"), Files.readAllLines(files.get(0)));
+        assertThrows(IllegalArgumentException.class, () -> ShardPlanner.plan(durations, 0));
+        assertEquals(0L, ShardPlanner.plan(Map.of(), 3).makespanNanos());
+    }
+
+    /**
+     * Test the fork count recommendation.
+     */
+    @Test
+    public void testRecommendForkCount()
+    {
+        Map<String, Long> dominant = Map.of("a.A", 10 * S, "a.B", S, "a.C", S, "a.D", S, "a.E", S, "a.F", S);
+        assertEquals(2, ShardPlanner.recommendForkCount(dominant, 4));
+        Map<String, Long> equal = Map.of("a.A", S, "a.B", S, "a.C", S, "a.D", S, "a.E", S, "a.F", S, "a.G", S, "a.H", S);
+        assertEquals(4, ShardPlanner.recommendForkCount(equal, 4));
+        assertEquals(1, ShardPlanner.recommendForkCount(equal, 1));
+    }
+}
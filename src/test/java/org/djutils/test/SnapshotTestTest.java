@@ -0,0 +1,117 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.djutils.test.SnapshotTest.BufferContent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * SnapshotTestTest tests the creation, comparison and update of snapshots, and the diff in the message of a mismatch.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class SnapshotTestTest
+{
+    /**
+     * Test the creation, comparison and update of a text snapshot.
+     * @param directory a temporary directory
+     * @throws IOException on error
+     */
+    @Test
+    public void testText(@TempDir final Path directory) throws IOException
+    {
+        String text = "line 1\nline 2\nline 3\nline 4\nline 5\nline 6\n";
+        SnapshotTest.assertMatchesSnapshot("sub/text.txt", text, directory, false);
+        assertEquals(text, Files.readString(directory.resolve("sub/text.txt")));
+        SnapshotTest.assertMatchesSnapshot("sub/text.txt", text, directory, false);
+        SnapshotTest.assertMatchesSnapshot("sub/text.txt", new StringBuilder(text), directory, false);
+        SnapshotTest.assertMatchesSnapshot("sub/text.txt",
+                List.of("line 1", "line 2", "line 3", "line 4", "line 5", "line 6"), directory, false);
+
+        String changed = text.replace("line 5", "line five");
+        AssertionError e = assertThrows(AssertionError.class,
+                () -> SnapshotTest.assertMatchesSnapshot("sub/text.txt", changed, directory, false));
+        String message = e.getMessage();
+        assertTrue(message.contains("does not match at byte 33 (line 5, column 6)"), message);
+        assertTrue(message.contains("       2: line 2"), message);
+        assertTrue(message.contains("       4: line 4"), message);
+        assertTrue(message.contains("-      5: line 5"), message);
+        assertTrue(message.contains("+      5: line five"), message);
+        assertTrue(message.contains("+      6: line 6"), message);
+        assertTrue(message.contains(SnapshotTest.UPDATE_PROPERTY), message);
+
+        e = assertThrows(AssertionError.class,
+                () -> SnapshotTest.assertMatchesSnapshot("sub/text.txt", text + "line 7\n", directory, false));
+        assertTrue(e.getMessage().contains("- <end of file>"), e.getMessage());
+        assertTrue(e.getMessage().contains("+      7: line 7"), e.getMessage());
+
+        SnapshotTest.assertMatchesSnapshot("sub/text.txt", changed, directory, true);
+        SnapshotTest.assertMatchesSnapshot("sub/text.txt", changed, directory, false);
+        try (var files = Files.list(directory.resolve("sub")))
+        {
+            assertEquals(1, files.count(), "no temporary files are left");
+        }
+
+        assertThrows(IllegalArgumentException.class,
+                () -> SnapshotTest.assertMatchesSnapshot("../outside.txt", text, directory, false));
+    }
+
+    /**
+     * Test the comparison of large files in several chunks.
+     * @param directory a temporary directory
+     * @throws IOException on error
+     */
+    @Test
+    public void testLargeFile(@TempDir final Path directory) throws IOException
+    {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; csv.length() < SnapshotTest.CHUNK_SIZE + 1000; i++)
+        {
+            csv.append(i).append(",").append(i * 31 % 1000).append(",value ").append(i).append('\n');
+        }
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+        Path output = directory.resolve("output.csv");
+        Files.write(output, bytes);
+        Path snapshots = directory.resolve("snapshots");
+        SnapshotTest.assertMatchesSnapshot("output.csv", output, snapshots, false);
+        assertArrayEquals(bytes, Files.readAllBytes(snapshots.resolve("output.csv")));
+        SnapshotTest.assertMatchesSnapshot("output.csv", output, snapshots, false);
+        SnapshotTest.assertMatchesSnapshot("output.csv", bytes, snapshots, false);
+
+        // a difference in the second chunk
+        int offset = bytes.length - 10;
+        bytes[offset] = (byte) '#';
+        Files.write(output, bytes);
+        AssertionError e = assertThrows(AssertionError.class,
+                () -> SnapshotTest.assertMatchesSnapshot("output.csv", output, snapshots, false));
+        assertTrue(e.getMessage().contains("does not match at byte " + offset), e.getMessage());
+        assertTrue(e.getMessage().length() < 5000, "the message only holds a window around the difference");
+
+        // the compared snapshot can be replaced in the same JVM, since no file region stays mapped
+        SnapshotTest.assertMatchesSnapshot("output.csv", output, snapshots, true);
+        assertArrayEquals(bytes, Files.readAllBytes(snapshots.resolve("output.csv")));
+
+        assertEquals(-1L, SnapshotTest.mismatch(new BufferContent(ByteBuffer.wrap(new byte[] {1, 2})),
+                new BufferContent(ByteBuffer.wrap(new byte[] {1, 2}))));
+        assertEquals(2L, SnapshotTest.mismatch(new BufferContent(ByteBuffer.wrap(new byte[] {1, 2})),
+                new BufferContent(ByteBuffer.wrap(new byte[] {1, 2, 3}))));
+        assertEquals(0L, SnapshotTest.mismatch(new BufferContent(ByteBuffer.wrap(new byte[] {0})),
+                new BufferContent(ByteBuffer.wrap(new byte[] {1}))));
+    }
+}
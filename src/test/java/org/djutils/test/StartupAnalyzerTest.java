@@ -0,0 +1,186 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+import org.djutils.test.StartupAnalyzer.ClassStartup;
+import org.djutils.test.StartupAnalyzer.StartupReport;
+import org.junit.jupiter.api.Test;
+
+/**
+ * StartupAnalyzerTest tests the measurement of the load and initialization cost of classes in isolated class loaders.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class StartupAnalyzerTest
+{
+    /**
+     * Test the cost of classes with a slow, a heavy and a failing static initializer.
+     */
+    @Test
+    public void testAnalyzeClasses()
+    {
+        StartupReport report = StartupAnalyzer.analyzeClasses(List.of("target/test-classes"),
+                List.of(Slow.class.getName(), Heavy.class.getName(), Failing.class.getName(), Light.class.getName(),
+                        Signature.class.getName()));
+        assertEquals(5, report.startups().size());
+        assertEquals(Slow.class.getName(), report.startups().get(0).className());
+
+        ClassStartup slow = report.get(Slow.class.getName());
+        assertTrue(slow.initNanos() >= 50_000_000L, slow.toString());
+        assertNull(slow.failure());
+
+        // Heavy initializes three other classes; Light only loads itself
+        assertEquals(4, report.get(Heavy.class.getName()).loadedClasses());
+        assertEquals(0, report.get(Heavy.class.getName()).reflectionClasses());
+        assertEquals(1, report.get(Light.class.getName()).loadedClasses());
+
+        // the type in the method signature of Signature is only loaded by the reflective access
+        assertEquals(1, report.get(Signature.class.getName()).loadedClasses());
+        assertEquals(1, report.get(Signature.class.getName()).reflectionClasses());
+
+        ClassStartup failing = report.get(Failing.class.getName());
+        assertTrue(failing.failure().startsWith("static initializer threw java.lang.IllegalStateException"), failing.failure());
+        assertEquals(List.of(failing), report.failures());
+        assertNull(report.get("NoSuchClass"));
+
+        String text = report.report(2);
+        assertTrue(text.contains(Slow.class.getName()));
+        assertTrue(!text.contains(Light.class.getName()));
+        assertTrue(text.contains("5 classes, total"));
+        assertTrue(text.contains(Failing.class.getName() + ": static initializer threw"));
+
+        ClassStartup missing =
+                StartupAnalyzer.analyzeClasses(List.of("target/test-classes"), List.of("org.djutils.test.Missing")).get(
+                        "org.djutils.test.Missing");
+        assertTrue(missing.failure().contains("ClassNotFoundException"));
+    }
+
+    /**
+     * Test the scan of the main classes.
+     */
+    @Test
+    public void testAnalyze()
+    {
+        StartupReport report = StartupAnalyzer.analyze("org.djutils.test");
+        assertNotNull(report.get(UnitTest.class.getName()));
+        assertNotNull(report.get(ThrowableMatcher.class.getName()));
+        assertNull(report.get(StartupAnalyzerTest.class.getName()), "test classes are not scanned");
+        assertTrue(report.failures().isEmpty(), report.report(StartupAnalyzer.DEFAULT_TOP));
+
+        var outSave = System.out;
+        try
+        {
+            var baos = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(baos));
+            StartupAnalyzer.main("org.djutils.test");
+            assertTrue(baos.toString().contains("failed:"));
+        }
+        finally
+        {
+            System.setOut(outSave);
+        }
+    }
+
+    /**
+     * A class with a slow static initializer.
+     */
+    static class Slow
+    {
+        static
+        {
+            try
+            {
+                Thread.sleep(50);
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * A class that initializes three other classes.
+     */
+    static class Heavy
+    {
+        /** the total length of the values of the parts. */
+        static final int LENGTH = Part1.VALUE.length() + Part2.VALUE.length() + Part3.VALUE.length();
+    }
+
+    /** First part. */
+    static class Part1
+    {
+        /** a value that is not a compile-time constant. */
+        static final String VALUE = String.valueOf(1);
+    }
+
+    /** Second part. */
+    static class Part2
+    {
+        /** a value that is not a compile-time constant. */
+        static final String VALUE = String.valueOf(2);
+    }
+
+    /** Third part. */
+    static class Part3
+    {
+        /** a value that is not a compile-time constant. */
+        static final String VALUE = String.valueOf(3);
+    }
+
+    /**
+     * A class of which the static initializer fails.
+     */
+    static class Failing
+    {
+        static
+        {
+            if (Failing.class != null)
+            {
+                throw new IllegalStateException("cannot initialize");
+            }
+        }
+    }
+
+    /**
+     * A class of which a method signature refers to a class that is not used otherwise.
+     */
+    static class Signature
+    {
+        /**
+         * Return a part that is never created.
+         * @return null
+         */
+        Part4 part()
+        {
+            return null;
+        }
+    }
+
+    /** Fourth part, only referred to in a method signature. */
+    static class Part4
+    {
+        //
+    }
+
+    /**
+     * A class without static initializer.
+     */
+    static class Light
+    {
+        //
+    }
+}
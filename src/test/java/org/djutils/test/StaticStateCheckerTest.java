@@ -0,0 +1,68 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+import org.djutils.test.StaticStateChecker.Safety;
+import org.djutils.test.StaticStateChecker.StaticStateReport;
+import org.junit.jupiter.api.Test;
+
+/**
+ * StaticStateCheckerTest tests the detection of global state and the classification of the test classes of this project.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class StaticStateCheckerTest
+{
+    /**
+     * Test the findings and the classification for the classes of this project.
+     */
+    @Test
+    public void testAnalyze()
+    {
+        StaticStateReport report = StaticStateChecker.analyze("org.djutils.test");
+
+        // ClassListTest redirects System.out, but the classes it uses have no global state
+        assertEquals(List.of("call to System.setOut"), report.findings().get(ClassListTest.class.getName()));
+        assertEquals(Safety.SEQUENTIAL, report.tests().get(ClassListTest.class.getName()));
+
+        // FixtureCache keeps its fixtures in a static map
+        assertTrue(report.findings().get(FixtureCache.class.getName()).stream().anyMatch(f -> f.contains("FIXTURES")));
+        assertEquals(Safety.ISOLATED, report.tests().get(FixtureCacheTest.class.getName()));
+
+        // UnitTest has no global state
+        assertFalse(report.findings().containsKey(UnitTest.class.getName()));
+        assertEquals(Safety.PARALLEL, report.tests().get(UnitTestTest.class.getName()));
+        assertTrue(report.tests(Safety.PARALLEL).contains(UnitTestTest.class.getName()));
+
+        // the strings of the System methods in StaticStateChecker are not calls
+        assertFalse(report.findings().get(StaticStateChecker.class.getName()).stream().anyMatch(f -> f.contains("call")));
+
+        // only test classes are classified
+        assertFalse(report.tests().containsKey(UnitTest.class.getName()));
+        assertTrue(report.report().contains("ISOLATED:"));
+
+        var outSave = System.out;
+        try
+        {
+            var baos = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(baos));
+            StaticStateChecker.main("org.djutils.test");
+            assertTrue(baos.toString().contains("PARALLEL:"));
+        }
+        finally
+        {
+            System.setOut(outSave);
+        }
+    }
+}
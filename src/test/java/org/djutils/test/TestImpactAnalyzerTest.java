@@ -0,0 +1,124 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.djutils.test.TestImpactAnalyzer.DependencyGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * TestImpactAnalyzerTest tests the dependency graph, its incremental update, and the selection of affected tests.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class TestImpactAnalyzerTest
+{
+    /**
+     * Test the selection of the affected tests for the classes of this project.
+     * @param directory a temporary directory
+     * @throws IOException on error
+     */
+    @Test
+    public void testAffectedTests(@TempDir final Path directory) throws IOException
+    {
+        DependencyGraph graph = TestImpactAnalyzer.update(directory.resolve("graph"),
+                List.of(Paths.get("target", "classes"), Paths.get("target", "test-classes")));
+        assertTrue(graph.nodes().get(UnitTestTest.class.getName()).test());
+        assertFalse(graph.nodes().get(UnitTest.class.getName()).test());
+
+        Set<String> classes = graph.classesForSources(List.of("src/main/java/org/djutils/test/ShardPlanner.java", "README.md"));
+        assertTrue(classes.contains(ShardPlanner.class.getName()));
+        assertTrue(classes.contains(ShardPlanner.ShardPlan.class.getName()));
+        assertFalse(classes.contains(ShardPlannerTest.class.getName()));
+        assertEquals(Set.of(ShardPlannerTest.class.getName(), TestImpactAnalyzerTest.class.getName()),
+                graph.affectedTests(classes));
+
+        // ShardPlanner uses TimingExtension, so its test is affected by a change in TimingExtension
+        Set<String> tests = graph.affectedTests(graph.classesForSources(
+                List.of("src\\main\\java\\org\\djutils\\test\\TimingExtension.java")));
+        assertTrue(tests.containsAll(Set.of(TimingExtensionTest.class.getName(), ShardPlannerTest.class.getName())));
+        assertFalse(tests.contains(UnitTestTest.class.getName()));
+
+        // a changed test that no other test refers to only selects itself
+        assertEquals(Set.of("org.djutils.test.GcMonitorTest"),
+                graph.affectedTests(graph.classesForSources(List.of("src/test/java/org/djutils/test/GcMonitorTest.java"))));
+        assertTrue(graph.affectedTests(graph.classesForSources(List.of("src/main/java/org/djutils/test/UnitTest.java")))
+                .contains(LeakTestTest.class.getName()));
+    }
+
+    /**
+     * Test the incremental update and the persistence of the graph.
+     * @param directory a temporary directory
+     * @throws IOException on error
+     */
+    @Test
+    public void testIncrementalUpdate(@TempDir final Path directory) throws IOException
+    {
+        Path classes = directory.resolve("classes");
+        copy(Paths.get("target", "classes"), classes);
+        Path graphFile = directory.resolve("impact.graph");
+        DependencyGraph graph = TestImpactAnalyzer.update(graphFile, List.of(classes));
+        assertTrue(Files.readAllLines(graphFile).get(0).equals(TestImpactAnalyzer.GRAPH_HEADER));
+        assertEquals(graph, TestImpactAnalyzer.update(graphFile, List.of(classes)));
+
+        Path shardPlanner = classes.resolve("org/djutils/test/ShardPlanner.class");
+        long modified = Files.getLastModifiedTime(shardPlanner).toMillis();
+        Files.setLastModifiedTime(shardPlanner, FileTime.fromMillis(modified + 10_000));
+        Files.delete(classes.resolve("org/djutils/test/ShardPlanner$Shard.class"));
+        DependencyGraph updated = TestImpactAnalyzer.update(graphFile, List.of(classes));
+        String name = ShardPlanner.class.getName();
+        assertNotEquals(graph.nodes().get(name).timestamp(), updated.nodes().get(name).timestamp());
+        Set<String> dependencies = new TreeSet<>(graph.nodes().get(name).dependencies());
+        assertTrue(dependencies.remove(ShardPlanner.Shard.class.getName()));
+        assertEquals(dependencies, updated.nodes().get(name).dependencies());
+        assertFalse(updated.nodes().containsKey(ShardPlanner.Shard.class.getName()));
+        assertEquals(graph.nodes().get(UnitTest.class.getName()), updated.nodes().get(UnitTest.class.getName()));
+
+        Files.writeString(graphFile, "not a graph");
+        assertThrows(IOException.class, () -> TestImpactAnalyzer.update(graphFile, List.of(classes)));
+    }
+
+    /**
+     * Copy a directory tree.
+     * @param from the source directory
+     * @param to the target directory
+     * @throws IOException on error
+     */
+    private static void copy(final Path from, final Path to) throws IOException
+    {
+        try (Stream<Path> files = Files.walk(from))
+        {
+            for (Path file : (Iterable<Path>) files::iterator)
+            {
+                Path target = to.resolve(from.relativize(file).toString());
+                if (Files.isDirectory(file))
+                {
+                    Files.createDirectories(target);
+                }
+                else
+                {
+                    Files.copy(file, target);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ThrowableMatcherTest tests the conditions of the ThrowableMatcher, and the testFail methods that use a matcher.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class ThrowableMatcherTest
+{
+    /**
+     * Test the type, message and cause conditions.
+     */
+    @Test
+    public void testConditions()
+    {
+        FileNotFoundException root = new FileNotFoundException("data.csv");
+        UncheckedIOException middle = new UncheckedIOException("read failed", root);
+        IllegalStateException top = new IllegalStateException("cannot start service", middle);
+
+        assertTrue(ThrowableMatcher.any().matches(top));
+        assertEquals("any throwable", ThrowableMatcher.any().toString());
+        assertTrue(ThrowableMatcher.instanceOf(RuntimeException.class).matches(top));
+        assertFalse(ThrowableMatcher.instanceOf(IOException.class).matches(top));
+
+        assertTrue(ThrowableMatcher.instanceOf(IllegalStateException.class).withMessage("^cannot start").matches(top));
+        assertFalse(ThrowableMatcher.instanceOf(IllegalStateException.class).withMessage("^start").matches(top));
+        assertFalse(ThrowableMatcher.any().withMessage(".*").matches(new RuntimeException()));
+
+        assertTrue(ThrowableMatcher.any().withCause(1, UncheckedIOException.class).matches(top));
+        assertTrue(ThrowableMatcher.any().withCause(2, IOException.class).matches(top));
+        assertFalse(ThrowableMatcher.any().withCause(1, IOException.class).matches(top));
+        assertFalse(ThrowableMatcher.any().withCause(3, Throwable.class).matches(top));
+        assertTrue(ThrowableMatcher.any().withCause(1, ThrowableMatcher.any().withMessage("read")).matches(top));
+        assertThrows(IllegalArgumentException.class, () -> ThrowableMatcher.any().withCause(0, IOException.class));
+
+        assertTrue(ThrowableMatcher.any().withCauseAnywhere(FileNotFoundException.class).matches(top));
+        assertFalse(ThrowableMatcher.any().withCauseAnywhere(IllegalStateException.class).matches(top));
+
+        assertTrue(ThrowableMatcher.any().withRootCause(FileNotFoundException.class).matches(top));
+        assertTrue(ThrowableMatcher.any().withRootCause(ThrowableMatcher.any().withMessage("\\.csv$")).matches(top));
+        assertFalse(ThrowableMatcher.any().withRootCause(UncheckedIOException.class).matches(top));
+        assertTrue(ThrowableMatcher.any().withRootCause(FileNotFoundException.class).matches(root));
+
+        IOException close = new IOException("close");
+        close.addSuppressed(new FileNotFoundException("second"));
+        assertTrue(ThrowableMatcher.any().withSuppressed(IOException.class).matches(close));
+        assertFalse(ThrowableMatcher.any().withSuppressed(IOException.class).matches(top));
+        assertFalse(ThrowableMatcher.any().withSuppressed(ThrowableMatcher.any().withMessage("first")).matches(close));
+    }
+
+    /**
+     * Test that a matcher is immutable, and the description of a mismatch.
+     */
+    @Test
+    public void testMismatch()
+    {
+        ThrowableMatcher base = ThrowableMatcher.instanceOf(IllegalArgumentException.class);
+        ThrowableMatcher withMessage = base.withMessage("negative");
+        IllegalArgumentException e = new IllegalArgumentException("value is zero");
+        assertTrue(base.matches(e));
+        assertFalse(withMessage.matches(e));
+        assertNull(base.mismatch(e));
+        String mismatch = withMessage.mismatch(e);
+        assertTrue(mismatch.contains("message matches /negative/"), mismatch);
+        assertTrue(mismatch.contains("value is zero"), mismatch);
+        assertEquals("(instance of IllegalArgumentException and message matches /negative/)", withMessage.toString());
+        assertTrue(base.withCause(1, IOException.class).toString().contains("cause at depth 1 is (instance of IOException)"));
+
+        // a cyclic cause chain does not loop forever
+        CyclicException cyclic = new CyclicException();
+        assertFalse(ThrowableMatcher.any().withCauseAnywhere(IOException.class).matches(cyclic));
+        assertTrue(ThrowableMatcher.any().withRootCause(CyclicException.class).matches(cyclic));
+    }
+
+    /**
+     * Test the testFail methods with a matcher.
+     */
+    @Test
+    public void testFail()
+    {
+        ThrowableMatcher matcher = ThrowableMatcher.instanceOf(IllegalStateException.class).withMessage("state")
+                .withRootCause(IOException.class);
+        UnitTest.testFail(() -> fail(), matcher);
+        assertNull(UnitTest.testFail(() -> fail(), "message", matcher));
+        UnitTest.testFail(() ->
+        {
+            fail();
+        }, matcher);
+        UnitTest.testFail(() ->
+        {
+            fail();
+        }, "message", matcher);
+
+        ThrowableMatcher wrong = ThrowableMatcher.instanceOf(IllegalStateException.class).withMessage("other");
+        AssertionError error = assertThrows(AssertionError.class, () -> UnitTest.testFail(() -> fail(), "xyz", wrong));
+        assertTrue(error.getMessage().startsWith("xyz; Assignment failed on unexpected Throwable"), error.getMessage());
+        assertTrue(error.getMessage().contains("/other/"), error.getMessage());
+        assertTrue(error.getCause() instanceof IllegalStateException);
+        error = assertThrows(AssertionError.class, () -> UnitTest.testFail(() ->
+        {
+            fail();
+        }, wrong));
+        assertTrue(error.getMessage().startsWith("null; Execution failed on unexpected Throwable"), error.getMessage());
+
+        error = assertThrows(AssertionError.class, () -> UnitTest.testFail(() -> 1, "abc", matcher));
+        assertEquals("abc; Assignment did not throw any exception", error.getMessage());
+        error = assertThrows(AssertionError.class, () -> UnitTest.testFail(() ->
+        {
+            //
+        }, "abc", matcher));
+        assertEquals("abc; Execution did not throw any exception", error.getMessage());
+    }
+
+    /**
+     * Throw an exception with a cause.
+     * @return never returns
+     */
+    private static Integer fail()
+    {
+        throw new IllegalStateException("wrong state", new RuntimeException(new IOException("io")));
+    }
+
+    /**
+     * An exception that is its own cause, which Throwable.initCause does not allow.
+     */
+    private static class CyclicException extends RuntimeException
+    {
+        /** */
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public synchronized Throwable getCause()
+        {
+            return this;
+        }
+    }
+
+    /**
+     * Test that a shared matcher gives the same outcome on many threads.
+     * @throws InterruptedException when interrupted
+     */
+    @Test
+    public void testThreads() throws InterruptedException
+    {
+        ThrowableMatcher matcher = ThrowableMatcher.instanceOf(RuntimeException.class).withMessage("^value [0-9]+$");
+        Thread[] threads = new Thread[4];
+        boolean[] ok = new boolean[threads.length];
+        for (int t = 0; t < threads.length; t++)
+        {
+            int index = t;
+            threads[t] = new Thread(() ->
+            {
+                boolean result = true;
+                for (int i = 0; i < 10_000; i++)
+                {
+                    result &= matcher.matches(new IllegalArgumentException("value " + i));
+                    result &= !matcher.matches(new IllegalArgumentException("value x" + i));
+                }
+                ok[index] = result;
+            });
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++)
+        {
+            threads[t].join();
+            assertTrue(ok[t]);
+        }
+        assertSame(ThrowableMatcher.any(), ThrowableMatcher.any());
+    }
+}
@@ -0,0 +1,170 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.djutils.test.TimingExtension.Timing;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+/**
+ * TimingExtensionTest tests the TimingExtension and its report. The class itself is timed as well.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+@Timed(slowMillis = 5000)
+public class TimingExtensionTest
+{
+    /**
+     * Test parsing and formatting of timings.
+     */
+    @Test
+    public void testTiming()
+    {
+        Timing timing = new Timing(false, "a.B", "m", 30_000_000L, 20_000_000L, 10_000_000L, 1024L, 25_000_000L);
+        assertTrue(timing.isSlow());
+        Timing parsed = Timing.parse(timing.toCsv());
+        assertEquals(timing.key(), parsed.key());
+        assertEquals(timing.wallNanos(), parsed.wallNanos());
+        assertEquals(timing.allocatedBytes(), parsed.allocatedBytes());
+        assertFalse(parsed.isSlow());
+        assertNull(Timing.parse(TimingExtension.CSV_HEADER));
+        assertNull(Timing.parse("METHOD,a.B,m,x,1,2,3"));
+
+        Timing baseline = new Timing(false, "a.B", "m", 10_000_000L, 0L, 0L, 0L, Long.MAX_VALUE);
+        assertTrue(timing.isRegressed(baseline, 1.5));
+        assertFalse(timing.isRegressed(baseline, 5.0));
+        assertFalse(timing.isRegressed(null, 1.5));
+        Timing noise = new Timing(false, "a.B", "m", 15_000_000L, 0L, 0L, 0L, Long.MAX_VALUE);
+        assertFalse(noise.isRegressed(baseline, 1.1), "differences below the noise floor are not a regression");
+    }
+
+    /**
+     * Test merging the timings into the report file, with the previous report as baseline.
+     * @param tempDir temporary directory for the report
+     * @throws IOException on error reading the report
+     */
+    @Test
+    public void testWriteReport(@TempDir final Path tempDir) throws IOException
+    {
+        Path report = tempDir.resolve("sub").resolve("timing.csv");
+        Timing t1 = new Timing(false, "a.B", "fast", 1_000_000L, 500_000L, 900_000L, 100L, Long.MAX_VALUE);
+        Timing t2 = new Timing(false, "a.B", "slow", 100_000_000L, 90_000_000L, 80_000_000L, 200L, 50_000_000L);
+        Timing t3 = new Timing(true, "a.B", "", 120_000_000L, 0L, 81_000_000L, 300L, Long.MAX_VALUE);
+        List<String> lines = TimingExtension.writeReport(report, List.of(t1, t2, t3), 1.5);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).contains("CLASS a.B#"));
+        assertTrue(lines.get(1).contains("SLOW"));
+        assertFalse(lines.get(2).contains("SLOW"));
+        List<String> csv = Files.readAllLines(report, StandardCharsets.UTF_8);
+        assertEquals(TimingExtension.CSV_HEADER, csv.get(0));
+        assertEquals(4, csv.size());
+
+        // a second class and a regression of the first
+        Timing t1b = new Timing(false, "a.B", "fast", 50_000_000L, 500_000L, 900_000L, 100L, Long.MAX_VALUE);
+        Timing t4 = new Timing(false, "c.D", "other", 2_000_000L, 1_000_000L, 900_000L, 100L, Long.MAX_VALUE);
+        lines = TimingExtension.writeReport(report, List.of(t1b, t4), 1.5);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("REGRESSED"));
+        assertFalse(lines.get(1).contains("REGRESSED"));
+        csv = Files.readAllLines(report, StandardCharsets.UTF_8);
+        assertEquals(5, csv.size());
+        assertTrue(csv.get(1).startsWith("CLASS,a.B"));
+
+        // the invocations of a repeated test are added up, and are not compared with each other
+        Timing r1 = new Timing(false, "e.F", "repeated", 1_000_000L, 500_000L, 900_000L, 100L, 30_000_000L);
+        Timing r2 = new Timing(false, "e.F", "repeated", 40_000_000L, 500_000L, 900_000L, 100L, 30_000_000L);
+        lines = TimingExtension.writeReport(report, List.of(r1, r2), 1.5);
+        assertEquals(1, lines.size());
+        assertFalse(lines.get(0).contains("REGRESSED"), lines.get(0));
+        assertFalse(lines.get(0).contains("SLOW"), lines.get(0));
+        csv = Files.readAllLines(report, StandardCharsets.UTF_8);
+        assertTrue(csv.contains("METHOD,e.F,repeated,41000000,1000000,1800000,200"), csv.toString());
+    }
+
+    /**
+     * Run the extension end to end on a class annotated with {@link Timed} and on a class with one annotated method, and check
+     * that the timings are written to the report file.
+     * @param tempDir temporary directory for the report
+     * @throws IOException on error reading the report
+     */
+    @Test
+    public void testEndToEnd(@TempDir final Path tempDir) throws IOException
+    {
+        Path report = tempDir.resolve("timing.csv");
+        EngineTestKit.engine("junit-jupiter").configurationParameter("djutils.timing.report", report.toString())
+                .selectors(DiscoverySelectors.selectClass(ClassTimed.class), DiscoverySelectors.selectClass(MethodTimed.class))
+                .execute().testEvents().assertStatistics(stats -> stats.started(6).succeeded(6));
+        List<String> csv = Files.readAllLines(report, StandardCharsets.UTF_8);
+        String classTimed = ClassTimed.class.getName();
+        String methodTimed = MethodTimed.class.getName();
+        assertTrue(csv.stream().anyMatch(line -> line.startsWith("CLASS," + classTimed + ",,")), csv.toString());
+        assertTrue(csv.stream().anyMatch(line -> line.startsWith("METHOD," + classTimed + ",test,")), csv.toString());
+        assertTrue(csv.stream().anyMatch(line -> line.startsWith("METHOD," + methodTimed + ",timed,")), csv.toString());
+        assertFalse(csv.stream().anyMatch(line -> line.contains(methodTimed + ",untimed,")), csv.toString());
+        assertFalse(csv.stream().anyMatch(line -> line.startsWith("CLASS," + methodTimed)), csv.toString());
+        assertEquals(1, csv.stream().filter(line -> line.startsWith("METHOD," + classTimed + ",repeated,")).count(),
+                csv.toString());
+
+        // the nested run only writes its own timings, and not those of the timed run around it
+        assertFalse(csv.stream().anyMatch(line -> line.contains(TimingExtensionTest.class.getName() + ",")), csv.toString());
+    }
+
+    /**
+     * A test class that is timed as a whole; it is only run by {@link #testEndToEnd(Path)}.
+     */
+    @Timed
+    static class ClassTimed
+    {
+        /** A test method. */
+        @Test
+        void test()
+        {
+            assertTrue(true);
+        }
+
+        /** A repeated test method, of which the invocations are added up. */
+        @RepeatedTest(3)
+        void repeated()
+        {
+            assertTrue(true);
+        }
+    }
+
+    /**
+     * A test class with one timed method; it is only run by {@link #testEndToEnd(Path)}.
+     */
+    static class MethodTimed
+    {
+        /** A timed test method. */
+        @Test
+        @Timed
+        void timed()
+        {
+            assertTrue(true);
+        }
+
+        /** A test method that is not timed. */
+        @Test
+        void untimed()
+        {
+            assertTrue(true);
+        }
+    }
+}
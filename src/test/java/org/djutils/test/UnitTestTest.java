@@ -1,10 +1,24 @@
 package org.djutils.test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
@@ -829,6 +843,157 @@ public class UnitTestTest
         }
     }
 
+    /**
+     * Test the fail methods with a timeout, for assignments and executions that finish in time and that hang.
+     */
+    @Test
+    public void tryFailTestTimeout()
+    {
+        Duration timeout = Duration.ofSeconds(10);
+        UnitTest.testFail(() -> fnfAssignment(), timeout);
+        UnitTest.testFail(() -> npeAssignment(), "message", timeout);
+        UnitTest.testFail(() -> fnfAssignment(), IOException.class, timeout);
+        UnitTest.testFail(() -> npeAssignment(), "message", NullPointerException.class, timeout);
+        UnitTest.testFail(() -> fnfExecution(), timeout);
+        UnitTest.testFail(() -> npeExecution(), "message", timeout);
+        UnitTest.testFail(() -> fnfExecution(), FileNotFoundException.class, timeout);
+        UnitTest.testFail(() -> npeExecution(), "message", NullPointerException.class, timeout);
+
+        AssertionError e = assertThrows(AssertionError.class, () -> UnitTest.testFail(() -> Math.abs(-1.0), "xyz", timeout));
+        assertTrue(e.getMessage().contains("Assignment did not throw any exception"));
+        assertTrue(e.getMessage().contains("xyz"));
+        e = assertThrows(AssertionError.class, () -> UnitTest.testFail(() -> Thread.yield(), timeout));
+        assertTrue(e.getMessage().contains("Execution did not throw any exception"));
+        e = assertThrows(AssertionError.class,
+                () -> UnitTest.testFail(() -> npeExecution(), "xyz", IllegalStateException.class, timeout));
+        assertTrue(e.getMessage().contains("unexpected Throwable"));
+        assertFalse(e instanceof TimeoutAssertionError);
+
+        // an execution that blocks on a latch is interrupted, and reported with a thread dump
+        CountDownLatch latch = new CountDownLatch(1);
+        TimeoutAssertionError te = assertThrows(TimeoutAssertionError.class,
+                () -> UnitTest.testFail(() -> latch.await(), "hang", InterruptedException.class, Duration.ofMillis(100)));
+        assertEquals(Duration.ofMillis(100), te.getTimeout());
+        assertTrue(te.getMessage().contains("hang"));
+        assertTrue(te.getMessage().contains("did not finish within"));
+        assertTrue(te.getMessage().contains("CountDownLatch.await"));
+
+        // an assignment that spins is reported as well
+        AtomicBoolean stop = new AtomicBoolean(false);
+        te = assertThrows(TimeoutAssertionError.class, () -> UnitTest.testFail(() -> spin(stop), Duration.ofMillis(100)));
+        assertTrue(te.getMessage().contains("spin"));
+        stop.set(true);
+    }
+
+    /**
+     * Test the asynchronous fail methods for futures and publishers.
+     */
+    @Test
+    public void tryFailTestAsync()
+    {
+        CompletableFuture<Object> npeFuture = CompletableFuture.supplyAsync(() -> npeAssignment());
+        assertTrue(UnitTest.testFailAsync(npeFuture, NullPointerException.class).join() instanceof NullPointerException);
+        UnitTest.testFailAsync(npeFuture, "message", RuntimeException.class, Duration.ofSeconds(10)).join();
+        CompletableFuture<Object> fnfFuture =
+                CompletableFuture.failedFuture(new ExecutionException(new FileNotFoundException()));
+        UnitTest.testFailAsync(fnfFuture, IOException.class).join();
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> UnitTest.testFailAsync(npeFuture, "xyz", IllegalStateException.class).join());
+        assertTrue(e.getCause() instanceof AssertionError);
+        assertTrue(e.getCause().getMessage().contains("unexpected Throwable"));
+        assertTrue(e.getCause().getMessage().contains("xyz"));
+        assertTrue(e.getCause().getCause() instanceof NullPointerException);
+
+        e = assertThrows(CompletionException.class,
+                () -> UnitTest.testFailAsync(CompletableFuture.completedFuture(1.0), Exception.class).join());
+        assertTrue(e.getCause().getMessage().contains("Future completed normally"));
+
+        e = assertThrows(CompletionException.class, () -> UnitTest
+                .testFailAsync(new CompletableFuture<Double>(), Exception.class, Duration.ofMillis(50)).join());
+        assertTrue(e.getCause() instanceof TimeoutAssertionError);
+
+        // publishers
+        SubmissionPublisher<String> failing = new SubmissionPublisher<>();
+        CompletableFuture<IllegalStateException> check = UnitTest.testFailAsync(failing, IllegalStateException.class);
+        failing.submit("a");
+        failing.closeExceptionally(new CompletionException(new IllegalStateException("bad")));
+        assertEquals("bad", check.join().getMessage());
+
+        SubmissionPublisher<String> completing = new SubmissionPublisher<>();
+        check = UnitTest.testFailAsync(completing, "xyz", IllegalStateException.class, Duration.ofSeconds(10));
+        completing.submit("a");
+        completing.submit("b");
+        completing.close();
+        final CompletableFuture<IllegalStateException> completed = check;
+        e = assertThrows(CompletionException.class, () -> completed.join());
+        assertTrue(e.getCause().getMessage().contains("completed without error after 2 item(s)"));
+
+        SubmissionPublisher<String> silent = new SubmissionPublisher<>();
+        e = assertThrows(CompletionException.class,
+                () -> UnitTest.testFailAsync(silent, IllegalStateException.class, Duration.ofMillis(50)).join());
+        assertTrue(e.getCause() instanceof TimeoutAssertionError);
+        silent.close();
+
+        SubmissionPublisher<String> wrong = new SubmissionPublisher<>();
+        CompletableFuture<IllegalStateException> wrongCheck = UnitTest.testFailAsync(wrong, IllegalStateException.class);
+        wrong.closeExceptionally(new NullPointerException());
+        e = assertThrows(CompletionException.class, () -> wrongCheck.join());
+        assertTrue(e.getCause().getMessage().contains("Publisher failed on unexpected Throwable"));
+    }
+
+    /**
+     * Test the bulk fail methods over many inputs.
+     */
+    @Test
+    public void tryFailTestForAll()
+    {
+        List<String> bad = IntStream.range(0, 10_000).mapToObj(i -> "x" + i).collect(Collectors.toList());
+        UnitTest.testFailForAll(bad, s -> () -> Integer.parseInt(s), NumberFormatException.class);
+        UnitTest.testFailForAll(bad, s -> () -> Integer.parseInt(s), "message", IllegalArgumentException.class);
+        UnitTest.testFailForAll(IntStream.range(0, 100_000).mapToObj(i -> "-" + i + "-"), s -> () -> Integer.parseInt(s),
+                "stream", NumberFormatException.class);
+
+        // a few inputs that do not fail, or fail with the wrong exception
+        List<String> mixed = new ArrayList<>(bad);
+        mixed.add("12");
+        mixed.add("34");
+        mixed.add(null);
+        AssertionError e = assertThrows(AssertionError.class,
+                () -> UnitTest.testFailForAll(mixed, s -> () -> Integer.valueOf(s.trim()), "xyz", NumberFormatException.class));
+        assertTrue(e.getMessage().contains("xyz"));
+        assertTrue(e.getMessage().contains("for 3 of 10003 inputs"));
+        assertTrue(e.getMessage().contains("input (12): did not throw any exception"));
+        assertTrue(e.getMessage().contains("input (null): unexpected Throwable"));
+
+        // many failing inputs are reported with a limit
+        e = assertThrows(AssertionError.class,
+                () -> UnitTest.testFailForAll(IntStream.range(0, 1000).boxed()::iterator, i -> () -> i, Exception.class));
+        assertTrue(e.getMessage().contains("for 1000 of 1000 inputs (first 100 reported)"));
+
+        // the reported inputs are the first failing inputs, in order, however the parallel assignments are scheduled
+        e = assertThrows(AssertionError.class, () -> UnitTest.testFailForAll(IntStream.range(0, 10_000).boxed(),
+                i -> () -> i % 2 == 0 ? i : Integer.valueOf("x"), "order", NumberFormatException.class));
+        assertTrue(e.getMessage().contains("for 5000 of 10000 inputs (first 100 reported)"), e.getMessage());
+        String expected = IntStream.range(0, 100).mapToObj(i -> "\n  input (" + 2 * i + "): did not throw any exception")
+                .collect(Collectors.joining());
+        assertTrue(e.getMessage().endsWith(":" + expected), e.getMessage());
+    }
+
+    /**
+     * Spin until told to stop.
+     * @param stop the flag to stop spinning
+     * @return Object (never happens)
+     */
+    private Object spin(final AtomicBoolean stop)
+    {
+        while (!stop.get())
+        {
+            Thread.onSpinWait();
+        }
+        throw new IllegalStateException();
+    }
+
     /**
      * Test method that throws FNFE.
      * @return Object (never happens)
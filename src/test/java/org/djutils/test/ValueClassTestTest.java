@@ -0,0 +1,271 @@
+package org.djutils.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ValueClassTestTest tests the contract checks for value classes with correct and broken implementations.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://djutils.org" target="_blank"> https://djutils.org</a>. The DJUTILS project is
+ * distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://djutils.org/docs/license.html" target="_blank"> https://djutils.org/docs/license.html</a>.
+ * <p>
+ * @author Alexander Verbraeck
+ */
+public class ValueClassTestTest
+{
+    /**
+     * Test value classes that meet the contract, with a good and a bad distribution of the hash codes.
+     */
+    @Test
+    public void testValid()
+    {
+        HashStatistics statistics = ValueClassTest.testValueClass(l -> new Point((int) l, (int) (l >> 32)));
+        assertEquals(ValueClassTest.DEFAULT_SAMPLES, statistics.values());
+        assertTrue(statistics.bucketSkew() < 1.5, statistics.toString());
+
+        // few distinct values, so many samples are equal to each other
+        statistics = ValueClassTest.testValueClass(l -> new Point((int) (l & 7), 0), 1000, 1L, "small");
+        assertEquals(8, statistics.values());
+
+        // a hash code that only uses bits that HashMap does not use in small tables
+        statistics = ValueClassTest.testValueClass(l -> new Coarse((int) l & 0xFFFF), 5000, 2L, "coarse");
+        assertTrue(statistics.bucketSkew() > 10.0, statistics.toString());
+        HashStatistics coarse = statistics;
+        assertThrows(AssertionError.class, () -> coarse.check(coarse.bucketSkew() < 1.5, "coarse"));
+        assertThrows(IllegalArgumentException.class, () -> ValueClassTest.testValueClass(l -> "", 0, 1L, null));
+    }
+
+    /**
+     * Test value classes that violate the contract.
+     */
+    @Test
+    public void testViolations()
+    {
+        AssertionError e = assertThrows(AssertionError.class,
+                () -> ValueClassTest.testValueClass(l -> new IdentityValue(), 100, 3L, "identity"));
+        assertTrue(e.getMessage().startsWith("identity; instances generated from the same input are not equal"),
+                e.getMessage());
+        assertTrue(e.getMessage().endsWith("seed = 3"), e.getMessage());
+
+        e = assertThrows(AssertionError.class,
+                () -> ValueClassTest.testValueClass(l -> new RandomHash((int) (l & 3)), 100, 3L, null));
+        assertTrue(e.getMessage().contains("hash code"), e.getMessage());
+
+        e = assertThrows(AssertionError.class,
+                () -> ValueClassTest.testValueClass(l -> new Point((int) l, 0).compareToIgnoresY(), 100, 3L, null));
+        assertTrue(e.getMessage().contains("compareTo"), e.getMessage());
+
+        e = assertThrows(AssertionError.class, () -> ValueClassTest.testValueClass(l -> new Cached((int) l), 100, 3L, null));
+        assertTrue(e.getMessage().contains("serialization round trip"), e.getMessage());
+
+        // the equal instances of one sample break symmetry or transitivity, whatever the random samples are
+        e = assertThrows(AssertionError.class,
+                () -> ValueClassTest.testValueClass(l -> new Versioned((int) l, false), 100, 3L, null));
+        assertTrue(e.getMessage().startsWith("null; equals is not symmetric"), e.getMessage());
+        e = assertThrows(AssertionError.class,
+                () -> ValueClassTest.testValueClass(l -> new Versioned((int) l, true), 100, 3L, null));
+        assertTrue(e.getMessage().startsWith("null; equals is not transitive"), e.getMessage());
+
+        e = assertThrows(AssertionError.class, () -> ValueClassTest.testValueClass(l -> null, 100, 3L, null));
+        assertTrue(e.getMessage().contains("generator returned null"), e.getMessage());
+
+        e = assertThrows(AssertionError.class, () -> ValueClassTest.testValueClass(l ->
+        {
+            throw new IllegalStateException("no");
+        }, 100, 3L, null));
+        assertTrue(e.getMessage().contains("IllegalStateException"), e.getMessage());
+    }
+
+    /**
+     * A comparable and serializable point.
+     * @param x the x coordinate
+     * @param y the y coordinate
+     */
+    record Point(int x, int y) implements Comparable<Point>, Serializable
+    {
+        @Override
+        public int compareTo(final Point other)
+        {
+            return this.x != other.x ? Integer.compare(this.x, other.x) : Integer.compare(this.y, other.y);
+        }
+
+        /**
+         * Return a point with a compareTo that is not consistent with equals.
+         * @return a point with a compareTo that ignores y
+         */
+        BrokenPoint compareToIgnoresY()
+        {
+            return new BrokenPoint(this.x, this.x * 7 % 3);
+        }
+    }
+
+    /**
+     * A point with a compareTo that ignores y.
+     * @param x the x coordinate
+     * @param y the y coordinate
+     */
+    record BrokenPoint(int x, int y) implements Comparable<BrokenPoint>
+    {
+        @Override
+        public int compareTo(final BrokenPoint other)
+        {
+            return Integer.compare(this.x % 5, other.x % 5);
+        }
+    }
+
+    /**
+     * A value with a hash code in the high bits only.
+     * @param value the value
+     */
+    record Coarse(int value)
+    {
+        @Override
+        public int hashCode()
+        {
+            return (this.value & 0xFF) << 24;
+        }
+
+        @Override
+        public boolean equals(final Object obj)
+        {
+            return obj instanceof Coarse && ((Coarse) obj).value == this.value;
+        }
+    }
+
+    /**
+     * A value without equals.
+     */
+    static class IdentityValue
+    {
+        //
+    }
+
+    /**
+     * A value with a hash code that differs for equal instances.
+     */
+    static class RandomHash
+    {
+        /** the value. */
+        private final int value;
+
+        /** the number of created instances, used as hash code. */
+        private static int created = 0;
+
+        /** the hash code. */
+        private final int hash;
+
+        /**
+         * Create a value.
+         * @param value the value
+         */
+        RandomHash(final int value)
+        {
+            this.value = value;
+            synchronized (RandomHash.class)
+            {
+                this.hash = created++;
+            }
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj)
+        {
+            return obj instanceof RandomHash && ((RandomHash) obj).value == this.value;
+        }
+    }
+
+    /**
+     * A value with a version number per thread that is part of equals. An asymmetric Versioned is equal to the versions that
+     * are not older, an intransitive Versioned is equal to the versions that differ at most one from its own version.
+     */
+    static class Versioned
+    {
+        /** the number of created instances per thread. */
+        private static final ThreadLocal<int[]> CREATED = ThreadLocal.withInitial(() -> new int[1]);
+
+        /** the value. */
+        private final int value;
+
+        /** whether equals is intransitive instead of asymmetric. */
+        private final boolean intransitive;
+
+        /** the version of the instance. */
+        private final int version;
+
+        /**
+         * Create a value.
+         * @param value the value
+         * @param intransitive whether equals is intransitive instead of asymmetric
+         */
+        Versioned(final int value, final boolean intransitive)
+        {
+            this.value = value;
+            this.intransitive = intransitive;
+            this.version = CREATED.get()[0]++;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.value;
+        }
+
+        @Override
+        public boolean equals(final Object obj)
+        {
+            if (!(obj instanceof Versioned) || ((Versioned) obj).value != this.value)
+            {
+                return false;
+            }
+            int difference = ((Versioned) obj).version - this.version;
+            return this.intransitive ? Math.abs(difference) <= 1 : difference >= 0;
+        }
+    }
+
+    /**
+     * A serializable value with a transient field that is part of equals.
+     */
+    static class Cached implements Serializable
+    {
+        /** */
+        private static final long serialVersionUID = 1L;
+
+        /** the value, which is not serialized. */
+        private final transient int value;
+
+        /**
+         * Create a value.
+         * @param value the value
+         */
+        Cached(final int value)
+        {
+            this.value = value | 1;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(this.value);
+        }
+
+        @Override
+        public boolean equals(final Object obj)
+        {
+            return obj instanceof Cached && ((Cached) obj).value == this.value;
+        }
+    }
+}